@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.CASException;
+import org.apache.uima.cas.text.AnnotationFS;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.jcas.tcas.Annotation;
+
+/**
+ * Index over the annotations of a single view, which is shared by all feature extractors that
+ * extract features from the same document. For each requested annotation type, the annotations
+ * are collected once into an array ordered by their offsets; covered annotations are then found by
+ * a binary search instead of iterating the CAS index for every target.
+ * 
+ * The feature extraction registers an index for each view of a document before the feature
+ * extractors are called and removes it afterwards, see {@link #register(JCas)}. Extractors obtain
+ * it with {@link #get(JCas)}. If no index is registered, e.g. if an extractor is called directly in
+ * a test, {@link #get(JCas)} returns a new index that is not shared.
+ * 
+ * An index must not be used after the annotations of the view have changed. It is not thread-safe,
+ * but each document is processed by a single thread.
+ */
+public class CasAnnotationIndex
+{
+    private static final Map<CAS, CasAnnotationIndex> REGISTERED = Collections
+            .synchronizedMap(new IdentityHashMap<>());
+
+    private final JCas view;
+    private final Map<Class<?>, TypeIndex<?>> types = new HashMap<>();
+    private final Map<String, Object> cache = new HashMap<>();
+
+    private CasAnnotationIndex(JCas aView)
+    {
+        view = aView;
+    }
+
+    /**
+     * @param aView
+     *            a view of the current document
+     * @return the index registered for the view, or a new index if none is registered
+     */
+    public static CasAnnotationIndex get(JCas aView)
+    {
+        CasAnnotationIndex index = REGISTERED.get(aView.getCas());
+        return index != null ? index : new CasAnnotationIndex(aView);
+    }
+
+    /**
+     * Registers a new index for each view of the document. The indexes are built lazily, i.e. only
+     * the annotation types requested by an extractor are indexed.
+     * 
+     * @param aJCas
+     *            the document
+     * @throws CASException
+     *             if the views cannot be accessed
+     */
+    public static void register(JCas aJCas) throws CASException
+    {
+        Iterator<JCas> views = aJCas.getViewIterator();
+        while (views.hasNext()) {
+            JCas v = views.next();
+            REGISTERED.put(v.getCas(), new CasAnnotationIndex(v));
+        }
+    }
+
+    /**
+     * Removes the indexes registered by {@link #register(JCas)}.
+     * 
+     * @param aJCas
+     *            the document
+     * @throws CASException
+     *             if the views cannot be accessed
+     */
+    public static void unregister(JCas aJCas) throws CASException
+    {
+        Iterator<JCas> views = aJCas.getViewIterator();
+        while (views.hasNext()) {
+            REGISTERED.remove(views.next().getCas());
+        }
+    }
+
+    /**
+     * @param aType
+     *            the annotation type, including its sub types
+     * @return all annotations of the type in index order, the list must not be modified
+     */
+    public <T extends Annotation> List<T> select(Class<T> aType)
+    {
+        return getTypeIndex(aType).annotations;
+    }
+
+    /**
+     * Equivalent to {@link JCasUtil#selectCovered(JCas, Class, AnnotationFS)}.
+     * 
+     * @param aType
+     *            the annotation type, including its sub types
+     * @param aCover
+     *            the covering annotation
+     * @return the annotations of the type which lie within the covering annotation, in index
+     *         order; the covering annotation itself is not included
+     */
+    public <T extends Annotation> List<T> selectCovered(Class<T> aType, AnnotationFS aCover)
+    {
+        TypeIndex<T> index = getTypeIndex(aType);
+
+        List<T> covered = new ArrayList<>();
+        int end = aCover.getEnd();
+        for (int i = index.firstAtOrAfter(aCover.getBegin()); i < index.begins.length
+                && index.begins[i] <= end; i++) {
+            T a = index.annotations.get(i);
+            if (index.ends[i] <= end && a != aCover) {
+                covered.add(a);
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Counts the covered annotations without collecting them.
+     * 
+     * @param aType
+     *            the annotation type, including its sub types
+     * @param aCover
+     *            the covering annotation
+     * @return the number of annotations {@link #selectCovered(Class, AnnotationFS)} returns
+     */
+    public <T extends Annotation> int countCovered(Class<T> aType, AnnotationFS aCover)
+    {
+        TypeIndex<T> index = getTypeIndex(aType);
+
+        int count = 0;
+        int end = aCover.getEnd();
+        for (int i = index.firstAtOrAfter(aCover.getBegin()); i < index.begins.length
+                && index.begins[i] <= end; i++) {
+            if (index.ends[i] <= end && index.annotations.get(i) != aCover) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param aType
+     *            the annotation type, including its sub types
+     * @param aAnnotation
+     *            an annotation of the type
+     * @return the position of the annotation in {@link #select(Class)}, or -1 if it is not
+     *         contained
+     */
+    public <T extends Annotation> int indexOf(Class<T> aType, AnnotationFS aAnnotation)
+    {
+        TypeIndex<T> index = getTypeIndex(aType);
+
+        for (int i = index.firstAtOrAfter(aAnnotation.getBegin()); i < index.begins.length
+                && index.begins[i] == aAnnotation.getBegin(); i++) {
+            if (index.annotations.get(i) == aAnnotation) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Data derived from the annotations of the view, e.g. the values of a feature path, can be
+     * stored with the index to compute it only once per document.
+     * 
+     * @param aKey
+     *            the key under which the data was stored, should start with the name of the class
+     *            that stores it
+     * @return the stored data, or null if none is stored
+     */
+    public Object getCached(String aKey)
+    {
+        return cache.get(aKey);
+    }
+
+    /**
+     * @param aKey
+     *            the key under which the data is stored
+     * @param aValue
+     *            the data
+     * @see #getCached(String)
+     */
+    public void putCached(String aKey, Object aValue)
+    {
+        cache.put(aKey, aValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Annotation> TypeIndex<T> getTypeIndex(Class<T> aType)
+    {
+        TypeIndex<T> index = (TypeIndex<T>) types.get(aType);
+        if (index == null) {
+            index = new TypeIndex<>(new ArrayList<>(JCasUtil.select(view, aType)));
+            types.put(aType, index);
+        }
+        return index;
+    }
+
+    private static class TypeIndex<T extends Annotation>
+    {
+        final List<T> annotations;
+        final int[] begins;
+        final int[] ends;
+
+        TypeIndex(List<T> aAnnotations)
+        {
+            annotations = Collections.unmodifiableList(aAnnotations);
+            begins = new int[aAnnotations.size()];
+            ends = new int[aAnnotations.size()];
+            for (int i = 0; i < begins.length; i++) {
+                begins[i] = aAnnotations.get(i).getBegin();
+                ends[i] = aAnnotations.get(i).getEnd();
+            }
+        }
+
+        /**
+         * @return the position of the first annotation that begins at or after the offset
+         */
+        int firstAtOrAfter(int offset)
+        {
+            int low = 0;
+            int high = begins.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (begins[mid] < offset) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Assigns each feature name a consecutive integer id, starting at zero. The ids follow the
+ * natural order of the feature names, which is the same order in which an {@link Instance} keeps
+ * its features. Mapping the features of an instance thus results in ascending ids.
+ *
+ * A dictionary is immutable after construction and can be shared between threads.
+ */
+public final class FeatureDictionary
+{
+    private static final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> name2id;
+    private final String[] id2name;
+
+    public FeatureDictionary(Collection<String> featureNames)
+    {
+        TreeSet<String> sorted = new TreeSet<>(featureNames);
+        sorted.remove("");
+
+        name2id = new HashMap<>(sorted.size() * 2);
+        id2name = new String[sorted.size()];
+
+        int id = 0;
+        for (String name : sorted) {
+            name2id.put(name, id);
+            id2name[id] = name;
+            id++;
+        }
+    }
+
+    /**
+     * Loads the dictionary from a file that contains one feature name per line. Dictionaries are
+     * cached per file, repeated calls for an unchanged file return the same instance.
+     *
+     * @param featureFile
+     *            the file with the feature names
+     * @return the dictionary
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static FeatureDictionary load(File featureFile) throws IOException
+    {
+        String key = featureFile.getAbsolutePath();
+        long modified = featureFile.lastModified();
+        long length = featureFile.length();
+
+        CacheEntry entry = cache.get(key);
+        if (entry != null && entry.lastModified == modified && entry.length == length) {
+            FeatureDictionary dictionary = entry.reference.get();
+            if (dictionary != null) {
+                return dictionary;
+            }
+        }
+
+        FeatureDictionary dictionary = new FeatureDictionary(
+                FileUtils.readLines(featureFile, "utf-8"));
+        cache.put(key, new CacheEntry(modified, length, dictionary));
+        return dictionary;
+    }
+
+    /**
+     * @param featureName
+     *            the name of the feature
+     * @return the id of the feature or -1 if the feature is unknown
+     */
+    public int getId(String featureName)
+    {
+        Integer id = name2id.get(featureName);
+        return id != null ? id : -1;
+    }
+
+    public String getName(int id)
+    {
+        return id2name[id];
+    }
+
+    public boolean contains(String featureName)
+    {
+        return name2id.containsKey(featureName);
+    }
+
+    public int size()
+    {
+        return id2name.length;
+    }
+
+    private static class CacheEntry
+    {
+        final long lastModified;
+        final long length;
+        final SoftReference<FeatureDictionary> reference;
+
+        CacheEntry(long lastModified, long length, FeatureDictionary dictionary)
+        {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.reference = new SoftReference<>(dictionary);
+        }
+    }
+}
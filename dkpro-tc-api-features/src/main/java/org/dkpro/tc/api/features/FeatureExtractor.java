@@ -28,6 +28,9 @@ import org.dkpro.tc.api.type.TextClassificationTarget;
  * Common signature for feature extractors which extract their features from the entire document or
  * from a given classification unit.
  * 
+ * If feature extraction runs with several threads, {@link #extract(JCas, TextClassificationTarget)}
+ * is called concurrently for different documents. Implementations must therefore not keep state
+ * of the current document in fields without synchronization.
  */
 public interface FeatureExtractor
 {
@@ -17,9 +17,8 @@
  ******************************************************************************/
 package org.dkpro.tc.api.features;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.util.FeatureUtil;
@@ -27,15 +26,21 @@ import org.dkpro.tc.api.features.util.FeatureUtil;
 /**
  * Escapes features to ensure that they do not contain non-standard characters.
  * This class is thread-safe if used as static instance.
+ * 
+ * Names that contain only letters, digits and underscores are returned as they
+ * are without touching the cache. Escaped names are cached in a concurrent map
+ * whose size is bounded, the cache is emptied once it reaches
+ * {@link #MAX_CACHE_SIZE} entries.
  */
 public class FeatureNameEscaper {
 
-	private Map<String, String> mapping = new HashMap<>();
-	private Semaphore createLock = new Semaphore(1);
+	static final int MAX_CACHE_SIZE = 100000;
+
+	private final ConcurrentMap<String, String> mapping = new ConcurrentHashMap<>();
 
 	/**
-	 * Escapes feature names. The substitution is synchronized by
-	 * a @link{java.util.concurrent.Semaphore} if used by multiple threads.
+	 * Escapes feature names. Lookups and updates of the cache do not block,
+	 * the escaper can be used by multiple threads.
 	 * 
 	 * @param rawName
 	 *            the unescaped name of the feature
@@ -46,18 +51,19 @@ public class FeatureNameEscaper {
 	 */
 	public String escape(String rawName) throws TextClassificationException {
 
-		if (mapping.containsKey(rawName)) {
-			return mapping.get(rawName);
+		if (!FeatureUtil.requiresEscaping(rawName)) {
+			return rawName;
 		}
 
-		String escaped = rawName;
-		try {
-			createLock.acquire();
+		String escaped = mapping.get(rawName);
+		if (escaped == null) {
 			escaped = FeatureUtil.escapeFeatureName(rawName);
+			if (mapping.size() >= MAX_CACHE_SIZE) {
+				// the escaping is cheap, dropping all entries is preferable
+				// over tracking the usage of each entry
+				mapping.clear();
+			}
 			mapping.put(rawName, escaped);
-			createLock.release();
-		} catch (InterruptedException e) {
-			throw new TextClassificationException(e);
 		}
 
 		return escaped;
@@ -31,6 +31,15 @@ import org.apache.commons.lang.StringUtils;
  */
 public class Instance
 {
+    static final Comparator<Feature> FEATURE_NAME_ORDER = new Comparator<Feature>()
+    {
+        @Override
+        public int compare(Feature o1, Feature o2)
+        {
+            return o1.name.compareTo(o2.name);
+        }
+    };
+
     private List<Feature> features;
     private List<String> outcomes;
     private double weight;
@@ -38,6 +47,10 @@ public class Instance
     private int sequencePosition;
     private int jcasId; // id of the jcas for which this instance was created
 
+    // compact representation of the features, see index()
+    private transient int[] featureIds;
+    private transient double[] featureValues;
+
     public Instance()
     {
         this.features = new ArrayList<Feature>();
@@ -47,7 +60,7 @@ public class Instance
     public Instance(Collection<Feature> features, String outcome)
     {
         this.features = new ArrayList<Feature>(features);
-        this.features.sort(getComparator());
+        this.features.sort(FEATURE_NAME_ORDER);
         this.outcomes = new ArrayList<String>();
         this.outcomes.add(outcome.intern());
     }
@@ -55,7 +68,7 @@ public class Instance
     public Instance(Collection<Feature> features, String... outcomes)
     {
         this.features = new ArrayList<Feature>(features);
-        this.features.sort(getComparator());
+        this.features.sort(FEATURE_NAME_ORDER);
         this.outcomes = Arrays.asList(outcomes);
     }
 
@@ -65,6 +78,15 @@ public class Instance
         this.outcomes = outcomes;
     }
 
+    /**
+     * Takes over the given lists without copying them, used by {@link InstanceBuilder}.
+     */
+    Instance(ArrayList<Feature> sortedFeatures, ArrayList<String> outcomes)
+    {
+        this.features = sortedFeatures;
+        this.outcomes = outcomes;
+    }
+
     public void setOutcomes(Collection<String> outcomes)
     {
         this.outcomes.clear();
@@ -73,14 +95,23 @@ public class Instance
 
     public void addFeature(Feature feature)
     {
+        resetIndex();
         features.add(feature);
-        features.sort(getComparator());
+        features.sort(FEATURE_NAME_ORDER);
     }
 
+    /**
+     * Adds the features and sorts all features of this instance again. To collect the features of
+     * several extractors, an {@link InstanceBuilder} sorts only once.
+     * 
+     * @param featureCollection
+     *            the features to add
+     */
     public void addFeatures(Collection<Feature> featureCollection)
     {
+        resetIndex();
         features.addAll(featureCollection);
-        features.sort(getComparator());
+        features.sort(FEATURE_NAME_ORDER);
     }
 
     public String getOutcome()
@@ -129,8 +160,106 @@ public class Instance
 
     public void setFeatures(Collection<Feature> featureSet)
     {
+        resetIndex();
         features = new ArrayList<Feature>(featureSet);
-        features.sort(getComparator());
+        features.sort(FEATURE_NAME_ORDER);
+    }
+
+    /**
+     * Builds a compact representation of the features of this instance as parallel arrays of
+     * feature ids and values, which are afterwards available via {@link #getFeatureIds()} and
+     * {@link #getFeatureValues()}. The ids are ascending. Features unknown to the dictionary and
+     * features with value zero are omitted. Numeric values are used as they are, all other
+     * values are encoded as 1.0, i.e. they mark the presence of the feature.
+     * 
+     * @param dictionary
+     *            the dictionary that provides the feature ids
+     */
+    public void index(FeatureDictionary dictionary)
+    {
+        int[] ids = new int[features.size()];
+        double[] values = new double[features.size()];
+
+        int n = 0;
+        boolean sorted = true;
+        for (Feature f : features) {
+            int id = dictionary.getId(f.getName());
+            if (id < 0) {
+                continue;
+            }
+            double value = toDouble(f.getValue());
+            if (value == 0.0) {
+                continue;
+            }
+            if (n > 0 && ids[n - 1] == id) {
+                // same feature twice, the later value wins
+                values[n - 1] = value;
+                continue;
+            }
+            if (n > 0 && ids[n - 1] > id) {
+                sorted = false;
+            }
+            ids[n] = id;
+            values[n] = value;
+            n++;
+        }
+
+        featureIds = Arrays.copyOf(ids, n);
+        featureValues = Arrays.copyOf(values, n);
+
+        if (!sorted) {
+            sortIndex();
+        }
+    }
+
+    private static double toDouble(Object value)
+    {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return 1.0;
+    }
+
+    private void sortIndex()
+    {
+        // only reached if the feature list was modified from outside, insertion sort is
+        // sufficient for the nearly sorted arrays
+        for (int i = 1; i < featureIds.length; i++) {
+            int id = featureIds[i];
+            double value = featureValues[i];
+            int j = i - 1;
+            while (j >= 0 && featureIds[j] > id) {
+                featureIds[j + 1] = featureIds[j];
+                featureValues[j + 1] = featureValues[j];
+                j--;
+            }
+            featureIds[j + 1] = id;
+            featureValues[j + 1] = value;
+        }
+    }
+
+    private void resetIndex()
+    {
+        featureIds = null;
+        featureValues = null;
+    }
+
+    /**
+     * @return the ascending feature ids created by the last call to
+     *         {@link #index(FeatureDictionary)}, or null if the instance has not been indexed
+     */
+    public int[] getFeatureIds()
+    {
+        return featureIds;
+    }
+
+    /**
+     * @return the feature values belonging to {@link #getFeatureIds()}, or null if the instance
+     *         has not been indexed
+     */
+    public double[] getFeatureValues()
+    {
+        return featureValues;
     }
 
     /**
@@ -174,17 +303,4 @@ public class Instance
         return sb.toString();
     }
 
-    private Comparator<Feature> getComparator()
-    {
-        return new Comparator<Feature>()
-        {
-
-            @Override
-            public int compare(Feature o1, Feature o2)
-            {
-                return o1.name.compareTo(o2.name);
-            }
-        };
-    }
-
 }
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Collects the features of an {@link Instance}, e.g. from several feature extractors, and creates
+ * the instance once all features are known. In contrast to {@link Instance#addFeatures(Collection)},
+ * the features are sorted only once when {@link #build()} is called. Features that occur more than
+ * once with the same value are kept only once.
+ * 
+ * A builder creates a single instance, it must not be used after {@link #build()} has been called.
+ */
+public class InstanceBuilder
+{
+    private ArrayList<Feature> features;
+    private ArrayList<String> outcomes = new ArrayList<>();
+    private double weight;
+    private int jcasId;
+    private int sequenceId;
+    private int sequencePosition;
+
+    public InstanceBuilder()
+    {
+        this(16);
+    }
+
+    /**
+     * @param expectedFeatures
+     *            the number of features that will probably be added
+     */
+    public InstanceBuilder(int expectedFeatures)
+    {
+        features = new ArrayList<>(expectedFeatures);
+    }
+
+    public InstanceBuilder addFeature(Feature feature)
+    {
+        features.add(feature);
+        return this;
+    }
+
+    public InstanceBuilder addFeatures(Collection<Feature> featureCollection)
+    {
+        features.addAll(featureCollection);
+        return this;
+    }
+
+    public InstanceBuilder outcomes(Collection<String> outcomeCollection)
+    {
+        outcomes.clear();
+        outcomes.addAll(outcomeCollection);
+        return this;
+    }
+
+    public InstanceBuilder weight(double weight)
+    {
+        this.weight = weight;
+        return this;
+    }
+
+    public InstanceBuilder jcasId(int jcasId)
+    {
+        this.jcasId = jcasId;
+        return this;
+    }
+
+    public InstanceBuilder sequenceId(int sequenceId)
+    {
+        this.sequenceId = sequenceId;
+        return this;
+    }
+
+    public InstanceBuilder sequencePosition(int sequencePosition)
+    {
+        this.sequencePosition = sequencePosition;
+        return this;
+    }
+
+    /**
+     * Sorts the collected features by name, removes duplicates and creates the instance.
+     * 
+     * @return the instance
+     */
+    public Instance build()
+    {
+        if (features == null) {
+            throw new IllegalStateException("The instance has already been built");
+        }
+
+        features.sort(Instance.FEATURE_NAME_ORDER);
+        removeDuplicates(features);
+
+        Instance instance = new Instance(features, outcomes);
+        instance.setWeight(weight);
+        instance.setJcasId(jcasId);
+        instance.setSequenceId(sequenceId);
+        instance.setSequencePosition(sequencePosition);
+
+        features = null;
+        outcomes = null;
+        return instance;
+    }
+
+    private static void removeDuplicates(ArrayList<Feature> sorted)
+    {
+        // equal features are neighbours after sorting by name, unless several features with the
+        // same name but different values are interleaved
+        int n = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            Feature f = sorted.get(i);
+            if (n > 0 && f.equals(sorted.get(n - 1))) {
+                continue;
+            }
+            sorted.set(n++, f);
+        }
+        sorted.subList(n, sorted.size()).clear();
+    }
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import java.util.Set;
+
+import org.dkpro.tc.api.exception.TextClassificationException;
+
+/**
+ * Feature extractors that implement this interface return from
+ * {@link FeatureExtractor#extract(org.apache.uima.jcas.JCas, org.dkpro.tc.api.type.TextClassificationTarget)}
+ * or {@link PairFeatureExtractor#extract(org.apache.uima.jcas.JCas, org.apache.uima.jcas.JCas)}
+ * only the features which are <i>set</i> for a target, i.e. no features with a default value.
+ * This keeps the cost of an extraction call proportional to the number of features found in the
+ * target rather than to the size of the feature space. Consumers that require dense instances
+ * fill in the missing features from {@link #getDefaultFeatures()}.
+ */
+public interface SparseFeatureExtractor
+{
+    /**
+     * @return all features this extractor is able to create, each carrying its default value.
+     *         The returned set is shared and must not be modified by the caller.
+     * @throws TextClassificationException
+     *             in case of an error
+     */
+    Set<Feature> getDefaultFeatures() throws TextClassificationException;
+}
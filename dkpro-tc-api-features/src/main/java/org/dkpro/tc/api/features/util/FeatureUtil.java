@@ -24,7 +24,6 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang.StringUtils;
 import org.apache.uima.UIMAFramework;
 import org.apache.uima.UimaContextAdmin;
 import org.apache.uima.fit.component.initialize.ExternalResourceInitializer;
@@ -54,20 +53,52 @@ public class FeatureUtil
         // TODO Issue 120: improve the escaping
         // the fix was necessary due to Issue 32
         // http://code.google.com/p/dkpro-tc/issues/detail?id=32
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < name.length(); i++) {
-            String c = name.substring(i, i + 1);
-            if (StringUtils.isAlphanumeric(c) || c.equals("_")) {
+        int length = name.length();
+        int i = firstCharToEscape(name);
+        if (i == length) {
+            // nothing to escape, most names end here without any allocation
+            return name;
+        }
+
+        StringBuilder sb = new StringBuilder(length + 16);
+        sb.append(name, 0, i);
+        for (; i < length; i++) {
+            char c = name.charAt(i);
+            if (isValidNameChar(c)) {
                 sb.append(c);
             }
             else {
-                sb.append("u");
-                sb.append(c.codePointAt(0));
+                sb.append('u');
+                sb.append((int) c);
             }
         }
         return sb.toString();
     }
 
+    /**
+     * @param name
+     *            the feature name
+     * @return true if {@link #escapeFeatureName(String)} would change the name
+     */
+    public static boolean requiresEscaping(String name)
+    {
+        return firstCharToEscape(name) < name.length();
+    }
+
+    private static int firstCharToEscape(String name)
+    {
+        int i = 0;
+        while (i < name.length() && isValidNameChar(name.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isValidNameChar(char c)
+    {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
     public static Set<String> getStopwords(String inputFile, boolean toLowerCase) throws IOException
     {
         Set<String> stopwords = new HashSet<String>();
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.type.TextClassificationOutcome;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.junit.Test;
+
+public class CasAnnotationIndexTest
+{
+    @Test
+    public void selectCoveredAsJCasUtil() throws Exception
+    {
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentText(new String(new char[200]).replace('\0', 'x'));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            int begin = random.nextInt(200);
+            int end = begin + random.nextInt(Math.min(200 - begin, 20) + 1);
+            if (i % 3 == 0) {
+                new TextClassificationTarget(jcas, begin, end).addToIndexes();
+            }
+            else {
+                new TextClassificationOutcome(jcas, begin, end).addToIndexes();
+            }
+        }
+
+        CasAnnotationIndex index = CasAnnotationIndex.get(jcas);
+        List<TextClassificationTarget> targets = new ArrayList<>(
+                JCasUtil.select(jcas, TextClassificationTarget.class));
+        assertEquals(targets, index.select(TextClassificationTarget.class));
+
+        for (int i = 0; i < targets.size(); i++) {
+            TextClassificationTarget t = targets.get(i);
+            List<TextClassificationOutcome> expected = JCasUtil.selectCovered(jcas,
+                    TextClassificationOutcome.class, t);
+            assertEquals(expected, index.selectCovered(TextClassificationOutcome.class, t));
+            assertEquals(expected.size(), index.countCovered(TextClassificationOutcome.class, t));
+            assertEquals(JCasUtil.selectCovered(jcas, TextClassificationTarget.class, t),
+                    index.selectCovered(TextClassificationTarget.class, t));
+            assertEquals(i, index.indexOf(TextClassificationTarget.class, t));
+        }
+    }
+
+    @Test
+    public void registration() throws Exception
+    {
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentText("text");
+
+        assertNotSame(CasAnnotationIndex.get(jcas), CasAnnotationIndex.get(jcas));
+
+        CasAnnotationIndex.register(jcas);
+        assertSame(CasAnnotationIndex.get(jcas), CasAnnotationIndex.get(jcas));
+
+        CasAnnotationIndex.unregister(jcas);
+        assertNotSame(CasAnnotationIndex.get(jcas), CasAnnotationIndex.get(jcas));
+    }
+}
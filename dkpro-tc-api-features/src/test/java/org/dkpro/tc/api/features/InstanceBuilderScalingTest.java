@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Collects the features of an increasing number of extractors per instance in an
+ * {@link InstanceBuilder}. The builder sorts the features once, so the time per feature has to
+ * stay roughly constant while the number of extractors grows. Adding the features of each extractor
+ * to an {@link Instance}, as done before, sorts all features again for every extractor.
+ */
+public class InstanceBuilderScalingTest
+{
+    private static final int INSTANCES = 200;
+
+    private static final int FEATURES_PER_EXTRACTOR = 200;
+
+    @Test
+    @Ignore("Depends on timing, run manually")
+    public void builderScalesLinearly() throws Exception
+    {
+        // warm up
+        run(createWorkload(INSTANCES, 5));
+
+        double small = run(createWorkload(INSTANCES, 5)) / (double) (5 * FEATURES_PER_EXTRACTOR);
+        double large = run(createWorkload(INSTANCES, 40)) / (double) (40 * FEATURES_PER_EXTRACTOR);
+
+        assertTrue("time per feature grew from " + small + " to " + large + " ms",
+                large < 3 * small);
+    }
+
+    @Test
+    public void sameFeaturesAsAddFeatures() throws Exception
+    {
+        for (List<List<Feature>> target : createWorkload(10, 5)) {
+            Instance instance = new Instance();
+            InstanceBuilder builder = new InstanceBuilder();
+            for (List<Feature> extractorFeatures : target) {
+                instance.addFeatures(extractorFeatures);
+                builder.addFeatures(extractorFeatures);
+            }
+
+            assertEquals(new ArrayList<>(instance.getFeatures()),
+                    new ArrayList<>(builder.build().getFeatures()));
+        }
+    }
+
+    private long run(List<List<List<Feature>>> workload) throws Exception
+    {
+        long start = System.nanoTime();
+        for (List<List<Feature>> target : workload) {
+            InstanceBuilder builder = new InstanceBuilder();
+            for (List<Feature> extractorFeatures : target) {
+                builder.addFeatures(extractorFeatures);
+            }
+            Instance instance = builder.build();
+            assertEquals(target.size() * FEATURES_PER_EXTRACTOR, instance.getFeatures().size());
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    private static List<List<List<Feature>>> createWorkload(int targets, int extractors)
+        throws Exception
+    {
+        List<List<List<Feature>>> workload = new ArrayList<>();
+        for (int t = 0; t < targets; t++) {
+            List<List<Feature>> target = new ArrayList<>();
+            for (int e = 0; e < extractors; e++) {
+                List<Feature> features = new ArrayList<>();
+                for (int f = 0; f < FEATURES_PER_EXTRACTOR; f++) {
+                    // distinct names in an order that differs between targets
+                    int id = (f + t * 31) % FEATURES_PER_EXTRACTOR;
+                    features.add(new Feature("extractor" + e + "_feature" + id, 1.0,
+                            FeatureType.NUMERIC));
+                }
+                target.add(features);
+            }
+            workload.add(target);
+        }
+        return workload;
+    }
+}
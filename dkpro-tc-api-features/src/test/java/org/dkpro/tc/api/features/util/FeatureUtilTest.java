@@ -18,6 +18,8 @@
 package org.dkpro.tc.api.features.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Set;
@@ -36,6 +38,17 @@ public class FeatureUtilTest
                 .equals("mYu38u35u64u92u40_feature12"));
     }
 
+    @Test
+    public void EscapeFeatureNameWithoutSpecialCharactersTest() throws Exception
+    {
+        String name = "ngram_Häuser_12";
+        assertSame(name, FeatureUtil.escapeFeatureName(name));
+        assertFalse(FeatureUtil.requiresEscaping(name));
+
+        assertTrue(FeatureUtil.requiresEscaping("ngram_a b"));
+        assertEquals("ngram_au32b", FeatureUtil.escapeFeatureName("ngram_a b"));
+    }
+
     @Test
     public void StopwordsListTest() throws Exception
     {
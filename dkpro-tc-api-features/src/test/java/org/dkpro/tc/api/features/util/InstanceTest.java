@@ -30,8 +30,10 @@ import java.util.Set;
 
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureDictionary;
 import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.api.features.InstanceBuilder;
 import org.junit.Test;
 
 public class InstanceTest
@@ -257,4 +259,66 @@ public class InstanceTest
         assertEquals(3, i.getSequencePosition());
         assertTrue(i.toString().startsWith("4711-234"));
     }
+
+    @Test
+    public void testIndexWithDictionary() throws TextClassificationException
+    {
+        FeatureDictionary dictionary = new FeatureDictionary(
+                Arrays.asList("c", "a", "b", "d"));
+        assertEquals(4, dictionary.size());
+        assertEquals(0, dictionary.getId("a"));
+        assertEquals(3, dictionary.getId("d"));
+        assertEquals(-1, dictionary.getId("unknown"));
+
+        List<Feature> features = new ArrayList<>();
+        features.add(new Feature("d", 2.5, FeatureType.NUMERIC));
+        features.add(new Feature("b", "nominal", FeatureType.STRING));
+        features.add(new Feature("a", 0, FeatureType.NUMERIC));
+        features.add(new Feature("unknown", 1, FeatureType.NUMERIC));
+        Instance i = new Instance(features, "outcome");
+
+        i.index(dictionary);
+
+        assertEquals(2, i.getFeatureIds().length);
+        assertEquals(1, i.getFeatureIds()[0]);
+        assertEquals(3, i.getFeatureIds()[1]);
+        assertEquals(1.0, i.getFeatureValues()[0], 0.0001);
+        assertEquals(2.5, i.getFeatureValues()[1], 0.0001);
+
+        i.addFeature(new Feature("c", 1, FeatureType.NUMERIC));
+        assertEquals(null, i.getFeatureIds());
+    }
+
+    @Test
+    public void instanceBuilderTest() throws Exception
+    {
+        InstanceBuilder builder = new InstanceBuilder();
+        builder.addFeature(new Feature("c", 3, FeatureType.NUMERIC));
+        builder.addFeatures(Arrays.asList(new Feature("a", 1, FeatureType.NUMERIC),
+                new Feature("b", 2, FeatureType.NUMERIC)));
+        builder.addFeature(new Feature("a", 1, FeatureType.NUMERIC));
+        builder.outcomes(Arrays.asList("x", "y")).weight(0.5).jcasId(4).sequenceId(2)
+                .sequencePosition(7);
+
+        Instance instance = builder.build();
+
+        List<Feature> features = new ArrayList<>(instance.getFeatures());
+        assertEquals(3, features.size());
+        assertEquals("a", features.get(0).getName());
+        assertEquals("b", features.get(1).getName());
+        assertEquals("c", features.get(2).getName());
+        assertEquals(Arrays.asList("x", "y"), instance.getOutcomes());
+        assertEquals(0.5, instance.getWeight(), 0.0001);
+        assertEquals(4, instance.getJcasId());
+        assertEquals(2, instance.getSequenceId());
+        assertEquals(7, instance.getSequencePosition());
+
+        try {
+            builder.build();
+            fail("Builder must not be reused");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+    }
 }
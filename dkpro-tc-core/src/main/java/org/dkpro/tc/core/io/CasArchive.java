@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.uima.collection.CollectionReaderDescription;
+import org.apache.uima.fit.factory.CollectionReaderFactory;
+import org.apache.uima.resource.ResourceInitializationException;
+
+import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
+
+/**
+ * Utility methods for folders written by the {@link CasArchiveWriter}. A folder holds one or more
+ * archives, each of which stores many serialized CASes. A single CAS is referred to by an
+ * <i>entry</i>, i.e. the absolute path of its archive and its position in the archive separated
+ * by {@value #ENTRY_SEPARATOR}. Entries can be listed and handed to the {@link CasArchiveReader}
+ * without opening the archives. Since entries only denote positions, the name of the document
+ * stored in an entry is available separately via {@link #getDocumentNames(Collection)}.
+ *
+ * Folders which contain one binary CAS file per document (as written by the
+ * {@link de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasWriter}) are still supported; their
+ * entries are the paths of the files.
+ */
+public class CasArchive
+{
+    public static final String ARCHIVE_EXTENSION = "tcar";
+    public static final String INDEX_EXTENSION = "tcidx";
+    public static final String NAMES_EXTENSION = "tcnames";
+    public static final char ENTRY_SEPARATOR = '#';
+
+    private static final String LEGACY_EXTENSION = "bin";
+
+    private CasArchive()
+    {
+        // utility class
+    }
+
+    /**
+     * Lists the entries of all archives in the folder and its sub-folders. The entries are ordered
+     * by archive and by their position within an archive.
+     *
+     * @param folder
+     *            the folder to search
+     * @return the entries, or the paths of the binary CAS files if the folder holds no archive
+     * @throws IOException
+     *             if an index cannot be read
+     */
+    public static List<String> listEntries(File folder) throws IOException
+    {
+        List<String> entries = new ArrayList<>();
+
+        List<File> archives = new ArrayList<>(
+                FileUtils.listFiles(folder, new String[] { ARCHIVE_EXTENSION }, true));
+        Collections.sort(archives);
+        for (File archive : archives) {
+            int size = readIndex(archive).length;
+            String path = archive.getAbsolutePath();
+            for (int i = 0; i < size; i++) {
+                entries.add(path + ENTRY_SEPARATOR + i);
+            }
+        }
+
+        if (entries.isEmpty()) {
+            for (File f : FileUtils.listFiles(folder, new String[] { LEGACY_EXTENSION }, true)) {
+                entries.add(f.getAbsolutePath());
+            }
+            Collections.sort(entries);
+        }
+
+        return entries;
+    }
+
+    /**
+     * @param folder
+     *            the folder to search
+     * @return the number of CASes stored in the folder and its sub-folders
+     */
+    public static int countEntries(File folder)
+    {
+        int count = 0;
+        for (File archive : FileUtils.listFiles(folder, new String[] { ARCHIVE_EXTENSION }, true)) {
+            count += getIndexFile(archive).length() / Long.BYTES;
+        }
+        if (count == 0) {
+            count = FileUtils.listFiles(folder, new String[] { LEGACY_EXTENSION }, true).size();
+        }
+        return count;
+    }
+
+    /**
+     * @param folder
+     *            the folder to read
+     * @return a reader for all CASes stored in the folder and its sub-folders
+     * @throws ResourceInitializationException
+     *             if the reader cannot be created
+     * @throws IOException
+     *             if an index cannot be read
+     */
+    public static CollectionReaderDescription createReaderDescription(File folder)
+        throws ResourceInitializationException, IOException
+    {
+        return createReaderDescription(listEntries(folder));
+    }
+
+    /**
+     * @param entries
+     *            the entries to read, as obtained from {@link #listEntries(File)}
+     * @return a reader for the CASes of the entries
+     * @throws ResourceInitializationException
+     *             if the reader cannot be created
+     */
+    public static CollectionReaderDescription createReaderDescription(Collection<String> entries)
+        throws ResourceInitializationException
+    {
+        int archived = 0;
+        for (String entry : entries) {
+            if (isArchiveEntry(entry)) {
+                archived++;
+            }
+        }
+
+        if (archived == entries.size()) {
+            return CollectionReaderFactory.createReaderDescription(CasArchiveReader.class,
+                    CasArchiveReader.PARAM_ENTRIES, entries.toArray(new String[entries.size()]));
+        }
+        if (archived == 0) {
+            return CollectionReaderFactory.createReaderDescription(BinaryCasReader.class,
+                    BinaryCasReader.PARAM_PATTERNS, entries);
+        }
+
+        throw new ResourceInitializationException(new IllegalArgumentException(
+                "Archive entries and binary CAS files cannot be read together"));
+    }
+
+    /**
+     * Returns the name of the document of each entry, i.e. the path the document would have as a
+     * single binary CAS file. This is the path of the file for binary CAS files. For archive
+     * entries, it is derived from the document URI relative to the base URI or from the document
+     * id; entries of archives written without names keep their entry as name.
+     *
+     * @param entries
+     *            the entries, as obtained from {@link #listEntries(File)}
+     * @return the document name of each entry
+     * @throws IOException
+     *             if the names of an archive cannot be read
+     */
+    public static Map<String, String> getDocumentNames(Collection<String> entries)
+        throws IOException
+    {
+        Map<String, List<String>> archiveNames = new HashMap<>();
+        Map<String, String> names = new HashMap<>();
+        for (String entry : entries) {
+            String name = entry;
+            if (isArchiveEntry(entry)) {
+                int separator = entry.lastIndexOf(ENTRY_SEPARATOR);
+                String archive = entry.substring(0, separator);
+                int position = Integer.parseInt(entry.substring(separator + 1));
+
+                List<String> inArchive = archiveNames.get(archive);
+                if (inArchive == null) {
+                    File namesFile = getNamesFile(new File(archive));
+                    inArchive = namesFile.exists()
+                            ? FileUtils.readLines(namesFile, StandardCharsets.UTF_8)
+                            : Collections.<String> emptyList();
+                    archiveNames.put(archive, inArchive);
+                }
+                if (position < inArchive.size()) {
+                    name = inArchive.get(position);
+                }
+            }
+            names.put(entry, name);
+        }
+        return names;
+    }
+
+    static boolean isArchiveEntry(String entry)
+    {
+        int separator = entry.lastIndexOf(ENTRY_SEPARATOR);
+        return separator > 0 && entry.substring(0, separator).endsWith("." + ARCHIVE_EXTENSION);
+    }
+
+    static File getIndexFile(File archive)
+    {
+        return getSibling(archive, INDEX_EXTENSION);
+    }
+
+    static File getNamesFile(File archive)
+    {
+        return getSibling(archive, NAMES_EXTENSION);
+    }
+
+    private static File getSibling(File archive, String extension)
+    {
+        String name = archive.getName();
+        String base = name.substring(0, name.length() - ARCHIVE_EXTENSION.length());
+        return new File(archive.getParentFile(), base + extension);
+    }
+
+    /**
+     * @param archive
+     *            the archive
+     * @return the offset of each CAS in the archive
+     * @throws IOException
+     *             if the index cannot be read
+     */
+    static long[] readIndex(File archive) throws IOException
+    {
+        File indexFile = getIndexFile(archive);
+        long[] offsets = new long[(int) (indexFile.length() / Long.BYTES)];
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(indexFile)))) {
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readLong();
+            }
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.uima.UimaContext;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.impl.CASMgrSerializer;
+import org.apache.uima.cas.impl.Serialization;
+import org.apache.uima.cas.impl.TypeSystemImpl;
+import org.apache.uima.collection.CollectionException;
+import org.apache.uima.fit.component.CasCollectionReader_ImplBase;
+import org.apache.uima.fit.descriptor.ConfigurationParameter;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.util.Progress;
+import org.apache.uima.util.ProgressImpl;
+
+/**
+ * Reads CASes from archives written by the {@link CasArchiveWriter}. Either all CASes of a folder
+ * or a given list of entries (see {@link CasArchive}) are read. The entries are read ordered by
+ * archive and position, i.e. a range of consecutive entries is read sequentially from its archive.
+ */
+public class CasArchiveReader
+    extends CasCollectionReader_ImplBase
+{
+    /**
+     * Folder whose archives are read completely
+     */
+    public static final String PARAM_SOURCE_LOCATION = "sourceLocation";
+
+    @ConfigurationParameter(name = PARAM_SOURCE_LOCATION, mandatory = false)
+    private File sourceLocation;
+
+    /**
+     * The entries to read, ignored if {@link #PARAM_SOURCE_LOCATION} is set
+     */
+    public static final String PARAM_ENTRIES = "entries";
+
+    @ConfigurationParameter(name = PARAM_ENTRIES, mandatory = false)
+    private String[] entries;
+
+    private List<Entry> toRead;
+    private int next;
+
+    private File currentArchive;
+    private RandomAccessFile input;
+    private long[] offsets;
+    private TypeSystemImpl typeSystem;
+    private byte[] buffer = new byte[64 * 1024];
+
+    @Override
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+
+        try {
+            List<String> names;
+            if (sourceLocation != null) {
+                names = CasArchive.listEntries(sourceLocation);
+            }
+            else if (entries != null) {
+                names = new ArrayList<>();
+                Collections.addAll(names, entries);
+            }
+            else {
+                throw new IllegalArgumentException("Either [" + PARAM_SOURCE_LOCATION + "] or ["
+                        + PARAM_ENTRIES + "] has to be set");
+            }
+
+            toRead = new ArrayList<>(names.size());
+            for (String name : names) {
+                toRead.add(Entry.parse(name));
+            }
+            Collections.sort(toRead);
+        }
+        catch (Exception e) {
+            throw new ResourceInitializationException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException, CollectionException
+    {
+        return next < toRead.size();
+    }
+
+    @Override
+    public void getNext(CAS aCAS) throws IOException, CollectionException
+    {
+        Entry entry = toRead.get(next++);
+        if (!entry.archive.equals(currentArchive)) {
+            openArchive(entry.archive);
+        }
+        if (entry.position >= offsets.length) {
+            throw new CollectionException(new IllegalStateException("Archive [" + entry.archive
+                    + "] holds no CAS at position [" + entry.position + "]"));
+        }
+
+        input.seek(offsets[entry.position]);
+        int length = input.readInt();
+        if (buffer.length < length) {
+            buffer = new byte[length];
+        }
+        input.readFully(buffer, 0, length);
+
+        try {
+            Serialization.deserializeCAS(aCAS, new ByteArrayInputStream(buffer, 0, length),
+                    typeSystem, null);
+        }
+        catch (Exception e) {
+            throw new CollectionException(e);
+        }
+    }
+
+    private void openArchive(File archive) throws IOException, CollectionException
+    {
+        closeArchive();
+
+        offsets = CasArchive.readIndex(archive);
+        input = new RandomAccessFile(archive, "r");
+        currentArchive = archive;
+
+        if (input.readInt() != CasArchiveWriter.MAGIC) {
+            throw new CollectionException(new IllegalStateException(
+                    "[" + archive + "] is not a CAS archive"));
+        }
+        int version = input.readByte();
+        if (version != CasArchiveWriter.VERSION) {
+            throw new CollectionException(new IllegalStateException(
+                    "Unsupported archive version [" + version + "] in [" + archive + "]"));
+        }
+
+        byte[] header = new byte[input.readInt()];
+        input.readFully(header);
+        try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(header))) {
+            CASMgrSerializer casMgr = (CASMgrSerializer) is.readObject();
+            typeSystem = casMgr.getTypeSystem();
+            typeSystem.commit();
+        }
+        catch (ClassNotFoundException e) {
+            throw new CollectionException(e);
+        }
+    }
+
+    private void closeArchive() throws IOException
+    {
+        if (input != null) {
+            input.close();
+            input = null;
+            currentArchive = null;
+        }
+    }
+
+    @Override
+    public Progress[] getProgress()
+    {
+        return new Progress[] { new ProgressImpl(next, toRead.size(), Progress.ENTITIES) };
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        closeArchive();
+    }
+
+    private static class Entry
+        implements Comparable<Entry>
+    {
+        final File archive;
+        final int position;
+
+        Entry(File archive, int position)
+        {
+            this.archive = archive;
+            this.position = position;
+        }
+
+        static Entry parse(String entry)
+        {
+            if (!CasArchive.isArchiveEntry(entry)) {
+                throw new IllegalArgumentException("[" + entry + "] is not an archive entry");
+            }
+            int separator = entry.lastIndexOf(CasArchive.ENTRY_SEPARATOR);
+            return new Entry(new File(entry.substring(0, separator)),
+                    Integer.parseInt(entry.substring(separator + 1)));
+        }
+
+        @Override
+        public int compareTo(Entry o)
+        {
+            int c = archive.compareTo(o.archive);
+            return c != 0 ? c : Integer.compare(position, o.position);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.uima.UimaContext;
+import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
+import org.apache.uima.cas.impl.CASImpl;
+import org.apache.uima.cas.impl.Serialization;
+import org.apache.uima.fit.component.JCasAnnotator_ImplBase;
+import org.apache.uima.fit.descriptor.ConfigurationParameter;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ResourceInitializationException;
+
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+
+/**
+ * Writes the CASes of a collection into archives instead of one file per CAS. An archive starts
+ * with the type system of the CASes, followed by the CASes in compressed binary form (format 6),
+ * each prefixed with its length. The offset of each CAS is recorded in an index file next to the
+ * archive, which allows the {@link CasArchiveReader} to read any subset of the CASes. The name of
+ * each document is recorded in a third file, see {@link CasArchive#getDocumentNames}.
+ *
+ * Archives are only appended to; a new archive is started once the current one holds
+ * {@link #PARAM_CASES_PER_ARCHIVE} CASes. Archives already present in the target folder are kept.
+ */
+public class CasArchiveWriter
+    extends JCasAnnotator_ImplBase
+{
+    static final int MAGIC = 0x54434152; // "TCAR"
+    static final int VERSION = 1;
+
+    /**
+     * Folder to which the archives are written
+     */
+    public static final String PARAM_TARGET_LOCATION = "targetLocation";
+
+    @ConfigurationParameter(name = PARAM_TARGET_LOCATION, mandatory = true)
+    private File targetLocation;
+
+    /**
+     * Maximal number of CASes stored in one archive
+     */
+    public static final String PARAM_CASES_PER_ARCHIVE = "casesPerArchive";
+
+    @ConfigurationParameter(name = PARAM_CASES_PER_ARCHIVE, mandatory = true, defaultValue = "10000")
+    private int casesPerArchive;
+
+    private DataOutputStream archive;
+    private DataOutputStream index;
+    private Writer names;
+    private long offset;
+    private int casesInArchive;
+    private int nextArchive;
+
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+    @Override
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+
+        if (casesPerArchive < 1) {
+            throw new ResourceInitializationException(new IllegalArgumentException(
+                    "At least one CAS per archive is required, but was [" + casesPerArchive
+                            + "]"));
+        }
+
+        targetLocation.mkdirs();
+        while (getArchiveFile(nextArchive).exists()) {
+            nextArchive++;
+        }
+    }
+
+    @Override
+    public void process(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        try {
+            if (archive == null || casesInArchive == casesPerArchive) {
+                closeArchive();
+                openArchive(aJCas);
+            }
+
+            buffer.reset();
+            Serialization.serializeWithCompression(aJCas.getCas(), buffer);
+
+            index.writeLong(offset);
+            names.write(getDocumentName(aJCas) + "\n");
+            archive.writeInt(buffer.size());
+            buffer.writeTo(archive);
+
+            offset += Integer.BYTES + buffer.size();
+            casesInArchive++;
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
+    private void openArchive(JCas aJCas) throws IOException
+    {
+        File file = getArchiveFile(nextArchive++);
+
+        // the type system is the same for all CASes of a pipeline and is stored only once
+        ByteArrayOutputStream typeSystem = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(typeSystem)) {
+            os.writeObject(Serialization.serializeCASMgr((CASImpl) aJCas.getCas()));
+        }
+
+        archive = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        archive.writeInt(MAGIC);
+        archive.writeByte(VERSION);
+        archive.writeInt(typeSystem.size());
+        typeSystem.writeTo(archive);
+
+        index = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(CasArchive.getIndexFile(file))));
+        names = new OutputStreamWriter(
+                new BufferedOutputStream(new FileOutputStream(CasArchive.getNamesFile(file))),
+                StandardCharsets.UTF_8);
+
+        offset = archive.size();
+        casesInArchive = 0;
+    }
+
+    private void closeArchive() throws IOException
+    {
+        if (archive == null) {
+            return;
+        }
+
+        // the archive is completed before its index, an index never refers to missing data
+        archive.close();
+        names.close();
+        index.close();
+        archive = null;
+        names = null;
+        index = null;
+    }
+
+    /**
+     * The path the document would have been written to as a single binary CAS file, which is
+     * derived from the document URI relative to the base URI or from the document id.
+     */
+    private String getDocumentName(JCas aJCas)
+    {
+        String relativePath = null;
+        if (JCasUtil.exists(aJCas, DocumentMetaData.class)) {
+            DocumentMetaData meta = DocumentMetaData.get(aJCas);
+            String baseUri = meta.getDocumentBaseUri();
+            String documentUri = meta.getDocumentUri();
+            if (baseUri != null && documentUri != null && documentUri.startsWith(baseUri)) {
+                relativePath = documentUri.substring(baseUri.length());
+            }
+            else {
+                relativePath = meta.getDocumentId();
+            }
+        }
+        if (relativePath == null || relativePath.isEmpty()) {
+            relativePath = "document-" + (nextArchive - 1) + "-" + casesInArchive;
+        }
+
+        // a name must fit into one line of the names file
+        relativePath = relativePath.replaceAll("[\\r\\n]", "_");
+        return new File(targetLocation, relativePath + ".bin").getAbsolutePath();
+    }
+
+    private File getArchiveFile(int number)
+    {
+        return new File(targetLocation,
+                String.format("cas-%05d.%s", number, CasArchive.ARCHIVE_EXTENSION));
+    }
+
+    @Override
+    public void collectionProcessComplete() throws AnalysisEngineProcessException
+    {
+        super.collectionProcessComplete();
+
+        try {
+            closeArchive();
+        }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+}
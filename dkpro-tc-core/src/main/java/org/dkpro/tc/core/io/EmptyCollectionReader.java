@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import java.io.IOException;
+
+import org.apache.uima.collection.CollectionException;
+import org.apache.uima.fit.component.JCasCollectionReader_ImplBase;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.util.Progress;
+
+/**
+ * A reader that provides no documents. Tasks which do not need to see the documents use it
+ * instead of reading (and deserializing) the whole collection.
+ */
+public class EmptyCollectionReader
+    extends JCasCollectionReader_ImplBase
+{
+    @Override
+    public boolean hasNext() throws IOException, CollectionException
+    {
+        return false;
+    }
+
+    @Override
+    public void getNext(JCas aJCas) throws IOException, CollectionException
+    {
+        throw new CollectionException(new IllegalStateException("No documents available"));
+    }
+
+    @Override
+    public Progress[] getProgress()
+    {
+        return new Progress[0];
+    }
+}
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.FLAG_DEFAULT_VALUE;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.MAGIC;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_DOUBLE;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_FALSE;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_FLOAT;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_INT;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_LONG;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_NULL;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_STRING;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VALUE_TRUE;
+import static org.dkpro.tc.core.io.GenericFeatureStoreWriter.VERSION;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+
+/**
+ * Reads the blocks of a feature store created by {@link GenericFeatureStoreWriter}. Each element
+ * returned by the iterator contains the instances of one call to
+ * {@link GenericFeatureStoreWriter#write(List)}, in the order they were written. Only one block
+ * is kept in memory at a time.
+ */
+public class GenericFeatureStoreReader
+    implements Iterator<List<Instance>>, Closeable
+{
+    private static final FeatureType[] TYPES = FeatureType.values();
+
+    private DataInputStream in;
+    private List<String> names = new ArrayList<>();
+    private byte[] buffer = new byte[64 * 1024];
+    private List<Instance> next;
+
+    /**
+     * @param file
+     *            a file written by {@link GenericFeatureStoreWriter}
+     * @throws IOException
+     *             if the file cannot be read or is not a feature store
+     */
+    public GenericFeatureStoreReader(File file) throws IOException
+    {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("[" + file + "] is not a generic feature store");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported feature store version [" + version + "] in ["
+                        + file + "]");
+            }
+        }
+        catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (next == null) {
+            try {
+                next = readBlock();
+            }
+            catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public List<Instance> next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Instance> block = next;
+        next = null;
+        return block;
+    }
+
+    private List<Instance> readBlock() throws IOException
+    {
+        int length;
+        try {
+            length = readVarInt(in);
+        }
+        catch (EOFException e) {
+            return null;
+        }
+
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        in.readFully(buffer, 0, length);
+        DataInputStream block = new DataInputStream(new ByteArrayInputStream(buffer, 0, length));
+
+        int numInstances = readVarInt(block);
+        List<Instance> instances = new ArrayList<>(numInstances);
+        for (int i = 0; i < numInstances; i++) {
+            instances.add(readInstance(block));
+        }
+        return instances;
+    }
+
+    private Instance readInstance(DataInputStream block) throws IOException
+    {
+        int jcasId = unZigZag(readVarInt(block));
+        int sequenceId = unZigZag(readVarInt(block));
+        int sequencePosition = unZigZag(readVarInt(block));
+        double weight = block.readDouble();
+
+        int numOutcomes = readVarInt(block);
+        List<String> outcomes = new ArrayList<>(numOutcomes);
+        for (int i = 0; i < numOutcomes; i++) {
+            outcomes.add(readString(block));
+        }
+
+        int numFeatures = readVarInt(block);
+        List<Feature> features = new ArrayList<>(numFeatures);
+        for (int i = 0; i < numFeatures; i++) {
+            String name = readName(block);
+            int header = block.readUnsignedByte();
+            boolean isDefault = (header & FLAG_DEFAULT_VALUE) != 0;
+            FeatureType type = TYPES[header & ~FLAG_DEFAULT_VALUE];
+            Object value = readValue(block);
+            try {
+                features.add(new Feature(name, value, isDefault, type));
+            }
+            catch (TextClassificationException e) {
+                throw new IOException(e);
+            }
+        }
+
+        Instance instance = new Instance(features, outcomes);
+        instance.setJcasId(jcasId);
+        instance.setSequenceId(sequenceId);
+        instance.setSequencePosition(sequencePosition);
+        instance.setWeight(weight);
+        return instance;
+    }
+
+    private String readName(DataInputStream block) throws IOException
+    {
+        int id = readVarInt(block);
+        if (id < names.size()) {
+            return names.get(id);
+        }
+        if (id != names.size()) {
+            throw new IOException("Unexpected feature name id [" + id + "]");
+        }
+        String name = readString(block);
+        names.add(name);
+        return name;
+    }
+
+    private Object readValue(DataInputStream block) throws IOException
+    {
+        int tag = block.readUnsignedByte();
+        switch (tag) {
+        case VALUE_NULL:
+            return null;
+        case VALUE_INT:
+            return unZigZag(readVarInt(block));
+        case VALUE_LONG:
+            return unZigZag(readVarLong(block));
+        case VALUE_DOUBLE:
+            return block.readDouble();
+        case VALUE_FLOAT:
+            return block.readFloat();
+        case VALUE_TRUE:
+            return Boolean.TRUE;
+        case VALUE_FALSE:
+            return Boolean.FALSE;
+        case VALUE_STRING:
+            return readString(block);
+        default:
+            throw new IOException("Unknown value tag [" + tag + "]");
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        int length = readVarInt(in);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int unZigZag(int v)
+    {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static long unZigZag(long v)
+    {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException
+    {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException
+    {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.Instance;
+
+/**
+ * Writes instances to the binary generic feature store, which is used as intermediate format if
+ * feature filters are configured or a data writer cannot stream. Each call to
+ * {@link #write(List)} creates one length-prefixed block, i.e. instances that are written together
+ * (for instance, all instances of a sequence) are read back together by
+ * {@link GenericFeatureStoreReader}.
+ *
+ * Feature names are stored only once; the first occurrence of a name assigns it the next free id,
+ * later occurrences refer to the name by this id (varint encoded). Numeric values are stored
+ * as packed binary values instead of text.
+ */
+public class GenericFeatureStoreWriter
+    implements Closeable
+{
+    static final int MAGIC = 0x54434753; // "TCGS"
+    static final int VERSION = 1;
+
+    static final int VALUE_NULL = 0;
+    static final int VALUE_INT = 1;
+    static final int VALUE_LONG = 2;
+    static final int VALUE_DOUBLE = 3;
+    static final int VALUE_FLOAT = 4;
+    static final int VALUE_TRUE = 5;
+    static final int VALUE_FALSE = 6;
+    static final int VALUE_STRING = 7;
+
+    static final int FLAG_DEFAULT_VALUE = 0x80;
+
+    private DataOutputStream out;
+    private ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream(64 * 1024);
+    private DataOutputStream block = new DataOutputStream(blockBuffer);
+    private Map<String, Integer> nameIds = new HashMap<>();
+
+    /**
+     * Creates a new, empty feature store. An existing file is overwritten.
+     *
+     * @param file
+     *            the file to write to
+     * @throws IOException
+     *             in case of an error
+     */
+    public GenericFeatureStoreWriter(File file) throws IOException
+    {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * Writes the instances as one block. The block is flushed to the file, i.e. the file can be
+     * read while this writer is still open.
+     *
+     * @param instances
+     *            the instances to write
+     * @throws IOException
+     *             in case of an error
+     */
+    public void write(List<Instance> instances) throws IOException
+    {
+        blockBuffer.reset();
+
+        writeVarInt(block, instances.size());
+        for (Instance instance : instances) {
+            writeInstance(instance);
+        }
+        block.flush();
+
+        writeVarInt(out, blockBuffer.size());
+        blockBuffer.writeTo(out);
+        out.flush();
+    }
+
+    private void writeInstance(Instance instance) throws IOException
+    {
+        writeVarInt(block, zigZag(instance.getJcasId()));
+        writeVarInt(block, zigZag(instance.getSequenceId()));
+        writeVarInt(block, zigZag(instance.getSequencePosition()));
+        block.writeDouble(instance.getWeight());
+
+        List<String> outcomes = instance.getOutcomes();
+        writeVarInt(block, outcomes.size());
+        for (String o : outcomes) {
+            writeString(block, o);
+        }
+
+        Collection<Feature> features = instance.getFeatures();
+        writeVarInt(block, features.size());
+        for (Feature f : features) {
+            writeName(f.getName());
+
+            int header = f.getType().ordinal();
+            if (f.isDefaultValue()) {
+                header |= FLAG_DEFAULT_VALUE;
+            }
+            block.writeByte(header);
+            writeValue(f.getValue());
+        }
+    }
+
+    private void writeName(String name) throws IOException
+    {
+        Integer id = nameIds.get(name);
+        if (id != null) {
+            writeVarInt(block, id);
+            return;
+        }
+
+        // an id equal to the number of known names announces a new name
+        id = nameIds.size();
+        nameIds.put(name, id);
+        writeVarInt(block, id);
+        writeString(block, name);
+    }
+
+    private void writeValue(Object value) throws IOException
+    {
+        if (value == null) {
+            block.writeByte(VALUE_NULL);
+        }
+        else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            block.writeByte(VALUE_INT);
+            writeVarInt(block, zigZag(((Number) value).intValue()));
+        }
+        else if (value instanceof Long) {
+            block.writeByte(VALUE_LONG);
+            writeVarLong(block, zigZag((Long) value));
+        }
+        else if (value instanceof Float) {
+            block.writeByte(VALUE_FLOAT);
+            block.writeFloat((Float) value);
+        }
+        else if (value instanceof Number) {
+            block.writeByte(VALUE_DOUBLE);
+            block.writeDouble(((Number) value).doubleValue());
+        }
+        else if (value instanceof Boolean) {
+            block.writeByte((Boolean) value ? VALUE_TRUE : VALUE_FALSE);
+        }
+        else if (value instanceof Enum) {
+            block.writeByte(VALUE_STRING);
+            writeString(block, ((Enum<?>) value).name());
+        }
+        else {
+            block.writeByte(VALUE_STRING);
+            writeString(block, value.toString());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException
+    {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static int zigZag(int v)
+    {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static long zigZag(long v)
+    {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    static void writeVarInt(DataOutputStream out, int v) throws IOException
+    {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    static void writeVarLong(DataOutputStream out, long v) throws IOException
+    {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        out.close();
+    }
+}
@@ -43,16 +43,17 @@ import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.storage.StorageService.AccessMode;
 import org.dkpro.lab.task.Discriminator;
+import org.dkpro.lab.task.Property;
 import org.dkpro.lab.uima.task.impl.UimaTaskBase;
 import org.dkpro.tc.api.features.TcFeature;
 import org.dkpro.tc.api.features.TcFeatureSet;
 import org.dkpro.tc.api.features.meta.MetaCollectorConfiguration;
 import org.dkpro.tc.api.features.meta.MetaDependent;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.task.uima.ConnectorConstants;
 import org.dkpro.tc.core.task.uima.ExtractFeaturesConnector;
-
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
+import org.dkpro.tc.core.task.uima.FeatureStoreConnector;
 
 /**
  * Executes all feature extractors and stores the feature representation (usually an Weka ARFF file)
@@ -72,6 +73,11 @@ public class ExtractFeaturesTask
      */
     public static final String INPUT_KEY = "input";
     public static final String COLLECTION_INPUT_KEY = "collectionInput";
+    /**
+     * Public name of the folder with the instances which have been extracted once for all folds
+     * of a cross-validation, see {@link FeatureStoreTask}
+     */
+    public static final String FEATURE_STORE_KEY = "featureStore";
 
     @Discriminator(name = DIM_FEATURE_FILTERS)
     private List<String> featureFilters = Collections.<String> emptyList();
@@ -106,13 +112,35 @@ public class ExtractFeaturesTask
     @Discriminator(name = DIM_ENFORCE_MATCHING_FEATURES_DURING_TESTING)
     private boolean enforceMatchingFeatures;
 
+    // does not change the extracted features, thus no discriminator
+    @Property(name = DIM_FEATURE_EXTRACTION_THREADS)
+    private Integer numThreads;
+
+    // does not change the extracted features, thus no discriminator
+    @Property(name = DIM_RECORD_EXTRACTOR_ALLOCATIONS)
+    private Boolean recordAllocations;
+
     private boolean isTesting = false;
 
+    private boolean useFeatureStore = false;
+
     public void setTesting(boolean isTesting)
     {
         this.isTesting = isTesting;
     }
 
+    /**
+     * Reads the instances of a cross-validation fold from the store imported as
+     * {@link #FEATURE_STORE_KEY} if the store is applicable to the fold.
+     * 
+     * @param useFeatureStore
+     *            whether the feature store is imported
+     */
+    public void setUseFeatureStore(boolean useFeatureStore)
+    {
+        this.useFeatureStore = useFeatureStore;
+    }
+
     @Override
     public AnalysisEngineDescription getAnalysisEngineDescription(TaskContext aContext)
         throws ResourceInitializationException
@@ -172,7 +200,15 @@ public class ExtractFeaturesTask
                     PARAM_IS_TESTING, isTesting, PARAM_USE_SPARSE_FEATURES,
                     useSparse, PARAM_OUTCOMES, outcomes, PARAM_FEATURE_EXTRACTORS,
                     featureExtractorDescriptions, PARAM_REQUIRED_TYPES, requiredTypes,
-                    PARAM_ENFORCE_MATCHING_FEATURES, enforceMatchingFeatures));
+                    PARAM_ENFORCE_MATCHING_FEATURES, enforceMatchingFeatures,
+                    PARAM_NUM_THREADS, numThreads != null ? numThreads : 1,
+                    PARAM_RECORD_ALLOCATIONS, recordAllocations != null && recordAllocations));
+
+            File featureStore = getFeatureStore(aContext);
+            if (featureStore != null) {
+                parameters.addAll(Arrays.asList(
+                        ExtractFeaturesConnector.PARAM_FEATURE_STORE_DIRECTORY, featureStore));
+            }
 
             return AnalysisEngineFactory.createEngineDescription(ExtractFeaturesConnector.class,
                     parameters.toArray());
@@ -189,27 +225,42 @@ public class ExtractFeaturesTask
     	if(isLearningCurveTaskWithFixedTestSet()) {
     		if(isTesting) {
     			 File root = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
-    	            Collection<File> files = FileUtils.listFiles(root, new String[] { "bin" }, true);
-    	            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-    	                    files);
+    	            return CasArchive.createReaderDescription(root);
     		}else {
-    	            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-    	            		files_training);
+    	            return CasArchive.createReaderDescription(files_training);
     		}
     	}
     	//Train-test setups
     	else if (filesRoot == null) {
             File root = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
-            Collection<File> files = FileUtils.listFiles(root, new String[] { "bin" }, true);
-            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-                    files);
+            return CasArchive.createReaderDescription(root);
         }
         // Cross-validation setup: filesRoot and files_training / validation have both to be set as dimension
         else {
             Collection<String> files = isTesting ? files_validation : files_training;
-            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-                    files);
+            return CasArchive.createReaderDescription(files);
+        }
+    }
+
+    /**
+     * The stored instances can only be used for the folds of a cross-validation which reads the
+     * documents the store was created from (i.e. not a minimal split created for a small number
+     * of documents) and if no feature extractor depends on meta data of the fold.
+     */
+    private File getFeatureStore(TaskContext aContext) throws Exception
+    {
+        if (!useFeatureStore || filesRoot == null || files_validation == null
+                || MetaInfoTask.hasMetaDependentExtractor(featureExtractors)) {
+            return null;
         }
+
+        File input = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
+        if (!input.getCanonicalFile().equals(filesRoot.getCanonicalFile())) {
+            return null;
+        }
+
+        File store = aContext.getFolder(FEATURE_STORE_KEY, AccessMode.READONLY);
+        return FeatureStoreConnector.isComplete(store) ? store : null;
     }
 
     private boolean isLearningCurveTaskWithFixedTestSet() {
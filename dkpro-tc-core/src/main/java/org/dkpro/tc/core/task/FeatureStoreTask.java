@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task;
+
+import static org.apache.uima.fit.factory.CollectionReaderFactory.createReaderDescription;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.uima.analysis_engine.AnalysisEngineDescription;
+import org.apache.uima.collection.CollectionReaderDescription;
+import org.apache.uima.fit.component.NoOpAnnotator;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.lab.engine.TaskContext;
+import org.dkpro.lab.storage.StorageService.AccessMode;
+import org.dkpro.lab.task.Discriminator;
+import org.dkpro.lab.task.Property;
+import org.dkpro.lab.uima.task.impl.UimaTaskBase;
+import org.dkpro.tc.api.features.TcFeature;
+import org.dkpro.tc.api.features.TcFeatureSet;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchive;
+import org.dkpro.tc.core.io.EmptyCollectionReader;
+import org.dkpro.tc.core.task.uima.ConnectorConstants;
+import org.dkpro.tc.core.task.uima.FeatureStoreConnector;
+
+/**
+ * Extracts the instances of all documents once before the folds of a cross-validation are
+ * processed. The {@link ExtractFeaturesTask} of each fold then reads the instances of its
+ * documents from this store instead of running the feature extractors again. Feature extractors
+ * which depend on meta data collected on the training part of a fold cannot be shared between
+ * folds; if the feature set contains such an extractor, the store remains empty and each fold
+ * extracts its features as before. N-gram statistics are not accumulated per fold, so the common
+ * n-gram setups do not benefit from the store.
+ *
+ * The store saves the feature extraction only. The CASes are still deserialized once per fold,
+ * since the {@link ExtractFeaturesTask} of a fold reads the CAS id and the document meta data
+ * from them.
+ */
+public class FeatureStoreTask
+    extends UimaTaskBase
+    implements Constants, ConnectorConstants
+{
+    /**
+     * Public name of the folder where the stored instances are located within the task
+     */
+    public static final String OUTPUT_KEY = "featureStore";
+    /**
+     * Public name of the folder where the input documents are stored within the task
+     */
+    public static final String INPUT_KEY = "input";
+
+    @Discriminator(name = DIM_FEATURE_SET)
+    private TcFeatureSet featureExtractors;
+
+    @Discriminator(name = DIM_FEATURE_MODE)
+    private String featureMode;
+
+    @Discriminator(name = DIM_FEATURE_USE_SPARSE)
+    private boolean useSparse;
+
+    // does not change the stored features, thus no discriminator
+    @Property(name = DIM_RECORD_EXTRACTOR_ALLOCATIONS)
+    private Boolean recordAllocations;
+
+    @Override
+    public CollectionReaderDescription getCollectionReaderDescription(TaskContext aContext)
+        throws ResourceInitializationException, IOException
+    {
+        if (!isStorable()) {
+            return createReaderDescription(EmptyCollectionReader.class);
+        }
+
+        File root = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
+        return CasArchive.createReaderDescription(root);
+    }
+
+    @Override
+    public AnalysisEngineDescription getAnalysisEngineDescription(TaskContext aContext)
+        throws ResourceInitializationException, IOException
+    {
+        File outputDir = aContext.getFolder(OUTPUT_KEY, AccessMode.READWRITE);
+
+        if (!isStorable()) {
+            return AnalysisEngineFactory.createEngineDescription(NoOpAnnotator.class);
+        }
+
+        List<ExternalResourceDescription> featureExtractorDescriptions = new ArrayList<>();
+        for (TcFeature feClosure : featureExtractors) {
+            featureExtractorDescriptions.add(feClosure.getActualValue());
+        }
+
+        return AnalysisEngineFactory.createEngineDescription(FeatureStoreConnector.class,
+                FeatureStoreConnector.PARAM_OUTPUT_DIRECTORY, outputDir,
+                FeatureStoreConnector.PARAM_ADD_INSTANCE_ID, true, PARAM_FEATURE_MODE,
+                featureMode, PARAM_USE_SPARSE_FEATURES, useSparse, PARAM_FEATURE_EXTRACTORS,
+                featureExtractorDescriptions, PARAM_RECORD_ALLOCATIONS,
+                recordAllocations != null && recordAllocations);
+    }
+
+    private boolean isStorable() throws ResourceInitializationException
+    {
+        return featureExtractors != null
+                && !MetaInfoTask.hasMetaDependentExtractor(featureExtractors);
+    }
+}
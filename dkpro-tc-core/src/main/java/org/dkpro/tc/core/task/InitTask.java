@@ -38,6 +38,7 @@ import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.TcFeature;
 import org.dkpro.tc.api.features.TcFeatureSet;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchiveWriter;
 import org.dkpro.tc.core.task.uima.AssignIdConnector;
 import org.dkpro.tc.core.task.uima.DocumentModeAnnotator;
 import org.dkpro.tc.core.task.uima.OutcomeCollector;
@@ -45,7 +46,6 @@ import org.dkpro.tc.core.task.uima.PreprocessConnector;
 import org.dkpro.tc.core.task.uima.ValidityCheckConnector;
 import org.dkpro.tc.core.task.uima.ValidityCheckConnectorPost;
 
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasWriter;
 
 /**
  * Initialization of the TC pipeline 1) checks the validity of the setup 2) runs the preprocessing
@@ -126,10 +126,9 @@ public class InitTask
         throws ResourceInitializationException, IOException
     {
         String output = isTesting ? OUTPUT_KEY_TEST : OUTPUT_KEY_TRAIN;
-        AnalysisEngineDescription xmiWriter = createEngineDescription(BinaryCasWriter.class,
-                BinaryCasWriter.PARAM_TARGET_LOCATION,
-                aContext.getFolder(output, AccessMode.READWRITE).getPath(),
-                BinaryCasWriter.PARAM_FORMAT, "6+");
+        AnalysisEngineDescription xmiWriter = createEngineDescription(CasArchiveWriter.class,
+                CasArchiveWriter.PARAM_TARGET_LOCATION,
+                aContext.getFolder(output, AccessMode.READWRITE).getPath());
 
         // special connector that just checks whether there are no instances and outputs a
         // meaningful error message then
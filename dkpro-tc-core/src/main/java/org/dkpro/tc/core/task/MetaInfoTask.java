@@ -31,7 +31,6 @@ import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineDescription;
 import org.apache.uima.cas.CAS;
 import org.apache.uima.collection.CollectionReaderDescription;
@@ -55,12 +54,15 @@ import org.dkpro.tc.api.features.meta.MetaDependent;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.feature.SequenceContextMetaCollector;
 import org.dkpro.tc.core.feature.UnitContextMetaCollector;
-
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
+import org.dkpro.tc.core.io.CasArchive;
+import org.dkpro.tc.core.io.EmptyCollectionReader;
 
 /**
  * Iterates over all documents and stores required collection-level meta data, e.g. which n-grams
- * appear in the documents.
+ * appear in the documents. If no feature extractor requires meta data and the context of the
+ * instances is not recorded, the task reads no documents at all. Otherwise, the documents are
+ * still read once by this task and once more by the feature extraction, since meta data has to
+ * be complete before the first feature is extracted.
  */
 public class MetaInfoTask
     extends UimaTaskBase
@@ -101,18 +103,19 @@ public class MetaInfoTask
     public CollectionReaderDescription getCollectionReaderDescription(TaskContext aContext)
         throws ResourceInitializationException, IOException
     {
+        if (!requiresCollectionPass()) {
+            // nothing to collect, the documents are read only once during feature extraction
+            return createReaderDescription(EmptyCollectionReader.class);
+        }
+
         // TrainTest setup: input files are set as imports
         if (filesRoot == null || files_training == null) {
             File root = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
-            Collection<File> files = FileUtils.listFiles(root, new String[] { "bin" }, true);
-
-            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-                    files);
+            return CasArchive.createReaderDescription(root);
         }
         // CV setup: filesRoot and files_atrining have to be set as dimension
         else {
-            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-                    files_training);
+            return CasArchive.createReaderDescription(files_training);
         }
     }
 
@@ -189,6 +192,52 @@ public class MetaInfoTask
         return builder.createAggregateDescription();
     }
 
+    /**
+     * Meta data have to be collected in a separate pass over the documents only if a feature
+     * extractor depends on them or if the context of the instances is recorded.
+     */
+    private boolean requiresCollectionPass() throws ResourceInitializationException
+    {
+        if (recordContext || featureExtractors == null) {
+            return true;
+        }
+        return hasMetaDependentExtractor(featureExtractors);
+    }
+
+    /**
+     * @param featureExtractors
+     *            the feature set
+     * @return true if at least one feature extractor of the set depends on meta data, i.e.
+     *         requires a meta collector with its current parameters
+     * @throws ResourceInitializationException
+     *             if a feature extractor class cannot be found
+     */
+    public static boolean hasMetaDependentExtractor(TcFeatureSet featureExtractors)
+        throws ResourceInitializationException
+    {
+        try {
+            for (TcFeature feClosure : featureExtractors) {
+                ExternalResourceDescription feDesc = feClosure.getActualValue();
+                Class<?> feClass = getClass(feDesc);
+                if (!MetaDependent.class.isAssignableFrom(feClass)) {
+                    continue;
+                }
+
+                // e.g. n-gram extractors which hash their n-grams need no collection pass
+                MetaDependent feInstance = (MetaDependent) feClass.newInstance();
+                Map<String, Object> parameterSettings = ConfigurationParameterFactory
+                        .getParameterSettings(feDesc.getResourceSpecifier());
+                if (!feInstance.getMetaCollectorClasses(parameterSettings).isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new ResourceInitializationException(e);
+        }
+        return false;
+    }
+
     public static Class<?> getClass(ExternalResourceDescription feDesc)
         throws ClassNotFoundException
     {
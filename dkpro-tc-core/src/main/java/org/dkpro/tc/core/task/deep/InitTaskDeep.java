@@ -34,11 +34,11 @@ import org.dkpro.lab.task.Discriminator;
 import org.dkpro.lab.uima.task.impl.UimaTaskBase;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.DeepLearningConstants;
+import org.dkpro.tc.core.io.CasArchiveWriter;
 import org.dkpro.tc.core.task.deep.anno.FilterVocabularyByEmbeddingAnnotator;
 import org.dkpro.tc.core.task.uima.AssignIdConnector;
 import org.dkpro.tc.core.task.uima.PreprocessConnector;
 
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasWriter;
 
 public class InitTaskDeep
     extends UimaTaskBase
@@ -108,9 +108,8 @@ public class InitTaskDeep
 
         File folder = aContext.getFolder(output, AccessMode.READWRITE);
 
-        AnalysisEngineDescription xmiWriter = createEngineDescription(BinaryCasWriter.class,
-                BinaryCasWriter.PARAM_TARGET_LOCATION, folder.getPath(),
-                BinaryCasWriter.PARAM_FORMAT, "6+");
+        AnalysisEngineDescription xmiWriter = createEngineDescription(CasArchiveWriter.class,
+                CasArchiveWriter.PARAM_TARGET_LOCATION, folder.getPath());
 
         // special connector that just checks whether there are no instances and outputs a
         // meaningful error message then
@@ -18,11 +18,9 @@
 package org.dkpro.tc.core.task.deep;
 
 import static org.apache.uima.fit.factory.AnalysisEngineFactory.createEngineDescription;
-import static org.apache.uima.fit.factory.CollectionReaderFactory.createReaderDescription;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collection;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
@@ -39,6 +37,7 @@ import org.dkpro.lab.task.Discriminator;
 import org.dkpro.lab.uima.task.impl.UimaTaskBase;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.DeepLearningConstants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.ml.TcDeepLearningAdapter;
 import org.dkpro.tc.core.task.deep.anno.MappingAnnotator;
 import org.dkpro.tc.core.task.deep.anno.MaxLenDoc2Label;
@@ -46,8 +45,6 @@ import org.dkpro.tc.core.task.deep.anno.MaxLenSeq2Label;
 import org.dkpro.tc.core.task.deep.anno.VocabularyOutcomeCollector;
 import org.dkpro.tc.core.task.deep.anno.res.LookupResourceAnnotator;
 
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
-
 /**
  * Collects information about the entire document
  */
@@ -88,14 +85,13 @@ public class PreparationTask
         throws ResourceInitializationException, IOException
     {
         File trainRoot = aContext.getFolder(INPUT_KEY_TRAIN, AccessMode.READONLY);
-        Collection<File> files = FileUtils.listFiles(trainRoot, new String[] { "bin" }, true);
+        List<String> entries = CasArchive.listEntries(trainRoot);
 
         if (!isCrossValidation()) {
             File testRoot = aContext.getFolder(INPUT_KEY_TEST, AccessMode.READONLY);
-            files.addAll(FileUtils.listFiles(testRoot, new String[] { "bin" }, true));
+            entries.addAll(CasArchive.listEntries(testRoot));
         }
-        return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-                files);
+        return CasArchive.createReaderDescription(entries);
     }
 
     private boolean isCrossValidation()
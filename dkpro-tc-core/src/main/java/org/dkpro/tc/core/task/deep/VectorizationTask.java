@@ -18,13 +18,11 @@
 package org.dkpro.tc.core.task.deep;
 
 import static org.apache.uima.fit.factory.AnalysisEngineFactory.createEngineDescription;
-import static org.apache.uima.fit.factory.CollectionReaderFactory.createReaderDescription;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineDescription;
 import org.apache.uima.collection.CollectionReaderDescription;
 import org.apache.uima.fit.factory.AggregateBuilder;
@@ -35,6 +33,7 @@ import org.dkpro.lab.task.Discriminator;
 import org.dkpro.lab.uima.task.impl.UimaTaskBase;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.DeepLearningConstants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.task.deep.anno.IdentificationCollector;
 import org.dkpro.tc.core.task.deep.anno.MetaDataCollectionAnnotator;
 import org.dkpro.tc.core.task.deep.anno.VectorizationDoc2Regression;
@@ -42,8 +41,6 @@ import org.dkpro.tc.core.task.deep.anno.VectorizationDoc2SingleLabel;
 import org.dkpro.tc.core.task.deep.anno.VectorizationDocDoc2MultiLabel;
 import org.dkpro.tc.core.task.deep.anno.VectorizationSeq2SeqOfLabel;
 
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
-
 public class VectorizationTask
     extends UimaTaskBase
     implements Constants, DeepLearningConstants
@@ -167,16 +164,13 @@ public class VectorizationTask
         // TrainTest setup: input files are set as imports
         if (filesRoot == null) {
             File root = aContext.getFolder(DATA_INPUT_KEY, AccessMode.READONLY);
-            Collection<File> files = FileUtils.listFiles(root, new String[] { "bin" }, true);
-            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-                    files);
+            return CasArchive.createReaderDescription(root);
         }
         // CV setup: filesRoot and files_atrining have to be set as dimension
         else {
 
             Collection<String> files = isTesting ? files_validation : files_training;
-            return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
-                    files);
+            return CasArchive.createReaderDescription(files);
         }
     }
 }
\ No newline at end of file
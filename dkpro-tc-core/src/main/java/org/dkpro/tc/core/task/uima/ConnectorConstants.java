@@ -83,4 +83,15 @@ public interface ConnectorConstants
      */
     String PARAM_ENFORCE_MATCHING_FEATURES = "enforceMatchingFeatures";
 
+    /**
+     * Number of threads that run the feature extractors. With more than one thread, several CASes
+     * are processed concurrently, which requires feature extractors that can be used concurrently.
+     */
+    String PARAM_NUM_THREADS = "numThreads";
+
+    /**
+     * If the bytes allocated by each feature extractor shall be recorded
+     */
+    String PARAM_RECORD_ALLOCATIONS = "recordAllocations";
+
 }
\ No newline at end of file
@@ -18,24 +18,38 @@
 package org.dkpro.tc.core.task.uima;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.logging.LogFactory;
 import org.apache.uima.UIMAException;
 import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
+import org.apache.uima.cas.CAS;
 import org.apache.uima.fit.component.JCasAnnotator_ImplBase;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.fit.descriptor.ExternalResource;
 import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.fit.factory.TypePrioritiesFactory;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.resource.metadata.TypePriorities;
+import org.apache.uima.util.CasCopier;
+import org.apache.uima.util.CasCreationUtils;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
 import org.dkpro.tc.api.features.Instance;
@@ -45,6 +59,7 @@ import org.dkpro.tc.api.type.TextClassificationSequence;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.io.DataWriter;
+import org.dkpro.tc.core.io.GenericFeatureStoreReader;
 import org.dkpro.tc.core.task.ExtractFeaturesTask;
 
 import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
@@ -104,6 +119,21 @@ public class ExtractFeaturesConnector
     @ConfigurationParameter(name = PARAM_ENFORCE_MATCHING_FEATURES, mandatory = false)
     private boolean enforceMatchingFeatures;
 
+    @ConfigurationParameter(name = PARAM_NUM_THREADS, mandatory = true, defaultValue = "1")
+    private int numThreads;
+
+    @ConfigurationParameter(name = PARAM_RECORD_ALLOCATIONS, mandatory = true, defaultValue = "false")
+    private boolean recordAllocations;
+
+    /**
+     * Directory of a store created by the {@link FeatureStoreConnector}. The instances of a CAS
+     * found in the store are read from it instead of being extracted again.
+     */
+    public static final String PARAM_FEATURE_STORE_DIRECTORY = "featureStoreDirectory";
+
+    @ConfigurationParameter(name = PARAM_FEATURE_STORE_DIRECTORY, mandatory = false)
+    private File featureStoreDirectory;
+
     @ExternalResource(key = PARAM_FEATURE_EXTRACTORS, mandatory = true)
     protected FeatureExtractorResource_ImplBase[] featureExtractors;
 
@@ -113,10 +143,19 @@ public class ExtractFeaturesConnector
 
     private InstanceExtractor instanceExtractor;
 
+    private FeatureExtractorStatistics statistics;
+
     private FeatureMetaData featureMeta;
 
     private DocumentMetaLogger documentMetaLogger;
 
+    // multi-threaded extraction, see processConcurrently()
+    private ExecutorService executor;
+    private BlockingQueue<JCas> idleCases;
+    private int numCases;
+    private TypePriorities typePriorities;
+    private Deque<Future<List<Instance>>> pending;
+
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
     {
@@ -125,8 +164,9 @@ public class ExtractFeaturesConnector
 
             documentMetaLogger = new DocumentMetaLogger(outputDirectory);
 
+            statistics = new FeatureExtractorStatistics(featureExtractors, recordAllocations);
             instanceExtractor = new InstanceExtractor(featureMode, featureExtractors,
-                    addInstanceId);
+                    addInstanceId, statistics);
             featureMeta = new FeatureMetaData();
 
             if (isTesting) {
@@ -144,6 +184,12 @@ public class ExtractFeaturesConnector
             dsw = (DataWriter) Class.forName(dataWriterClass).newInstance();
             dsw.init(outputDirectory, useSparseFeatures, learningMode, featureMode, applyWeighting,
                     outcomes);
+
+            if (numThreads > 1) {
+                executor = Executors.newFixedThreadPool(numThreads);
+                idleCases = new LinkedBlockingQueue<>();
+                pending = new ArrayDeque<>();
+            }
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -161,11 +207,122 @@ public class ExtractFeaturesConnector
             getFeatureNames(aJCas);
         }
 
-        LogFactory.getLog(getClass()).debug("--- feature extraction for CAS with id ["
-                + JCasUtil.selectSingle(aJCas, JCasId.class).getId() + "] ---");
+        int jcasId = JCasUtil.selectSingle(aJCas, JCasId.class).getId();
+
+        List<Instance> stored = readStoredInstances(jcasId);
+        if (stored != null) {
+            LogFactory.getLog(getClass())
+                    .debug("--- using stored features for CAS with id [" + jcasId + "] ---");
+            if (executor != null) {
+                pending.add(CompletableFuture.completedFuture(stored));
+                writePending(false);
+                return;
+            }
+            write(stored);
+            return;
+        }
+
+        LogFactory.getLog(getClass())
+                .debug("--- feature extraction for CAS with id [" + jcasId + "] ---");
+
+        if (executor != null) {
+            processConcurrently(aJCas);
+            return;
+        }
+
+        write(instanceExtractor.getInstances(aJCas, useSparseFeatures));
+    }
+
+    /**
+     * The pipeline re-uses its CAS once process() returns, the features are thus extracted from a
+     * copy. At most two copies per thread exist at a time; the instances are written in the order
+     * in which the CASes arrived, which keeps the output identical to single-threaded extraction.
+     */
+    private void processConcurrently(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        JCas copy = acquireCas(aJCas);
+        CasCopier.copyCas(aJCas.getCas(), copy.getCas(), true);
+
+        pending.add(executor.submit(() -> {
+            try {
+                return instanceExtractor.getInstances(copy, useSparseFeatures);
+            }
+            finally {
+                copy.reset();
+                idleCases.add(copy);
+            }
+        }));
+
+        writePending(false);
+    }
+
+    private List<Instance> readStoredInstances(int jcasId) throws AnalysisEngineProcessException
+    {
+        if (featureStoreDirectory == null) {
+            return null;
+        }
+
+        File file = FeatureStoreConnector.getInstanceFile(featureStoreDirectory, jcasId);
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(file)) {
+            return reader.hasNext() ? reader.next() : new ArrayList<>();
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
+    private JCas acquireCas(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        try {
+            JCas jcas = idleCases.poll();
+            if (jcas != null) {
+                return jcas;
+            }
+            if (numCases < 2 * numThreads) {
+                numCases++;
+                if (typePriorities == null) {
+                    // extractors have to see the annotations of a copy in the same order as in
+                    // the CAS of the pipeline, whose engine descriptions are created by uimaFIT
+                    // with the type priorities declared on the classpath
+                    typePriorities = TypePrioritiesFactory.createTypePriorities();
+                }
+                CAS cas = CasCreationUtils.createCas(aJCas.getTypeSystem(), typePriorities, null,
+                        null);
+                return cas.getJCas();
+            }
+            return idleCases.take();
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
 
-        List<Instance> instances = instanceExtractor.getInstances(aJCas, useSparseFeatures);
+    private void writePending(boolean all) throws AnalysisEngineProcessException
+    {
+        while (!pending.isEmpty() && (all || pending.peek().isDone()
+                || pending.size() >= 2 * numThreads)) {
+            try {
+                write(pending.poll().get());
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof AnalysisEngineProcessException) {
+                    throw (AnalysisEngineProcessException) e.getCause();
+                }
+                throw new AnalysisEngineProcessException(e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AnalysisEngineProcessException(e);
+            }
+        }
+    }
 
+    private void write(List<Instance> instances) throws AnalysisEngineProcessException
+    {
         LogFactory.getLog(getClass())
                 .trace("--- Extracted [" + instances.size() + " feature instances] ---");
 
@@ -238,7 +395,9 @@ public class ExtractFeaturesConnector
             // their names. An empty CAS will be a lot faster!
             JCas mockCas = buildMockCAS(JCasUtil.selectSingle(aJCas, DocumentMetaData.class));
 
-            List<Instance> instances = instanceExtractor.getInstances(mockCas, false);
+            // not recorded in the statistics, the mock CAS tells nothing about the extractors
+            List<Instance> instances = new InstanceExtractor(featureMode, featureExtractors,
+                    addInstanceId).getInstances(mockCas, false);
             featureMeta.collectMetaData(instances);
             featureMeta.writeMetaData(outputDirectory);
 
@@ -306,6 +465,11 @@ public class ExtractFeaturesConnector
     {
         super.collectionProcessComplete();
 
+        if (executor != null) {
+            writePending(true);
+            executor.shutdown();
+        }
+
         try {
 
             if (featureFilters.length > 0) {
@@ -323,6 +487,9 @@ public class ExtractFeaturesConnector
 
             documentMetaLogger.close();
 
+            statistics.write(
+                    new File(outputDirectory, Constants.FILENAME_FEATURE_EXTRACTOR_STATISTICS));
+
         }
         catch (Exception e) {
             throw new AnalysisEngineProcessException(e);
@@ -330,6 +497,15 @@ public class ExtractFeaturesConnector
 
     }
 
+    @Override
+    public void destroy()
+    {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        super.destroy();
+    }
+
     private void applyFilter(File jsonTempFile) throws AnalysisEngineProcessException
     {
         InstanceFilter filter = new InstanceFilter(featureFilters, isTesting);
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+
+/**
+ * Records how often each feature extractor is called, how long the calls take, how many features
+ * they return and, if requested, how many bytes they allocate. The statistics of all calls can be
+ * recorded concurrently from several threads.
+ *
+ * The latencies are kept in a histogram with four buckets per power of two, the reported
+ * percentiles are the upper bounds of the buckets and are thus at most 19% too high.
+ */
+public class FeatureExtractorStatistics
+{
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final FeatureExtractorResource_ImplBase[] extractors;
+    private final Map<FeatureExtractorResource_ImplBase, ExtractorStatistics> statistics;
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    /**
+     * @param extractors
+     *            the extractors whose calls are recorded
+     * @param recordAllocations
+     *            whether the bytes allocated by each call are recorded; ignored if the JVM cannot
+     *            measure the allocations of a thread
+     */
+    public FeatureExtractorStatistics(FeatureExtractorResource_ImplBase[] extractors,
+            boolean recordAllocations)
+    {
+        this.extractors = extractors;
+        this.statistics = new IdentityHashMap<>();
+        for (FeatureExtractorResource_ImplBase e : extractors) {
+            statistics.put(e, new ExtractorStatistics());
+        }
+        this.allocationBean = recordAllocations ? getAllocationBean() : null;
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationBean()
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (!allocationBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        return allocationBean;
+    }
+
+    /**
+     * @return the number of bytes allocated by the current thread so far, or -1 if allocations
+     *         are not recorded
+     */
+    public long getAllocatedBytes()
+    {
+        if (allocationBean == null) {
+            return -1;
+        }
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Records a single call of an extractor.
+     *
+     * @param extractor
+     *            the extractor that was called
+     * @param nanos
+     *            the duration of the call
+     * @param features
+     *            the number of features returned by the call
+     * @param allocatedBefore
+     *            the value of {@link #getAllocatedBytes()} before the call
+     */
+    public void record(FeatureExtractorResource_ImplBase extractor, long nanos, int features,
+            long allocatedBefore)
+    {
+        long allocated = allocatedBefore < 0 ? 0 : getAllocatedBytes() - allocatedBefore;
+        statistics.get(extractor).record(nanos, features, allocated);
+    }
+
+    /**
+     * Writes one line per extractor as tab-separated table to the given file.
+     *
+     * @param file
+     *            the output file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(File file) throws IOException
+    {
+        FileUtils.writeStringToFile(file, toString(), "utf-8");
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("#Extractor\tcalls\ttotal[ms]\tmean[ms]\tp50[ms]\tp90[ms]\tp99[ms]\tmax[ms]"
+                + "\tfeatures\tfeatures/call");
+        if (allocationBean != null) {
+            sb.append("\tallocated[MB]\tallocated/call[KB]");
+        }
+        sb.append("\n");
+
+        for (FeatureExtractorResource_ImplBase e : extractors) {
+            statistics.get(e).append(sb, e.getResourceName());
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    static int bucket(long nanos)
+    {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket)
+    {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private class ExtractorStatistics
+    {
+        private final long[] histogram = new long[BUCKETS];
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+        private long features;
+        private long allocatedBytes;
+
+        synchronized void record(long nanos, int numFeatures, long allocated)
+        {
+            histogram[bucket(nanos)]++;
+            calls++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            features += numFeatures;
+            allocatedBytes += allocated;
+        }
+
+        synchronized long percentile(double p)
+        {
+            long rank = (long) Math.ceil(p * calls);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(upperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        synchronized void append(StringBuilder sb, String name)
+        {
+            long perCall = Math.max(calls, 1);
+            sb.append(name);
+            sb.append("\t").append(calls);
+            sb.append("\t").append(millis(totalNanos));
+            sb.append("\t").append(millis(totalNanos / perCall));
+            sb.append("\t").append(millis(percentile(0.5)));
+            sb.append("\t").append(millis(percentile(0.9)));
+            sb.append("\t").append(millis(percentile(0.99)));
+            sb.append("\t").append(millis(maxNanos));
+            sb.append("\t").append(features);
+            sb.append("\t").append(String.format(Locale.US, "%.1f", features / (double) perCall));
+            if (allocationBean != null) {
+                sb.append("\t").append(String.format(Locale.US, "%.1f", allocatedBytes / (1024.0 * 1024)));
+                sb.append("\t").append(String.format(Locale.US, "%.1f", allocatedBytes / 1024.0 / perCall));
+            }
+        }
+
+        private String millis(long nanos)
+        {
+            return String.format(Locale.US, "%.3f", nanos / 1000000.0);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.uima.UimaContext;
+import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
+import org.apache.uima.fit.component.JCasAnnotator_ImplBase;
+import org.apache.uima.fit.descriptor.ConfigurationParameter;
+import org.apache.uima.fit.descriptor.ExternalResource;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.api.type.JCasId;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.GenericFeatureStoreWriter;
+import org.dkpro.tc.core.task.FeatureStoreTask;
+
+/**
+ * UIMA analysis engine that is used in the {@link FeatureStoreTask} to extract the instances of
+ * each CAS once. The instances of a CAS are stored in a file of their own, named after the id of
+ * the CAS, from which the {@link ExtractFeaturesConnector} of each cross-validation fold reads
+ * them instead of running the feature extractors again.
+ */
+public class FeatureStoreConnector
+    extends JCasAnnotator_ImplBase
+    implements ConnectorConstants
+{
+    /**
+     * Directory in which the instances of each CAS will be stored
+     */
+    public static final String PARAM_OUTPUT_DIRECTORY = "outputDirectory";
+
+    @ConfigurationParameter(name = PARAM_OUTPUT_DIRECTORY, mandatory = true)
+    private File outputDirectory;
+
+    /**
+     * Whether an ID should be added to each instance
+     */
+    public static final String PARAM_ADD_INSTANCE_ID = "addInstanceId";
+
+    @ConfigurationParameter(name = PARAM_ADD_INSTANCE_ID, mandatory = true, defaultValue = "true")
+    private boolean addInstanceId;
+
+    @ConfigurationParameter(name = PARAM_FEATURE_MODE, mandatory = true, defaultValue = Constants.FM_DOCUMENT)
+    private String featureMode;
+
+    @ConfigurationParameter(name = PARAM_USE_SPARSE_FEATURES, mandatory = true)
+    private boolean useSparseFeatures;
+
+    @ConfigurationParameter(name = PARAM_RECORD_ALLOCATIONS, mandatory = true, defaultValue = "false")
+    private boolean recordAllocations;
+
+    @ExternalResource(key = PARAM_FEATURE_EXTRACTORS, mandatory = true)
+    protected FeatureExtractorResource_ImplBase[] featureExtractors;
+
+    /**
+     * Name of the file which marks a store whose collection has been processed completely
+     */
+    public static final String COMPLETE_MARKER = "complete";
+
+    private InstanceExtractor instanceExtractor;
+
+    private FeatureExtractorStatistics statistics;
+
+    @Override
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+
+        statistics = new FeatureExtractorStatistics(featureExtractors, recordAllocations);
+        instanceExtractor = new InstanceExtractor(featureMode, featureExtractors, addInstanceId,
+                statistics);
+        outputDirectory.mkdirs();
+    }
+
+    @Override
+    public void process(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        int jcasId = JCasUtil.selectSingle(aJCas, JCasId.class).getId();
+        List<Instance> instances = instanceExtractor.getInstances(aJCas, useSparseFeatures);
+
+        try (GenericFeatureStoreWriter writer = new GenericFeatureStoreWriter(
+                getInstanceFile(outputDirectory, jcasId))) {
+            writer.write(instances);
+        }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
+    @Override
+    public void collectionProcessComplete() throws AnalysisEngineProcessException
+    {
+        super.collectionProcessComplete();
+
+        try {
+            statistics.write(
+                    new File(outputDirectory, Constants.FILENAME_FEATURE_EXTRACTOR_STATISTICS));
+            new File(outputDirectory, COMPLETE_MARKER).createNewFile();
+        }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
+    /**
+     * @param storeDirectory
+     *            the directory of the feature store
+     * @param jcasId
+     *            the id of the CAS
+     * @return the file which holds the instances of the CAS
+     */
+    public static File getInstanceFile(File storeDirectory, int jcasId)
+    {
+        return new File(storeDirectory, jcasId + ".bin");
+    }
+
+    /**
+     * @param storeDirectory
+     *            the directory of the feature store
+     * @return true if all CASes of the collection have been stored
+     */
+    public static boolean isComplete(File storeDirectory)
+    {
+        return new File(storeDirectory, COMPLETE_MARKER).exists();
+    }
+}
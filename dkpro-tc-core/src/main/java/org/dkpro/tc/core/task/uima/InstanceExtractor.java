@@ -30,11 +30,14 @@ import org.apache.uima.cas.text.AnnotationFS;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.CasAnnotationIndex;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractor;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
 import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.api.features.InstanceBuilder;
 import org.dkpro.tc.api.features.PairFeatureExtractor;
+import org.dkpro.tc.api.features.SparseFeatureExtractor;
 import org.dkpro.tc.api.type.JCasId;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.api.type.TextClassificationSequence;
@@ -49,13 +52,26 @@ public class InstanceExtractor
     private String featureMode;
     private FeatureExtractorResource_ImplBase[] featureExtractors;
     private boolean addInstanceId;
+    private FeatureExtractorStatistics statistics;
 
     public InstanceExtractor(String featureMode,
             FeatureExtractorResource_ImplBase[] featureExtractors, boolean addInstanceId)
+    {
+        this(featureMode, featureExtractors, addInstanceId, null);
+    }
+
+    /**
+     * @param statistics
+     *            records the calls of the feature extractors, may be null
+     */
+    public InstanceExtractor(String featureMode,
+            FeatureExtractorResource_ImplBase[] featureExtractors, boolean addInstanceId,
+            FeatureExtractorStatistics statistics)
     {
         this.featureMode = featureMode;
         this.featureExtractors = Arrays.copyOf(featureExtractors, featureExtractors.length);
         this.addInstanceId = addInstanceId;
+        this.statistics = statistics;
     }
 
     public List<Instance> getInstances(JCas aJCas, boolean extractSparse)
@@ -63,18 +79,24 @@ public class InstanceExtractor
     {
 
         try {
-            if (isSequenceMode()) {
-                return getSequenceInstances(aJCas, extractSparse);
-            }
-            else if (isUnitMode()) {
-                return getUnitInstances(aJCas, extractSparse);
+            // all extractors share the annotations looked up in the document
+            CasAnnotationIndex.register(aJCas);
+            try {
+                if (isSequenceMode()) {
+                    return getSequenceInstances(aJCas, extractSparse);
+                }
+                else if (isUnitMode()) {
+                    return getUnitInstances(aJCas, extractSparse);
+                }
+                else {
+                    List<Instance> instances = new ArrayList<>();
+                    instances.add(getSingleInstance(aJCas, extractSparse));
+                    return instances;
+                }
             }
-            else {
-                List<Instance> instances = new ArrayList<>();
-                instances.add(getSingleInstance(aJCas, extractSparse));
-                return instances;
+            finally {
+                CasAnnotationIndex.unregister(aJCas);
             }
-
         }
         catch (Exception e) {
             throw new AnalysisEngineProcessException(e);
@@ -107,13 +129,13 @@ public class InstanceExtractor
         for (TextClassificationSequence seq : sequences) {
             targetId = 0;
 
-            List<TextClassificationTarget> seqTargets = JCasUtil.selectCovered(aJCas,
-                    TextClassificationTarget.class, seq);
+            List<TextClassificationTarget> seqTargets = CasAnnotationIndex.get(aJCas)
+                    .selectCovered(TextClassificationTarget.class, seq);
             for (TextClassificationTarget aTarget : seqTargets) {
 
                 aTarget.setId(targetId++);
 
-                Instance instance = new Instance();
+                InstanceBuilder instance = new InstanceBuilder();
 
                 if (addInstanceId) {
                     instance.addFeature(InstanceIdFeature.retrieve(aJCas, aTarget, sequenceId));
@@ -131,13 +153,13 @@ public class InstanceExtractor
                 }
 
                 // set and write outcome label(s)
-                instance.setOutcomes(getOutcomes(aJCas, aTarget));
-                instance.setWeight(getWeight(aJCas, aTarget));
-                instance.setJcasId(jcasId);
-                instance.setSequenceId(sequenceId);
-                instance.setSequencePosition(aTarget.getId());
+                instance.outcomes(getOutcomes(aJCas, aTarget));
+                instance.weight(getWeight(aJCas, aTarget));
+                instance.jcasId(jcasId);
+                instance.sequenceId(sequenceId);
+                instance.sequencePosition(aTarget.getId());
 
-                instances.add(instance);
+                instances.add(instance.build());
             }
             sequenceId++;
         }
@@ -155,7 +177,7 @@ public class InstanceExtractor
                 TextClassificationTarget.class);
         for (TextClassificationTarget aTarget : targets) {
 
-            Instance instance = new Instance();
+            InstanceBuilder instance = new InstanceBuilder();
 
             if (addInstanceId) {
                 Feature feat = InstanceIdFeature.retrieve(aJCas, aTarget);
@@ -180,13 +202,13 @@ public class InstanceExtractor
             }
 
             // set and write outcome label(s)
-            instance.setOutcomes(getOutcomes(aJCas, aTarget));
-            instance.setWeight(getWeight(aJCas, aTarget));
-            instance.setJcasId(jcasId);
-            // instance.setSequenceId(sequenceId);
-            instance.setSequencePosition(aTarget.getId());
+            instance.outcomes(getOutcomes(aJCas, aTarget));
+            instance.weight(getWeight(aJCas, aTarget));
+            instance.jcasId(jcasId);
+            // instance.sequenceId(sequenceId);
+            instance.sequencePosition(aTarget.getId());
 
-            instances.add(instance);
+            instances.add(instance.build());
         }
 
         return instances;
@@ -195,19 +217,19 @@ public class InstanceExtractor
     public Instance getSingleInstance(JCas aJCas, boolean supportSparseFeatures) throws Exception
     {
 
-        Instance instance = new Instance();
+        InstanceBuilder instance = new InstanceBuilder();
 
         if (isDocumentMode()) {
-            instance = getSingleInstanceDocument(instance, aJCas, supportSparseFeatures);
+            getSingleInstanceDocument(instance, aJCas, supportSparseFeatures);
         }
         else if (isPairMode()) {
-            instance = getSingleInstancePair(instance, aJCas);
+            getSingleInstancePair(instance, aJCas, supportSparseFeatures);
         }
         else if (isUnitMode()) {
-            instance = getSingleInstanceUnit(instance, aJCas, supportSparseFeatures);
+            getSingleInstanceUnit(instance, aJCas, supportSparseFeatures);
         }
 
-        return instance;
+        return instance.build();
     }
 
     private boolean isPairMode()
@@ -220,7 +242,7 @@ public class InstanceExtractor
         return featureMode.equals(Constants.FM_DOCUMENT);
     }
 
-    private Instance getSingleInstanceUnit(Instance anInstance, JCas aJCas,
+    private void getSingleInstanceUnit(InstanceBuilder anInstance, JCas aJCas,
             boolean supportsSparseFeature)
         throws Exception
     {
@@ -240,14 +262,14 @@ public class InstanceExtractor
                 anInstance.addFeatures(getDense(aJCas, unit, featExt));
             }
 
-            anInstance.setOutcomes(getOutcomes(aJCas, unit));
-            anInstance.setWeight(getWeight(aJCas, unit));
-            anInstance.setJcasId(jcasId);
+            anInstance.outcomes(getOutcomes(aJCas, unit));
+            anInstance.weight(getWeight(aJCas, unit));
+            anInstance.jcasId(jcasId);
         }
-        return anInstance;
     }
 
-    private Instance getSingleInstancePair(Instance anInstance, JCas aJCas)
+    private void getSingleInstancePair(InstanceBuilder anInstance, JCas aJCas,
+            boolean supportSparseFeatures)
         throws TextClassificationException
     {
         try {
@@ -264,19 +286,22 @@ public class InstanceExtractor
                 JCas view1 = aJCas.getView(Constants.PART_ONE);
                 JCas view2 = aJCas.getView(Constants.PART_TWO);
 
-                anInstance.setOutcomes(getOutcomes(aJCas, null));
-                anInstance.setWeight(getWeight(aJCas, null));
-                anInstance.setJcasId(jcasId);
-                anInstance.addFeatures(((PairFeatureExtractor) featExt).extract(view1, view2));
+                anInstance.outcomes(getOutcomes(aJCas, null));
+                anInstance.weight(getWeight(aJCas, null));
+                anInstance.jcasId(jcasId);
+                Set<Feature> features = extractPair(view1, view2, featExt);
+                if (!supportSparseFeatures) {
+                    features = toDense(features, featExt);
+                }
+                anInstance.addFeatures(features);
             }
         }
         catch (CASException e) {
             throw new TextClassificationException(e);
         }
-        return anInstance;
     }
 
-    private Instance getSingleInstanceDocument(Instance anInstance, JCas aJCas,
+    private void getSingleInstanceDocument(InstanceBuilder anInstance, JCas aJCas,
             boolean supportSparseFeatures)
         throws TextClassificationException
     {
@@ -303,12 +328,10 @@ public class InstanceExtractor
                 anInstance.addFeatures(getDense(aJCas, documentTcu, featExt));
             }
 
-            anInstance.setOutcomes(getOutcomes(aJCas, null));
-            anInstance.setWeight(getWeight(aJCas, null));
-            anInstance.setJcasId(jcasId);
+            anInstance.outcomes(getOutcomes(aJCas, null));
+            anInstance.weight(getWeight(aJCas, null));
+            anInstance.jcasId(jcasId);
         }
-
-        return anInstance;
     }
 
     public List<String> getOutcomes(JCas aJCas, AnnotationFS anAnnotation) throws TextClassificationException
@@ -318,7 +341,8 @@ public class InstanceExtractor
             outcomes = JCasUtil.select(aJCas, TextClassificationOutcome.class);
         }
         else {
-            outcomes = JCasUtil.selectCovered(aJCas, TextClassificationOutcome.class, anAnnotation);
+            outcomes = CasAnnotationIndex.get(aJCas).selectCovered(TextClassificationOutcome.class,
+                    anAnnotation);
         }
 
         if (outcomes.size() == 0) {
@@ -340,7 +364,8 @@ public class InstanceExtractor
             outcomes = JCasUtil.select(aJCas, TextClassificationOutcome.class);
         }
         else {
-            outcomes = JCasUtil.selectCovered(aJCas, TextClassificationOutcome.class, anAnnotation);
+            outcomes = CasAnnotationIndex.get(aJCas).selectCovered(TextClassificationOutcome.class,
+                    anAnnotation);
         }
 
         if (outcomes.size() == 0) {
@@ -360,14 +385,42 @@ public class InstanceExtractor
             FeatureExtractorResource_ImplBase aFeatExtractor)
         throws TextClassificationException
     {
-        return ((FeatureExtractor) aFeatExtractor).extract(aJCas, aTarget);
+        return toDense(extract(aJCas, aTarget, aFeatExtractor), aFeatExtractor);
+    }
+
+    private Set<Feature> toDense(Set<Feature> features,
+            FeatureExtractorResource_ImplBase aFeatExtractor)
+        throws TextClassificationException
+    {
+        if (aFeatExtractor instanceof SparseFeatureExtractor) {
+            // the extractor returns only the features that are set, complete the instance with
+            // the default values of all other features of this extractor
+            Set<String> names = new HashSet<>();
+            for (Feature f : features) {
+                names.add(f.getName());
+            }
+            Set<Feature> dense = new HashSet<>(features);
+            for (Feature f : ((SparseFeatureExtractor) aFeatExtractor).getDefaultFeatures()) {
+                if (!names.contains(f.getName())) {
+                    dense.add(f);
+                }
+            }
+            return dense;
+        }
+
+        return features;
     }
 
     private Set<Feature> getSparse(JCas aJCas, TextClassificationTarget aTarget,
             FeatureExtractorResource_ImplBase aFeatExtractor)
         throws TextClassificationException
     {
-        Set<Feature> features = ((FeatureExtractor) aFeatExtractor).extract(aJCas, aTarget);
+        Set<Feature> features = extract(aJCas, aTarget, aFeatExtractor);
+        if (aFeatExtractor instanceof SparseFeatureExtractor) {
+            // contains no default values by contract
+            return features;
+        }
+
         Set<Feature> filtered = new HashSet<>();
         for (Feature f : features) {
             if (!f.isDefaultValue()) {
@@ -378,4 +431,34 @@ public class InstanceExtractor
         return filtered;
     }
 
+    private Set<Feature> extract(JCas aJCas, TextClassificationTarget aTarget,
+            FeatureExtractorResource_ImplBase aFeatExtractor)
+        throws TextClassificationException
+    {
+        if (statistics == null) {
+            return ((FeatureExtractor) aFeatExtractor).extract(aJCas, aTarget);
+        }
+
+        long allocated = statistics.getAllocatedBytes();
+        long start = System.nanoTime();
+        Set<Feature> features = ((FeatureExtractor) aFeatExtractor).extract(aJCas, aTarget);
+        statistics.record(aFeatExtractor, System.nanoTime() - start, features.size(), allocated);
+        return features;
+    }
+
+    private Set<Feature> extractPair(JCas aView1, JCas aView2,
+            FeatureExtractorResource_ImplBase aFeatExtractor)
+        throws TextClassificationException
+    {
+        if (statistics == null) {
+            return ((PairFeatureExtractor) aFeatExtractor).extract(aView1, aView2);
+        }
+
+        long allocated = statistics.getAllocatedBytes();
+        long start = System.nanoTime();
+        Set<Feature> features = ((PairFeatureExtractor) aFeatExtractor).extract(aView1, aView2);
+        statistics.record(aFeatExtractor, System.nanoTime() - start, features.size(), allocated);
+        return features;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.collection.CollectionReaderDescription;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.fit.pipeline.JCasIterable;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+
+public class CasArchiveTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip() throws Exception
+    {
+        File target = folder.newFolder();
+        write(target, 2, "zero", "one", "two", "three", "four");
+
+        assertEquals(3,
+                FileUtils.listFiles(target, new String[] { CasArchive.ARCHIVE_EXTENSION }, false)
+                        .size());
+        assertEquals(5, CasArchive.countEntries(target));
+
+        List<String> entries = CasArchive.listEntries(target);
+        assertEquals(5, entries.size());
+
+        assertEquals(Arrays.asList("zero", "one", "two", "three", "four"),
+                read(CasArchive.createReaderDescription(target)));
+
+        // a subset of the entries is read in archive order
+        assertEquals(Arrays.asList("one", "three", "four"), read(CasArchive
+                .createReaderDescription(
+                        Arrays.asList(entries.get(4), entries.get(1), entries.get(3)))));
+    }
+
+    @Test
+    public void appendToExistingArchives() throws Exception
+    {
+        File target = folder.newFolder();
+        write(target, 10, "zero", "one");
+        write(target, 10, "two");
+
+        assertEquals(3, CasArchive.countEntries(target));
+        assertEquals(Arrays.asList("zero", "one", "two"),
+                read(CasArchive.createReaderDescription(target)));
+    }
+
+    @Test
+    public void documentNames() throws Exception
+    {
+        File target = folder.newFolder();
+        AnalysisEngine writer = AnalysisEngineFactory.createEngine(CasArchiveWriter.class,
+                CasArchiveWriter.PARAM_TARGET_LOCATION, target,
+                CasArchiveWriter.PARAM_CASES_PER_ARCHIVE, 2);
+
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentText("by uri");
+        DocumentMetaData meta = DocumentMetaData.create(jcas);
+        meta.setDocumentBaseUri("file:/corpus/");
+        meta.setDocumentUri("file:/corpus/sub/doc1.txt");
+        meta.setDocumentId("doc1");
+        writer.process(jcas);
+
+        jcas = JCasFactory.createJCas();
+        jcas.setDocumentText("by id");
+        DocumentMetaData.create(jcas).setDocumentId("doc2");
+        writer.process(jcas);
+
+        jcas = JCasFactory.createJCas();
+        jcas.setDocumentText("without meta data");
+        writer.process(jcas);
+
+        writer.collectionProcessComplete();
+        writer.destroy();
+
+        List<String> entries = CasArchive.listEntries(target);
+        Map<String, String> names = CasArchive.getDocumentNames(entries);
+        assertEquals(new File(target, "sub/doc1.txt.bin").getAbsolutePath(),
+                names.get(entries.get(0)));
+        assertEquals(new File(target, "doc2.bin").getAbsolutePath(), names.get(entries.get(1)));
+        assertEquals(new File(target, "document-1-0.bin").getAbsolutePath(),
+                names.get(entries.get(2)));
+    }
+
+    private void write(File target, int casesPerArchive, String... texts) throws Exception
+    {
+        AnalysisEngine writer = AnalysisEngineFactory.createEngine(CasArchiveWriter.class,
+                CasArchiveWriter.PARAM_TARGET_LOCATION, target,
+                CasArchiveWriter.PARAM_CASES_PER_ARCHIVE, casesPerArchive);
+
+        for (String text : texts) {
+            JCas jcas = JCasFactory.createJCas();
+            jcas.setDocumentText(text);
+            new TextClassificationTarget(jcas, 0, text.length()).addToIndexes();
+            writer.process(jcas);
+        }
+        writer.collectionProcessComplete();
+        writer.destroy();
+    }
+
+    private List<String> read(CollectionReaderDescription reader) throws Exception
+    {
+        List<String> texts = new ArrayList<>();
+        for (JCas jcas : new JCasIterable(reader)) {
+            TextClassificationTarget target = JCasUtil.selectSingle(jcas,
+                    TextClassificationTarget.class);
+            assertEquals(jcas.getDocumentText(), target.getCoveredText());
+            texts.add(jcas.getDocumentText());
+        }
+        return texts;
+    }
+}
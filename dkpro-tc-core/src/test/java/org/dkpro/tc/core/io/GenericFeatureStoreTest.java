@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GenericFeatureStoreTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip() throws Exception
+    {
+        File store = folder.newFile();
+
+        Instance first = new Instance(Arrays.asList(
+                new Feature("count", 3, FeatureType.NUMERIC),
+                new Feature("ratio", 0.25, FeatureType.NUMERIC),
+                new Feature("token", "Häuser", FeatureType.STRING),
+                new Feature("flag", 0, true, FeatureType.BOOLEAN)), "a", "b");
+        first.setJcasId(7);
+        first.setSequenceId(2);
+        first.setSequencePosition(0);
+        first.setWeight(0.5);
+
+        Instance second = new Instance(Arrays.asList(
+                new Feature("count", -4L, FeatureType.NUMERIC),
+                new Feature("flag", true, FeatureType.BOOLEAN)), "c");
+        second.setSequenceId(2);
+        second.setSequencePosition(1);
+
+        Instance third = new Instance(Arrays.asList(
+                new Feature("token", "x", FeatureType.NOMINAL)), "a");
+
+        try (GenericFeatureStoreWriter writer = new GenericFeatureStoreWriter(store)) {
+            writer.write(Arrays.asList(first, second));
+            writer.write(Arrays.asList(third));
+        }
+
+        List<List<Instance>> blocks = new ArrayList<>();
+        try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(store)) {
+            while (reader.hasNext()) {
+                blocks.add(reader.next());
+            }
+        }
+
+        assertEquals(2, blocks.size());
+        assertEquals(2, blocks.get(0).size());
+        assertEquals(1, blocks.get(1).size());
+
+        Instance restored = blocks.get(0).get(0);
+        assertEquals(Arrays.asList("a", "b"), restored.getOutcomes());
+        assertEquals(7, restored.getJcasId());
+        assertEquals(2, restored.getSequenceId());
+        assertEquals(0, restored.getSequencePosition());
+        assertEquals(0.5, restored.getWeight(), 0.0001);
+        assertEquals(new ArrayList<>(first.getFeatures()),
+                new ArrayList<>(restored.getFeatures()));
+
+        List<Feature> features = new ArrayList<>(restored.getFeatures());
+        assertEquals(3, features.get(0).getValue());
+        assertTrue(features.get(1).isDefaultValue());
+        assertEquals(0.25, features.get(2).getValue());
+        assertEquals("Häuser", features.get(3).getValue());
+
+        restored = blocks.get(0).get(1);
+        assertEquals("c", restored.getOutcome());
+        assertEquals(1, restored.getSequencePosition());
+        features = new ArrayList<>(restored.getFeatures());
+        assertEquals(-4L, features.get(0).getValue());
+        assertEquals(Boolean.TRUE, features.get(1).getValue());
+        assertFalse(features.get(1).isDefaultValue());
+
+        restored = blocks.get(1).get(0);
+        assertEquals(FeatureType.NOMINAL, restored.getFeatures().iterator().next().getType());
+    }
+}
@@ -45,7 +45,7 @@ public class TestReaderSingleLabel
         try {
             jcas = aCAS.getJCas();
             JCasId id = new JCasId(jcas);
-            id.setId(jcasId);
+            id.setId(jcasId++);
             id.addToIndexes();
         }
         catch (CASException e) {
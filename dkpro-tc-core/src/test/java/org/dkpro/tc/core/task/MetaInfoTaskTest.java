@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.uima.collection.CollectionReaderDescription;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureExtractor;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.api.features.TcFeatureFactory;
+import org.dkpro.tc.api.features.TcFeatureSet;
+import org.dkpro.tc.api.features.meta.MetaCollectorConfiguration;
+import org.dkpro.tc.api.features.meta.MetaDependent;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.core.feature.UnitContextMetaCollector;
+import org.dkpro.tc.core.io.EmptyCollectionReader;
+import org.junit.Test;
+
+public class MetaInfoTaskTest
+{
+    @Test
+    public void collectionPassIsSkippedWithoutMetaDependentExtractor() throws Exception
+    {
+        TcFeatureSet features = new TcFeatureSet(TcFeatureFactory.create(PlainExtractor.class),
+                TcFeatureFactory.create(NoCollectorExtractor.class));
+        assertFalse(MetaInfoTask.hasMetaDependentExtractor(features));
+
+        MetaInfoTask task = new MetaInfoTask();
+        set(task, "featureExtractors", features);
+        set(task, "recordContext", false);
+
+        // the reader does not need the task context, no documents are read
+        CollectionReaderDescription reader = task.getCollectionReaderDescription(null);
+        assertEquals(EmptyCollectionReader.class.getName(), reader.getImplementationName());
+    }
+
+    @Test
+    public void collectionPassIsKeptForMetaDependentExtractor() throws Exception
+    {
+        TcFeatureSet features = new TcFeatureSet(TcFeatureFactory.create(PlainExtractor.class),
+                TcFeatureFactory.create(CollectingExtractor.class));
+        assertTrue(MetaInfoTask.hasMetaDependentExtractor(features));
+
+        MetaInfoTask task = new MetaInfoTask();
+        set(task, "featureExtractors", features);
+        set(task, "recordContext", false);
+        set(task, "files_training", new ArrayList<String>());
+        set(task, "filesRoot", new File("."));
+
+        CollectionReaderDescription reader = task.getCollectionReaderDescription(null);
+        assertFalse(EmptyCollectionReader.class.getName()
+                .equals(reader.getImplementationName()));
+    }
+
+    @Test
+    public void collectionPassIsKeptForRecordedContext() throws Exception
+    {
+        MetaInfoTask task = new MetaInfoTask();
+        set(task, "featureExtractors",
+                new TcFeatureSet(TcFeatureFactory.create(PlainExtractor.class)));
+        set(task, "recordContext", true);
+        set(task, "files_training", new ArrayList<String>());
+        set(task, "filesRoot", new File("."));
+
+        CollectionReaderDescription reader = task.getCollectionReaderDescription(null);
+        assertFalse(EmptyCollectionReader.class.getName()
+                .equals(reader.getImplementationName()));
+    }
+
+    private static void set(Object task, String name, Object value) throws Exception
+    {
+        Field field = MetaInfoTask.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(task, value);
+    }
+
+    public static class PlainExtractor
+        extends FeatureExtractorResource_ImplBase
+        implements FeatureExtractor
+    {
+        @Override
+        public Set<Feature> extract(JCas aJCas, TextClassificationTarget aTarget)
+            throws TextClassificationException
+        {
+            return new HashSet<>();
+        }
+    }
+
+    /**
+     * Depends on meta data in general, but not with its current parameters, e.g. an n-gram
+     * extractor that hashes its n-grams.
+     */
+    public static class NoCollectorExtractor
+        extends PlainExtractor
+        implements MetaDependent
+    {
+        @Override
+        public List<MetaCollectorConfiguration> getMetaCollectorClasses(
+                Map<String, Object> parameterSettings)
+            throws ResourceInitializationException
+        {
+            return new ArrayList<>();
+        }
+    }
+
+    public static class CollectingExtractor
+        extends PlainExtractor
+        implements MetaDependent
+    {
+        @Override
+        public List<MetaCollectorConfiguration> getMetaCollectorClasses(
+                Map<String, Object> parameterSettings)
+            throws ResourceInitializationException
+        {
+            return Arrays.asList(new MetaCollectorConfiguration(UnitContextMetaCollector.class,
+                    new HashMap<String, Object>()));
+        }
+    }
+}
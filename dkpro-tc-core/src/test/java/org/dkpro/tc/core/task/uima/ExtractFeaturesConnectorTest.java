@@ -18,6 +18,7 @@
 package org.dkpro.tc.core.task.uima;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -32,6 +33,7 @@ import org.apache.uima.collection.CollectionReaderDescription;
 import org.apache.uima.fit.factory.AnalysisEngineFactory;
 import org.apache.uima.fit.factory.CollectionReaderFactory;
 import org.apache.uima.fit.factory.ExternalResourceFactory;
+import org.apache.uima.fit.factory.ResourceCreationSpecifierFactory;
 import org.apache.uima.fit.pipeline.SimplePipeline;
 import org.apache.uima.resource.ExternalResourceDescription;
 import org.dkpro.tc.api.features.Instance;
@@ -105,6 +107,11 @@ public class ExtractFeaturesConnectorTest
         assertEquals(2, instances.size());
         assertEquals(1, getUniqueOutcomes(instances));
 
+        // the mock CAS used to collect the feature names is not counted
+        List<String> statistics = FileUtils.readLines(
+                new File(outputPath, Constants.FILENAME_FEATURE_EXTRACTOR_STATISTICS), "utf-8");
+        assertEquals(2, statistics.size());
+        assertEquals("2", statistics.get(1).split("\t")[1]);
     }
 
     @Test
@@ -205,6 +212,107 @@ public class ExtractFeaturesConnectorTest
                 .readFileToString(new File(outputPath, JsonDataWriter.JSON_FILE_NAME), "utf-8"));
     }
 
+    @Test
+    public void extractFeaturesConnectorMultiThreadedTest() throws Exception
+    {
+        List<String> singleThreaded = runSingleLabel(1);
+        List<String> multiThreaded = runSingleLabel(3);
+
+        assertEquals(2, multiThreaded.size());
+        assertEquals(singleThreaded, multiThreaded);
+    }
+
+    @Test
+    public void extractFeaturesConnectorFeatureStoreTest() throws Exception
+    {
+        File storePath = folder.newFolder();
+
+        AnalysisEngineDescription storeConnector = AnalysisEngineFactory.createEngineDescription(
+                FeatureStoreConnector.class, FeatureStoreConnector.PARAM_OUTPUT_DIRECTORY,
+                storePath, FeatureStoreConnector.PARAM_FEATURE_MODE, Constants.FM_DOCUMENT,
+                FeatureStoreConnector.PARAM_USE_SPARSE_FEATURES, false,
+                FeatureStoreConnector.PARAM_FEATURE_EXTRACTORS, getNoopExtractor());
+
+        SimplePipeline.runPipeline(getSingleLabelReader(), getSegmenter(), getDocumentMode(),
+                storeConnector);
+
+        assertTrue(FeatureStoreConnector.isComplete(storePath));
+
+        List<String> extracted = runSingleLabel(1);
+        List<String> stored = runSingleLabel(1, storePath);
+
+        assertEquals(2, stored.size());
+        assertEquals(extracted, stored);
+    }
+
+    private List<String> runSingleLabel(int numThreads) throws Exception
+    {
+        return runSingleLabel(numThreads, null);
+    }
+
+    private List<String> runSingleLabel(int numThreads, File featureStore) throws Exception
+    {
+        File outputPath = folder.newFolder();
+
+        ExternalResourceDescription featureExtractor = ExternalResourceFactory
+                .createExternalResourceDescription(NoopFeatureExtractor.class,
+                        NoopFeatureExtractor.PARAM_UNIQUE_EXTRACTOR_NAME, "123");
+        List<ExternalResourceDescription> fes = new ArrayList<>();
+        fes.add(featureExtractor);
+
+        CollectionReaderDescription reader = CollectionReaderFactory.createReaderDescription(
+                TestReaderSingleLabel.class, TestReaderSingleLabel.PARAM_SOURCE_LOCATION,
+                "src/test/resources/data/*.txt");
+
+        AnalysisEngineDescription segmenter = AnalysisEngineFactory
+                .createEngineDescription(BreakIteratorSegmenter.class);
+
+        AnalysisEngineDescription doc = AnalysisEngineFactory.createEngineDescription(
+                DocumentModeAnnotator.class, DocumentModeAnnotator.PARAM_FEATURE_MODE,
+                Constants.FM_DOCUMENT);
+
+        AnalysisEngineDescription featExtractorConnector = TaskUtils.getFeatureExtractorConnector(
+                outputPath.getAbsolutePath(), JsonDataWriter.class.getName(),
+                Constants.LM_SINGLE_LABEL, Constants.FM_DOCUMENT, false, false, false, false,
+                Collections.emptyList(), fes, new String[] {});
+        ResourceCreationSpecifierFactory.setConfigurationParameters(featExtractorConnector,
+                ExtractFeaturesConnector.PARAM_NUM_THREADS, numThreads);
+        if (featureStore != null) {
+            ResourceCreationSpecifierFactory.setConfigurationParameters(featExtractorConnector,
+                    ExtractFeaturesConnector.PARAM_FEATURE_STORE_DIRECTORY, featureStore);
+        }
+
+        SimplePipeline.runPipeline(reader, segmenter, doc, featExtractorConnector);
+
+        return FileUtils.readLines(new File(outputPath, JsonDataWriter.JSON_FILE_NAME), "utf-8");
+    }
+
+    private List<ExternalResourceDescription> getNoopExtractor()
+    {
+        List<ExternalResourceDescription> fes = new ArrayList<>();
+        fes.add(ExternalResourceFactory.createExternalResourceDescription(
+                NoopFeatureExtractor.class, NoopFeatureExtractor.PARAM_UNIQUE_EXTRACTOR_NAME,
+                "123"));
+        return fes;
+    }
+
+    private CollectionReaderDescription getSingleLabelReader() throws Exception
+    {
+        return CollectionReaderFactory.createReaderDescription(TestReaderSingleLabel.class,
+                TestReaderSingleLabel.PARAM_SOURCE_LOCATION, "src/test/resources/data/*.txt");
+    }
+
+    private AnalysisEngineDescription getSegmenter() throws Exception
+    {
+        return AnalysisEngineFactory.createEngineDescription(BreakIteratorSegmenter.class);
+    }
+
+    private AnalysisEngineDescription getDocumentMode() throws Exception
+    {
+        return AnalysisEngineFactory.createEngineDescription(DocumentModeAnnotator.class,
+                DocumentModeAnnotator.PARAM_FEATURE_MODE, Constants.FM_DOCUMENT);
+    }
+
     private int getUniqueOutcomes(List<Instance> instances)
     {
         Set<String> outcomes = new HashSet<String>();
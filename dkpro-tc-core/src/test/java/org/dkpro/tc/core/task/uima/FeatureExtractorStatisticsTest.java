@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FeatureExtractorStatisticsTest
+{
+    @Test
+    public void bucketBounds()
+    {
+        for (long nanos = 0; nanos < 100000; nanos++) {
+            long upper = FeatureExtractorStatistics
+                    .upperBound(FeatureExtractorStatistics.bucket(nanos));
+            assertTrue(nanos + " > " + upper, nanos <= upper);
+            assertTrue(nanos + " << " + upper, upper <= nanos * 1.25);
+        }
+
+        assertEquals(4, FeatureExtractorStatistics.bucket(4));
+        assertEquals(8, FeatureExtractorStatistics.bucket(9));
+        assertEquals(9, FeatureExtractorStatistics.upperBound(8));
+        assertEquals(Long.MAX_VALUE, FeatureExtractorStatistics
+                .upperBound(FeatureExtractorStatistics.bucket(Long.MAX_VALUE)));
+    }
+}
@@ -26,8 +26,8 @@ import org.apache.commons.io.FileUtils;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.feature.filter.FeatureFilter;
-
-import com.google.gson.Gson;
+import org.dkpro.tc.core.io.GenericFeatureStoreReader;
+import org.dkpro.tc.core.io.GenericFeatureStoreWriter;
 
 /*
  *  Demonstrates how feature filtering might work. The filter removes all ''character ngrams'' from the feature set
@@ -39,44 +39,39 @@ public class FilterCharNgramsByStartingLetter
     @Override
     public void applyFilter(File inputFeatureFile) throws Exception
     {
-        Gson gson = new Gson();
-
-        // iterating over a stream is for large data more reasonable that
-        // bulk-read of all data
-        List<String> outputLines = new ArrayList<>();
+        // Write new file to temporary location
+        File tmp = File.createTempFile("tmpFeatureFile", "tmp");
 
-        List<String> inputLines = FileUtils.readLines(inputFeatureFile, "utf-8");
-        for (String l : inputLines) {
-            // de-serialize
-            Instance[] instances = gson.fromJson(l, Instance[].class);
-            List<Instance> filter_out = new ArrayList<>();
-            for (Instance inst : instances) {
-                // collect features starting with a t-letter
-                List<Feature> features = new ArrayList<>(inst.getFeatures());
-                List<Feature> deletionTargets = new ArrayList<>();
-                for (Feature f : features) {
-                    if (f.getName().startsWith("charngram")) {
-                        deletionTargets.add(f);
+        // the feature store is read block by block, only one block is kept in memory
+        try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(inputFeatureFile);
+                GenericFeatureStoreWriter writer = new GenericFeatureStoreWriter(tmp)) {
+            while (reader.hasNext()) {
+                List<Instance> instances = reader.next();
+                List<Instance> filter_out = new ArrayList<>();
+                for (Instance inst : instances) {
+                    // collect features starting with a t-letter
+                    List<Feature> features = new ArrayList<>(inst.getFeatures());
+                    List<Feature> deletionTargets = new ArrayList<>();
+                    for (Feature f : features) {
+                        if (f.getName().startsWith("charngram")) {
+                            deletionTargets.add(f);
+                        }
+                    }
+                    // remove those features
+                    for (Feature f : deletionTargets) {
+                        features.remove(f);
                     }
-                }
-                // remove those features
-                for (Feature f : deletionTargets) {
-                    features.remove(f);
-                }
 
-                // update instances
-                inst.setFeatures(features);
+                    // update instances
+                    inst.setFeatures(features);
 
-                // re-serialize
-                filter_out.add(inst);
+                    // re-serialize
+                    filter_out.add(inst);
+                }
+                writer.write(filter_out);
             }
-            outputLines.add(gson.toJson(filter_out.toArray(new Instance[0]), Instance[].class));
         }
 
-        // Write new file to temporary location
-        File tmp = File.createTempFile("tmpFeatureFile", "tmp");
-        FileUtils.writeLines(tmp, "utf-8", outputLines);
-
         // overwrite input file with new file
         FileUtils.copyFile(tmp, inputFeatureFile);
         FileUtils.deleteQuietly(tmp);
@@ -18,26 +18,21 @@
  */
 package org.dkpro.tc.examples.shallow.filter;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
-import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.feature.filter.FeatureFilter;
-
-import com.google.gson.Gson;
+import org.dkpro.tc.core.io.GenericFeatureStoreReader;
+import org.dkpro.tc.core.io.GenericFeatureStoreWriter;
 
 /**
  * Resamples the instances in order to achieve a uniform class distribution. If the class
@@ -57,16 +52,11 @@ public class UniformClassDistributionFilter
     public void applyFilter(File f) throws Exception
     {
         Map<String, List<Integer>> outcomeLineMap = new HashMap<>();
-        Gson gson = new Gson();
 
         int lineId = 0;
-        BufferedReader reader = null;
-        String line = null;
-        try {
-            reader = new BufferedReader(new InputStreamReader(new FileInputStream(f), "utf-8"));
-            while ((line = reader.readLine()) != null) {
-                Instance[] ins = gson.fromJson(line, Instance[].class);
-                for (Instance i : ins) {
+        try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(f)) {
+            while (reader.hasNext()) {
+                for (Instance i : reader.next()) {
                     List<Integer> list = outcomeLineMap.get(i.getOutcome());
                     if (list == null) {
                         list = new ArrayList<>();
@@ -76,9 +66,6 @@ public class UniformClassDistributionFilter
                 }
             }
         }
-        finally {
-            IOUtils.closeQuietly(reader);
-        }
 
         // find the smallest class
         int minClassSize = Integer.MAX_VALUE;
@@ -92,44 +79,32 @@ public class UniformClassDistributionFilter
         }
 
         // shuffle the line-ids und shrink lists to minimal size
+        Set<Integer> selected = new HashSet<>();
         for (Entry<String, List<Integer>> e : outcomeLineMap.entrySet()) {
             List<Integer> list = e.getValue();
             Collections.shuffle(list);
-            outcomeLineMap.put(e.getKey(), list.subList(0, minClassSize));
+            selected.addAll(list.subList(0, minClassSize));
         }
 
-        File tmpOut = new File(f.getParentFile(), "json_filtered.txt");
-        BufferedWriter writer = null;
+        File tmpOut = new File(f.getParentFile(), "filtered_" + f.getName());
 
-        try {
-            reader = new BufferedReader(new InputStreamReader(new FileInputStream(f), "utf-8"));
-            writer = new BufferedWriter(
-                    new OutputStreamWriter(new FileOutputStream(tmpOut), "utf-8"));
-
-            line = null;
+        try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(f);
+                GenericFeatureStoreWriter writer = new GenericFeatureStoreWriter(tmpOut)) {
             lineId = 0;
-            while ((line = reader.readLine()) != null) {
-                Instance[] ins = gson.fromJson(line, Instance[].class);
-                for (Instance i : ins) {
+            while (reader.hasNext()) {
+                List<Instance> out = new ArrayList<>();
+                for (Instance i : reader.next()) {
                     // write the minimal class
-                    if (minOutcome.equals(i.getOutcome())) {
-                        writer.write(line + "\n");
-                        lineId++;
-                        continue;
-                    }
-
-                    boolean write = outcomeLineMap.get(i.getOutcome()).contains(lineId);
-                    if (write) {
-                        writer.write(line + "\n");
+                    if (minOutcome.equals(i.getOutcome()) || selected.contains(lineId)) {
+                        out.add(i);
                     }
+                    lineId++;
+                }
+                if (!out.isEmpty()) {
+                    writer.write(out);
                 }
-                lineId++;
             }
         }
-        finally {
-            IOUtils.closeQuietly(reader);
-            IOUtils.closeQuietly(writer);
-        }
 
         FileUtils.copyFile(tmpOut, f);
         FileUtils.deleteQuietly(tmpOut);
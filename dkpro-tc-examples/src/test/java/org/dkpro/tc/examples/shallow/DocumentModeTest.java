@@ -250,6 +250,7 @@ public class DocumentModeTest
         sum += 1; // 1 x Init
         sum += 1; // 1 x Outcome
         sum += 4; // 4 x Crossvalidation
+        // no feature store, the n-gram extractor depends on meta data of the folds
 
         return sum;
     }
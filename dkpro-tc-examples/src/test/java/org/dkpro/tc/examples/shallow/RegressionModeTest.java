@@ -286,6 +286,7 @@ public class RegressionModeTest
         sum += 5; // CV tasks
         sum += 1; // Init
         sum += 1; // Outcome
+        sum += 1; // Feature store, all adapters use sparse features
 
         return sum;
     }
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.dkpro.tc.features.ngram;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -24,51 +25,88 @@ import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractor;
 import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.SparseFeatureExtractor;
 import org.dkpro.tc.features.ngram.meta.base.LuceneFeatureExtractorBase;
+import org.dkpro.tc.features.ngram.util.FeatureHashing;
+import org.dkpro.tc.features.ngram.util.NGramVocabulary;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 
 public abstract class AbstractNgram extends LuceneFeatureExtractorBase
-implements FeatureExtractor
+implements FeatureExtractor, SparseFeatureExtractor
 {
-    protected Set<Feature> prepFeatSet;
+    protected volatile Set<Feature> prepFeatSet;
+
+    private volatile NGramVocabulary vocabulary;
+
+    /**
+     * Extractors can pass the vocabulary to the n-gram generation, which then skips all n-grams
+     * that cannot become a feature without building their strings.
+     * 
+     * @return the top-k n-grams, or {@code null} if n-grams are hashed
+     */
+    protected NGramVocabulary getVocabulary()
+    {
+        if (isFeatureHashing()) {
+            return null;
+        }
+        if (vocabulary == null) {
+            vocabulary = new NGramVocabulary(topKSet.getKeys());
+        }
+        return vocabulary;
+    }
 
     protected Set<Feature> getFeatureSet(FrequencyDistribution<String> fd) throws TextClassificationException {
         /*
-         * Instead of iterating all top-k ngrams comparing them to all document ngrams for each
-         * iteration (expensive for large top-Ks),we build all features that might be created only once.
-         * We copy this feature map then for each call, which is cheaper and update only the values of those ngrams that are found.
-         * (TH 2018-09-23) 
+         * Only the top-k ngrams that actually occur in the target are emitted. The remaining
+         * top-k ngrams carry their default value and are provided once by getDefaultFeatures()
+         * to consumers that need dense instances. The cost per call thus depends on the number
+         * of ngrams in the target and not on the size of the top-k list.
          */
-        Set<Feature> features = new HashSet<>(prepFeatSet);
-        
+        Set<Feature> features = new HashSet<>();
+
+        if (isFeatureHashing()) {
+            FeatureHashing hashing = new FeatureHashing(ngramHashBits);
+            for (String ng : fd.getKeys()) {
+                hashing.add(FeatureHashing.hash(ng), 1);
+            }
+            hashing.addFeatures(getFeaturePrefix(), features);
+            return features;
+        }
+
         for (String ng : fd.getKeys()) {
             if (topKSet.contains(ng)) {
-                // remove default value from set, i.e. feature name and value are part of the
-                // features identity. Thus, remove feature with value 0 and add new one with value
-                // 1. Just adding the same feature with a new value will NOT override the existing
-                // entry.
-                Feature feature = new Feature(getFeaturePrefix() + "_" + ng, 0, true, FeatureType.BOOLEAN);
-                features.remove(feature);
-                
-                //Set value to 1, i.e. feature found and mark the feature value as non-default value
-                feature.setValue(1);
-                feature.setDefault(false);
-                
-                //add to set
-                features.add(feature);
+                features.add(new Feature(getFeaturePrefix() + "_" + ng, 1, FeatureType.BOOLEAN));
             }
         }
         return features;
     }
 
+    @Override
+    public Set<Feature> getDefaultFeatures() throws TextClassificationException
+    {
+        if (prepFeatSet == null) {
+            prepare();
+        }
+        return prepFeatSet;
+    }
+
+    @Override
+    protected boolean supportsFeatureHashing()
+    {
+        return true;
+    }
+
     protected void prepare() throws TextClassificationException
     {
-        prepFeatSet = new HashSet<>(1024);
-        //Iterate once all topK and init features  
+        checkDenseFeatures();
+
+        Set<Feature> defaults = new HashSet<>(1024);
+        //Iterate once all topK and init features
         for(String topNgram : topKSet.getKeys()) {
             Feature feature = new Feature(getFeaturePrefix() + "_"  + topNgram, 0, true, FeatureType.BOOLEAN);
-            prepFeatSet.add(feature);
+            defaults.add(feature);
         }
+        prepFeatSet = Collections.unmodifiableSet(defaults);
     }
 }
@@ -18,6 +18,7 @@
 package org.dkpro.tc.features.ngram;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,10 +47,6 @@ public class CharacterNGram
     public Set<Feature> extract(JCas aJCas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
-            prepare();
-        }
-        
         FrequencyDistribution<String> documentCharNgrams = CharacterNGramMC
                 .getAnnotationCharacterNgrams(aTarget, 
                                               ngramLowerCase, 
@@ -85,6 +82,9 @@ public class CharacterNGram
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays
                 .asList(new MetaCollectorConfiguration(CharacterNGramMC.class, parameterSettings)
                         .addStorageMapping(CharacterNGramMC.PARAM_TARGET_LOCATION,
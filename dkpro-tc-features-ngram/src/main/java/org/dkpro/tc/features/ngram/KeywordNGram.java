@@ -19,6 +19,7 @@ package org.dkpro.tc.features.ngram;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -65,11 +66,6 @@ public class KeywordNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        
-        if (prepFeatSet == null) {
-            prepare();
-        }
-        
         FrequencyDistribution<String> documentNgrams = KeywordNGramUtils.getDocumentKeywordNgrams(
                 jcas, aTarget, ngramMaxN, ngramMaxN, markSentenceBoundary, markSentenceLocation,
                 includeCommas, keywords);
@@ -100,6 +96,9 @@ public class KeywordNGram
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays.asList(new MetaCollectorConfiguration(KeywordNGramMC.class, parameterSettings)
                 .addStorageMapping(KeywordNGramMC.PARAM_TARGET_LOCATION,
                         KeywordNGram.PARAM_SOURCE_LOCATION, KeywordNGramMC.LUCENE_DIR));
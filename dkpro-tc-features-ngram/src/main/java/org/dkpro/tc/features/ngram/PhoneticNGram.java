@@ -18,6 +18,7 @@
 package org.dkpro.tc.features.ngram;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,13 +48,8 @@ public class PhoneticNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        
-        if (prepFeatSet == null) {
-            prepare();
-        }
-
         FrequencyDistribution<String> documentNgrams = PhoneticNGramMC
-                .getDocumentPhoneticNgrams(jcas, aTarget, ngramMinN, ngramMaxN);
+                .getDocumentPhoneticNgrams(jcas, aTarget, ngramMinN, ngramMaxN, getVocabulary());
 
         return getFeatureSet(documentNgrams);
     }
@@ -63,6 +59,9 @@ public class PhoneticNGram
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays
                 .asList(new MetaCollectorConfiguration(PhoneticNGramMC.class, parameterSettings)
                         .addStorageMapping(PhoneticNGramMC.PARAM_TARGET_LOCATION,
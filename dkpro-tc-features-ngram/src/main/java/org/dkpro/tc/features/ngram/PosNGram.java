@@ -18,6 +18,7 @@
 package org.dkpro.tc.features.ngram;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -52,14 +53,9 @@ public class PosNGram
     public Set<Feature> extract(JCas view, TextClassificationTarget classificationUnit)
         throws TextClassificationException
     {
-        
-        if (prepFeatSet == null) {
-            prepare();
-        }
-
         FrequencyDistribution<String> documentPOSNgrams = null;
         documentPOSNgrams = PosNGramMC.getDocumentPosNgrams(view, classificationUnit, ngramMinN,
-                ngramMaxN, useCanonicalTags);
+                ngramMaxN, useCanonicalTags, getVocabulary());
 
  
         return getFeatureSet(documentPOSNgrams);
@@ -70,6 +66,9 @@ public class PosNGram
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays.asList(new MetaCollectorConfiguration(PosNGramMC.class, parameterSettings)
                 .addStorageMapping(PosNGramMC.PARAM_TARGET_LOCATION, PosNGram.PARAM_SOURCE_LOCATION,
                         PosNGramMC.LUCENE_DIR));
@@ -18,6 +18,7 @@
 package org.dkpro.tc.features.ngram;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,10 +52,6 @@ public class SkipCharacterNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
-            prepare();
-        }
-
         FrequencyDistribution<String> skipCharNgrams = SkipCharacterNGramMC.getCharacterSkipNgrams(jcas,
                 aTarget, ngramLowerCase, ngramMinN, ngramMaxN, charSkipSize);
 
@@ -67,6 +64,9 @@ public class SkipCharacterNGram
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays.asList(
                 new MetaCollectorConfiguration(SkipCharacterNGramMC.class, parameterSettings)
                         .addStorageMapping(SkipCharacterNGramMC.PARAM_TARGET_LOCATION,
@@ -18,6 +18,7 @@
 package org.dkpro.tc.features.ngram;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,13 +54,9 @@ public class SkipWordNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
-            prepare();
-        }
-
         FrequencyDistribution<String> documentNgrams = SkipWordNGramMC.getDocumentSkipNgrams(jcas,
                 aTarget, ngramLowerCase, filterPartialStopwordMatches, ngramMinN, ngramMaxN,
-                skipSize, stopwords);
+                skipSize, stopwords, getVocabulary());
 
        
         return getFeatureSet(documentNgrams);
@@ -70,6 +67,9 @@ public class SkipWordNGram
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays
                 .asList(new MetaCollectorConfiguration(SkipWordNGramMC.class, parameterSettings)
                         .addStorageMapping(SkipWordNGramMC.PARAM_TARGET_LOCATION,
@@ -18,6 +18,7 @@
 package org.dkpro.tc.features.ngram;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,12 +50,8 @@ public class WordNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
-            prepare();
-        }
-        
         FrequencyDistribution<String> ngrams = NGramUtils.getAnnotationNgrams(jcas, aTarget, ngramLowerCase,
-                filterPartialStopwordMatches, ngramMinN, ngramMaxN, stopwords);
+                filterPartialStopwordMatches, ngramMinN, ngramMaxN, stopwords, getVocabulary());
  
         return getFeatureSet(ngrams);
     }
@@ -64,6 +61,9 @@ public class WordNGram
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays.asList(new MetaCollectorConfiguration(WordNGramMC.class, parameterSettings)
                 .addStorageMapping(WordNGramMC.PARAM_TARGET_LOCATION,
                         WordNGram.PARAM_SOURCE_LOCATION, WordNGramMC.LUCENE_DIR));
@@ -19,6 +19,8 @@ package org.dkpro.tc.features.ngram.meta;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.lucene.document.Document;
@@ -37,6 +39,7 @@ import org.apache.uima.jcas.JCas;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.meta.MetaCollector;
+import org.dkpro.tc.features.ngram.util.TermFrequencyCounter;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
@@ -53,6 +56,29 @@ public abstract class LuceneMC
     @ConfigurationParameter(name = PARAM_TARGET_LOCATION, mandatory = true)
     protected File luceneDir;
 
+    /**
+     * Counts the n-grams in memory and writes one sorted term/frequency file per field instead of
+     * adding a Lucene field for each n-gram occurrence. The n-gram feature extractors read this
+     * file if it exists, the selected top-k n-grams are the same.
+     */
+    public static final String PARAM_USE_TERM_FREQUENCY_FILE = "useTermFrequencyFile";
+    @ConfigurationParameter(name = PARAM_USE_TERM_FREQUENCY_FILE, mandatory = true, defaultValue = "false")
+    protected boolean useTermFrequencyFile;
+
+    /**
+     * The maximal number of distinct n-grams per field that are counted in memory if
+     * {@link #PARAM_USE_TERM_FREQUENCY_FILE} is set. Further n-grams cause the counts to be
+     * written to a temporary file on disk, which are merged at the end of the collection.
+     */
+    public static final String PARAM_MAX_TERMS_IN_MEMORY = "maxTermsInMemory";
+    @ConfigurationParameter(name = PARAM_MAX_TERMS_IN_MEMORY, mandatory = true, defaultValue = "1000000")
+    protected int maxTermsInMemory;
+
+    /**
+     * The suffix of the term/frequency file, which is named after the field it belongs to.
+     */
+    public static final String TERM_FREQUENCY_FILE_SUFFIX = ".tf";
+
     // this is a static singleton as different Lucene-based meta collectors will
     // use the same writer
     static IndexWriter indexWriter = null;
@@ -63,12 +89,21 @@ public abstract class LuceneMC
 
     protected FieldType fieldType;
 
+    private Map<String, TermFrequencyCounter> counters;
+
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
     {
         super.initialize(context);
 
-        initializeWriter();
+        useTermFrequencyFile = useTermFrequencyFile && supportsTermFrequencyFile();
+        if (useTermFrequencyFile) {
+            luceneDir.mkdirs();
+            counters = new HashMap<>();
+        }
+        else {
+            initializeWriter();
+        }
 
         initDocument();
 
@@ -80,7 +115,18 @@ public abstract class LuceneMC
         fieldType.setTokenized(false);
         fieldType.freeze();
 
-        activeWriter.incrementAndGet();
+        if (!useTermFrequencyFile) {
+            activeWriter.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return false if this collector adds fields to the Lucene document itself and thus cannot
+     *         write a term/frequency file instead
+     */
+    protected boolean supportsTermFrequencyFile()
+    {
+        return true;
     }
 
     protected synchronized void initializeWriter() throws ResourceInitializationException
@@ -117,13 +163,7 @@ public abstract class LuceneMC
             FrequencyDistribution<String> documentNGrams;
             documentNGrams = getNgramsFD(jcas);
             for (String ngram : documentNGrams.getKeys()) {
-                // As a result of discussion, we add a field for each ngram per
-                // doc, not just each ngram type per doc.
-                Field field = new Field(getFieldName(), ngram, fieldType);
-                for (int i = 0; i < documentNGrams.getCount(ngram); i++) {
-                    currentDocument.add(field);
-                    documentSizeControll();
-                }
+                addTerm(getFieldName(), ngram, documentNGrams.getCount(ngram));
             }
 
         }
@@ -132,6 +172,39 @@ public abstract class LuceneMC
         }
     }
 
+    /**
+     * Adds the given number of occurrences of an n-gram to a field.
+     * 
+     * @param fieldName
+     *            the field
+     * @param ngram
+     *            the n-gram
+     * @param count
+     *            the number of occurrences
+     * @throws IOException
+     *             in case of an error
+     */
+    protected void addTerm(String fieldName, String ngram, long count) throws IOException
+    {
+        if (useTermFrequencyFile) {
+            TermFrequencyCounter counter = counters.get(fieldName);
+            if (counter == null) {
+                counter = new TermFrequencyCounter(luceneDir, maxTermsInMemory);
+                counters.put(fieldName, counter);
+            }
+            counter.add(ngram, count);
+            return;
+        }
+
+        // As a result of discussion, we add a field for each ngram per
+        // doc, not just each ngram type per doc.
+        Field field = new Field(fieldName, ngram, fieldType);
+        for (int i = 0; i < count; i++) {
+            currentDocument.add(field);
+            documentSizeControll();
+        }
+    }
+
     // We write documents to disk after a thousand entries. This threshold is
     // arbitrarily set, this decouples the index size from the number of CAS
     // objects that are being processed. If, for instance, many postings are
@@ -164,6 +237,11 @@ public abstract class LuceneMC
     {
         super.collectionProcessComplete();
 
+        if (useTermFrequencyFile) {
+            writeTermFrequencyFiles();
+            return;
+        }
+
         try {
             writeToIndex();
             indexWriter.commit();
@@ -174,6 +252,25 @@ public abstract class LuceneMC
         }
     }
 
+    private void writeTermFrequencyFiles() throws AnalysisEngineProcessException
+    {
+        // the field of this collector gets a file even if no n-gram was seen
+        if (!counters.containsKey(getFieldName())) {
+            counters.put(getFieldName(), new TermFrequencyCounter(luceneDir, maxTermsInMemory));
+        }
+
+        try {
+            for (Map.Entry<String, TermFrequencyCounter> e : counters.entrySet()) {
+                e.getValue().writeTo(
+                        new File(luceneDir, e.getKey() + TERM_FREQUENCY_FILE_SUFFIX));
+                e.getValue().close();
+            }
+        }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
     private synchronized void closeWriter() throws IOException
     {
         int accessingMetaWriters = activeWriter.decrementAndGet();
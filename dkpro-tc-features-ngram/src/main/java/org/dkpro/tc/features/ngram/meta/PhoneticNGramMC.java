@@ -18,7 +18,6 @@
 package org.dkpro.tc.features.ngram.meta;
 
 import static org.apache.uima.fit.util.JCasUtil.selectCovered;
-import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,18 +26,18 @@ import org.apache.commons.codec.EncoderException;
 import org.apache.commons.codec.StringEncoder;
 import org.apache.commons.codec.language.ColognePhonetic;
 import org.apache.commons.codec.language.Soundex;
-import org.apache.commons.lang.StringUtils;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.features.ngram.PhoneticNGram;
+import org.dkpro.tc.features.ngram.util.NGramGenerator;
+import org.dkpro.tc.features.ngram.util.NGramVocabulary;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
-import de.tudarmstadt.ukp.dkpro.core.ngrams.util.NGramStringListIterable;
 
 public class PhoneticNGramMC
     extends LuceneMC
@@ -69,6 +68,13 @@ public class PhoneticNGramMC
     public static FrequencyDistribution<String> getDocumentPhoneticNgrams(JCas jcas,
             Annotation target, int minN, int maxN)
         throws TextClassificationException
+    {
+        return getDocumentPhoneticNgrams(jcas, target, minN, maxN, null);
+    }
+
+    public static FrequencyDistribution<String> getDocumentPhoneticNgrams(JCas jcas,
+            Annotation target, int minN, int maxN, NGramVocabulary vocabulary)
+        throws TextClassificationException
     {
         StringEncoder encoder;
         String languageCode = jcas.getDocumentLanguage();
@@ -85,6 +91,7 @@ public class PhoneticNGramMC
         }
 
         FrequencyDistribution<String> phoneticNgrams = new FrequencyDistribution<String>();
+        NGramGenerator generator = new NGramGenerator();
         for (Sentence s : selectCovered(jcas, Sentence.class, target)) {
             List<String> phoneticStrings = new ArrayList<String>();
             for (Token t : selectCovered(jcas, Token.class, s)) {
@@ -95,12 +102,8 @@ public class PhoneticNGramMC
                     throw new TextClassificationException(e);
                 }
             }
-            String[] array = phoneticStrings.toArray(new String[phoneticStrings.size()]);
-
-            for (List<String> ngram : new NGramStringListIterable(array, minN, maxN)) {
-                phoneticNgrams.inc(StringUtils.join(ngram, NGRAM_GLUE));
-
-            }
+            generator.setTokens(phoneticStrings, false);
+            generator.ngrams(minN, maxN, vocabulary, phoneticNgrams);
         }
         return phoneticNgrams;
     }
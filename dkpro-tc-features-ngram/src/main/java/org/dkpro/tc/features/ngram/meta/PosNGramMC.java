@@ -18,22 +18,21 @@
 package org.dkpro.tc.features.ngram.meta;
 
 import static org.apache.uima.fit.util.JCasUtil.selectCovered;
-import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.features.ngram.PosNGram;
+import org.dkpro.tc.features.ngram.util.NGramGenerator;
+import org.dkpro.tc.features.ngram.util.NGramVocabulary;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.lexmorph.type.pos.POS;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
-import de.tudarmstadt.ukp.dkpro.core.ngrams.util.NGramStringListIterable;
 
 public class PosNGramMC
     extends LuceneMC
@@ -66,56 +65,40 @@ public class PosNGramMC
     public static FrequencyDistribution<String> getDocumentPosNgrams(JCas jcas, Annotation focus,
             int minN, int maxN, boolean useCanonical)
     {
-        if (selectCovered(jcas, Sentence.class, focus).size() > 0) {
-            return sentenceBasedDistribution(jcas, focus, useCanonical, minN, maxN);
-        }
-        return documentBasedDistribution(jcas, focus, useCanonical, minN, maxN);
+        return getDocumentPosNgrams(jcas, focus, minN, maxN, useCanonical, null);
     }
 
-    private static FrequencyDistribution<String> documentBasedDistribution(JCas jcas,
-            Annotation focus, boolean useCanonical, int minN, int maxN)
+    public static FrequencyDistribution<String> getDocumentPosNgrams(JCas jcas, Annotation focus,
+            int minN, int maxN, boolean useCanonical, NGramVocabulary vocabulary)
     {
-
         FrequencyDistribution<String> posNgrams = new FrequencyDistribution<String>();
+        NGramGenerator generator = new NGramGenerator();
 
-        List<String> postagstrings = new ArrayList<String>();
-        for (POS p : selectCovered(jcas, POS.class, focus)) {
-            if (useCanonical) {
-                postagstrings.add(p.getClass().getSimpleName());
-            }
-            else {
-                postagstrings.add(p.getPosValue());
+        List<Sentence> sentences = selectCovered(jcas, Sentence.class, focus);
+        if (sentences.size() > 0) {
+            for (Sentence s : sentences) {
+                generator.setTokens(getPosTags(jcas, s, useCanonical), false);
+                generator.ngrams(minN, maxN, vocabulary, posNgrams);
             }
         }
-        String[] posarray = postagstrings.toArray(new String[postagstrings.size()]);
-        for (List<String> ngram : new NGramStringListIterable(posarray, minN, maxN)) {
-            posNgrams.inc(StringUtils.join(ngram, NGRAM_GLUE));
+        else {
+            generator.setTokens(getPosTags(jcas, focus, useCanonical), false);
+            generator.ngrams(minN, maxN, vocabulary, posNgrams);
         }
         return posNgrams;
     }
 
-    private static FrequencyDistribution<String> sentenceBasedDistribution(JCas jcas,
-            Annotation focus, boolean useCanonical, int minN, int maxN)
+    private static List<String> getPosTags(JCas jcas, Annotation focus, boolean useCanonical)
     {
-
-        FrequencyDistribution<String> posNgrams = new FrequencyDistribution<String>();
-
-        for (Sentence s : selectCovered(jcas, Sentence.class, focus)) {
-            List<String> postagstrings = new ArrayList<String>();
-            for (POS p : selectCovered(jcas, POS.class, s)) {
-                if (useCanonical) {
-                    postagstrings.add(p.getClass().getSimpleName());
-                }
-                else {
-                    postagstrings.add(p.getPosValue());
-                }
+        List<String> postagstrings = new ArrayList<String>();
+        for (POS p : selectCovered(jcas, POS.class, focus)) {
+            if (useCanonical) {
+                postagstrings.add(p.getClass().getSimpleName());
             }
-            String[] posarray = postagstrings.toArray(new String[postagstrings.size()]);
-            for (List<String> ngram : new NGramStringListIterable(posarray, minN, maxN)) {
-                posNgrams.inc(StringUtils.join(ngram, NGRAM_GLUE));
+            else {
+                postagstrings.add(p.getPosValue());
             }
         }
-        return posNgrams;
+        return postagstrings;
     }
-
 }
\ No newline at end of file
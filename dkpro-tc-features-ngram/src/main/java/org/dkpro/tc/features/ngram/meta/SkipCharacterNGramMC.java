@@ -18,12 +18,10 @@
 package org.dkpro.tc.features.ngram.meta;
 
 import static org.apache.uima.fit.util.JCasUtil.selectCovered;
-import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.uima.UimaContext;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.jcas.JCas;
@@ -31,7 +29,7 @@ import org.apache.uima.jcas.tcas.Annotation;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.features.ngram.SkipCharacterNGram;
-import org.dkpro.tc.features.ngram.util.SkipNgramStringListIterable;
+import org.dkpro.tc.features.ngram.util.NGramGenerator;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
@@ -84,6 +82,7 @@ public class SkipCharacterNGramMC
             boolean lowerCaseNGrams, int minN, int maxN, int skipN)
     {
         FrequencyDistribution<String> charNgrams = new FrequencyDistribution<String>();
+        NGramGenerator generator = new NGramGenerator();
         for (Token t : selectCovered(jcas, Token.class, target)) {
             String tokenText = t.getCoveredText();
             String[] charsTemp = tokenText.split("");
@@ -95,14 +94,8 @@ public class SkipCharacterNGramMC
             chars[0] = "^";
             chars[charsTemp.length] = "$";
 
-            for (List<String> ngram : new SkipNgramStringListIterable(chars, minN, maxN, skipN)) {
-                if (lowerCaseNGrams) {
-                    ngram = lower(ngram);
-                }
-
-                String ngramString = StringUtils.join(ngram, NGRAM_GLUE);
-                charNgrams.inc(ngramString);
-            }
+            generator.setTokens(chars, lowerCaseNGrams);
+            generator.skipNgrams(minN, maxN, skipN, null, charNgrams);
         }
         return charNgrams;
     }
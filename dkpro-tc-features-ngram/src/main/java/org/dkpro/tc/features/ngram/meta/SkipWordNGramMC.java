@@ -19,14 +19,10 @@ package org.dkpro.tc.features.ngram.meta;
 
 import static org.apache.uima.fit.util.JCasUtil.selectCovered;
 import static org.apache.uima.fit.util.JCasUtil.toText;
-import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.uima.UimaContext;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.jcas.JCas;
@@ -37,7 +33,8 @@ import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.features.ngram.SkipWordNGram;
 import org.dkpro.tc.features.ngram.meta.base.LuceneFeatureExtractorBase;
 import org.dkpro.tc.features.ngram.meta.base.NGramFeatureExtractorBase;
-import org.dkpro.tc.features.ngram.util.SkipNgramStringListIterable;
+import org.dkpro.tc.features.ngram.util.NGramGenerator;
+import org.dkpro.tc.features.ngram.util.NGramVocabulary;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
@@ -102,47 +99,20 @@ public class SkipWordNGramMC
             boolean lowerCaseNGrams, boolean filterPartialMatches, int minN, int maxN, int skipN,
             Set<String> stopwords)
     {
-        FrequencyDistribution<String> documentNgrams = new FrequencyDistribution<String>();
-        for (Sentence s : selectCovered(jcas, Sentence.class, anno)) {
-            for (List<String> ngram : new SkipNgramStringListIterable(
-                    toText(selectCovered(Token.class, s)), minN, maxN, skipN)) {
-                if (lowerCaseNGrams) {
-                    ngram = lower(ngram);
-                }
-
-                if (passesNgramFilter(ngram, stopwords, filterPartialMatches)) {
-                    String ngramString = StringUtils.join(ngram, NGRAM_GLUE);
-                    documentNgrams.inc(ngramString);
-                }
-            }
-        }
-        return documentNgrams;
-    }
-
-    private static boolean passesNgramFilter(List<String> tokenList, Set<String> stopwords,
-            boolean filterPartialMatches)
-    {
-        List<String> filteredList = new ArrayList<String>();
-        for (String ngram : tokenList) {
-            if (!stopwords.contains(ngram)) {
-                filteredList.add(ngram);
-            }
-        }
-
-        if (filterPartialMatches) {
-            return filteredList.size() == tokenList.size();
-        }
-        else {
-            return filteredList.size() != 0;
-        }
+        return getDocumentSkipNgrams(jcas, anno, lowerCaseNGrams, filterPartialMatches, minN, maxN,
+                skipN, stopwords, null);
     }
 
-    private static List<String> lower(List<String> ngram)
+    public static FrequencyDistribution<String> getDocumentSkipNgrams(JCas jcas, Annotation anno,
+            boolean lowerCaseNGrams, boolean filterPartialMatches, int minN, int maxN, int skipN,
+            Set<String> stopwords, NGramVocabulary vocabulary)
     {
-        List<String> newNgram = new ArrayList<String>();
-        for (String token : ngram) {
-            newNgram.add(token.toLowerCase());
+        FrequencyDistribution<String> documentNgrams = new FrequencyDistribution<String>();
+        NGramGenerator generator = new NGramGenerator(stopwords, filterPartialMatches);
+        for (Sentence s : selectCovered(jcas, Sentence.class, anno)) {
+            generator.setTokens(toText(selectCovered(Token.class, s)), lowerCaseNGrams);
+            generator.skipNgrams(minN, maxN, skipN, vocabulary, documentNgrams);
         }
-        return newNgram;
+        return documentNgrams;
     }
 }
\ No newline at end of file
@@ -18,7 +18,12 @@
 package org.dkpro.tc.features.ngram.meta.base;
 
 import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import org.apache.commons.logging.LogFactory;
 import org.apache.lucene.index.DirectoryReader;
@@ -31,7 +36,9 @@ import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.util.BytesRef;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.features.ngram.meta.LuceneMC;
 import org.dkpro.tc.features.ngram.util.TermFreqTuple;
+import org.dkpro.tc.features.ngram.util.TermFrequencyReader;
 
 import com.google.common.collect.MinMaxPriorityQueue;
 
@@ -42,17 +49,25 @@ public abstract class LuceneFeatureExtractorBase
     extends NGramFeatureExtractorBase
 {
     public static final String PARAM_SOURCE_LOCATION = ComponentParameters.PARAM_SOURCE_LOCATION;
-    @ConfigurationParameter(name = PARAM_SOURCE_LOCATION, mandatory = true)
+    @ConfigurationParameter(name = PARAM_SOURCE_LOCATION, mandatory = false)
     protected File luceneDir;
 
-    public static final String LUCENE_NGRAM_FIELD = "ngram";
+    /**
+     * N-grams that occur less often in the collection are not considered as features, regardless
+     * of the top-k size.
+     */
+    public static final String PARAM_NGRAM_MIN_FREQUENCY = "ngramMinFrequency";
+    @ConfigurationParameter(name = PARAM_NGRAM_MIN_FREQUENCY, mandatory = true, defaultValue = "1")
+    protected long ngramMinFrequency;
 
-    protected MinMaxPriorityQueue<TermFreqTuple> topN;
+    public static final String LUCENE_NGRAM_FIELD = "ngram";
 
     protected boolean forceRereadFromIndex = false; // hack for pair-mode
 
     protected FrequencyDistribution<String> topNGrams = null;
 
+    private static final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
     @Override
     protected FrequencyDistribution<String> getTopNgrams() throws ResourceInitializationException
     {
@@ -60,51 +75,229 @@ public abstract class LuceneFeatureExtractorBase
             return topNGrams;
         }
 
-        topN = readIndex();
+        topNGrams = getTopNgrams(getFieldName(), getTopN(), getScreeningKey(),
+                this::passesScreening);
+
+        logSelectionProcess(topNGrams.getB());
+
+        return topNGrams;
+    }
+
+    /**
+     * Selects the most frequent n-grams of a field. The selection is cached for the whole JVM, i.e.
+     * extractors that read the same index with the same settings, e.g. the extractors of the
+     * training and test task or of several feature sets, read the index only once. Each caller
+     * receives its own copy of the selection.
+     * 
+     * @param fieldName
+     *            the field to read
+     * @param topK
+     *            the number of n-grams to select
+     * @param screeningKey
+     *            identifies the configuration of the screening, terms screened with the same key
+     *            must give the same result; {@code null} disables caching
+     * @param screening
+     *            decides which terms are considered at all, may be {@code null} to consider all
+     *            terms
+     * @return the selected n-grams with their frequency
+     * @throws ResourceInitializationException
+     *             if the index cannot be read
+     */
+    protected FrequencyDistribution<String> getTopNgrams(String fieldName, int topK,
+            String screeningKey, Predicate<String> screening)
+        throws ResourceInitializationException
+    {
+        if (luceneDir == null) {
+            throw new ResourceInitializationException(new IllegalArgumentException("Parameter ["
+                    + PARAM_SOURCE_LOCATION + "] is required unless n-grams are hashed"));
+        }
+
+        if (screeningKey == null) {
+            return toFrequencyDistribution(readIndex(fieldName, topK, screening));
+        }
+
+        String key = luceneDir.getAbsolutePath() + "|" + fieldName + "|" + topK + "|"
+                + ngramMinFrequency + "|" + screeningKey;
+        long signature = getIndexSignature();
+
+        CacheEntry entry = cache.get(key);
+        if (entry != null && entry.signature == signature) {
+            FrequencyDistribution<String> vocabulary = entry.reference.get();
+            if (vocabulary != null) {
+                return copy(vocabulary);
+            }
+        }
+
+        FrequencyDistribution<String> vocabulary = toFrequencyDistribution(
+                readIndex(fieldName, topK, screening));
+        cache.put(key, new CacheEntry(signature, vocabulary));
+        return copy(vocabulary);
+    }
+
+    private static FrequencyDistribution<String> copy(FrequencyDistribution<String> vocabulary)
+    {
+        FrequencyDistribution<String> copy = new FrequencyDistribution<String>();
+        for (String ngram : vocabulary.getKeys()) {
+            copy.addSample(ngram, vocabulary.getCount(ngram));
+        }
+        return copy;
+    }
+
+    /**
+     * Identifies the configuration of {@link #passesScreening(String)}. Extractors that override
+     * {@link #passesScreening(String)} depending on their state have to return a key that
+     * reflects this state, or {@code null} to disable caching of the selected n-grams.
+     * 
+     * @return the key of the screening configuration
+     */
+    protected String getScreeningKey()
+    {
+        return "";
+    }
+
+    /**
+     * Changes whenever the meta collection is repeated in the same location.
+     */
+    private long getIndexSignature()
+    {
+        long signature = 0;
+        File[] files = luceneDir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                signature = 31 * signature + f.getName().hashCode();
+                signature = 31 * signature + f.length();
+                signature = 31 * signature + f.lastModified();
+            }
+        }
+        return signature;
+    }
 
-        topNGrams = new FrequencyDistribution<String>();
+    private static FrequencyDistribution<String> toFrequencyDistribution(
+            MinMaxPriorityQueue<TermFreqTuple> topN)
+    {
+        FrequencyDistribution<String> topNGrams = new FrequencyDistribution<String>();
 
         int size = topN.size();
         for (int i = 0; i < size; i++) {
             TermFreqTuple tuple = topN.poll();
             topNGrams.addSample(tuple.getTerm(), tuple.getFreq());
         }
-
-        logSelectionProcess(topNGrams.getB());
-
         return topNGrams;
     }
 
     protected MinMaxPriorityQueue<TermFreqTuple> readIndex() throws ResourceInitializationException
     {
-        MinMaxPriorityQueue<TermFreqTuple> topN = MinMaxPriorityQueue.maximumSize(getTopN())
-                .create();
+        return readIndex(getFieldName(), getTopN(), this::passesScreening);
+    }
 
-        try (IndexReader reader = DirectoryReader.open(FSDirectory.open(luceneDir))){
-            
+    private MinMaxPriorityQueue<TermFreqTuple> readIndex(String fieldName, int topK,
+            Predicate<String> screening)
+        throws ResourceInitializationException
+    {
+        MinMaxPriorityQueue<TermFreqTuple> topN = MinMaxPriorityQueue.maximumSize(topK).create();
+
+        // extractors share the location, each field is either in a file or in the index
+        File termFrequencyFile = new File(luceneDir,
+                fieldName + LuceneMC.TERM_FREQUENCY_FILE_SUFFIX);
+        if (termFrequencyFile.exists()) {
+            readTermFrequencyFile(termFrequencyFile, topK, screening, topN);
+            return topN;
+        }
+
+        try (FSDirectory directory = FSDirectory.open(luceneDir)) {
+            if (!DirectoryReader.indexExists(directory) && isTermFrequencyFileCollection()) {
+                // only term/frequency files were written, a field without any n-gram has no file
+                return topN;
+            }
+            readIndex(directory, fieldName, topK, screening, topN);
+        }
+        catch (IOException e) {
+            throw new ResourceInitializationException(e);
+        }
+        return topN;
+    }
+
+    private void readIndex(FSDirectory directory, String fieldName, int topK,
+            Predicate<String> screening, MinMaxPriorityQueue<TermFreqTuple> topN)
+        throws ResourceInitializationException
+    {
+        try (IndexReader reader = DirectoryReader.open(directory)) {
             Fields fields = MultiFields.getFields(reader);
             if (fields == null) {
-                return topN;
+                return;
             }
-            Terms terms = fields.terms(getFieldName());
+            Terms terms = fields.terms(fieldName);
             if (terms == null) {
-                return topN;
+                return;
             }
             TermsEnum termsEnum = terms.iterator(null);
             BytesRef text = null;
             while ((text = termsEnum.next()) != null) {
-                String term = text.utf8ToString();
                 long freq = termsEnum.totalTermFreq();
-                if (passesScreening(term)) {
+                if (!isCandidate(topN, topK, freq)) {
+                    continue;
+                }
+                String term = text.utf8ToString();
+                if (screening == null || screening.test(term)) {
                     topN.add(new TermFreqTuple(term, freq));
                 }
             }
-            reader.close();
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
         }
-        return topN;
+    }
+
+    /**
+     * Decides by the frequency alone whether a term could enter the top-k queue, which avoids
+     * decoding the term text and creating a tuple for the vast majority of rare terms. A full
+     * queue drops its least frequent element when a new one is added; a term that is less
+     * frequent than this element would thus be dropped right away.
+     */
+    private boolean isCandidate(MinMaxPriorityQueue<TermFreqTuple> topN, int topK, long freq)
+    {
+        if (freq < ngramMinFrequency) {
+            return false;
+        }
+        return topN.size() < topK || freq >= topN.peekLast().getFreq();
+    }
+
+    /**
+     * @return true if a meta collector wrote term/frequency files to the location
+     */
+    private boolean isTermFrequencyFileCollection()
+    {
+        String[] files = luceneDir.list();
+        if (files == null) {
+            return false;
+        }
+        for (String f : files) {
+            if (f.endsWith(LuceneMC.TERM_FREQUENCY_FILE_SUFFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void readTermFrequencyFile(File file, int topK, Predicate<String> screening,
+            MinMaxPriorityQueue<TermFreqTuple> topN)
+        throws ResourceInitializationException
+    {
+        try (TermFrequencyReader reader = new TermFrequencyReader(file)) {
+            while (reader.next()) {
+                long freq = reader.getFrequency();
+                if (!isCandidate(topN, topK, freq)) {
+                    continue;
+                }
+                String term = reader.getTerm();
+                if (screening == null || screening.test(term)) {
+                    topN.add(new TermFreqTuple(term, freq));
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new ResourceInitializationException(e);
+        }
     }
 
     protected void logSelectionProcess(long N)
@@ -163,4 +356,16 @@ public abstract class LuceneFeatureExtractorBase
     {
         return true;
     }
+
+    private static class CacheEntry
+    {
+        final long signature;
+        final SoftReference<FrequencyDistribution<String>> reference;
+
+        CacheEntry(long signature, FrequencyDistribution<String> vocabulary)
+        {
+            this.signature = signature;
+            this.reference = new SoftReference<>(vocabulary);
+        }
+    }
 }
\ No newline at end of file
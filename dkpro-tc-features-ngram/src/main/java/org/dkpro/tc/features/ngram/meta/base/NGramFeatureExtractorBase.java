@@ -28,9 +28,11 @@ import org.apache.uima.resource.ResourceSpecifier;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.frequency.tfidf.model.DfModel;
+import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
 import org.dkpro.tc.api.features.meta.MetaDependent;
 import org.dkpro.tc.api.features.util.FeatureUtil;
+import org.dkpro.tc.features.ngram.util.FeatureHashing;
 
 @TypeCapability(inputs = { "de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence",
         "de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token" })
@@ -62,6 +64,17 @@ public abstract class NGramFeatureExtractorBase
     @ConfigurationParameter(name = PARAM_NGRAM_LOWER_CASE, mandatory = true, defaultValue = "true")
     protected boolean ngramLowerCase;
 
+    /**
+     * If set to a number of bits, n-grams are not selected from a vocabulary collected in advance
+     * but hashed into a fixed space of {@code 2^bits} features, and no meta collection is
+     * required. Hashing requires sparse features, the extraction of dense instances fails. Only
+     * extractors that return {@code true} from {@link #supportsFeatureHashing()} accept this
+     * parameter.
+     */
+    public static final String PARAM_NGRAM_HASH_BITS = "ngramHashBits";
+    @ConfigurationParameter(name = PARAM_NGRAM_HASH_BITS, mandatory = true, defaultValue = "0")
+    protected int ngramHashBits;
+
     protected Set<String> stopwords;
     protected FrequencyDistribution<String> topKSet;
     protected DfModel dfStore;
@@ -83,13 +96,68 @@ public abstract class NGramFeatureExtractorBase
 
         stopwords = getStopwords();
 
-        topKSet = getTopNgrams();
+        if (isFeatureHashing()) {
+            if (!supportsFeatureHashing()) {
+                throw new ResourceInitializationException(new IllegalArgumentException(getClass()
+                        .getName() + " does not support [" + PARAM_NGRAM_HASH_BITS + "]"));
+            }
+            try {
+                FeatureHashing.checkBits(ngramHashBits);
+            }
+            catch (IllegalArgumentException e) {
+                throw new ResourceInitializationException(e);
+            }
+        }
+        else {
+            topKSet = getTopNgrams();
+        }
 
         prefix = getFeaturePrefix();
 
         return true;
     }
 
+    protected boolean isFeatureHashing()
+    {
+        return ngramHashBits > 0;
+    }
+
+    /**
+     * Dense instances contain a default value for every feature an extractor can create, which for
+     * hashed n-grams are all {@code 2^bits} features.
+     * 
+     * @throws TextClassificationException
+     *             if n-grams are hashed
+     */
+    protected void checkDenseFeatures() throws TextClassificationException
+    {
+        if (isFeatureHashing()) {
+            throw new TextClassificationException(getClass().getName() + " hashes n-grams ["
+                    + PARAM_NGRAM_HASH_BITS + "], which requires sparse features");
+        }
+    }
+
+    /**
+     * @return true if the extractor can hash n-grams instead of selecting them from a vocabulary
+     */
+    protected boolean supportsFeatureHashing()
+    {
+        return false;
+    }
+
+    /**
+     * Extractors which hash n-grams do not need any meta collector.
+     * 
+     * @param parameterSettings
+     *            the parameters of the extractor
+     * @return true if n-grams are hashed with the given parameters
+     */
+    protected static boolean isFeatureHashing(Map<String, Object> parameterSettings)
+    {
+        Object bits = parameterSettings.get(PARAM_NGRAM_HASH_BITS);
+        return bits != null && Integer.parseInt(bits.toString()) > 0;
+    }
+
     private Set<String> getStopwords() throws ResourceInitializationException
     {
         try {
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import java.util.Set;
+
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+
+/**
+ * Maps n-grams into a fixed space of {@code 2^bits} features (hashing trick). The index of an
+ * n-gram is taken from the low bits of its hash, the sign of its contribution from the highest
+ * bit; colliding n-grams thus cancel out rather than add up on average. No vocabulary has to be
+ * collected beforehand.
+ *
+ * An instance accumulates the values of the n-grams of a single extraction call and is not
+ * thread-safe.
+ */
+public class FeatureHashing
+{
+    public static final int MAX_BITS = 30;
+
+    private static final int SEED = 0x5bd1e995;
+
+    private final int mask;
+
+    // index + 1 of the slot's feature, 0 marks an empty slot
+    private int[] keys;
+    private long[] values;
+    private int size;
+
+    /**
+     * @param bits
+     *            the number of bits of the feature index
+     */
+    public FeatureHashing(int bits)
+    {
+        checkBits(bits);
+        mask = (1 << bits) - 1;
+        keys = new int[16];
+        values = new long[16];
+    }
+
+    /**
+     * @param bits
+     *            the number of bits of the feature index
+     * @throws IllegalArgumentException
+     *             if the number of bits is not within 1 and {@value #MAX_BITS}
+     */
+    public static void checkBits(int bits)
+    {
+        if (bits < 1 || bits > MAX_BITS) {
+            throw new IllegalArgumentException("The number of hash bits has to be within [1] and ["
+                    + MAX_BITS + "], but was [" + bits + "]");
+        }
+    }
+
+    /**
+     * Hashes the characters of a string with MurmurHash3 (32 bit). The hash is independent of the
+     * JVM, i.e. a model trained with hashed features can be applied anywhere.
+     *
+     * @param s
+     *            the string
+     * @return the hash
+     */
+    public static int hash(CharSequence s)
+    {
+        int h = SEED;
+        int length = s.length();
+        int i = 0;
+        for (; i + 1 < length; i += 2) {
+            h = mixH(h, mixK(s.charAt(i) | (s.charAt(i + 1) << 16)));
+        }
+        if (i < length) {
+            h ^= mixK(s.charAt(i));
+        }
+        return fmix(h ^ (2 * length));
+    }
+
+    /**
+     * Combines the hashes of two n-grams, e.g. of a combination of n-grams from both views of a
+     * pair, without building the combined string. The combination depends on the order of the
+     * hashes.
+     *
+     * @param h1
+     *            hash of the first n-gram
+     * @param h2
+     *            hash of the second n-gram
+     * @return the hash of the combination
+     */
+    public static int combine(int h1, int h2)
+    {
+        return fmix(mixH(mixH(SEED, mixK(h1)), mixK(h2)) ^ 8);
+    }
+
+    /**
+     * Adds a value to the feature of an n-gram.
+     *
+     * @param hash
+     *            the hash of the n-gram
+     * @param value
+     *            the value, its sign is flipped depending on the hash
+     */
+    public void add(int hash, long value)
+    {
+        int key = (hash & mask) + 1;
+        int slot = find(key);
+        if (keys[slot] == 0) {
+            if (size + 1 > keys.length / 2) {
+                grow();
+                slot = find(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] += hash < 0 ? -value : value;
+    }
+
+    /**
+     * Adds the features with a non-zero value to a set. Feature names consist of the prefix and
+     * the feature index, e.g. {@code wNg_#1234}.
+     *
+     * @param prefix
+     *            the feature prefix
+     * @param features
+     *            the set to add the features to
+     * @throws TextClassificationException
+     *             if a feature cannot be created
+     */
+    public void addFeatures(String prefix, Set<Feature> features)
+        throws TextClassificationException
+    {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && values[i] != 0) {
+                features.add(new Feature(featureName(prefix, keys[i] - 1), values[i],
+                        FeatureType.NUMERIC));
+            }
+        }
+    }
+
+    /**
+     * @param prefix
+     *            the feature prefix
+     * @param index
+     *            the feature index
+     * @return the name of the feature
+     */
+    public static String featureName(String prefix, int index)
+    {
+        return prefix + "_#" + index;
+    }
+
+    private int find(int key)
+    {
+        int h = key * 0x9e3779b9;
+        int slot = (h ^ (h >>> 16)) & (keys.length - 1);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return slot;
+    }
+
+    private void grow()
+    {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mixK(int k)
+    {
+        k *= 0xcc9e2d51;
+        k = Integer.rotateLeft(k, 15);
+        return k * 0x1b873593;
+    }
+
+    private static int mixH(int h, int k)
+    {
+        h ^= k;
+        h = Integer.rotateLeft(h, 13);
+        return h * 5 + 0xe6546b64;
+    }
+
+    private static int fmix(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
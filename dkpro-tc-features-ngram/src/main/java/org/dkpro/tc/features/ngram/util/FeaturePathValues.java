@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.uima.cas.text.AnnotationFS;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.CasAnnotationIndex;
+
+import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathException;
+import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathFactory;
+
+/**
+ * The values of a feature path for all annotations of a view, ordered by the offsets of the
+ * annotations. The feature path is resolved once per document; the values within a span, e.g. a
+ * sentence, are then found by a binary search over the offsets.
+ */
+public class FeaturePathValues
+{
+    private final int[] begins;
+    private final int[] ends;
+    private final String[] values;
+
+    private FeaturePathValues(List<Entry<AnnotationFS, String>> entries)
+    {
+        begins = new int[entries.size()];
+        ends = new int[entries.size()];
+        values = new String[entries.size()];
+        for (int i = 0; i < values.length; i++) {
+            begins[i] = entries.get(i).getKey().getBegin();
+            ends[i] = entries.get(i).getKey().getEnd();
+            values[i] = entries.get(i).getValue();
+        }
+    }
+
+    /**
+     * @param jcas
+     *            a view
+     * @param featurePath
+     *            a feature path, e.g. the name of an annotation type for its covered text
+     * @return the values of the feature path in the view, shared by all extractors of the current
+     *         document; if no {@link CasAnnotationIndex} is registered for the view, the values are
+     *         not cached and the feature path is resolved again on each call
+     * @throws TextClassificationException
+     *             if the feature path cannot be resolved
+     */
+    public static FeaturePathValues get(JCas jcas, String featurePath)
+        throws TextClassificationException
+    {
+        CasAnnotationIndex index = CasAnnotationIndex.get(jcas);
+        String key = FeaturePathValues.class.getName() + ":" + featurePath;
+
+        FeaturePathValues values = (FeaturePathValues) index.getCached(key);
+        if (values == null) {
+            values = select(jcas, featurePath);
+            index.putCached(key, values);
+        }
+        return values;
+    }
+
+    private static FeaturePathValues select(JCas jcas, String featurePath)
+        throws TextClassificationException
+    {
+        List<Entry<AnnotationFS, String>> entries = new ArrayList<>();
+        try {
+            for (Entry<AnnotationFS, String> entry : FeaturePathFactory.select(jcas.getCas(),
+                    featurePath)) {
+                entries.add(entry);
+            }
+        }
+        catch (FeaturePathException e) {
+            throw new TextClassificationException(e);
+        }
+
+        // the annotation index is ordered by offsets already, this is just a safeguard
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(i - 1).getKey().getBegin() > entries.get(i).getKey().getBegin()) {
+                Collections.sort(entries, Comparator.comparingInt(e -> e.getKey().getBegin()));
+                break;
+            }
+        }
+
+        return new FeaturePathValues(entries);
+    }
+
+    /**
+     * @param span
+     *            the span
+     * @return the values of the annotations which lie within the span, in order of their offsets
+     */
+    public List<String> getCovered(AnnotationFS span)
+    {
+        int low = 0;
+        int high = begins.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (begins[mid] < span.getBegin()) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+
+        List<String> covered = new ArrayList<>();
+        for (int i = low; i < begins.length && begins[i] <= span.getEnd(); i++) {
+            if (ends[i] <= span.getEnd()) {
+                covered.add(values[i]);
+            }
+        }
+        return covered;
+    }
+}
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+
+/**
+ * Generates the n-grams and skip n-grams of a sequence of tokens, e.g. the tokens of a sentence.
+ * The tokens are lower-cased and checked against the stopwords once when they are set, not once
+ * per n-gram, and the buffers are reused for all sequences. An n-gram is only turned into a string
+ * (its tokens joined by {@link org.dkpro.tc.core.Constants#NGRAM_GLUE}) if it passes the stopword
+ * filter and, if a vocabulary is given, is part of the vocabulary. Membership is decided from the
+ * hash of the n-gram, which is extended token by token, before the string is built.
+ *
+ * An instance is not thread-safe.
+ */
+public class NGramGenerator
+{
+    private static final char GLUE = NGRAM_GLUE.charAt(0);
+
+    private final Set<String> stopwords;
+    private final boolean filterPartialMatches;
+
+    private String[] tokens = new String[64];
+    private boolean[] stop = new boolean[64];
+    // String.hashCode() of each token and 31^length, which combine to the hash of a joined n-gram
+    private int[] hashes = new int[64];
+    private int[] shifts = new int[64];
+    private int size;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private int[] positions = new int[8];
+    private final Set<String> skipNgrams = new HashSet<>();
+
+    /**
+     * Creates a generator without stopword filtering.
+     */
+    public NGramGenerator()
+    {
+        this(Collections.<String> emptySet(), false);
+    }
+
+    /**
+     * @param stopwords
+     *            the stopwords, compared with the (lower-cased) tokens
+     * @param filterPartialMatches
+     *            whether an n-gram is dropped if any of its tokens is a stopword, instead of only
+     *            if all of its tokens are stopwords, see
+     *            {@link NGramUtils#passesNgramFilter(List, Set, boolean)}
+     */
+    public NGramGenerator(Set<String> stopwords, boolean filterPartialMatches)
+    {
+        this.stopwords = stopwords;
+        this.filterPartialMatches = filterPartialMatches;
+    }
+
+    /**
+     * Sets the token sequence from which the n-grams are generated.
+     *
+     * @param tokenList
+     *            the tokens
+     * @param lowerCase
+     *            whether the tokens are lower-cased
+     */
+    public void setTokens(List<String> tokenList, boolean lowerCase)
+    {
+        ensureCapacity(tokenList.size());
+        size = 0;
+        for (String token : tokenList) {
+            add(lowerCase ? token.toLowerCase() : token);
+        }
+    }
+
+    /**
+     * @param tokenArray
+     *            the tokens
+     * @param lowerCase
+     *            whether the tokens are lower-cased
+     * @see #setTokens(List, boolean)
+     */
+    public void setTokens(String[] tokenArray, boolean lowerCase)
+    {
+        ensureCapacity(tokenArray.length);
+        size = 0;
+        for (String token : tokenArray) {
+            add(lowerCase ? token.toLowerCase() : token);
+        }
+    }
+
+    private void add(String token)
+    {
+        tokens[size] = token;
+        stop[size] = !stopwords.isEmpty() && stopwords.contains(token);
+        hashes[size] = token.hashCode();
+        int shift = 1;
+        for (int i = 0; i < token.length(); i++) {
+            shift *= 31;
+        }
+        shifts[size] = shift;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (tokens.length < capacity) {
+            int length = Math.max(capacity, tokens.length * 2);
+            tokens = new String[length];
+            stop = new boolean[length];
+            hashes = new int[length];
+            shifts = new int[length];
+        }
+    }
+
+    /**
+     * Adds the contiguous n-grams of the current tokens.
+     *
+     * @param minN
+     *            minimal n
+     * @param maxN
+     *            maximal n
+     * @param vocabulary
+     *            the n-grams to consider, {@code null} for all n-grams
+     * @param ngrams
+     *            receives the n-grams
+     */
+    public void ngrams(int minN, int maxN, NGramVocabulary vocabulary,
+            FrequencyDistribution<String> ngrams)
+    {
+        for (int start = 0; start < size; start++) {
+            int end = Math.min(size, start + maxN);
+            int hash = 0;
+            int stopCount = 0;
+            for (int i = start; i < end; i++) {
+                hash = i == start ? hashes[i] : (hash * 31 + GLUE) * shifts[i] + hashes[i];
+                if (stop[i]) {
+                    stopCount++;
+                }
+
+                int n = i - start + 1;
+                if (n < minN || !passes(stopCount, n)) {
+                    continue;
+                }
+                if (vocabulary != null && !vocabulary.mayContain(hash)) {
+                    continue;
+                }
+
+                String ngram = join(start, i);
+                if (vocabulary == null || vocabulary.contains(ngram)) {
+                    ngrams.inc(ngram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the skip n-grams of the current tokens, i.e. all combinations of n tokens which span at
+     * most n + skipN tokens. Each distinct skip n-gram is added once per token sequence. As in
+     * {@link SkipNgramStringListIterable}, a sequence yields skip n-grams of size n only if it is
+     * longer than n tokens.
+     *
+     * @param minN
+     *            minimal n, at least 2
+     * @param maxN
+     *            maximal n
+     * @param skipN
+     *            the maximal number of skipped tokens, at least 1
+     * @param vocabulary
+     *            the n-grams to consider, {@code null} for all n-grams
+     * @param ngrams
+     *            receives the n-grams
+     */
+    public void skipNgrams(int minN, int maxN, int skipN, NGramVocabulary vocabulary,
+            FrequencyDistribution<String> ngrams)
+    {
+        checkSkipParameters(minN, maxN, skipN);
+
+        skipNgrams.clear();
+        if (positions.length < maxN) {
+            positions = new int[maxN];
+        }
+        for (int n = minN; n <= maxN && n < size; n++) {
+            for (int first = 0; first < size; first++) {
+                positions[0] = first;
+                int end = Math.min(size, first + n + skipN);
+                addSkipNgrams(1, n, end, hashes[first], stop[first] ? 1 : 0, vocabulary);
+            }
+        }
+        for (String ngram : skipNgrams) {
+            ngrams.inc(ngram);
+        }
+    }
+
+    private void addSkipNgrams(int depth, int n, int end, int hash, int stopCount,
+            NGramVocabulary vocabulary)
+    {
+        if (depth == n) {
+            if (!passes(stopCount, n) || (vocabulary != null && !vocabulary.mayContain(hash))) {
+                return;
+            }
+            String ngram = join(positions, n);
+            if (vocabulary == null || vocabulary.contains(ngram)) {
+                skipNgrams.add(ngram);
+            }
+            return;
+        }
+
+        // leave room for the remaining positions
+        for (int i = positions[depth - 1] + 1; i <= end - (n - depth); i++) {
+            positions[depth] = i;
+            addSkipNgrams(depth + 1, n, end, (hash * 31 + GLUE) * shifts[i] + hashes[i],
+                    stop[i] ? stopCount + 1 : stopCount, vocabulary);
+        }
+    }
+
+    static void checkSkipParameters(int minN, int maxN, int skipN)
+    {
+        if (minN > maxN) {
+            throw new IllegalArgumentException("minN needs to be smaller or equal than maxN.");
+        }
+
+        if (minN < 2) {
+            throw new IllegalArgumentException(
+                    "minN needs to be greater than 1. Not much to skip in unigrams :)");
+        }
+
+        if (skipN < 1) {
+            throw new IllegalArgumentException(
+                    "skipN needs to be greater than 0. Would be identical to normal grams.");
+        }
+    }
+
+    private boolean passes(int stopCount, int n)
+    {
+        return filterPartialMatches ? stopCount == 0 : stopCount < n;
+    }
+
+    private String join(int first, int last)
+    {
+        buffer.setLength(0);
+        for (int i = first; i <= last; i++) {
+            if (i > first) {
+                buffer.append(GLUE);
+            }
+            buffer.append(tokens[i]);
+        }
+        return buffer.toString();
+    }
+
+    private String join(int[] tokenPositions, int n)
+    {
+        buffer.setLength(0);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                buffer.append(GLUE);
+            }
+            buffer.append(tokens[tokenPositions[i]]);
+        }
+        return buffer.toString();
+    }
+}
@@ -17,27 +17,20 @@
  ******************************************************************************/
 package org.dkpro.tc.features.ngram.util;
 
-import static org.apache.uima.fit.util.JCasUtil.selectCovered;
 import static org.apache.uima.fit.util.JCasUtil.toText;
-import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Set;
 
-import org.apache.commons.lang.StringUtils;
-import org.apache.uima.cas.text.AnnotationFS;
 import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.CasAnnotationIndex;
 
-import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathException;
-import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathFactory;
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
-import de.tudarmstadt.ukp.dkpro.core.ngrams.util.NGramStringListIterable;
 
 public class NGramUtils
 {
@@ -45,40 +38,53 @@ public class NGramUtils
     public static FrequencyDistribution<String> getAnnotationNgrams(JCas jcas,
             Annotation focusAnnotation, boolean lowerCaseNGrams, boolean filterPartialMatches,
             int minN, int maxN, Set<String> stopwords)
+    {
+        return getAnnotationNgrams(jcas, focusAnnotation, lowerCaseNGrams, filterPartialMatches,
+                minN, maxN, stopwords, null);
+    }
+
+    /**
+     * @param jcas
+     *            a jcas
+     * @param focusAnnotation
+     *            the annotation whose tokens are considered
+     * @param lowerCaseNGrams
+     *            lower caseing
+     * @param filterPartialMatches
+     *            filter partial matches
+     * @param minN
+     *            minimal n
+     * @param maxN
+     *            maximal n
+     * @param stopwords
+     *            set of stopwords
+     * @param vocabulary
+     *            the n-grams to consider, {@code null} for all n-grams
+     * @return the token n-grams within the sentences of the annotation, or within the annotation
+     *         if it contains no sentence
+     */
+    public static FrequencyDistribution<String> getAnnotationNgrams(JCas jcas,
+            Annotation focusAnnotation, boolean lowerCaseNGrams, boolean filterPartialMatches,
+            int minN, int maxN, Set<String> stopwords, NGramVocabulary vocabulary)
     {
         FrequencyDistribution<String> annoNgrams = new FrequencyDistribution<String>();
 
+        CasAnnotationIndex index = CasAnnotationIndex.get(jcas);
+        NGramGenerator generator = new NGramGenerator(stopwords, filterPartialMatches);
+
         // If the focusAnnotation contains sentence annotations, extract the ngrams sentence-wise
         // if not, extract them from all tokens in the focusAnnotation
-        if (selectCovered(jcas, Sentence.class, focusAnnotation).size() > 0) {
-            for (Sentence s : selectCovered(jcas, Sentence.class, focusAnnotation)) {
-                for (List<String> ngram : new NGramStringListIterable(
-                        toText(selectCovered(Token.class, s)), minN, maxN)) {
-
-                    if (lowerCaseNGrams) {
-                        ngram = lower(ngram);
-                    }
-
-                    if (passesNgramFilter(ngram, stopwords, filterPartialMatches)) {
-                        String ngramString = StringUtils.join(ngram, NGRAM_GLUE);
-                        annoNgrams.inc(ngramString);
-                    }
-                }
+        List<Sentence> sentences = index.selectCovered(Sentence.class, focusAnnotation);
+        if (sentences.size() > 0) {
+            for (Sentence s : sentences) {
+                generator.setTokens(toText(index.selectCovered(Token.class, s)), lowerCaseNGrams);
+                generator.ngrams(minN, maxN, vocabulary, annoNgrams);
             }
         }
         else {
-            for (List<String> ngram : new NGramStringListIterable(
-                    toText(selectCovered(Token.class, focusAnnotation)), minN, maxN)) {
-
-                if (lowerCaseNGrams) {
-                    ngram = lower(ngram);
-                }
-
-                if (passesNgramFilter(ngram, stopwords, filterPartialMatches)) {
-                    String ngramString = StringUtils.join(ngram, NGRAM_GLUE);
-                    annoNgrams.inc(ngramString);
-                }
-            }
+            generator.setTokens(toText(index.selectCovered(Token.class, focusAnnotation)),
+                    lowerCaseNGrams);
+            generator.ngrams(minN, maxN, vocabulary, annoNgrams);
         }
         return annoNgrams;
     }
@@ -114,18 +120,11 @@ public class NGramUtils
         throws TextClassificationException
     {
         FrequencyDistribution<String> documentNgrams = new FrequencyDistribution<String>();
-        for (Sentence s : selectCovered(jcas, Sentence.class, aTarget)) {
-            List<String> strings = valuesToText(jcas, s, annotationClass.getName());
-            for (List<String> ngram : new NGramStringListIterable(strings, minN, maxN)) {
-                if (lowerCaseNGrams) {
-                    ngram = lower(ngram);
-                }
-
-                if (passesNgramFilter(ngram, stopwords, filterPartialMatches)) {
-                    String ngramString = StringUtils.join(ngram, NGRAM_GLUE);
-                    documentNgrams.inc(ngramString);
-                }
-            }
+        FeaturePathValues values = FeaturePathValues.get(jcas, annotationClass.getName());
+        NGramGenerator generator = new NGramGenerator(stopwords, filterPartialMatches);
+        for (Sentence s : CasAnnotationIndex.get(jcas).selectCovered(Sentence.class, aTarget)) {
+            generator.setTokens(values.getCovered(s), lowerCaseNGrams);
+            generator.ngrams(minN, maxN, null, documentNgrams);
         }
         return documentNgrams;
     }
@@ -173,24 +172,28 @@ public class NGramUtils
         return newNgram;
     }
 
+    /**
+     * The values are looked up in the {@link FeaturePathValues} of the view. These are only
+     * cached while a {@link CasAnnotationIndex} is registered for the view, as during feature
+     * extraction; otherwise, each call resolves the feature path for the whole view again. Callers
+     * that process all sentences of an unregistered view should obtain the values once with
+     * {@link FeaturePathValues#get} instead, like {@link #getDocumentNgrams}.
+     * 
+     * @param jcas
+     *            a view
+     * @param s
+     *            a sentence of the view
+     * @param annotationClassName
+     *            a feature path, e.g. the name of an annotation type
+     * @return the values of the feature path for the annotations within the sentence
+     * @throws TextClassificationException
+     *             if the feature path cannot be resolved
+     * @see FeaturePathValues
+     */
     public static <T extends Annotation> List<String> valuesToText(JCas jcas, Sentence s,
             String annotationClassName)
         throws TextClassificationException
     {
-        List<String> texts = new ArrayList<String>();
-
-        try {
-            for (Entry<AnnotationFS, String> entry : FeaturePathFactory.select(jcas.getCas(),
-                    annotationClassName)) {
-                if (entry.getKey().getBegin() >= s.getBegin()
-                        && entry.getKey().getEnd() <= s.getEnd()) {
-                    texts.add(entry.getValue());
-                }
-            }
-        }
-        catch (FeaturePathException e) {
-            throw new TextClassificationException(e);
-        }
-        return texts;
+        return FeaturePathValues.get(jcas, annotationClassName).getCovered(s);
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The n-grams an extractor uses as features, e.g. its top-k n-grams. Besides the n-grams, the
+ * hashes ({@link String#hashCode()}) of the n-grams are kept, which allows the
+ * {@link NGramGenerator} to skip an n-gram without building its string.
+ */
+public class NGramVocabulary
+{
+    private final Set<String> ngrams;
+    private final int[] hashes;
+
+    /**
+     * @param ngrams
+     *            the n-grams of the vocabulary
+     */
+    public NGramVocabulary(Collection<String> ngrams)
+    {
+        this.ngrams = new HashSet<>(ngrams);
+
+        int[] h = new int[this.ngrams.size()];
+        int i = 0;
+        for (String ngram : this.ngrams) {
+            h[i++] = ngram.hashCode();
+        }
+        Arrays.sort(h);
+        hashes = h;
+    }
+
+    /**
+     * @param hash
+     *            the hash of an n-gram
+     * @return false if the n-gram is certainly not part of the vocabulary
+     */
+    public boolean mayContain(int hash)
+    {
+        return Arrays.binarySearch(hashes, hash) >= 0;
+    }
+
+    /**
+     * @param ngram
+     *            an n-gram
+     * @return true if the n-gram is part of the vocabulary
+     */
+    public boolean contains(String ngram)
+    {
+        return ngrams.contains(ngram);
+    }
+
+    /**
+     * @return the number of n-grams in the vocabulary
+     */
+    public int size()
+    {
+        return ngrams.size();
+    }
+}
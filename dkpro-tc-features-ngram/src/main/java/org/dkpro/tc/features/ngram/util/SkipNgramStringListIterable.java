@@ -24,10 +24,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
-import org.paukov.combinatorics.Factory;
-import org.paukov.combinatorics.Generator;
-import org.paukov.combinatorics.ICombinatoricsVector;
-
 /**
  * Creates a skip-ngram iterable from a list of tokens. It does not detect any sentence boundaries.
  * Thus, one should make sure to only add lists that reflect a sentence or a phrase.
@@ -60,19 +56,7 @@ public class SkipNgramStringListIterable
     private Set<List<String>> createSkipNgramSet(Iterable<String> tokens, int minN, int maxN,
             int skipN)
     {
-        if (minN > maxN) {
-            throw new IllegalArgumentException("minN needs to be smaller or equal than maxN.");
-        }
-
-        if (minN < 2) {
-            throw new IllegalArgumentException(
-                    "minN needs to be greater than 1. Not much to skip in unigrams :)");
-        }
-
-        if (skipN < 1) {
-            throw new IllegalArgumentException(
-                    "skipN needs to be greater than 0. Would be identical to normal grams.");
-        }
+        NGramGenerator.checkSkipParameters(minN, maxN, skipN);
 
         Set<List<String>> nGrams = new HashSet<List<String>>();
 
@@ -82,42 +66,38 @@ public class SkipNgramStringListIterable
             tokenList.add(t);
         }
 
-        // add ngrams for each requested ngram size
-        for (int k = minN; k <= maxN; k++) {
-            // if the number of tokens is less than k => break
-            if (tokenList.size() < k) {
-                break;
+        // add ngrams for each requested ngram size, windows start before the last n tokens
+        int[] positions = new int[maxN];
+        for (int n = minN; n <= maxN && n < tokenList.size(); n++) {
+            for (int first = 0; first < tokenList.size(); first++) {
+                positions[0] = first;
+                int end = Math.min(tokenList.size(), first + n + skipN);
+                addSkipNgrams(tokenList, positions, 1, n, end, nGrams);
             }
-            nGrams.addAll(getSkipNgrams(tokenList, k, skipN));
         }
 
         return nGrams;
     }
 
-    private Set<List<String>> getSkipNgrams(List<String> tokenList, int n, int skipN)
+    /**
+     * Enumerates the combinations of n positions within a window directly, rather than all
+     * subsets of the window.
+     */
+    private void addSkipNgrams(List<String> tokenList, int[] positions, int depth, int n, int end,
+            Set<List<String>> nGrams)
     {
-        Set<List<String>> nGrams = new HashSet<List<String>>();
-
-        // iterate over each position in the tokenlist where skip ngrams can be generated
-        int size = tokenList.size();
-        for (int start = 0; start < size - n; start++) {
-            int end = start + n + skipN;
-
-            if (end > size) {
-                end = size;
-            }
-            List<String> sublist = tokenList.subList(start, end);
-
-            // generate all permutations between start & end
-            ICombinatoricsVector<String> initialSet = Factory.createVector(sublist);
-            Generator<String> gen = Factory.createSubSetGenerator(initialSet);
-            for (ICombinatoricsVector<String> subSet : gen) {
-                if (subSet.getSize() == n) {
-                    nGrams.add(subSet.getVector());
-                }
+        if (depth == n) {
+            List<String> ngram = new ArrayList<String>(n);
+            for (int i = 0; i < n; i++) {
+                ngram.add(tokenList.get(positions[i]));
             }
+            nGrams.add(ngram);
+            return;
         }
 
-        return nGrams;
+        for (int i = positions[depth - 1] + 1; i <= end - (n - depth); i++) {
+            positions[depth] = i;
+            addSkipNgrams(tokenList, positions, depth + 1, n, end, nGrams);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Counts the total frequency of terms in memory. If more than the configured number of distinct
+ * terms are held in memory, the counts are written as a sorted run to a temporary file and
+ * counting continues with an empty table. {@link #writeTo(File)} merges all runs into a single
+ * file that contains each term once with its total frequency, sorted in the order in which Lucene
+ * enumerates terms. The file is read with {@link TermFrequencyReader}.
+ */
+public class TermFrequencyCounter
+    implements Closeable
+{
+    /**
+     * Orders terms by their code points, which equals the order of their UTF-8 bytes used by
+     * Lucene.
+     */
+    public static final Comparator<String> TERM_ORDER = new Comparator<String>()
+    {
+        @Override
+        public int compare(String s1, String s2)
+        {
+            int i1 = 0;
+            int i2 = 0;
+            while (i1 < s1.length() && i2 < s2.length()) {
+                int c1 = s1.codePointAt(i1);
+                int c2 = s2.codePointAt(i2);
+                if (c1 != c2) {
+                    return Integer.compare(c1, c2);
+                }
+                i1 += Character.charCount(c1);
+                i2 += Character.charCount(c2);
+            }
+            return Integer.compare(s1.length() - i1, s2.length() - i2);
+        }
+    };
+
+    private final File spillDirectory;
+    private final int maxTermsInMemory;
+
+    private Map<String, long[]> counts = new HashMap<>();
+    private List<File> runs = new ArrayList<>();
+
+    /**
+     * @param spillDirectory
+     *            the directory for temporary files
+     * @param maxTermsInMemory
+     *            the maximal number of distinct terms that are counted in memory before the counts
+     *            are written to a temporary file
+     */
+    public TermFrequencyCounter(File spillDirectory, int maxTermsInMemory)
+    {
+        this.spillDirectory = spillDirectory;
+        this.maxTermsInMemory = Math.max(1, maxTermsInMemory);
+    }
+
+    public void add(String term, long frequency) throws IOException
+    {
+        long[] count = counts.get(term);
+        if (count == null) {
+            if (counts.size() >= maxTermsInMemory) {
+                spill();
+            }
+            count = new long[1];
+            counts.put(term, count);
+        }
+        count[0] += frequency;
+    }
+
+    private void spill() throws IOException
+    {
+        File run = File.createTempFile("termFrequencies", ".run", spillDirectory);
+        runs.add(run);
+        writeCounts(run);
+        counts = new HashMap<>();
+    }
+
+    private void writeCounts(File file) throws IOException
+    {
+        List<String> terms = new ArrayList<>(counts.keySet());
+        Collections.sort(terms, TERM_ORDER);
+
+        try (DataOutputStream out = open(file)) {
+            for (String term : terms) {
+                writeEntry(out, term, counts.get(term)[0]);
+            }
+            out.writeBoolean(false);
+        }
+    }
+
+    /**
+     * Writes the total frequencies of all terms counted so far to the given file and removes all
+     * temporary files.
+     * 
+     * @param file
+     *            the file to write to
+     * @throws IOException
+     *             in case of an error
+     */
+    public void writeTo(File file) throws IOException
+    {
+        if (runs.isEmpty()) {
+            writeCounts(file);
+            counts = new HashMap<>();
+            return;
+        }
+
+        spill();
+        merge(file);
+        close();
+    }
+
+    private void merge(File file) throws IOException
+    {
+        PriorityQueue<TermFrequencyReader> queue = new PriorityQueue<>(runs.size(),
+                new Comparator<TermFrequencyReader>()
+                {
+                    @Override
+                    public int compare(TermFrequencyReader r1, TermFrequencyReader r2)
+                    {
+                        return TERM_ORDER.compare(r1.getTerm(), r2.getTerm());
+                    }
+                });
+
+        List<TermFrequencyReader> readers = new ArrayList<>();
+        try (DataOutputStream out = open(file)) {
+            for (File run : runs) {
+                TermFrequencyReader reader = new TermFrequencyReader(run);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                TermFrequencyReader reader = queue.poll();
+                String term = reader.getTerm();
+                long frequency = reader.getFrequency();
+                advance(reader, queue);
+
+                while (!queue.isEmpty() && queue.peek().getTerm().equals(term)) {
+                    TermFrequencyReader other = queue.poll();
+                    frequency += other.getFrequency();
+                    advance(other, queue);
+                }
+                writeEntry(out, term, frequency);
+            }
+            out.writeBoolean(false);
+        }
+        finally {
+            for (TermFrequencyReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void advance(TermFrequencyReader reader, PriorityQueue<TermFrequencyReader> queue)
+        throws IOException
+    {
+        if (reader.next()) {
+            queue.add(reader);
+        }
+    }
+
+    private static DataOutputStream open(File file) throws IOException
+    {
+        return new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+    }
+
+    private static void writeEntry(DataOutputStream out, String term, long frequency)
+        throws IOException
+    {
+        byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+        out.writeBoolean(true);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeLong(frequency);
+    }
+
+    /**
+     * Deletes all temporary files.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        for (File run : runs) {
+            run.delete();
+        }
+        runs.clear();
+        counts = new HashMap<>();
+    }
+}
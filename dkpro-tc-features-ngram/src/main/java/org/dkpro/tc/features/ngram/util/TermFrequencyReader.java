@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the terms and their frequencies from a file written by {@link TermFrequencyCounter}. The
+ * terms are returned in the order of {@link TermFrequencyCounter#TERM_ORDER}.
+ */
+public class TermFrequencyReader
+    implements Closeable
+{
+    private DataInputStream in;
+    private byte[] buffer = new byte[64];
+    private int length;
+
+    private String term;
+    private long frequency;
+
+    public TermFrequencyReader(File file) throws IOException
+    {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+    }
+
+    /**
+     * Moves to the next term.
+     * 
+     * @return false if there are no more terms
+     * @throws IOException
+     *             in case of an error
+     */
+    public boolean next() throws IOException
+    {
+        term = null;
+        if (!in.readBoolean()) {
+            length = -1;
+            return false;
+        }
+
+        length = in.readInt();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        in.readFully(buffer, 0, length);
+        frequency = in.readLong();
+        return true;
+    }
+
+    /**
+     * @return the current term, which is decoded on the first call only
+     */
+    public String getTerm()
+    {
+        if (term == null && length >= 0) {
+            term = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+        return term;
+    }
+
+    public long getFrequency()
+    {
+        return frequency;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+}
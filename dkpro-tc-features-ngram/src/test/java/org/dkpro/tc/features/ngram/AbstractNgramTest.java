@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.dkpro.tc.api.features.Feature;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+
+public class AbstractNgramTest
+{
+    @Test
+    public void onlyPresentTopKNgramsAreExtracted() throws Exception
+    {
+        TopKWordNGram extractor = new TopKWordNGram("a", "b", "a_b");
+
+        FrequencyDistribution<String> ngrams = new FrequencyDistribution<>();
+        ngrams.inc("a");
+        ngrams.inc("c");
+        ngrams.inc("a_b");
+
+        Set<Feature> features = extractor.getFeatureSet(ngrams);
+        assertEquals(2, features.size());
+
+        Set<String> names = new HashSet<>();
+        for (Feature f : features) {
+            names.add(f.getName());
+            assertFalse(f.isDefaultValue());
+            assertEquals(1, ((Number) f.getValue()).intValue());
+        }
+        assertTrue(names.contains(WordNGram.FEATURE_PREFIX + "_a"));
+        assertTrue(names.contains(WordNGram.FEATURE_PREFIX + "_a_b"));
+    }
+
+    @Test
+    public void noFeaturesForTargetWithoutTopKNgrams() throws Exception
+    {
+        TopKWordNGram extractor = new TopKWordNGram("a", "b");
+
+        FrequencyDistribution<String> ngrams = new FrequencyDistribution<>();
+        ngrams.inc("c");
+
+        assertTrue(extractor.getFeatureSet(ngrams).isEmpty());
+    }
+
+    @Test
+    public void defaultFeaturesCoverAllTopKNgrams() throws Exception
+    {
+        TopKWordNGram extractor = new TopKWordNGram("a", "b", "a_b");
+
+        Set<Feature> defaults = extractor.getDefaultFeatures();
+        assertEquals(3, defaults.size());
+
+        Set<String> names = new HashSet<>();
+        for (Feature f : defaults) {
+            names.add(f.getName());
+            assertTrue(f.isDefaultValue());
+            assertEquals(0, ((Number) f.getValue()).intValue());
+        }
+        assertTrue(names.contains(WordNGram.FEATURE_PREFIX + "_a"));
+        assertTrue(names.contains(WordNGram.FEATURE_PREFIX + "_b"));
+        assertTrue(names.contains(WordNGram.FEATURE_PREFIX + "_a_b"));
+
+        // prepared once and shared by all calls
+        assertTrue(defaults == extractor.getDefaultFeatures());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void defaultFeaturesAreNotModifiable() throws Exception
+    {
+        TopKWordNGram extractor = new TopKWordNGram("a");
+        extractor.getDefaultFeatures().clear();
+    }
+
+    /**
+     * A word n-gram extractor with a fixed top-k list instead of one read from an index.
+     */
+    static class TopKWordNGram
+        extends WordNGram
+    {
+        TopKWordNGram(String... topK)
+        {
+            topKSet = new FrequencyDistribution<>();
+            for (String ngram : topK) {
+                topKSet.inc(ngram);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.uima.cas.text.AnnotationFS;
+import org.apache.uima.fit.factory.JCasBuilder;
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.features.ngram.util.NGramUtils;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathFactory;
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
+import de.tudarmstadt.ukp.dkpro.core.ngrams.util.NGramStringListIterable;
+
+/**
+ * Extracts the n-grams of documents of increasing length with
+ * {@link NGramUtils#getDocumentNgrams}. The feature path is resolved once per document, so the
+ * time per sentence has to stay roughly constant while the document grows. Resolving it once per
+ * sentence, as done before, grows with the document length.
+ */
+public class NGramUtilsScalingTest
+{
+    private static final int TOKENS_PER_SENTENCE = 20;
+
+    @Test
+    @Ignore("Depends on timing, run manually")
+    public void documentNgramsScaleLinearly() throws Exception
+    {
+        // warm up
+        run(createDocument(500));
+
+        double small = run(createDocument(1000)) / 1000.0;
+        double large = run(createDocument(8000)) / 8000.0;
+
+        assertTrue("time per sentence grew from " + small + " to " + large + " ms",
+                large < 3 * small);
+    }
+
+    @Test
+    public void sameNgramsAsPerSentenceSelect() throws Exception
+    {
+        JCas jcas = createDocument(100);
+        FrequencyDistribution<String> expected = selectPerSentence(jcas);
+        FrequencyDistribution<String> actual = getDocumentNgrams(jcas);
+
+        assertEquals(expected.getKeys(), actual.getKeys());
+        for (String ngram : expected.getKeys()) {
+            assertEquals(expected.getCount(ngram), actual.getCount(ngram));
+        }
+    }
+
+    private static long run(JCas jcas) throws Exception
+    {
+        long start = System.nanoTime();
+        FrequencyDistribution<String> fd = getDocumentNgrams(jcas);
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        // 1- to 3-grams of each sentence
+        int sentences = JCasUtil.select(jcas, Sentence.class).size();
+        assertEquals(sentences * (3 * TOKENS_PER_SENTENCE - 3), fd.getN());
+
+        return millis;
+    }
+
+    private static FrequencyDistribution<String> getDocumentNgrams(JCas jcas) throws Exception
+    {
+        TextClassificationTarget target = JCasUtil.selectSingle(jcas,
+                TextClassificationTarget.class);
+        return NGramUtils.getDocumentNgrams(jcas, target, true, false, 1, 3,
+                Collections.emptySet(), Token.class);
+    }
+
+    private static FrequencyDistribution<String> selectPerSentence(JCas jcas) throws Exception
+    {
+        FrequencyDistribution<String> fd = new FrequencyDistribution<String>();
+        for (Sentence s : JCasUtil.select(jcas, Sentence.class)) {
+            List<String> strings = new ArrayList<String>();
+            for (Entry<AnnotationFS, String> entry : FeaturePathFactory.select(jcas.getCas(),
+                    Token.class.getName())) {
+                if (entry.getKey().getBegin() >= s.getBegin()
+                        && entry.getKey().getEnd() <= s.getEnd()) {
+                    strings.add(entry.getValue());
+                }
+            }
+            for (List<String> ngram : new NGramStringListIterable(strings, 1, 3)) {
+                fd.inc(String.join("_", NGramUtils.lower(ngram)));
+            }
+        }
+        return fd;
+    }
+
+    private static JCas createDocument(int sentences) throws Exception
+    {
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentLanguage("en");
+
+        JCasBuilder cb = new JCasBuilder(jcas);
+        for (int s = 0; s < sentences; s++) {
+            int begin = cb.getPosition();
+            for (int t = 0; t < TOKENS_PER_SENTENCE; t++) {
+                cb.add("token" + ((s * 7 + t * 13) % 500), Token.class);
+                cb.add(" ");
+            }
+            cb.add(begin, Sentence.class);
+        }
+        cb.close();
+
+        new TextClassificationTarget(jcas, 0, jcas.getDocumentText().length()).addToIndexes();
+        return jcas;
+    }
+}
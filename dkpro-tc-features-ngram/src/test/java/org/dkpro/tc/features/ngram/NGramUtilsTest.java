@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.dkpro.tc.features.ngram;
 
+import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -139,4 +140,35 @@ public class NGramUtilsTest
         assertTrue(ngrams.contains("use"));
         assertTrue(ngrams.contains("se$"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void documentNgramsPerSentence() throws Exception
+    {
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentLanguage("en");
+
+        JCasBuilder cb = new JCasBuilder(jcas);
+        for (String sentence : new String[] { "A big house .", "The small house ." }) {
+            int begin = cb.getPosition();
+            for (String token : sentence.split(" ")) {
+                cb.add(token, Token.class);
+                cb.add(" ");
+            }
+            cb.add(begin, Sentence.class);
+        }
+        cb.close();
+
+        TextClassificationTarget aTarget = new TextClassificationTarget(jcas, 0,
+                jcas.getDocumentText().length());
+        aTarget.addToIndexes();
+
+        FrequencyDistribution<String> ngrams = NGramUtils.getDocumentNgrams(jcas, aTarget, true,
+                false, 2, 2, new HashSet<String>(), Token.class);
+
+        // bigrams do not cross sentence boundaries
+        assertEquals(6, ngrams.getN());
+        assertTrue(ngrams.contains("a" + NGRAM_GLUE + "big"));
+        assertTrue(ngrams.contains("the" + NGRAM_GLUE + "small"));
+        assertFalse(ngrams.contains("." + NGRAM_GLUE + "the"));
+    }
+}
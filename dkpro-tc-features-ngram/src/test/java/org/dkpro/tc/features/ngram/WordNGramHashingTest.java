@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.fit.factory.ExternalResourceFactory;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.TcFeatureFactory;
+import org.dkpro.tc.api.features.TcFeatureSet;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.core.task.MetaInfoTask;
+import org.dkpro.tc.features.ngram.util.FeatureHashing;
+import org.dkpro.tc.features.ngram.util.NGramUtils;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+import de.tudarmstadt.ukp.dkpro.core.tokit.BreakIteratorSegmenter;
+
+public class WordNGramHashingTest
+{
+    private static final int BITS = 10;
+
+    @Test
+    public void hashedNgramsWithoutSourceLocation() throws Exception
+    {
+        // no meta collection has been run, there is no index to read a vocabulary from
+        WordNGram extractor = createExtractor();
+
+        JCas jcas = createDocument("The cat sat on the mat. The dog sat on the cat.");
+        TextClassificationTarget target = JCasUtil.selectSingle(jcas,
+                TextClassificationTarget.class);
+
+        Set<Feature> features = extractor.extract(jcas, target);
+        assertFalse(features.isEmpty());
+
+        FrequencyDistribution<String> ngrams = NGramUtils.getAnnotationNgrams(jcas, target, true,
+                false, 1, 3, Collections.emptySet(), null);
+        // each n-gram of the target counts once, its sign depends on the hash
+        Map<String, Long> expected = new HashMap<>();
+        for (String ngram : ngrams.getKeys()) {
+            int hash = FeatureHashing.hash(ngram);
+            expected.merge(FeatureHashing.featureName(WordNGram.FEATURE_PREFIX,
+                    hash & ((1 << BITS) - 1)), hash < 0 ? -1L : 1L, Long::sum);
+        }
+        expected.values().removeIf(v -> v == 0);
+
+        assertEquals(expected.size(), features.size());
+        for (Feature f : features) {
+            assertTrue(f.getName().startsWith(WordNGram.FEATURE_PREFIX + "_#"));
+            assertFalse(f.isDefaultValue());
+            assertEquals(expected.get(f.getName()).doubleValue(),
+                    ((Number) f.getValue()).doubleValue(), 0.0);
+        }
+    }
+
+    @Test(expected = TextClassificationException.class)
+    public void hashedNgramsRequireSparseFeatures() throws Exception
+    {
+        createExtractor().getDefaultFeatures();
+    }
+
+    @Test
+    public void hashedNgramsNeedNoMetaCollection() throws Exception
+    {
+        assertFalse(MetaInfoTask.hasMetaDependentExtractor(new TcFeatureSet(TcFeatureFactory
+                .create(WordNGram.class, WordNGram.PARAM_NGRAM_HASH_BITS, BITS))));
+        assertTrue(MetaInfoTask.hasMetaDependentExtractor(
+                new TcFeatureSet(TcFeatureFactory.create(WordNGram.class))));
+    }
+
+    private static WordNGram createExtractor() throws Exception
+    {
+        ExternalResourceDescription description = ExternalResourceFactory
+                .createExternalResourceDescription(WordNGram.class,
+                        WordNGram.PARAM_UNIQUE_EXTRACTOR_NAME, "123",
+                        WordNGram.PARAM_NGRAM_HASH_BITS, String.valueOf(BITS));
+        return (WordNGram) UIMAFramework.produceResource(description.getResourceSpecifier(),
+                null);
+    }
+
+    private static JCas createDocument(String text) throws Exception
+    {
+        AnalysisEngine segmenter = AnalysisEngineFactory
+                .createEngine(BreakIteratorSegmenter.class);
+        JCas jcas = segmenter.newJCas();
+        jcas.setDocumentLanguage("en");
+        jcas.setDocumentText(text);
+        segmenter.process(jcas);
+
+        new TextClassificationTarget(jcas, 0, text.length()).addToIndexes();
+        return jcas;
+    }
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.uima.analysis_engine.AnalysisEngineDescription;
+import org.apache.uima.collection.CollectionReaderDescription;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.fit.factory.CollectionReaderFactory;
+import org.apache.uima.fit.pipeline.SimplePipeline;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.task.uima.DocumentModeAnnotator;
+import org.dkpro.tc.features.ngram.WordNGram;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+import de.tudarmstadt.ukp.dkpro.core.io.text.TextReader;
+import de.tudarmstadt.ukp.dkpro.core.tokit.BreakIteratorSegmenter;
+
+public class TopNgramCacheTest
+{
+    private static final String EXTRACTOR_NAME = "123";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File luceneDir;
+
+    @Before
+    public void collect() throws Exception
+    {
+        luceneDir = folder.newFolder();
+
+        CollectionReaderDescription reader = CollectionReaderFactory.createReaderDescription(
+                TextReader.class, TextReader.PARAM_SOURCE_LOCATION, "src/test/resources/data/",
+                TextReader.PARAM_LANGUAGE, "en", TextReader.PARAM_PATTERNS, "text*.txt");
+
+        AnalysisEngineDescription segmenter = AnalysisEngineFactory
+                .createEngineDescription(BreakIteratorSegmenter.class);
+
+        AnalysisEngineDescription doc = AnalysisEngineFactory.createEngineDescription(
+                DocumentModeAnnotator.class, DocumentModeAnnotator.PARAM_FEATURE_MODE,
+                Constants.FM_DOCUMENT);
+
+        AnalysisEngineDescription metaCollector = AnalysisEngineFactory.createEngineDescription(
+                WordNGramMC.class, WordNGramMC.PARAM_TARGET_LOCATION, luceneDir,
+                WordNGramMC.PARAM_UNIQUE_EXTRACTOR_NAME, EXTRACTOR_NAME);
+
+        SimplePipeline.runPipeline(reader, segmenter, doc, metaCollector);
+    }
+
+    @Test
+    public void sameSettingsShareSelection() throws Exception
+    {
+        CountingWordNGram first = new CountingWordNGram(luceneDir);
+        FrequencyDistribution<String> selection = first.select(5);
+        assertEquals(5, selection.getB());
+        assertTrue(first.screened > 0);
+
+        // the second extractor does not read the index again
+        CountingWordNGram second = new CountingWordNGram(luceneDir);
+        FrequencyDistribution<String> cached = second.select(5);
+        assertEquals(0, second.screened);
+        assertEquals(selection.getKeys(), cached.getKeys());
+        for (String ngram : selection.getKeys()) {
+            assertEquals(selection.getCount(ngram), cached.getCount(ngram));
+        }
+    }
+
+    @Test
+    public void changedSettingsMissCache() throws Exception
+    {
+        new CountingWordNGram(luceneDir).select(5);
+
+        CountingWordNGram other = new CountingWordNGram(luceneDir);
+        assertEquals(10, other.select(10).getB());
+        assertTrue(other.screened > 0);
+    }
+
+    @Test
+    public void selectionIsCopied() throws Exception
+    {
+        FrequencyDistribution<String> selection = new CountingWordNGram(luceneDir).select(5);
+        String ngram = selection.getKeys().iterator().next();
+        long count = selection.getCount(ngram);
+        selection.addSample("not an n-gram of the index", 100);
+        selection.addSample(ngram, 100);
+
+        FrequencyDistribution<String> cached = new CountingWordNGram(luceneDir).select(5);
+        assertEquals(5, cached.getB());
+        assertFalse(cached.contains("not an n-gram of the index"));
+        assertEquals(count, cached.getCount(ngram));
+    }
+
+    /**
+     * Counts the terms that are screened, i.e. read from the index.
+     */
+    static class CountingWordNGram
+        extends WordNGram
+    {
+        int screened = 0;
+
+        CountingWordNGram(File luceneDir)
+        {
+            this.luceneDir = luceneDir;
+            this.featureExtractorName = EXTRACTOR_NAME;
+        }
+
+        FrequencyDistribution<String> select(int topK) throws ResourceInitializationException
+        {
+            return getTopNgrams(getFieldName(), topK, "", term -> {
+                screened++;
+                return true;
+            });
+        }
+    }
+}
@@ -18,8 +18,17 @@
 package org.dkpro.tc.features.ngram.meta;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.Fields;
@@ -29,16 +38,22 @@ import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.util.BytesRef;
+import org.apache.uima.UIMAFramework;
 import org.apache.uima.analysis_engine.AnalysisEngineDescription;
 import org.apache.uima.collection.CollectionReaderDescription;
 import org.apache.uima.fit.factory.AnalysisEngineFactory;
 import org.apache.uima.fit.factory.CollectionReaderFactory;
+import org.apache.uima.fit.factory.ExternalResourceFactory;
 import org.apache.uima.fit.pipeline.JCasIterable;
+import org.apache.uima.fit.pipeline.SimplePipeline;
 import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ExternalResourceDescription;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.uima.DocumentModeAnnotator;
 import org.dkpro.tc.features.ngram.WordNGram;
+import org.dkpro.tc.features.ngram.util.TermFrequencyReader;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -106,6 +121,132 @@ public class WordNGramMetaCollectorTest
         assertEquals(35, i);
     }
 
+    @Test
+    public void termFrequencyFileTest() throws Exception
+    {
+        File luceneDir = folder.newFolder();
+        File tfDir = folder.newFolder();
+
+        runMetaCollector(luceneDir, false);
+        // a small limit enforces counts to be written to disk and merged
+        runMetaCollector(tfDir, true);
+
+        Map<String, Long> expected = new HashMap<>();
+        try (IndexReader index = DirectoryReader.open(FSDirectory.open(luceneDir))) {
+            Terms terms = MultiFields.getFields(index)
+                    .terms(WordNGram.LUCENE_NGRAM_FIELD + UNIQUE_FEATURE_NAME);
+            TermsEnum termsEnum = terms.iterator(null);
+            BytesRef text = null;
+            while ((text = termsEnum.next()) != null) {
+                expected.put(text.utf8ToString(), termsEnum.totalTermFreq());
+            }
+        }
+
+        Map<String, Long> actual = new HashMap<>();
+        File tfFile = new File(tfDir, WordNGram.LUCENE_NGRAM_FIELD + UNIQUE_FEATURE_NAME
+                + LuceneMC.TERM_FREQUENCY_FILE_SUFFIX);
+        try (TermFrequencyReader reader = new TermFrequencyReader(tfFile)) {
+            while (reader.next()) {
+                actual.put(reader.getTerm(), reader.getFrequency());
+            }
+        }
+
+        assertEquals(35, actual.size());
+        assertEquals(Long.valueOf(3), actual.get("this"));
+        assertEquals(expected, actual);
+        assertEquals(1, tfDir.list().length);
+    }
+
+    @Test
+    public void termFrequencyFileAndIndexInSameLocation() throws Exception
+    {
+        File luceneDir = folder.newFolder();
+
+        // two extractors of one experiment share the location, only one writes a file
+        AnalysisEngineDescription fileCollector = AnalysisEngineFactory.createEngineDescription(
+                WordNGramMC.class, WordNGramMC.PARAM_TARGET_LOCATION, luceneDir,
+                WordNGramMC.PARAM_UNIQUE_EXTRACTOR_NAME, "file",
+                WordNGramMC.PARAM_USE_TERM_FREQUENCY_FILE, true);
+        AnalysisEngineDescription indexCollector = AnalysisEngineFactory.createEngineDescription(
+                WordNGramMC.class, WordNGramMC.PARAM_TARGET_LOCATION, luceneDir,
+                WordNGramMC.PARAM_UNIQUE_EXTRACTOR_NAME, "index");
+        runPipeline(fileCollector, indexCollector);
+
+        assertTrue(new File(luceneDir,
+                WordNGram.LUCENE_NGRAM_FIELD + "file" + LuceneMC.TERM_FREQUENCY_FILE_SUFFIX)
+                        .exists());
+        assertFalse(new File(luceneDir,
+                WordNGram.LUCENE_NGRAM_FIELD + "index" + LuceneMC.TERM_FREQUENCY_FILE_SUFFIX)
+                        .exists());
+
+        Set<String> fromFile = getTopNgrams(luceneDir, "file");
+        Set<String> fromIndex = getTopNgrams(luceneDir, "index");
+        assertEquals(10, fromFile.size());
+        assertEquals(fromFile, fromIndex);
+    }
+
+    private Set<String> getTopNgrams(File luceneDir, String extractorName) throws Exception
+    {
+        ExternalResourceDescription description = ExternalResourceFactory
+                .createExternalResourceDescription(WordNGram.class,
+                        WordNGram.PARAM_UNIQUE_EXTRACTOR_NAME, extractorName,
+                        WordNGram.PARAM_SOURCE_LOCATION, luceneDir.toString(),
+                        WordNGram.PARAM_NGRAM_USE_TOP_K, "10");
+        WordNGram extractor = (WordNGram) UIMAFramework
+                .produceResource(description.getResourceSpecifier(), null);
+
+        // all top-k n-grams without their prefix
+        Set<String> ngrams = new HashSet<>();
+        for (Feature f : extractor.getDefaultFeatures()) {
+            ngrams.add(f.getName().substring(WordNGram.FEATURE_PREFIX.length() + 1));
+        }
+        return ngrams;
+    }
+
+    private void runPipeline(AnalysisEngineDescription... metaCollectors) throws Exception
+    {
+        CollectionReaderDescription reader = CollectionReaderFactory.createReaderDescription(
+                TextReader.class, TextReader.PARAM_SOURCE_LOCATION, "src/test/resources/data/",
+                TextReader.PARAM_LANGUAGE, "en", TextReader.PARAM_PATTERNS, "text*.txt");
+
+        AnalysisEngineDescription segmenter = AnalysisEngineFactory
+                .createEngineDescription(BreakIteratorSegmenter.class);
+
+        AnalysisEngineDescription doc = AnalysisEngineFactory.createEngineDescription(
+                DocumentModeAnnotator.class, DocumentModeAnnotator.PARAM_FEATURE_MODE,
+                Constants.FM_DOCUMENT);
+
+        List<AnalysisEngineDescription> engines = new ArrayList<>();
+        engines.add(segmenter);
+        engines.add(doc);
+        engines.addAll(Arrays.asList(metaCollectors));
+
+        SimplePipeline.runPipeline(reader,
+                engines.toArray(new AnalysisEngineDescription[engines.size()]));
+    }
+
+    private void runMetaCollector(File targetDir, boolean useTermFrequencyFile) throws Exception
+    {
+        CollectionReaderDescription reader = CollectionReaderFactory.createReaderDescription(
+                TextReader.class, TextReader.PARAM_SOURCE_LOCATION, "src/test/resources/data/",
+                TextReader.PARAM_LANGUAGE, "en", TextReader.PARAM_PATTERNS, "text*.txt");
+
+        AnalysisEngineDescription segmenter = AnalysisEngineFactory
+                .createEngineDescription(BreakIteratorSegmenter.class);
+
+        AnalysisEngineDescription doc = AnalysisEngineFactory.createEngineDescription(
+                DocumentModeAnnotator.class, DocumentModeAnnotator.PARAM_FEATURE_MODE,
+                Constants.FM_DOCUMENT);
+
+        AnalysisEngineDescription metaCollector = AnalysisEngineFactory.createEngineDescription(
+                WordNGramMC.class, WordNGramMC.PARAM_TARGET_LOCATION, targetDir,
+                WordNGramMC.PARAM_UNIQUE_EXTRACTOR_NAME, UNIQUE_FEATURE_NAME,
+                WordNGramMC.PARAM_USE_TERM_FREQUENCY_FILE, useTermFrequencyFile,
+                WordNGramMC.PARAM_MAX_TERMS_IN_MEMORY, 10);
+
+        SimplePipeline.runPipeline(reader, segmenter, doc, metaCollector);
+    }
+
     @SuppressWarnings("unused")
     @Test
     public void emptyDocumentTest() throws Exception
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.dkpro.tc.api.features.Feature;
+import org.junit.Test;
+
+public class FeatureHashingTest
+{
+    @Test
+    public void hashIsStable()
+    {
+        // the hash must not change between releases, otherwise stored models break
+        assertEquals(FeatureHashing.hash("the_cat"),
+                FeatureHashing.hash(new StringBuilder("the_cat")));
+        assertEquals(-1234665625, FeatureHashing.hash("the_cat"));
+        assertTrue(FeatureHashing.hash("ab") != FeatureHashing.hash("ba"));
+        assertTrue(FeatureHashing.combine(1, 2) != FeatureHashing.combine(2, 1));
+    }
+
+    @Test
+    public void accumulatesSignedValues() throws Exception
+    {
+        // many collisions
+        assertFeatures(4, 200);
+    }
+
+    @Test
+    public void manyDistinctFeatures() throws Exception
+    {
+        assertFeatures(FeatureHashing.MAX_BITS, 10000);
+    }
+
+    private void assertFeatures(int bits, int numNgrams) throws Exception
+    {
+        Map<String, Long> expected = new HashMap<>();
+        FeatureHashing hashing = new FeatureHashing(bits);
+        for (int i = 1; i <= numNgrams; i++) {
+            int hash = FeatureHashing.hash("ngram" + i);
+            hashing.add(hash, i);
+
+            String name = FeatureHashing.featureName("wNg", hash & ((1 << bits) - 1));
+            expected.merge(name, hash < 0 ? -(long) i : i, Long::sum);
+        }
+        expected.values().removeIf(v -> v == 0);
+
+        Set<Feature> features = new HashSet<>();
+        hashing.addFeatures("wNg", features);
+
+        assertEquals(expected.size(), features.size());
+        for (Feature f : features) {
+            assertEquals(expected.get(f.getName()).doubleValue(),
+                    ((Number) f.getValue()).doubleValue(), 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyBits()
+    {
+        new FeatureHashing(FeatureHashing.MAX_BITS + 1);
+    }
+}
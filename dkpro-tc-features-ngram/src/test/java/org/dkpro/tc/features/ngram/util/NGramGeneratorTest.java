@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+
+public class NGramGeneratorTest
+{
+    private static final String[] WORDS = { "a", "The", "the", "house", "of", "A_B", "cat", "." };
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList("a", "the", "of"));
+
+    @Test
+    public void ngramsAsBefore()
+    {
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            List<String> tokens = randomTokens(random);
+            boolean lowerCase = random.nextBoolean();
+            boolean partial = random.nextBoolean();
+            int minN = 1 + random.nextInt(3);
+            int maxN = minN + random.nextInt(3);
+
+            Map<String, Long> expected = new HashMap<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                for (int n = minN; n <= maxN && i + n <= tokens.size(); n++) {
+                    add(expected, tokens.subList(i, i + n), lowerCase, partial);
+                }
+            }
+
+            NGramGenerator generator = new NGramGenerator(STOPWORDS, partial);
+            generator.setTokens(tokens, lowerCase);
+            FrequencyDistribution<String> ngrams = new FrequencyDistribution<>();
+            generator.ngrams(minN, maxN, null, ngrams);
+            assertEquals(expected, toMap(ngrams));
+
+            // restricted to a vocabulary, the n-grams of the vocabulary are found alone
+            List<String> keys = new ArrayList<>(expected.keySet());
+            Set<String> vocabulary = new HashSet<>(keys.subList(0, keys.size() / 2));
+            vocabulary.add("house_of_cat");
+            expected.keySet().retainAll(vocabulary);
+
+            ngrams = new FrequencyDistribution<>();
+            generator.ngrams(minN, maxN, new NGramVocabulary(vocabulary), ngrams);
+            assertEquals(expected, toMap(ngrams));
+        }
+    }
+
+    @Test
+    public void skipNgramsAsBefore()
+    {
+        Random random = new Random(11);
+        for (int run = 0; run < 200; run++) {
+            List<String> tokens = randomTokens(random);
+            boolean partial = random.nextBoolean();
+            int minN = 2 + random.nextInt(2);
+            int maxN = minN + random.nextInt(2);
+            int skipN = 1 + random.nextInt(3);
+
+            // all subsets of each window, as SkipNgramStringListIterable used to generate them
+            Set<List<String>> subsets = new HashSet<>();
+            for (int n = minN; n <= maxN && n <= tokens.size(); n++) {
+                for (int start = 0; start < tokens.size() - n; start++) {
+                    int end = Math.min(start + n + skipN, tokens.size());
+                    for (int mask = 0; mask < 1 << (end - start); mask++) {
+                        if (Integer.bitCount(mask) != n) {
+                            continue;
+                        }
+                        List<String> subset = new ArrayList<>();
+                        for (int i = start; i < end; i++) {
+                            if ((mask & 1 << (i - start)) != 0) {
+                                subset.add(tokens.get(i).toLowerCase());
+                            }
+                        }
+                        subsets.add(subset);
+                    }
+                }
+            }
+            Map<String, Long> expected = new HashMap<>();
+            for (List<String> subset : subsets) {
+                add(expected, subset, false, partial);
+            }
+
+            NGramGenerator generator = new NGramGenerator(STOPWORDS, partial);
+            generator.setTokens(tokens, true);
+            FrequencyDistribution<String> ngrams = new FrequencyDistribution<>();
+            generator.skipNgrams(minN, maxN, skipN, null, ngrams);
+            assertEquals(expected, toMap(ngrams));
+        }
+    }
+
+    @Test
+    public void vocabularyWithGlueInToken()
+    {
+        NGramGenerator generator = new NGramGenerator();
+        generator.setTokens(Arrays.asList("A_B", "c", "a", "b_c"), true);
+
+        FrequencyDistribution<String> ngrams = new FrequencyDistribution<>();
+        generator.ngrams(1, 2, new NGramVocabulary(Arrays.asList("a_b_c", "a_b")), ngrams);
+
+        // "a_b_c" is the bigram of "a_b" and "c" as well as of "a" and "b_c"
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("a_b", 1L);
+        expected.put("a_b_c", 2L);
+        assertEquals(expected, toMap(ngrams));
+    }
+
+    private static List<String> randomTokens(Random random)
+    {
+        List<String> tokens = new ArrayList<>();
+        int size = random.nextInt(10);
+        for (int i = 0; i < size; i++) {
+            tokens.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return tokens;
+    }
+
+    private static void add(Map<String, Long> ngrams, List<String> ngram, boolean lowerCase,
+            boolean partial)
+    {
+        if (lowerCase) {
+            ngram = NGramUtils.lower(ngram);
+        }
+        if (NGramUtils.passesNgramFilter(ngram, STOPWORDS, partial)) {
+            ngrams.merge(String.join(NGRAM_GLUE, ngram), 1L, Long::sum);
+        }
+    }
+
+    private static Map<String, Long> toMap(FrequencyDistribution<String> ngrams)
+    {
+        Map<String, Long> map = new HashMap<>();
+        for (String key : ngrams.getKeys()) {
+            map.put(key, ngrams.getCount(key));
+        }
+        return map;
+    }
+}
@@ -107,6 +107,13 @@ public class IdfPairMetaCollector<T extends Annotation>
         }
     }
 
+    @Override
+    protected boolean supportsTermFrequencyFile()
+    {
+        // adds the fields to the document and writes it on its own
+        return false;
+    }
+
     @Override
     protected FrequencyDistribution<String> getNgramsFD(JCas jcas)
         throws TextClassificationException
@@ -136,13 +136,18 @@ public class LuceneKeywordCPFE
         FrequencyDistribution<String> documentComboNgrams = ComboUtils.getCombinedNgrams(
                 view1Ngrams, view2Ngrams, ngramMinNCombo, ngramMaxNCombo,
                 ngramUseSymmetricalCombos);
-
-        prefix = "comboKNG";
         Set<Feature> features = new HashSet<Feature>();
-        addToFeatureArray(documentComboNgrams, topKSetCombo, features);
+        addToFeatureArray("comboKNG", documentComboNgrams, topKSetCombo, features);
         return features;
     }
 
+    @Override
+    protected String getScreeningKey()
+    {
+        // the screening depends on the selected view n-grams, the result is not cached
+        return useNgramScreening ? null : "";
+    }
+
     @Override
     protected boolean passesScreening(String term)
     {
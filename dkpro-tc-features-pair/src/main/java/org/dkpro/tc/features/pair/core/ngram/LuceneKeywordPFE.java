@@ -221,22 +221,17 @@ public class LuceneKeywordPFE
 
         Set<Feature> features = new HashSet<Feature>();
         if (useView1NgramsAsFeatures) {
-            prefix = "keyNG1";
-            features = addToFeatureArray(view1Ngrams, topKSetView1, features);
+            features = addToFeatureArray("keyNG1", view1Ngrams, topKSetView1, features);
         }
         if (useView2NgramsAsFeatures) {
-            prefix = "keyNG2";
-            features = addToFeatureArray(view2Ngrams, topKSetView2, features);
+            features = addToFeatureArray("keyNG2", view2Ngrams, topKSetView2, features);
         }
         if (useViewBlindNgramsAsFeatures && !markViewBlindNgramsWithLocalView) {
-            prefix = "keyNG";
-            features = addToFeatureArray(allNgrams, topKSet, features);
+            features = addToFeatureArray("keyNG", allNgrams, topKSet, features);
         }
         if (useViewBlindNgramsAsFeatures && markViewBlindNgramsWithLocalView) {
-            prefix = "keyNGall1";
-            features = addToFeatureArray(view1Ngrams, topKSet, features);
-            prefix = "keyNGall2";
-            features = addToFeatureArray(view2Ngrams, topKSet, features);
+            features = addToFeatureArray("keyNGall1", view1Ngrams, topKSet, features);
+            features = addToFeatureArray("keyNGall2", view2Ngrams, topKSet, features);
         }
 
         return features;
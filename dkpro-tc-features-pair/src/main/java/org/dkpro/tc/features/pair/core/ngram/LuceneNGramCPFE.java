@@ -18,19 +18,12 @@
 package org.dkpro.tc.features.pair.core.ngram;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.Fields;
-import org.apache.lucene.index.IndexReader;
-import org.apache.lucene.index.MultiFields;
-import org.apache.lucene.index.Terms;
-import org.apache.lucene.index.TermsEnum;
-import org.apache.lucene.store.FSDirectory;
-import org.apache.lucene.util.BytesRef;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
@@ -41,14 +34,12 @@ import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.PairFeatureExtractor;
 import org.dkpro.tc.api.features.meta.MetaCollectorConfiguration;
 import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.features.ngram.util.FeatureHashing;
 import org.dkpro.tc.features.ngram.util.NGramUtils;
-import org.dkpro.tc.features.ngram.util.TermFreqTuple;
 import org.dkpro.tc.features.pair.core.ngram.meta.ComboUtils;
 import org.dkpro.tc.features.pair.core.ngram.meta.LuceneNGramCPMetaCollector;
 import org.dkpro.tc.features.pair.core.ngram.meta.LuceneNGramPMetaCollector;
 
-import com.google.common.collect.MinMaxPriorityQueue;
-
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
 
@@ -109,7 +100,9 @@ public class LuceneNGramCPFE
         if (!super.initialize(aSpecifier, aAdditionalParams)) {
             return false;
         }
-        topKSetCombo = getTopNgramsCombo(ngramUseTopKCombo, LUCENE_NGRAM_FIELDCOMBO);
+        if (!isFeatureHashing()) {
+            topKSetCombo = getTopNgramsCombo(ngramUseTopKCombo, LUCENE_NGRAM_FIELDCOMBO);
+        }
         return true;
     }
 
@@ -118,6 +111,9 @@ public class LuceneNGramCPFE
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays.asList(
                 new MetaCollectorConfiguration(LuceneNGramPMetaCollector.class, parameterSettings)
                         .addStorageMapping(LuceneNGramCPMetaCollector.PARAM_TARGET_LOCATION,
@@ -141,63 +137,45 @@ public class LuceneNGramCPFE
         view2Ngrams = NGramUtils.getDocumentNgrams(view2, aTarget2, ngramLowerCase,
                 filterPartialStopwordMatches, ngramMinN2, ngramMaxN2, stopwords, Token.class);
 
+        if (isFeatureHashing()) {
+            FeatureHashing hashing = new FeatureHashing(ngramHashBits);
+            ComboUtils.hashCombinedNgrams(view1Ngrams, view2Ngrams, ngramMinNCombo,
+                    ngramMaxNCombo, ngramUseSymmetricalCombos, ngramBinaryFeatureValuesCombos,
+                    hashing);
+            Set<Feature> features = new HashSet<Feature>();
+            hashing.addFeatures("comboNG", features);
+            return features;
+        }
+
         FrequencyDistribution<String> documentComboNgrams = ComboUtils.getCombinedNgrams(
                 view1Ngrams, view2Ngrams, ngramMinNCombo, ngramMaxNCombo,
                 ngramUseSymmetricalCombos);
 
         Set<Feature> features = new HashSet<Feature>();
-        prefix = "comboNG";
-        features = addToFeatureArray(documentComboNgrams, topKSetCombo, features);
+        features = addToFeatureArray("comboNG", documentComboNgrams, topKSetCombo, features);
 
         return features;
     }
 
+    @Override
+    protected Set<Feature> createDefaultFeatures() throws TextClassificationException
+    {
+        Set<Feature> features = new HashSet<Feature>();
+        addDefaultFeatures("comboNG", topKSetCombo, features);
+        return features;
+    }
+
     private FrequencyDistribution<String> getTopNgramsCombo(int topNgramThreshold, String fieldName)
         throws ResourceInitializationException
     {
-
-        FrequencyDistribution<String> topNGrams = new FrequencyDistribution<String>();
-
-        MinMaxPriorityQueue<TermFreqTuple> topN = MinMaxPriorityQueue.maximumSize(topNgramThreshold)
-                .create();
-        IndexReader reader;
-        try {
-            reader = DirectoryReader.open(FSDirectory.open(luceneDir));
-            Fields fields = MultiFields.getFields(reader);
-            if (fields != null) {
-                Terms terms = fields.terms(fieldName);
-                if (terms != null) {
-                    TermsEnum termsEnum = terms.iterator(null);
-                    BytesRef text = null;
-                    while ((text = termsEnum.next()) != null) {
-                        String term = text.utf8ToString();
-                        long freq = termsEnum.totalTermFreq();
-                        // add conditions here, like ngram1 is in most freq ngrams1...
-                        String combo1 = term.split(ComboUtils.JOINT)[0];
-                        String combo2 = term.split(ComboUtils.JOINT)[1];
-                        int combinedSize = combo1.split("_").length + combo2.split("_").length;
-                        if (topKSetView1.contains(combo1) && topKSet.contains(combo1)
-                                && topKSetView2.contains(combo2) && topKSet.contains(combo2)
-                                && combinedSize <= ngramMaxNCombo
-                                && combinedSize >= ngramMinNCombo) {
-                            // print out here for testing
-                            topN.add(new TermFreqTuple(term, freq));
-                        }
-                    }
-                }
-            }
-        }
-        catch (Exception e) {
-            throw new ResourceInitializationException(e);
-        }
-
-        int size = topN.size();
-        for (int i = 0; i < size; i++) {
-            TermFreqTuple tuple = topN.poll();
-            // System.out.println(tuple.getTerm() + " - " + tuple.getFreq());
-            topNGrams.addSample(tuple.getTerm(), tuple.getFreq());
-        }
-
-        return topNGrams;
+        // the screening depends on the selected view n-grams, the result is not cached
+        return getTopNgrams(fieldName, topNgramThreshold, null, term -> {
+            String combo1 = term.split(ComboUtils.JOINT)[0];
+            String combo2 = term.split(ComboUtils.JOINT)[1];
+            int combinedSize = combo1.split("_").length + combo2.split("_").length;
+            return topKSetView1.contains(combo1) && topKSet.contains(combo1)
+                    && topKSetView2.contains(combo2) && topKSet.contains(combo2)
+                    && combinedSize <= ngramMaxNCombo && combinedSize >= ngramMinNCombo;
+        });
     }
 }
\ No newline at end of file
@@ -21,19 +21,12 @@ import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.Fields;
-import org.apache.lucene.index.IndexReader;
-import org.apache.lucene.index.MultiFields;
-import org.apache.lucene.index.Terms;
-import org.apache.lucene.index.TermsEnum;
-import org.apache.lucene.store.FSDirectory;
-import org.apache.lucene.util.BytesRef;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
@@ -43,16 +36,15 @@ import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.PairFeatureExtractor;
+import org.dkpro.tc.api.features.SparseFeatureExtractor;
 import org.dkpro.tc.api.features.meta.MetaCollectorConfiguration;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.features.ngram.meta.base.LuceneFeatureExtractorBase;
+import org.dkpro.tc.features.ngram.util.FeatureHashing;
 import org.dkpro.tc.features.ngram.util.NGramUtils;
-import org.dkpro.tc.features.ngram.util.TermFreqTuple;
 import org.dkpro.tc.features.pair.core.ngram.meta.ComboUtils;
 import org.dkpro.tc.features.pair.core.ngram.meta.LuceneNGramPMetaCollector;
 
-import com.google.common.collect.MinMaxPriorityQueue;
-
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
 
@@ -62,11 +54,13 @@ import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
  * set separately, or both documents can be treated together as one extended document. <br>
  * Note that ngram features created by this class are each from a single document, i.e., not
  * combinations of ngrams from the pair of documents. To make combinations of ngrams across both
- * documents, please use {@link LuceneNGramCPFE}.
+ * documents, please use {@link LuceneNGramCPFE}. <br>
+ * Only the ngrams found in a pair are returned as features, the remaining top-k ngrams are provided
+ * by {@link #getDefaultFeatures()}.
  */
 public class LuceneNGramPFE
     extends LuceneFeatureExtractorBase
-    implements PairFeatureExtractor
+    implements PairFeatureExtractor, SparseFeatureExtractor
 {
     /**
      * Minimum size n of ngrams from View 1's.
@@ -155,11 +149,16 @@ public class LuceneNGramPFE
     protected FrequencyDistribution<String> topKSetView1;
     protected FrequencyDistribution<String> topKSetView2;
 
+    private volatile Set<Feature> defaultFeatures;
+
     @Override
     public List<MetaCollectorConfiguration> getMetaCollectorClasses(
             Map<String, Object> parameterSettings)
         throws ResourceInitializationException
     {
+        if (isFeatureHashing(parameterSettings)) {
+            return Collections.emptyList();
+        }
         return Arrays.asList(
                 new MetaCollectorConfiguration(LuceneNGramPMetaCollector.class, parameterSettings)
                         .addStorageMapping(LuceneNGramPMetaCollector.PARAM_TARGET_LOCATION,
@@ -175,12 +174,20 @@ public class LuceneNGramPFE
             return false;
         }
 
-        topKSetView1 = getTopNgramsView1();
-        topKSetView2 = getTopNgramsView2();
+        if (!isFeatureHashing()) {
+            topKSetView1 = getTopNgramsView1();
+            topKSetView2 = getTopNgramsView2();
+        }
 
         return true;
     }
 
+    @Override
+    protected boolean supportsFeatureHashing()
+    {
+        return true;
+    }
+
     @Override
     public Set<Feature> extract(JCas view1, JCas view2) throws TextClassificationException
     {
@@ -201,45 +208,94 @@ public class LuceneNGramPFE
 
         Set<Feature> features = new HashSet<Feature>();
         if (useView1NgramsAsFeatures) {
-            prefix = "view1NG";
-            features = addToFeatureArray(view1Ngrams, topKSetView1, features);
+            features = addToFeatureArray("view1NG", view1Ngrams, topKSetView1, features);
         }
         if (useView2NgramsAsFeatures) {
-            prefix = "view2NG";
-            features = addToFeatureArray(view2Ngrams, topKSetView2, features);
+            features = addToFeatureArray("view2NG", view2Ngrams, topKSetView2, features);
         }
         if (useViewBlindNgramsAsFeatures && !markViewBlindNgramsWithLocalView) {
-            prefix = "allNG";
-            features = addToFeatureArray(allNgrams, topKSet, features);
+            features = addToFeatureArray("allNG", allNgrams, topKSet, features);
         }
         if (useViewBlindNgramsAsFeatures && markViewBlindNgramsWithLocalView) {
-            prefix = "view1allNG";
-            features = addToFeatureArray(view1Ngrams, topKSet, features);
-            prefix = "view2allNG";
-            features = addToFeatureArray(view2Ngrams, topKSet, features);
+            features = addToFeatureArray("view1allNG", view1Ngrams, topKSet, features);
+            features = addToFeatureArray("view2allNG", view2Ngrams, topKSet, features);
         }
 
         return features;
     }
 
-    protected Set<Feature> addToFeatureArray(FrequencyDistribution<String> viewNgrams,
-            FrequencyDistribution<String> topKSet, Set<Feature> features) throws TextClassificationException
+    protected Set<Feature> addToFeatureArray(String prefix,
+            FrequencyDistribution<String> viewNgrams, FrequencyDistribution<String> topKSet,
+            Set<Feature> features)
+        throws TextClassificationException
     {
-        for (String ngram : topKSet.getKeys()) {
-            long value = 1;
-            if (!ngramBinaryFeatureValuesCombos) {
-                value = viewNgrams.getCount(ngram);
+        if (isFeatureHashing()) {
+            // only the n-grams found in the pair are set, all other features are zero
+            FeatureHashing hashing = new FeatureHashing(ngramHashBits);
+            for (String ngram : viewNgrams.getKeys()) {
+                hashing.add(FeatureHashing.hash(ngram),
+                        ngramBinaryFeatureValuesCombos ? 1 : viewNgrams.getCount(ngram));
             }
-            if (viewNgrams.contains(ngram)) {
+            hashing.addFeatures(prefix, features);
+            return features;
+        }
+
+        for (String ngram : viewNgrams.getKeys()) {
+            if (topKSet.contains(ngram)) {
+                long value = 1;
+                if (!ngramBinaryFeatureValuesCombos) {
+                    value = viewNgrams.getCount(ngram);
+                }
                 features.add(new Feature(prefix + NGRAM_GLUE + ngram, value, FeatureType.NUMERIC));
             }
-            else {
-                features.add(new Feature(prefix + NGRAM_GLUE + ngram, 0, FeatureType.NUMERIC));
-            }
         }
         return features;
     }
 
+    @Override
+    public Set<Feature> getDefaultFeatures() throws TextClassificationException
+    {
+        if (defaultFeatures == null) {
+            checkDenseFeatures();
+            defaultFeatures = Collections.unmodifiableSet(createDefaultFeatures());
+        }
+        return defaultFeatures;
+    }
+
+    /**
+     * @return a feature with value 0 for each top-k ngram, named as in {@link #extract}
+     * @throws TextClassificationException
+     *             if a feature cannot be created
+     */
+    protected Set<Feature> createDefaultFeatures() throws TextClassificationException
+    {
+        Set<Feature> features = new HashSet<Feature>();
+        if (useView1NgramsAsFeatures) {
+            addDefaultFeatures("view1NG", topKSetView1, features);
+        }
+        if (useView2NgramsAsFeatures) {
+            addDefaultFeatures("view2NG", topKSetView2, features);
+        }
+        if (useViewBlindNgramsAsFeatures && !markViewBlindNgramsWithLocalView) {
+            addDefaultFeatures("allNG", topKSet, features);
+        }
+        if (useViewBlindNgramsAsFeatures && markViewBlindNgramsWithLocalView) {
+            addDefaultFeatures("view1allNG", topKSet, features);
+            addDefaultFeatures("view2allNG", topKSet, features);
+        }
+        return features;
+    }
+
+    protected static void addDefaultFeatures(String featurePrefix,
+            FrequencyDistribution<String> topKSet, Set<Feature> features)
+        throws TextClassificationException
+    {
+        for (String ngram : topKSet.getKeys()) {
+            features.add(new Feature(featurePrefix + NGRAM_GLUE + ngram, 0, true,
+                    FeatureType.NUMERIC));
+        }
+    }
+
     @Override
     protected FrequencyDistribution<String> getTopNgrams() throws ResourceInitializationException
     {
@@ -261,40 +317,7 @@ public class LuceneNGramPFE
     private FrequencyDistribution<String> getTopNgrams(int topNgramThreshold, String fieldName)
         throws ResourceInitializationException
     {
-
-        FrequencyDistribution<String> topNGrams = new FrequencyDistribution<String>();
-
-        MinMaxPriorityQueue<TermFreqTuple> topN = MinMaxPriorityQueue.maximumSize(topNgramThreshold)
-                .create();
-        IndexReader reader;
-        try {
-            reader = DirectoryReader.open(FSDirectory.open(luceneDir));
-            Fields fields = MultiFields.getFields(reader);
-            if (fields != null) {
-                Terms terms = fields.terms(fieldName);
-                if (terms != null) {
-                    TermsEnum termsEnum = terms.iterator(null);
-                    BytesRef text = null;
-                    while ((text = termsEnum.next()) != null) {
-                        String term = text.utf8ToString();
-                        long freq = termsEnum.totalTermFreq();
-                        topN.add(new TermFreqTuple(term, freq));
-                    }
-                }
-            }
-        }
-        catch (Exception e) {
-            throw new ResourceInitializationException(e);
-        }
-
-        int size = topN.size();
-        for (int i = 0; i < size; i++) {
-            TermFreqTuple tuple = topN.poll();
-            // System.out.println(tuple.getTerm() + " - " + tuple.getFreq());
-            topNGrams.addSample(tuple.getTerm(), tuple.getFreq());
-        }
-
-        return topNGrams;
+        return getTopNgrams(fieldName, topNgramThreshold, "", null);
     }
 
     protected FrequencyDistribution<String> getViewNgrams(JCas view1, JCas view2)
@@ -31,6 +31,7 @@ import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
 
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.features.ngram.util.FeatureHashing;
 import org.dkpro.tc.features.ngram.util.NGramUtils;
 
 public class ComboUtils
@@ -81,6 +82,59 @@ public class ComboUtils
         return documentComboNGrams;
     }
 
+    /**
+     * Hashes the combinations of ngrams from a pair of documents, see
+     * {@link #getCombinedNgrams(FrequencyDistribution, FrequencyDistribution, int, int, boolean)}.
+     * The combinations are not built as strings; the hash of a combination is computed from the
+     * hashes of its ngrams, which are computed only once per ngram.
+     * 
+     * @param document1NGrams
+     *            ngrams from document 1
+     * @param document2NGrams
+     *            ngrams from document 2
+     * @param minN
+     *            minimum size for a new combined ngram
+     * @param maxN
+     *            max size for a new combined ngram
+     * @param ngramUseSymmetricalCombos
+     *            whether or not to return view-neutral ngrams
+     * @param binary
+     *            whether a combination counts once or with the product of the ngram counts
+     * @param hashing
+     *            receives the hashed combinations
+     */
+    public static void hashCombinedNgrams(FrequencyDistribution<String> document1NGrams,
+            FrequencyDistribution<String> document2NGrams, int minN, int maxN,
+            boolean ngramUseSymmetricalCombos, boolean binary, FeatureHashing hashing)
+    {
+        int size2 = (int) document2NGrams.getB();
+        int[] hashes2 = new int[size2];
+        int[] lengths2 = new int[size2];
+        long[] counts2 = new long[size2];
+        int j = 0;
+        for (String ngram2 : document2NGrams.getKeys()) {
+            hashes2[j] = FeatureHashing.hash(ngram2);
+            lengths2[j] = StringUtils.countMatches(ngram2, NGRAM_GLUE) + 1;
+            counts2[j] = document2NGrams.getCount(ngram2);
+            j++;
+        }
+
+        for (String ngram1 : document1NGrams.getKeys()) {
+            int hash1 = FeatureHashing.hash(ngram1);
+            int length1 = StringUtils.countMatches(ngram1, NGRAM_GLUE) + 1;
+            long count1 = document1NGrams.getCount(ngram1);
+            for (j = 0; j < size2; j++) {
+                if (length1 + lengths2[j] >= minN && length1 + lengths2[j] <= maxN) {
+                    long value = binary ? 1 : count1 * counts2[j];
+                    hashing.add(FeatureHashing.combine(hash1, hashes2[j]), value);
+                    if (ngramUseSymmetricalCombos) {
+                        hashing.add(FeatureHashing.combine(hashes2[j], hash1), value);
+                    }
+                }
+            }
+        }
+    }
+
     public static FrequencyDistribution<String> getMultipleViewNgrams(List<JCas> jcases,
             Annotation preSetTarget, boolean ngramLowerCase, boolean filterPartialStopwords,
             int ngramMinN, int ngramMaxN, Set<String> stopwords)
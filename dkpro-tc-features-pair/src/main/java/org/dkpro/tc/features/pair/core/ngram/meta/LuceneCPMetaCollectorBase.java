@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.dkpro.tc.features.pair.core.ngram.meta;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -65,35 +66,33 @@ public abstract class LuceneCPMetaCollectorBase
             throw new AnalysisEngineProcessException(e);
         }
 
-        for (String ngram : documentNGrams.getKeys()) {
-            for (int i = 0; i < documentNGrams.getCount(ngram); i++) {
-                addField(getFieldName(), ngram);
+        try {
+            for (String ngram : documentNGrams.getKeys()) {
+                addTerm(getFieldName(), ngram, documentNGrams.getCount(ngram));
             }
-        }
-        for (String ngram : view1NGrams.getKeys()) {
-            for (int i = 0; i < view1NGrams.getCount(ngram); i++) {
-                addField(getFieldNameView1(), ngram);
+            for (String ngram : view1NGrams.getKeys()) {
+                addTerm(getFieldNameView1(), ngram, view1NGrams.getCount(ngram));
             }
-        }
-        for (String ngram : view2NGrams.getKeys()) {
-            for (int i = 0; i < view2NGrams.getCount(ngram); i++) {
-                addField(getFieldNameView2(), ngram);
+            for (String ngram : view2NGrams.getKeys()) {
+                addTerm(getFieldNameView2(), ngram, view2NGrams.getCount(ngram));
             }
-        }
-        for (String ngram1 : view1NGrams.getKeys()) {
-            for (String ngram2 : view2NGrams.getKeys()) {
+            for (String ngram1 : view1NGrams.getKeys()) {
+                for (String ngram2 : view2NGrams.getKeys()) {
 
-                int combinedSize = ngram1.split(NGRAM_GLUE).length
-                        + ngram2.split(NGRAM_GLUE).length;
-                if (combinedSize <= getNgramMaxNCombo() && combinedSize >= getNgramMinNCombo()) {
-                    // set count = 1, for doc freq and not total term freq
-                    long count = view1NGrams.getCount(ngram1) * view2NGrams.getCount(ngram2);
-                    for (int i = 0; i < count; i++) {
-                        addField(getFieldNameCombo(), ngram1 + ComboUtils.JOINT + ngram2);
+                    int combinedSize = ngram1.split(NGRAM_GLUE).length
+                            + ngram2.split(NGRAM_GLUE).length;
+                    if (combinedSize <= getNgramMaxNCombo()
+                            && combinedSize >= getNgramMinNCombo()) {
+                        // set count = 1, for doc freq and not total term freq
+                        long count = view1NGrams.getCount(ngram1) * view2NGrams.getCount(ngram2);
+                        addTerm(getFieldNameCombo(), ngram1 + ComboUtils.JOINT + ngram2, count);
                     }
                 }
             }
         }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
 
     }
 
@@ -81,8 +81,10 @@ public abstract class LucenePFEBase
         return true;
     }
 
-    protected Set<Feature> addToFeatureArray(FrequencyDistribution<String> viewNgrams,
-            FrequencyDistribution<String> topKSet, Set<Feature> features) throws TextClassificationException
+    protected Set<Feature> addToFeatureArray(String prefix,
+            FrequencyDistribution<String> viewNgrams, FrequencyDistribution<String> topKSet,
+            Set<Feature> features)
+        throws TextClassificationException
     {
         for (String ngram : topKSet.getKeys()) {
             long value = 1;
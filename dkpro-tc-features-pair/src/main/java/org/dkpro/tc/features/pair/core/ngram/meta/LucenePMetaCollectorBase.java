@@ -17,10 +17,10 @@
  ******************************************************************************/
 package org.dkpro.tc.features.pair.core.ngram.meta;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.lucene.document.Field;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
@@ -68,30 +68,23 @@ public abstract class LucenePMetaCollectorBase
             throw new AnalysisEngineProcessException(e);
         }
 
-        for (String ngram : documentNGrams.getKeys()) {
-            for (int i = 0; i < documentNGrams.getCount(ngram); i++) {
-                addField(getFieldName(), ngram);
+        try {
+            for (String ngram : documentNGrams.getKeys()) {
+                addTerm(getFieldName(), ngram, documentNGrams.getCount(ngram));
             }
-        }
-        for (String ngram : view1NGrams.getKeys()) {
-            for (int i = 0; i < view1NGrams.getCount(ngram); i++) {
-                addField(getFieldNameView1(), ngram);
+            for (String ngram : view1NGrams.getKeys()) {
+                addTerm(getFieldNameView1(), ngram, view1NGrams.getCount(ngram));
             }
-        }
-        for (String ngram : view2NGrams.getKeys()) {
-            for (int i = 0; i < view2NGrams.getCount(ngram); i++) {
-                addField(getFieldNameView2(), ngram);
+            for (String ngram : view2NGrams.getKeys()) {
+                addTerm(getFieldNameView2(), ngram, view2NGrams.getCount(ngram));
             }
         }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
 
     }
 
-    protected void addField(String fieldName, String ngram)
-    {
-        Field field = new Field(fieldName, ngram, fieldType);
-        currentDocument.add(field);
-    }
-
     protected abstract FrequencyDistribution<String> getNgramsFD(List<JCas> jcases)
         throws TextClassificationException;
 
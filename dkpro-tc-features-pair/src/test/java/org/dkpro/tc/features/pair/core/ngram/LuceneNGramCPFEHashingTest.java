@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.pair.core.ngram;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.fit.factory.ExternalResourceFactory;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.features.ngram.util.FeatureHashing;
+import org.dkpro.tc.features.ngram.util.NGramUtils;
+import org.dkpro.tc.features.pair.core.ngram.meta.ComboUtils;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
+import de.tudarmstadt.ukp.dkpro.core.tokit.BreakIteratorSegmenter;
+
+/**
+ * Hashed combination n-grams have to equal the hashed n-grams of
+ * {@link ComboUtils#getCombinedNgrams}, which are not built as strings when hashing.
+ */
+public class LuceneNGramCPFEHashingTest
+{
+    private static final int BITS = 12;
+
+    @Test
+    public void binaryCombinations() throws Exception
+    {
+        assertSameAsCombinedNgrams(true, false);
+    }
+
+    @Test
+    public void symmetricCombinationCounts() throws Exception
+    {
+        assertSameAsCombinedNgrams(false, true);
+    }
+
+    @Test(expected = TextClassificationException.class)
+    public void hashedCombinationsRequireSparseFeatures() throws Exception
+    {
+        createExtractor(true, false).getDefaultFeatures();
+    }
+
+    private void assertSameAsCombinedNgrams(boolean binary, boolean symmetric) throws Exception
+    {
+        LuceneNGramCPFE extractor = createExtractor(binary, symmetric);
+
+        JCas view1 = createView("Cats eat mice. Cats eat birds.");
+        JCas view2 = createView("Birds chase cats.");
+
+        Set<Feature> features = extractor.extract(view1, view2);
+        assertFalse(features.isEmpty());
+
+        FrequencyDistribution<String> combos = ComboUtils.getCombinedNgrams(ngrams(view1),
+                ngrams(view2), 2, 4, symmetric);
+        Map<String, Long> expected = new HashMap<>();
+        for (String combo : combos.getKeys()) {
+            String[] ngrams = combo.split(ComboUtils.JOINT);
+            int hash = FeatureHashing.combine(FeatureHashing.hash(ngrams[0]),
+                    FeatureHashing.hash(ngrams[1]));
+            long value = binary ? 1 : combos.getCount(combo);
+            expected.merge(FeatureHashing.featureName("comboNG", hash & ((1 << BITS) - 1)),
+                    hash < 0 ? -value : value, Long::sum);
+        }
+        expected.values().removeIf(v -> v == 0);
+
+        assertEquals(expected.size(), features.size());
+        for (Feature f : features) {
+            assertEquals(f.getName(), expected.get(f.getName()).doubleValue(),
+                    ((Number) f.getValue()).doubleValue(), 0.0);
+        }
+    }
+
+    private static FrequencyDistribution<String> ngrams(JCas view) throws Exception
+    {
+        TextClassificationTarget target = JCasUtil.selectSingle(view,
+                TextClassificationTarget.class);
+        return NGramUtils.getDocumentNgrams(view, target, true, false, 1, 3,
+                Collections.emptySet(), Token.class);
+    }
+
+    private static LuceneNGramCPFE createExtractor(boolean binary, boolean symmetric)
+        throws Exception
+    {
+        // no meta collection has been run, there is no index to read a vocabulary from
+        ExternalResourceDescription description = ExternalResourceFactory
+                .createExternalResourceDescription(LuceneNGramCPFE.class,
+                        LuceneNGramCPFE.PARAM_UNIQUE_EXTRACTOR_NAME, "123",
+                        LuceneNGramCPFE.PARAM_USE_VIEW1_NGRAMS_AS_FEATURES, "false",
+                        LuceneNGramCPFE.PARAM_USE_VIEW2_NGRAMS_AS_FEATURES, "false",
+                        LuceneNGramCPFE.PARAM_USE_VIEWBLIND_NGRAMS_AS_FEATURES, "false",
+                        LuceneNGramCPFE.PARAM_NGRAM_BINARY_FEATURE_VALUES_COMBO,
+                        String.valueOf(binary), LuceneNGramCPFE.PARAM_NGRAM_SYMMETRY_COMBO,
+                        String.valueOf(symmetric), LuceneNGramCPFE.PARAM_NGRAM_HASH_BITS,
+                        String.valueOf(BITS));
+        return (LuceneNGramCPFE) UIMAFramework
+                .produceResource(description.getResourceSpecifier(), null);
+    }
+
+    private static JCas createView(String text) throws Exception
+    {
+        AnalysisEngine segmenter = AnalysisEngineFactory
+                .createEngine(BreakIteratorSegmenter.class);
+        JCas jcas = segmenter.newJCas();
+        jcas.setDocumentLanguage("en");
+        jcas.setDocumentText(text);
+        segmenter.process(jcas);
+
+        new TextClassificationTarget(jcas, 0, text.length()).addToIndexes();
+        return jcas;
+    }
+}
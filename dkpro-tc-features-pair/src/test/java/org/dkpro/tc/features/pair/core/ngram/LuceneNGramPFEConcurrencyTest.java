@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.pair.core.ngram;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.fit.factory.ExternalResourceFactory;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.tokit.BreakIteratorSegmenter;
+
+/**
+ * One extractor instance is shared by all feature extraction threads, the features of a pair must
+ * not depend on what the other threads extract at the same time.
+ */
+public class LuceneNGramPFEConcurrencyTest
+{
+    private static final int THREADS = 4;
+
+    private static final int PAIRS_PER_THREAD = 200;
+
+    private static final String TEXT1 = "Cats eat mice. Cats eat birds.";
+
+    private static final String TEXT2 = "Birds chase cats.";
+
+    @Test
+    public void concurrentExtractionKeepsViewPrefixes() throws Exception
+    {
+        LuceneNGramPFE extractor = createExtractor();
+
+        Set<Feature> expected = extractor.extract(createView(TEXT1), createView(TEXT2));
+        for (String prefix : new String[] { "view1NG", "view2NG", "allNG" }) {
+            assertTrue(prefix,
+                    expected.stream().anyMatch(f -> f.getName().startsWith(prefix + "_")));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Set<Feature>>>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(new Callable<List<Set<Feature>>>()
+                {
+                    @Override
+                    public List<Set<Feature>> call() throws Exception
+                    {
+                        // the views are per thread, only the extractor is shared
+                        JCas view1 = createView(TEXT1);
+                        JCas view2 = createView(TEXT2);
+                        List<Set<Feature>> features = new ArrayList<>();
+                        for (int j = 0; j < PAIRS_PER_THREAD; j++) {
+                            features.add(extractor.extract(view1, view2));
+                        }
+                        return features;
+                    }
+                }));
+            }
+            for (Future<List<Set<Feature>>> result : results) {
+                for (Set<Feature> features : result.get()) {
+                    assertEquals(expected, features);
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LuceneNGramPFE createExtractor() throws Exception
+    {
+        // hashed n-grams need no meta collection and no index to read a vocabulary from
+        ExternalResourceDescription description = ExternalResourceFactory
+                .createExternalResourceDescription(LuceneNGramPFE.class,
+                        LuceneNGramPFE.PARAM_UNIQUE_EXTRACTOR_NAME, "123",
+                        LuceneNGramPFE.PARAM_USE_VIEW1_NGRAMS_AS_FEATURES, "true",
+                        LuceneNGramPFE.PARAM_USE_VIEW2_NGRAMS_AS_FEATURES, "true",
+                        LuceneNGramPFE.PARAM_USE_VIEWBLIND_NGRAMS_AS_FEATURES, "true",
+                        LuceneNGramPFE.PARAM_NGRAM_HASH_BITS, "12");
+        return (LuceneNGramPFE) UIMAFramework
+                .produceResource(description.getResourceSpecifier(), null);
+    }
+
+    private static JCas createView(String text) throws Exception
+    {
+        AnalysisEngine segmenter = AnalysisEngineFactory
+                .createEngine(BreakIteratorSegmenter.class);
+        JCas jcas = segmenter.newJCas();
+        jcas.setDocumentLanguage("en");
+        jcas.setDocumentText(text);
+        segmenter.process(jcas);
+
+        new TextClassificationTarget(jcas, 0, text.length()).addToIndexes();
+        return jcas;
+    }
+}
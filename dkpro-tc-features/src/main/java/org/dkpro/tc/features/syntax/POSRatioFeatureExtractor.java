@@ -17,14 +17,14 @@
  ******************************************************************************/
 package org.dkpro.tc.features.syntax;
 
-import static org.apache.uima.fit.util.JCasUtil.selectCovered;
-
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.uima.fit.descriptor.TypeCapability;
 import org.apache.uima.jcas.JCas;
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.CasAnnotationIndex;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractor;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
@@ -70,19 +70,40 @@ public class POSRatioFeatureExtractor
         throws TextClassificationException
     {
         Set<Feature> features = new HashSet<Feature>();
-        double total = selectCovered(jcas, POS.class, aTarget).size();
-        double adj = selectCovered(jcas, POS_ADJ.class, aTarget).size() / total;
-        double adv = selectCovered(jcas, POS_ADV.class, aTarget).size() / total;
-        double art = selectCovered(jcas, POS_DET.class, aTarget).size() / total;
-        double card = selectCovered(jcas, POS_NUM.class, aTarget).size() / total;
-        double conj = selectCovered(jcas, POS_CONJ.class, aTarget).size() / total;
-        double noun = selectCovered(jcas, POS_NOUN.class, aTarget).size() / total;
-        double propNoun = selectCovered(jcas, POS_PROPN.class, aTarget).size() / total;
-        double other = selectCovered(jcas, POS_X.class, aTarget).size() / total;
-        double prep = selectCovered(jcas, POS_ADP.class, aTarget).size() / total;
-        double pron = selectCovered(jcas, POS_PRON.class, aTarget).size() / total;
-        double punc = selectCovered(jcas, POS_PUNCT.class, aTarget).size() / total;
-        double verb = selectCovered(jcas, POS_VERB.class, aTarget).size() / total;
+
+        // one pass over the tags of the target, the sub types are counted as the type itself
+        int adjCount = 0, advCount = 0, artCount = 0, cardCount = 0, conjCount = 0,
+                nounCount = 0, propNounCount = 0, otherCount = 0, prepCount = 0, pronCount = 0,
+                puncCount = 0, verbCount = 0;
+        List<POS> tags = CasAnnotationIndex.get(jcas).selectCovered(POS.class, aTarget);
+        for (POS pos : tags) {
+            adjCount += pos instanceof POS_ADJ ? 1 : 0;
+            advCount += pos instanceof POS_ADV ? 1 : 0;
+            artCount += pos instanceof POS_DET ? 1 : 0;
+            cardCount += pos instanceof POS_NUM ? 1 : 0;
+            conjCount += pos instanceof POS_CONJ ? 1 : 0;
+            nounCount += pos instanceof POS_NOUN ? 1 : 0;
+            propNounCount += pos instanceof POS_PROPN ? 1 : 0;
+            otherCount += pos instanceof POS_X ? 1 : 0;
+            prepCount += pos instanceof POS_ADP ? 1 : 0;
+            pronCount += pos instanceof POS_PRON ? 1 : 0;
+            puncCount += pos instanceof POS_PUNCT ? 1 : 0;
+            verbCount += pos instanceof POS_VERB ? 1 : 0;
+        }
+
+        double total = tags.size();
+        double adj = adjCount / total;
+        double adv = advCount / total;
+        double art = artCount / total;
+        double card = cardCount / total;
+        double conj = conjCount / total;
+        double noun = nounCount / total;
+        double propNoun = propNounCount / total;
+        double other = otherCount / total;
+        double prep = prepCount / total;
+        double pron = pronCount / total;
+        double punc = puncCount / total;
+        double verb = verbCount / total;
 
         features.add(new Feature(FN_ADJ_RATIO, adj, FeatureType.NUMERIC));
         features.add(new Feature(FN_ADV_RATIO, adv, FeatureType.NUMERIC));
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.dkpro.tc.features.tcu;
 
+import java.util.List;
 import java.util.Set;
 
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
@@ -60,13 +61,9 @@ public class TargetSurfaceFormContextFeature
     public Set<Feature> extract(JCas aView, TextClassificationTarget target)
         throws TextClassificationException
     {
-        super.extract(aView, target);
+        int targetIdx = getTargetIndex(aView, target) + shiftIdx;
 
-        Integer currentTargetIdx = super.targetBegin2Idx.get(target.getBegin());
-
-        Integer targetIdx = currentTargetIdx + shiftIdx;
-
-        String featureVal = getTargetText(targetIdx);
+        String featureVal = getTargetText(getTargets(aView), targetIdx);
         return new Feature(FEATURE_NAME + toHumanReadable(shiftIdx), featureVal,
                 FeatureType.STRING).asSet();
     }
@@ -91,7 +88,7 @@ public class TargetSurfaceFormContextFeature
         return token;
     }
 
-    private String getTargetText(Integer idx)
+    private String getTargetText(List<TextClassificationTarget> units, int idx)
     {
         if (idx == -1) {
             return BEG_OF_SEQUENCE;
@@ -17,81 +17,60 @@
  ******************************************************************************/
 package org.dkpro.tc.features.tcu;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.CasAnnotationIndex;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractor;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
-import org.dkpro.tc.api.type.JCasId;
-import org.dkpro.tc.api.type.TextClassificationSequence;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 
 /**
- * Provides speedy access to the TextClassificationUnits (TCU) covered by a
- * TextClassificationSequence. Enables faster access to the previous/next TCU The look-up tables
- * provided here are build for each new sequence.
+ * Provides speedy access to the TextClassificationUnits (TCU) of a document. Enables faster access
+ * to the previous/next TCU. The look-ups use the {@link CasAnnotationIndex} of the document, which
+ * is built once and shared with all other feature extractors; the extractor itself keeps no state
+ * of the current document.
  */
 public class TcuLookUpTable
     extends FeatureExtractorResource_ImplBase
     implements FeatureExtractor
 {
-    private String lastSeenDocumentId = "";
-
-    protected HashMap<Integer, Boolean> idx2SequenceBegin = new HashMap<Integer, Boolean>();
-    protected HashMap<Integer, Boolean> idx2SequenceEnd = new HashMap<Integer, Boolean>();
-
-    protected HashMap<Integer, TextClassificationTarget> begin2target = new HashMap<Integer, TextClassificationTarget>();
-    protected HashMap<Integer, Integer> targetBegin2Idx = new HashMap<Integer, Integer>();
-    protected HashMap<Integer, Integer> targetEnd2Idx = new HashMap<Integer, Integer>();
-    protected List<TextClassificationTarget> units = new ArrayList<TextClassificationTarget>();
-
     public Set<Feature> extract(JCas aJCas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (isTheSameDocument(aJCas)) {
-            return null;
-        }
-        begin2target = new HashMap<Integer, TextClassificationTarget>();
-        targetBegin2Idx = new HashMap<Integer, Integer>();
-        idx2SequenceBegin = new HashMap<Integer, Boolean>();
-        idx2SequenceEnd = new HashMap<Integer, Boolean>();
-        units = new ArrayList<TextClassificationTarget>();
-
-        int i = 0;
-        for (TextClassificationTarget t : JCasUtil.select(aJCas, TextClassificationTarget.class)) {
-            Integer begin = t.getBegin();
-            Integer end = t.getEnd();
-            begin2target.put(begin, t);
-            targetBegin2Idx.put(begin, i);
-            targetEnd2Idx.put(end, i);
-            units.add(t);
-            i++;
-        }
-        for (TextClassificationSequence sequence : JCasUtil.select(aJCas,
-                TextClassificationSequence.class)) {
-            Integer begin = sequence.getBegin();
-            Integer end = sequence.getEnd();
-            Integer idxStartUnit = targetBegin2Idx.get(begin);
-            Integer idxEndUnit = targetEnd2Idx.get(end);
-            idx2SequenceBegin.put(idxStartUnit, true);
-            idx2SequenceEnd.put(idxEndUnit, true);
-        }
         return null;
     }
 
-    private boolean isTheSameDocument(JCas aJCas)
+    /**
+     * @param aJCas
+     *            the current view
+     * @return all targets of the view ordered by their offsets
+     */
+    protected List<TextClassificationTarget> getTargets(JCas aJCas)
     {
-        JCasId casId = JCasUtil.selectSingle(aJCas, JCasId.class);
-        String currentId = casId.getId() + "";
-        boolean isSame = currentId.equals(lastSeenDocumentId);
-        lastSeenDocumentId = currentId;
-        return isSame;
+        return CasAnnotationIndex.get(aJCas).select(TextClassificationTarget.class);
     }
 
+    /**
+     * @param aJCas
+     *            the current view
+     * @param aTarget
+     *            a target of the view
+     * @return the position of the target in {@link #getTargets(JCas)}
+     * @throws TextClassificationException
+     *             if the target is not indexed in the view
+     */
+    protected int getTargetIndex(JCas aJCas, TextClassificationTarget aTarget)
+        throws TextClassificationException
+    {
+        int idx = CasAnnotationIndex.get(aJCas).indexOf(TextClassificationTarget.class, aTarget);
+        if (idx < 0) {
+            throw new TextClassificationException("The target [" + aTarget.getCoveredText()
+                    + "] at [" + aTarget.getBegin() + "] is not indexed");
+        }
+        return idx;
+    }
 }
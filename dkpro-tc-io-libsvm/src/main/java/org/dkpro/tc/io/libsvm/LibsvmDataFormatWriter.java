@@ -17,13 +17,10 @@
  ******************************************************************************/
 package org.dkpro.tc.io.libsvm;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,11 +35,12 @@ import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureDictionary;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.io.DataWriter;
-
-import com.google.gson.Gson;
+import org.dkpro.tc.core.io.GenericFeatureStoreReader;
+import org.dkpro.tc.core.io.GenericFeatureStoreWriter;
 
 /**
  * Format is outcome TAB index:value TAB index:value TAB ...
@@ -57,73 +55,71 @@ public class LibsvmDataFormatWriter
 
     public static final String INDEX2INSTANCEID = "index2Instanceid.txt";
 
+    // index 1 is taken by the bias feature
+    private static final int FEATURE_ID_OFFSET = 2;
+
     protected File outputDirectory;
     protected String learningMode;
     protected File classifierFormatOutputFile;
     protected BufferedWriter bw = null;
-    protected Map<String, String> index2instanceId;
-    protected Gson gson = new Gson();
+    protected BufferedWriter index2instanceIdWriter = null;
+    protected GenericFeatureStoreWriter genericWriter = null;
     protected int maxId = 0;
     protected Map<String, Integer> featureNames2id;
+    protected FeatureDictionary dictionary;
     protected Map<String, Integer> outcomeMap;
     protected String featureMode;
 
+    // the output is incomplete once a batch failed, it is not continued from then on
+    private boolean failed = false;
+
     @Override
     public void writeGenericFormat(List<Instance> instances)
         throws AnalysisEngineProcessException
     {
 
         try {
-            initGeneric();
+            if (genericWriter == null) {
+                genericWriter = new GenericFeatureStoreWriter(
+                        new File(outputDirectory, Constants.GENERIC_FEATURE_FILE));
+            }
 
             // bulk-write - in sequence mode this keeps the instances together
             // that belong to the same sequence!
-            Instance[] array = instances.toArray(new Instance[0]);
-            bw.write(gson.toJson(array) + "\n");
+            genericWriter.write(instances);
         }
         catch (Exception e) {
+            IOUtils.closeQuietly(genericWriter);
+            genericWriter = null;
             throw new AnalysisEngineProcessException(e);
         }
-        finally {
-            IOUtils.closeQuietly(bw);
-            bw = null;
-        }
-    }
-
-    private void initGeneric() throws IOException
-    {
-        if (bw != null) {
-            return;
-        }
-        bw = new BufferedWriter(
-                new OutputStreamWriter(
-                        new FileOutputStream(
-                                new File(outputDirectory, Constants.GENERIC_FEATURE_FILE), true),
-                        "utf-8"));
     }
 
     @Override
     public void transformFromGeneric() throws Exception
     {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(
-                new FileInputStream(new File(outputDirectory, Constants.GENERIC_FEATURE_FILE)),
-                "utf-8"));
-
-        String line = null;
-        while ((line = reader.readLine()) != null) {
-            Instance[] instance = gson.fromJson(line, Instance[].class);
-            List<Instance> ins = new ArrayList<>(Arrays.asList(instance));
-            writeClassifierFormat(ins);
+        IOUtils.closeQuietly(genericWriter);
+        genericWriter = null;
+
+        File genericFile = new File(outputDirectory, Constants.GENERIC_FEATURE_FILE);
+        try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(genericFile)) {
+            while (reader.hasNext()) {
+                writeClassifierFormat(reader.next());
+            }
         }
 
-        reader.close();
-        FileUtils.deleteQuietly(new File(outputDirectory, Constants.GENERIC_FEATURE_FILE));
+        FileUtils.deleteQuietly(genericFile);
     }
 
     @Override
     public void writeClassifierFormat(List<Instance> instances) throws AnalysisEngineProcessException
     {
 
+        if (failed) {
+            throw new AnalysisEngineProcessException(new IllegalStateException(
+                    "Writing to [" + outputDirectory + "] failed before, the output is incomplete"));
+        }
+
         try {
             if (featureNames2id == null) {
                 createFeatureNameMap();
@@ -132,21 +128,12 @@ public class LibsvmDataFormatWriter
             initClassifierFormat();
 
             for (Instance instance : instances) {
-                Map<Integer, Double> entry = new HashMap<>();
-                recordInstanceId(instance, maxId++, index2instanceId);
-                for (Feature f : instance.getFeatures()) {
-                    Integer id = featureNames2id.get(f.getName());
-                    Double val = toValue(f.getValue());
+                recordInstanceId(instance, maxId++);
 
-                    if (Math.abs(val) < 0.00000001) {
-                        // skip zero values
-                        continue;
-                    }
-
-                    entry.put(id, val);
-                }
-                List<Integer> keys = new ArrayList<Integer>(entry.keySet());
-                Collections.sort(keys);
+                // ids are ascending, no sorting required
+                instance.index(dictionary);
+                int[] ids = instance.getFeatureIds();
+                double[] values = instance.getFeatureValues();
 
                 if (isRegression()) {
                     bw.append(instance.getOutcome() + "\t");
@@ -157,30 +144,34 @@ public class LibsvmDataFormatWriter
 
                 bw.append(injectSequenceId(instance));
 
-                for (int i = 0; i < keys.size(); i++) {
-                    Integer key = keys.get(i);
-                    Double value = entry.get(key);
-                    bw.append("" + key.toString() + ":" + value.toString());
-                    if (i + 1 < keys.size()) {
+                boolean first = true;
+                for (int i = 0; i < ids.length; i++) {
+                    if (Math.abs(values[i]) < 0.00000001) {
+                        // skip zero values
+                        continue;
+                    }
+                    if (!first) {
                         bw.append("\t");
                     }
+                    bw.append(String.valueOf(ids[i] + FEATURE_ID_OFFSET));
+                    bw.append(":");
+                    bw.append(String.valueOf(values[i]));
+                    first = false;
                 }
                 bw.append("\n");
             }
 
-            writeMapping(outputDirectory, INDEX2INSTANCEID, index2instanceId);
-            writeFeatureName2idMapping(outputDirectory,
-                    AdapterFormat.getFeatureNameMappingFilename(), featureNames2id);
-            writeOutcomeMapping(outputDirectory, AdapterFormat.getOutcomeMappingFilename(),
-                    outcomeMap);
-
+            // the streams remain open for the next CAS, the mappings are written once in close()
+            bw.flush();
+            index2instanceIdWriter.flush();
         }
         catch (Exception e) {
-            throw new AnalysisEngineProcessException(e);
-        }
-        finally {
             IOUtils.closeQuietly(bw);
-            bw = null; // important, we reopen the stream only if the pointer is null!
+            IOUtils.closeQuietly(index2instanceIdWriter);
+            bw = null;
+            index2instanceIdWriter = null;
+            failed = true;
+            throw new AnalysisEngineProcessException(e);
         }
     }
 
@@ -210,36 +201,20 @@ public class LibsvmDataFormatWriter
         FileUtils.writeStringToFile(new File(outputDirectory, file), sb.toString(), "utf-8");
     }
 
-    private Double toValue(Object value)
-    {
-        double v;
-        if (value instanceof Number) {
-            v = ((Number) value).doubleValue();
-        }
-        else {
-            v = 1.0;
-        }
-
-        return v;
-    }
-
     private void createFeatureNameMap() throws IOException
     {
+        dictionary = FeatureDictionary
+                .load(new File(outputDirectory, Constants.FILENAME_FEATURES));
+
         featureNames2id = new HashMap<>();
-        List<String> readLines = FileUtils
-                .readLines(new File(outputDirectory, Constants.FILENAME_FEATURES), "utf-8");
 
         // add a "bias" feature node; otherwise LIBLINEAR is unable to predict
         // the majority class for
         // instances consisting entirely of features never seen during training
         featureNames2id.put("x.BIAS", 1);
 
-        Integer i = 2;
-        for (String l : readLines) {
-            if (l.isEmpty()) {
-                continue;
-            }
-            featureNames2id.put(l, i++);
+        for (int i = 0; i < dictionary.size(); i++) {
+            featureNames2id.put(dictionary.getName(i), i + FEATURE_ID_OFFSET);
         }
     }
 
@@ -263,8 +238,13 @@ public class LibsvmDataFormatWriter
             return;
         }
 
+        // both files are opened once and written in step, init() removed any previous output
         bw = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(classifierFormatOutputFile, true), "utf-8"));
+                new FileOutputStream(classifierFormatOutputFile), "utf-8"));
+
+        index2instanceIdWriter = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(new File(outputDirectory, INDEX2INSTANCEID)), "utf-8"));
+        index2instanceIdWriter.write("#Index\tDkProInstanceId\n");
     }
 
     @Override
@@ -275,11 +255,10 @@ public class LibsvmDataFormatWriter
         this.outputDirectory = outputDirectory;
         this.learningMode = learningMode;
         this.featureMode = featureMode;
+        failed = false;
         classifierFormatOutputFile = new File(outputDirectory,
                 Constants.FILENAME_DATA_IN_CLASSIFIER_FORMAT);
 
-        index2instanceId = new HashMap<>();
-
         // Caution: DKPro Lab imports (aka copies!) the data of the train task
         // as test task. We use
         // appending mode for streaming. We might append the old training file
@@ -336,33 +315,13 @@ public class LibsvmDataFormatWriter
         return Constants.GENERIC_FEATURE_FILE;
     }
 
-    protected void writeMapping(File outputDirectory, String fileName,
-            Map<String, String> index2instanceId)
-        throws IOException
-    {
-        BufferedWriter writer = null;
-        try {
-            writer = new BufferedWriter(new OutputStreamWriter(
-                    new FileOutputStream(new File(outputDirectory, fileName)), "utf-8"));
-
-            writer.write("#Index\tDkProInstanceId\n");
-            
-            for (Entry<String, String> e : index2instanceId.entrySet()) {
-                writer.write(e.getKey() + "\t" + e.getValue() + "\n");
-            }
-        }
-        finally {
-            IOUtils.closeQuietly(writer);
-        }
-    }
-
-    // build a map between the dkpro instance id and the index in the file
-    protected void recordInstanceId(Instance instance, int i, Map<String, String> index2instanceId)
+    // record the mapping between the index in the file and the dkpro instance id
+    protected void recordInstanceId(Instance instance, int i) throws IOException
     {
         Collection<Feature> features = instance.getFeatures();
         for (Feature f : features) {
             if (f.getName().equals(Constants.ID_FEATURE_NAME)) {
-                index2instanceId.put(i + "", f.getValue() + "");
+                index2instanceIdWriter.write(i + "\t" + f.getValue() + "\n");
                 return;
             }
         }
@@ -376,7 +335,22 @@ public class LibsvmDataFormatWriter
     @Override
     public void close() throws Exception
     {
+        IOUtils.closeQuietly(bw);
+        IOUtils.closeQuietly(index2instanceIdWriter);
+        IOUtils.closeQuietly(genericWriter);
+        bw = null;
+        index2instanceIdWriter = null;
+        genericWriter = null;
+
+        if (featureNames2id == null || failed) {
+            // nothing or only part of the data has been written
+            return;
+        }
 
+        writeFeatureName2idMapping(outputDirectory, AdapterFormat.getFeatureNameMappingFilename(),
+                featureNames2id);
+        writeOutcomeMapping(outputDirectory, AdapterFormat.getOutcomeMappingFilename(),
+                outcomeMap);
     }
 
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -121,12 +122,12 @@ public abstract class LibsvmDataFormatLoadModelConnector
     public void process(JCas aJCas) throws AnalysisEngineProcessException
     {
         try {
-            File tempFile = createInputFile(aJCas);
+            InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors, true);
+            List<Instance> instances = extractor.getInstances(aJCas, true);
 
-            File prediction = runPrediction(tempFile);
+            List<String> writtenPredictions = predict(instances);
 
             List<TextClassificationOutcome> outcomes = getOutcomeAnnotations(aJCas);
-            List<String> writtenPredictions = FileUtils.readLines(prediction, "utf-8");
 
             checkErrorConditionNumberOfOutcomesEqualsNumberOfPredictions(outcomes,
                     writtenPredictions);
@@ -166,19 +167,133 @@ public abstract class LibsvmDataFormatLoadModelConnector
         }
     }
 
+    /**
+     * Predicts the outcomes of the instances. By default, the instances are predicted from a
+     * file, see {@link #predictFromFile(List)}. Classifiers that are able to predict in memory
+     * override this method, see {@link #toSparseArrays(List, int[][], double[][])}.
+     * 
+     * @param instances
+     *            the instances of a CAS
+     * @return one prediction per instance, as written to a libsvm prediction file
+     * @throws Exception
+     *             in case of an error
+     */
+    protected List<String> predict(List<Instance> instances) throws Exception
+    {
+        return predictFromFile(instances);
+    }
+
+    /**
+     * Writes the instances to a temporary file in libsvm format which is passed to
+     * {@link #runPrediction(File)}.
+     * 
+     * @param instances
+     *            the instances of a CAS
+     * @return one prediction per instance, as written to a libsvm prediction file
+     * @throws Exception
+     *             in case of an error
+     */
+    protected final List<String> predictFromFile(List<Instance> instances) throws Exception
+    {
+        File tempFile = createInputFile(instances);
+        File prediction = null;
+        try {
+            prediction = runPrediction(tempFile);
+            return FileUtils.readLines(prediction, "utf-8");
+        }
+        finally {
+            FileUtils.deleteQuietly(tempFile);
+            FileUtils.deleteQuietly(prediction);
+        }
+    }
+
+    /**
+     * Runs the classifier on a file in libsvm format and returns a file with one prediction per
+     * line.
+     * 
+     * @param tempFile
+     *            the instances in libsvm format
+     * @return the file with the predictions
+     * @throws Exception
+     *             in case of an error
+     */
     protected abstract File runPrediction(File tempFile) throws Exception;
 
-    private File createInputFile(JCas jcas) throws Exception
+    /**
+     * Maps the numeric features of each instance to the ids of the model. The ids of an instance
+     * are in ascending order as required by liblinear and libsvm. Features the model does not know
+     * are ignored.
+     * 
+     * @param instances
+     *            the instances
+     * @param featureIds
+     *            receives the feature ids of each instance, must have one entry per instance
+     * @param featureValues
+     *            receives the feature values of each instance, must have one entry per instance
+     */
+    protected void toSparseArrays(List<Instance> instances, int[][] featureIds,
+            double[][] featureValues)
+    {
+        for (int i = 0; i < instances.size(); i++) {
+            int[] ids = new int[instances.get(i).getFeatures().size()];
+            double[] values = new double[ids.length];
+            int n = 0;
+            for (Feature f : instances.get(i).getFeatures()) {
+                if (!sanityCheckValue(f)) {
+                    continue;
+                }
+                Integer id = featureMapping.get(f.getName());
+                if (id == null) {
+                    continue;
+                }
+                ids[n] = id;
+                values[n] = ((Number) f.getValue()).doubleValue();
+                n++;
+            }
+            sortById(ids, values, n);
+            featureIds[i] = Arrays.copyOf(ids, n);
+            featureValues[i] = Arrays.copyOf(values, n);
+        }
+    }
+
+    private static void sortById(int[] ids, double[] values, int n)
+    {
+        // insertion sort, the ids are usually already in order
+        for (int i = 1; i < n; i++) {
+            int id = ids[i];
+            double value = values[i];
+            int j = i - 1;
+            while (j >= 0 && ids[j] > id) {
+                ids[j + 1] = ids[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            ids[j + 1] = id;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * @param predictions
+     *            the predictions of a classifier
+     * @return the predictions in the form in which they are written to a libsvm prediction file
+     */
+    protected List<String> toPredictionStrings(double[] predictions)
+    {
+        List<String> strings = new ArrayList<>(predictions.length);
+        for (double p : predictions) {
+            strings.add(Double.toString(p));
+        }
+        return strings;
+    }
+
+    private File createInputFile(List<Instance> instances) throws Exception
     {
         File tempFile = FileUtil.createTempFile("libsvm", ".txt");
-        tempFile.deleteOnExit();
 
         BufferedWriter bw = new BufferedWriter(
                 new OutputStreamWriter(new FileOutputStream(tempFile), "utf-8"));
 
-        InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors, true);
-        List<Instance> instances = extractor.getInstances(jcas, true);
-
         for (Instance instance : instances) {
             bw.write(OUTCOME_PLACEHOLDER);
 
@@ -19,6 +19,7 @@ package org.dkpro.tc.ml.crfsuite.core;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.lang.ProcessBuilder.Redirect;
@@ -28,6 +29,8 @@ import java.util.List;
 import java.util.Scanner;
 
 import org.apache.commons.compress.utils.IOUtils;
+import org.apache.commons.logging.LogFactory;
+import org.dkpro.tc.ml.base.CoProcessPool;
 import org.dkpro.tc.ml.base.TcPredictor;
 
 public class CrfSuitePredictor
@@ -76,10 +79,86 @@ public class CrfSuitePredictor
     public String predict(String dataAsString, File model) throws Exception
     {
         List<String> command = getTestCommandForPredictionFromStdin(model);
+
+        CoProcessPool pool = CoProcessPool.get(command);
+        if (pool.isUsable()) {
+            try {
+                return predictWithPool(pool, dataAsString);
+            }
+            catch (IOException e) {
+                LogFactory.getLog(getClass()).warn(
+                        "Prediction with a persistent CrfSuite process failed, starting a new process instead",
+                        e);
+            }
+        }
+
         String prediction = executePredictionFromStdin(command, dataAsString);
         return prediction;
     }
 
+    /**
+     * Sends the sequences to a CrfSuite process that is kept alive for further predictions. The
+     * tagger writes one label per item and an empty line after each sequence; the output has the
+     * same format as the one of {@link #executePredictionFromStdin(List, String)}.
+     */
+    private String predictWithPool(CoProcessPool pool, String dataAsString) throws IOException
+    {
+        String request = dataAsString;
+        if (!request.isEmpty() && !request.endsWith("\n\n")) {
+            // the last sequence is tagged only after its terminating empty line
+            request += request.endsWith("\n") ? "\n" : "\n\n";
+        }
+
+        int responseLines = 0;
+        boolean inSequence = false;
+        for (String line : request.split("\n")) {
+            if (line.isEmpty()) {
+                if (inSequence) {
+                    responseLines++;
+                }
+                inSequence = false;
+            }
+            else {
+                responseLines++;
+                inSequence = true;
+            }
+        }
+
+        StringBuilder output = new StringBuilder(1024);
+        for (String l : pool.execute(request, responseLines)) {
+            output.append(l + "\n");
+        }
+        return output.toString();
+    }
+
+    /**
+     * Registers a user of the persistent CrfSuite processes for the model. Each call has to be
+     * matched by a call of {@link #releasePersistentProcesses(File)}.
+     * 
+     * @param model
+     *            The model
+     * @throws Exception
+     *             In case of errors
+     */
+    public static void acquirePersistentProcesses(File model) throws Exception
+    {
+        CoProcessPool.acquire(getTestCommandForPredictionFromStdin(model));
+    }
+
+    /**
+     * Unregisters a user of the persistent CrfSuite processes for the model. The processes are
+     * terminated when the last user is gone.
+     * 
+     * @param model
+     *            The model
+     * @throws Exception
+     *             In case of errors
+     */
+    public static void releasePersistentProcesses(File model) throws Exception
+    {
+        CoProcessPool.release(getTestCommandForPredictionFromStdin(model));
+    }
+
     /**
      * Builds a command that can be executed with a {@link ProcessBuilder}, which calls CrfSuite
      * with the provided model
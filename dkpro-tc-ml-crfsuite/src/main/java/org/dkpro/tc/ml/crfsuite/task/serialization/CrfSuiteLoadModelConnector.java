@@ -58,6 +58,7 @@ public class CrfSuiteLoadModelConnector
     protected FeatureExtractorResource_ImplBase[] featureExtractors;
 
     private File model = null;
+    private boolean processesAcquired = false;
 
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
@@ -67,6 +68,8 @@ public class CrfSuiteLoadModelConnector
         try {
             model = new File(tcModelLocation, MODEL_CLASSIFIER);
             verifyTcVersion(tcModelLocation, getClass());
+            CrfSuitePredictor.acquirePersistentProcesses(model);
+            processesAcquired = true;
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -121,6 +124,21 @@ public class CrfSuiteLoadModelConnector
 
     }
 
+    @Override
+    public void destroy()
+    {
+        try {
+            if (processesAcquired) {
+                CrfSuitePredictor.releasePersistentProcesses(model);
+                processesAcquired = false;
+            }
+        }
+        catch (Exception e) {
+            getLogger().warn("Could not terminate CrfSuite processes", e);
+        }
+        super.destroy();
+    }
+
     private void setPredictedOutcome(JCas aJCas, String aLabels)
     {
         List<TextClassificationOutcome> outcomes = new ArrayList<TextClassificationOutcome>(
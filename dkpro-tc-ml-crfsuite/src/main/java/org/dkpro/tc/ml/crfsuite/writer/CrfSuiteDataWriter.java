@@ -18,25 +18,21 @@
 
 package org.dkpro.tc.ml.crfsuite.writer;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.io.DataWriter;
-
-import com.google.gson.Gson;
+import org.dkpro.tc.core.io.GenericFeatureStoreReader;
+import org.dkpro.tc.core.io.GenericFeatureStoreWriter;
 
 public class CrfSuiteDataWriter
     implements DataWriter
@@ -47,7 +43,7 @@ public class CrfSuiteDataWriter
     protected String learningMode;
     protected boolean applyWeigthing;
     protected BufferedWriter bw = null;
-    protected Gson gson = new Gson();
+    protected GenericFeatureStoreWriter genericWriter = null;
     protected File classifierFormatOutputFile;
     protected String featureMode;
 
@@ -56,49 +52,37 @@ public class CrfSuiteDataWriter
         throws AnalysisEngineProcessException
     {
         try {
-            initGeneric();
+            if (genericWriter == null) {
+                genericWriter = new GenericFeatureStoreWriter(
+                        new File(outputDirectory, Constants.GENERIC_FEATURE_FILE));
+            }
 
             // bulk-write - in sequence mode this keeps the instances together
             // that
             // belong to the same sequence!
-            Instance[] array = instances.toArray(new Instance[0]);
-            bw.write(gson.toJson(array) + "\n");
-
-            bw.close();
-            bw = null;
+            genericWriter.write(instances);
         }
         catch (Exception e) {
+            IOUtils.closeQuietly(genericWriter);
+            genericWriter = null;
             throw new AnalysisEngineProcessException(e);
         }
     }
 
-    private void initGeneric() throws IOException
-    {
-        if (bw != null) {
-            return;
-        }
-        bw = new BufferedWriter(
-                new OutputStreamWriter(
-                        new FileOutputStream(
-                                new File(outputDirectory, Constants.GENERIC_FEATURE_FILE), true),
-                        "utf-8"));
-
-    }
-
     @Override
     public void transformFromGeneric() throws Exception
     {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(
-                new FileInputStream(new File(outputDirectory, Constants.GENERIC_FEATURE_FILE)),
-                "utf-8"));
+        IOUtils.closeQuietly(genericWriter);
+        genericWriter = null;
+
+        GenericFeatureStoreReader reader = new GenericFeatureStoreReader(
+                new File(outputDirectory, Constants.GENERIC_FEATURE_FILE));
 
         BufferedWriter writer = new BufferedWriter(
                 new OutputStreamWriter(new FileOutputStream(classifierFormatOutputFile), "utf-8"));
 
-        String line = null;
-        while ((line = reader.readLine()) != null) {
-            Instance[] instance = gson.fromJson(line, Instance[].class);
-            List<Instance> ins = Arrays.asList(instance);
+        while (reader.hasNext()) {
+            List<Instance> ins = reader.next();
 
             Iterator<StringBuilder> sequenceIterator = new CrfSuiteFeatureFormatExtractionIterator(
                     ins);
@@ -195,7 +179,8 @@ public class CrfSuiteDataWriter
     @Override
     public void close() throws Exception
     {
-
+        IOUtils.closeQuietly(genericWriter);
+        genericWriter = null;
     }
 
 }
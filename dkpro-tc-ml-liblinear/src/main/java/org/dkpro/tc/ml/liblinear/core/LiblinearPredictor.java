@@ -24,6 +24,7 @@ import java.util.List;
 import org.dkpro.tc.ml.base.TcPredictor;
 
 import de.bwaldvogel.liblinear.Feature;
+import de.bwaldvogel.liblinear.FeatureNode;
 import de.bwaldvogel.liblinear.Linear;
 import de.bwaldvogel.liblinear.Model;
 import de.bwaldvogel.liblinear.Problem;
@@ -45,6 +46,38 @@ public class LiblinearPredictor implements TcPredictor
         return predictions;
     }
 
+    /**
+     * Predicts instances that are held in memory.
+     * 
+     * @param featureIds
+     *            the feature ids of each instance in ascending order
+     * @param featureValues
+     *            the corresponding feature values
+     * @param model
+     *            the model
+     * @return the prediction of each instance
+     */
+    public double[] predict(int[][] featureIds, double[][] featureValues, Model model)
+    {
+        // the bias term is an additional feature after the last feature of the model
+        double bias = model.getBias();
+        int biasIndex = model.getNrFeature() + 1;
+
+        double[] predictions = new double[featureIds.length];
+        for (int i = 0; i < featureIds.length; i++) {
+            int[] ids = featureIds[i];
+            Feature[] instance = new Feature[bias >= 0 ? ids.length + 1 : ids.length];
+            for (int j = 0; j < ids.length; j++) {
+                instance[j] = new FeatureNode(ids[j], featureValues[i][j]);
+            }
+            if (bias >= 0) {
+                instance[ids.length] = new FeatureNode(biasIndex, bias);
+            }
+            predictions[i] = Linear.predict(model, instance);
+        }
+        return predictions;
+    }
+
     @Override
     public List<String> predict(File data, File model) throws Exception
     {
@@ -23,6 +23,7 @@ import java.util.List;
 
 import org.apache.uima.UimaContext;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.io.libsvm.serialization.LibsvmDataFormatLoadModelConnector;
 import org.dkpro.tc.ml.liblinear.LiblinearTestTask;
 import org.dkpro.tc.ml.liblinear.core.LiblinearPredictor;
@@ -34,7 +35,7 @@ public class LiblinearLoadModelConnector
     extends LibsvmDataFormatLoadModelConnector
 {
 
-    private Model liblinearModel;
+    Model liblinearModel;
 
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
@@ -50,16 +51,26 @@ public class LiblinearLoadModelConnector
     }
 
     @Override
-    protected File runPrediction(File infile) throws Exception
+    protected List<String> predict(List<Instance> instances) throws Exception
     {
+        int[][] featureIds = new int[instances.size()][];
+        double[][] featureValues = new double[instances.size()][];
+        toSparseArrays(instances, featureIds, featureValues);
 
+        LiblinearPredictor predicter = new LiblinearPredictor();
+        return toPredictionStrings(predicter.predict(featureIds, featureValues, liblinearModel));
+    }
+
+    @Override
+    protected File runPrediction(File infile) throws Exception
+    {
         File tmp = File.createTempFile("libLinearePrediction", ".txt");
         tmp.deleteOnExit();
-        
+
         LiblinearPredictor predicter = new LiblinearPredictor();
         List<String> predict = predicter.predict(infile, liblinearModel);
         LiblinearTestTask.writePredictions(tmp, predict, false);
-        
+
         return tmp;
     }
 
@@ -18,16 +18,22 @@
 package org.dkpro.tc.ml.liblinear;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.io.libsvm.AdapterFormat;
 import org.dkpro.tc.io.libsvm.LibsvmDataFormatWriter;
 import org.junit.Rule;
 import org.junit.Test;
@@ -75,4 +81,86 @@ public class LiblinearDataWriterTest {
 		assertEquals(0.0, problem.y[0], 0.00001);
 		assertEquals(1.0, problem.y[1], 0.00001);
 	}
+
+	@Test
+	public void mappingsAreWrittenOnClose() throws Exception {
+
+		File outputDirectory = folder.newFolder();
+		FileUtils.writeStringToFile(new File(outputDirectory, Constants.FILENAME_FEATURES),
+				"feature1\nfeature2\n", "utf-8");
+		LibsvmDataFormatWriter writer = new LibsvmDataFormatWriter();
+		writer.init(outputDirectory, false, Constants.LM_SINGLE_LABEL, Constants.FM_DOCUMENT, false, new String[]{"0", "1"});
+
+		// one call per document, as done by the feature extraction
+		for (int i = 0; i < 3; i++) {
+			List<Feature> features = new ArrayList<>();
+			features.add(new Feature(Constants.ID_FEATURE_NAME, "doc" + i, FeatureType.STRING));
+			features.add(new Feature("feature1", 1.0, FeatureType.NUMERIC));
+			writer.writeClassifierFormat(Arrays.asList(new Instance(features, "" + (i % 2))));
+		}
+
+		File featureMapping = new File(outputDirectory, AdapterFormat.getFeatureNameMappingFilename());
+		assertFalse(featureMapping.exists());
+
+		writer.close();
+
+		assertTrue(featureMapping.exists());
+		assertTrue(new File(outputDirectory, AdapterFormat.getOutcomeMappingFilename()).exists());
+
+		List<String> index2instanceId = FileUtils.readLines(
+				new File(outputDirectory, LibsvmDataFormatWriter.INDEX2INSTANCEID), "utf-8");
+		assertEquals(4, index2instanceId.size());
+		assertEquals("0\tdoc0", index2instanceId.get(1));
+		assertEquals("2\tdoc2", index2instanceId.get(3));
+
+		List<String> data = FileUtils.readLines(
+				new File(outputDirectory, Constants.FILENAME_DATA_IN_CLASSIFIER_FORMAT), "utf-8");
+		assertEquals(3, data.size());
+	}
+
+	@Test
+	public void writerFailsAfterError() throws Exception {
+
+		File outputDirectory = folder.newFolder();
+		FileUtils.writeStringToFile(new File(outputDirectory, Constants.FILENAME_FEATURES),
+				"feature1\n", "utf-8");
+		LibsvmDataFormatWriter writer = new LibsvmDataFormatWriter() {
+			@Override
+			protected String injectSequenceId(Instance instance) {
+				if (instance.getOutcome().equals("1")) {
+					throw new IllegalArgumentException("fails on purpose");
+				}
+				return "";
+			}
+		};
+		writer.init(outputDirectory, false, Constants.LM_SINGLE_LABEL, Constants.FM_DOCUMENT, false, new String[]{"0", "1"});
+
+		writer.writeClassifierFormat(Arrays.asList(instance("doc0", "0")));
+		try {
+			writer.writeClassifierFormat(Arrays.asList(instance("doc1", "1")));
+			fail("expected failure");
+		}
+		catch (AnalysisEngineProcessException e) {
+			// expected
+		}
+
+		// the data and the index2instanceId file would no longer match, no further writes
+		try {
+			writer.writeClassifierFormat(Arrays.asList(instance("doc2", "0")));
+			fail("expected failure");
+		}
+		catch (AnalysisEngineProcessException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		writer.close();
+		assertFalse(new File(outputDirectory, AdapterFormat.getFeatureNameMappingFilename()).exists());
+	}
+
+	private Instance instance(String id, String outcome) throws Exception {
+		List<Feature> features = new ArrayList<>();
+		features.add(new Feature(Constants.ID_FEATURE_NAME, id, FeatureType.STRING));
+		features.add(new Feature("feature1", 1.0, FeatureType.NUMERIC));
+		return new Instance(features, outcome);
+	}
 }
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.liblinear;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.io.libsvm.LibsvmDataFormatWriter;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Writes an increasing number of documents with the {@link LibsvmDataFormatWriter}, one call per
+ * document as done during feature extraction. The time per document has to stay roughly constant
+ * while the number of documents grows, i.e. writing scales linearly with the corpus size.
+ */
+@Ignore("Depends on timing, run manually")
+public class LibsvmDataFormatWriterScalingTest
+{
+    private static final int NUM_FEATURES = 1000;
+    private static final int FEATURES_PER_DOCUMENT = 50;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writingScalesLinearly() throws Exception
+    {
+        // warm up
+        run(10000);
+
+        double small = run(25000) / 25000.0;
+        double large = run(200000) / 200000.0;
+
+        assertTrue("time per document grew from " + small + " to " + large + " ms",
+                large < 3 * small);
+    }
+
+    private long run(int documents) throws Exception
+    {
+        File outputDirectory = folder.newFolder();
+        StringBuilder featureNames = new StringBuilder();
+        for (int i = 0; i < NUM_FEATURES; i++) {
+            featureNames.append("feature" + i + "\n");
+        }
+        FileUtils.writeStringToFile(new File(outputDirectory, Constants.FILENAME_FEATURES),
+                featureNames.toString(), "utf-8");
+
+        LibsvmDataFormatWriter writer = new LibsvmDataFormatWriter();
+        writer.init(outputDirectory, true, Constants.LM_SINGLE_LABEL, Constants.FM_DOCUMENT, false,
+                new String[] { "0", "1" });
+
+        long start = System.nanoTime();
+        for (int d = 0; d < documents; d++) {
+            List<Feature> features = new ArrayList<>();
+            features.add(new Feature(Constants.ID_FEATURE_NAME, "doc" + d, FeatureType.STRING));
+            for (int f = 0; f < FEATURES_PER_DOCUMENT; f++) {
+                int id = (d * 31 + f * 17) % NUM_FEATURES;
+                features.add(new Feature("feature" + id, 1.0, FeatureType.NUMERIC));
+            }
+            writer.writeClassifierFormat(Arrays.asList(new Instance(features, "" + (d % 2))));
+        }
+        writer.close();
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        assertEquals(documents, FileUtils.readLines(
+                new File(outputDirectory, Constants.FILENAME_DATA_IN_CLASSIFIER_FORMAT), "utf-8")
+                .size());
+        FileUtils.deleteQuietly(outputDirectory);
+
+        return millis;
+    }
+}
@@ -33,6 +33,7 @@ import org.dkpro.tc.ml.libsvm.api._Prediction;
 
 import libsvm.svm;
 import libsvm.svm_model;
+import libsvm.svm_node;
 
 public class LibsvmPredictor implements TcPredictor
 {
@@ -64,4 +65,30 @@ public class LibsvmPredictor implements TcPredictor
         return predictions;
     }
 
+    /**
+     * Predicts instances that are held in memory.
+     * 
+     * @param featureIds
+     *            the feature ids of each instance in ascending order
+     * @param featureValues
+     *            the corresponding feature values
+     * @param model
+     *            the model
+     * @return the prediction of each instance
+     */
+    public double[] predict(int[][] featureIds, double[][] featureValues, svm_model model)
+    {
+        double[] predictions = new double[featureIds.length];
+        for (int i = 0; i < featureIds.length; i++) {
+            svm_node[] x = new svm_node[featureIds[i].length];
+            for (int j = 0; j < x.length; j++) {
+                x[j] = new svm_node();
+                x[j].index = featureIds[i][j];
+                x[j].value = featureValues[i][j];
+            }
+            predictions[i] = svm.svm_predict(model, x);
+        }
+        return predictions;
+    }
+
 }
@@ -24,19 +24,22 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.InputStreamReader;
+import java.util.List;
 
 import org.apache.uima.UimaContext;
 import org.apache.uima.pear.util.FileUtil;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.io.libsvm.serialization.LibsvmDataFormatLoadModelConnector;
 import org.dkpro.tc.ml.libsvm.api._Prediction;
+import org.dkpro.tc.ml.libsvm.core.LibsvmPredictor;
 
 import libsvm.svm;
 import libsvm.svm_model;
 
 public class LibsvmLoadModelConnector extends LibsvmDataFormatLoadModelConnector {
 
-	private svm_model model;
+	svm_model model;
 
 	@Override
 	public void initialize(UimaContext context) throws ResourceInitializationException {
@@ -50,17 +53,27 @@ public class LibsvmLoadModelConnector extends LibsvmDataFormatLoadModelConnector
 
 	}
 
+	@Override
+	protected List<String> predict(List<Instance> instances) throws Exception {
+		int[][] featureIds = new int[instances.size()][];
+		double[][] featureValues = new double[instances.size()][];
+		toSparseArrays(instances, featureIds, featureValues);
+
+		LibsvmPredictor predictor = new LibsvmPredictor();
+		return toPredictionStrings(predictor.predict(featureIds, featureValues, model));
+	}
+
 	@Override
 	protected File runPrediction(File tempFile) throws Exception {
 		File prediction = FileUtil.createTempFile("libsvmPrediction", ".libsvm");
 		prediction.deleteOnExit();
-		
-		_Prediction predictor = new _Prediction();
-		BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(tempFile), "utf-8"));
 
-		DataOutputStream output = new DataOutputStream(new FileOutputStream(prediction));
-		predictor.predict(r, output, model, 0);
-		output.close();
+		_Prediction predictor = new _Prediction();
+		try (BufferedReader r = new BufferedReader(
+				new InputStreamReader(new FileInputStream(tempFile), "utf-8"));
+				DataOutputStream output = new DataOutputStream(new FileOutputStream(prediction))) {
+			predictor.predict(r, output, model, 0);
+		}
 
 		return prediction;
 	}
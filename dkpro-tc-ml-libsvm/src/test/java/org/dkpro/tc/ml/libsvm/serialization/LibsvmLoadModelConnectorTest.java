@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.libsvm.serialization;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.ml.libsvm.core.KernelType;
+import org.dkpro.tc.ml.libsvm.core.LibsvmTrainer;
+import org.dkpro.tc.ml.libsvm.core.SvmType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import libsvm.svm;
+import libsvm.svm_model;
+
+public class LibsvmLoadModelConnectorTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void inMemoryPredictionEqualsFilePrediction() throws Exception
+    {
+        File data = new File("src/test/resources/data/featureFile.txt");
+        File modelFile = folder.newFile();
+
+        List<String> parameters = new ArrayList<>();
+        parameters.add("-s");
+        parameters.add(SvmType.C_SVM.toString());
+        parameters.add("-t");
+        parameters.add(KernelType.RadialBasis.toString());
+        new LibsvmTrainer().train(data, modelFile, parameters);
+
+        Map<String, Integer> featureMapping = new HashMap<>();
+        List<Instance> instances = readInstances(data, featureMapping);
+        Connector connector = new Connector(svm.svm_load_model(modelFile.getAbsolutePath()),
+                featureMapping);
+
+        List<String> inMemory = connector.inMemory(instances);
+        List<String> fromFile = connector.fromFile(instances);
+
+        assertEquals(163, inMemory.size());
+        assertEquals(fromFile.size(), inMemory.size());
+        for (int i = 0; i < inMemory.size(); i++) {
+            assertEquals(Double.parseDouble(fromFile.get(i)), Double.parseDouble(inMemory.get(i)),
+                    0.0);
+        }
+    }
+
+    /**
+     * Turns each line of a feature file into an instance with one feature per id.
+     */
+    private static List<Instance> readInstances(File data, Map<String, Integer> featureMapping)
+        throws Exception
+    {
+        List<Instance> instances = new ArrayList<>();
+        for (String line : FileUtils.readLines(data, "utf-8")) {
+            String[] entries = line.split("\t");
+            List<Feature> features = new ArrayList<>();
+            for (int i = 1; i < entries.length; i++) {
+                String[] idValue = entries[i].split(":");
+                String name = "feature" + idValue[0];
+                featureMapping.put(name, Integer.valueOf(idValue[0]));
+                features.add(new Feature(name, Double.valueOf(idValue[1]), FeatureType.NUMERIC));
+            }
+            instances.add(new Instance(features, entries[0]));
+        }
+        return instances;
+    }
+
+    static class Connector
+        extends LibsvmLoadModelConnector
+    {
+        Connector(svm_model model, Map<String, Integer> featureMapping)
+        {
+            this.model = model;
+            this.featureMapping = featureMapping;
+        }
+
+        List<String> inMemory(List<Instance> instances) throws Exception
+        {
+            return predict(instances);
+        }
+
+        List<String> fromFile(List<Instance> instances) throws Exception
+        {
+            return predictFromFile(instances);
+        }
+    }
+}
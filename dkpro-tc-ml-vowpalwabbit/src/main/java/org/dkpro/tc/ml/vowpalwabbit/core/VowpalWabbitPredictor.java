@@ -19,6 +19,7 @@ package org.dkpro.tc.ml.vowpalwabbit.core;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.lang.ProcessBuilder.Redirect;
@@ -29,6 +30,8 @@ import java.util.Scanner;
 
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.LogFactory;
+import org.dkpro.tc.ml.base.CoProcessPool;
 import org.dkpro.tc.ml.base.TcPredictor;
 
 public class VowpalWabbitPredictor
@@ -83,6 +86,89 @@ public class VowpalWabbitPredictor
         return prediction;
     }
 
+    /**
+     * Executes the binary with the provided model, the feature information are provided loaded into
+     * a string. The prediction is done by a process that is kept alive for further predictions with
+     * the same model; if this is not possible, the data is written to a temporary file and
+     * predicted with {@link #predict(File, File)}.
+     * 
+     * @param dataAsString
+     *            The string representation of the features, one example per line
+     * @param model
+     *            The model to be used
+     * @param numPredictions
+     *            The number of predictions, i.e. lines, Vowpal Wabbit writes for the data
+     * @return The predictions, one per line
+     * @throws Exception
+     *             In case of errors
+     */
+    public List<String> predict(String dataAsString, File model, int numPredictions)
+        throws Exception
+    {
+        CoProcessPool pool = CoProcessPool.get(getPersistentCommand(model));
+        if (pool.isUsable()) {
+            try {
+                return pool.execute(dataAsString, numPredictions);
+            }
+            catch (IOException e) {
+                LogFactory.getLog(getClass()).warn(
+                        "Prediction with a persistent Vowpal Wabbit process failed, starting a new process instead",
+                        e);
+            }
+        }
+
+        File data = Files.createTempFile("vowpalWabbit" + System.currentTimeMillis(), ".txt")
+                .toFile();
+        try {
+            FileUtils.writeStringToFile(data, dataAsString, "utf-8");
+            return predict(data, model);
+        }
+        finally {
+            FileUtils.deleteQuietly(data);
+        }
+    }
+
+    /**
+     * Registers a user of the persistent Vowpal Wabbit processes for the model. Each call has to
+     * be matched by a call of {@link #releasePersistentProcesses(File)}.
+     * 
+     * @param model
+     *            The model
+     * @throws Exception
+     *             In case of errors
+     */
+    public static void acquirePersistentProcesses(File model) throws Exception
+    {
+        CoProcessPool.acquire(getPersistentCommand(model));
+    }
+
+    /**
+     * Unregisters a user of the persistent Vowpal Wabbit processes for the model. The processes
+     * are terminated when the last user is gone.
+     * 
+     * @param model
+     *            The model
+     * @throws Exception
+     *             In case of errors
+     */
+    public static void releasePersistentProcesses(File model) throws Exception
+    {
+        CoProcessPool.release(getPersistentCommand(model));
+    }
+
+    private static List<String> getPersistentCommand(File aModel) throws Exception
+    {
+        List<String> command = new ArrayList<String>();
+        command.add("--testonly");
+        command.add("--initial_regressor");
+        command.add(aModel.getAbsolutePath());
+        command.add("--predictions");
+        command.add("/dev/stdout");
+        command.add("--quiet");
+
+        return assembleCommand(getExecutable(), command.toArray(new String[0]));
+    }
+
     /**
      * Builds a command that can be executed with a {@link ProcessBuilder}, which calls the binary
      * with the provided model
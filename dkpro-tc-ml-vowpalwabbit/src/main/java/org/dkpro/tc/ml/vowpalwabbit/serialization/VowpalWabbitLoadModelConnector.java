@@ -66,6 +66,7 @@ public class VowpalWabbitLoadModelConnector
     protected FeatureExtractorResource_ImplBase[] featureExtractors;
 
     private File model = null;
+    private boolean processesAcquired = false;
     private String featureMode;
     protected Map<String, String> integer2OutcomeMapping;
     protected Map<String, String> stringValue2IntegerMapping;
@@ -92,6 +93,8 @@ public class VowpalWabbitLoadModelConnector
             determineTheMaxStringsIntIdValue();
             
             verifyTcVersion(tcModelLocation, getClass());
+            VowpalWabbitPredictor.acquirePersistentProcesses(model);
+            processesAcquired = true;
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -146,16 +149,18 @@ public class VowpalWabbitLoadModelConnector
     @Override
     public void process(JCas aJCas) throws AnalysisEngineProcessException
     {
-        File file = null;
+        List<String> prediction;
         if (isSequence()) {
-            file = createInputFile(aJCas, true);
+            File file = createInputFile(aJCas, true);
+            prediction = runPrediction(file, true);
         }
         else {
-            file = createInputFile(aJCas, false);
+            // one example per line, each is answered with one prediction line
+            StringBuilder data = new StringBuilder();
+            int numExamples = createInput(aJCas, false, data);
+            prediction = runPrediction(data.toString(), numExamples);
         }
 
-        List<String> prediction = runPrediction(file, isSequence());
-
         List<TextClassificationOutcome> outcomes = getOutcomeAnnotations(aJCas);
 
         for (int i = 0; i < outcomes.size(); i++) {
@@ -207,6 +212,22 @@ public class VowpalWabbitLoadModelConnector
         return predict;
     }
 
+    /**
+     * Predicts the examples with a Vowpal Wabbit process that is kept alive between the calls, see
+     * {@link VowpalWabbitPredictor#predict(String, File, int)}.
+     */
+    protected List<String> runPrediction(String data, int numExamples)
+        throws AnalysisEngineProcessException
+    {
+        try {
+            VowpalWabbitPredictor predictor = new VowpalWabbitPredictor();
+            return predictor.predict(data, model, numExamples);
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
     private File createInputFile(JCas aJCas, boolean isSequenceMod)
         throws AnalysisEngineProcessException
     {
@@ -217,45 +238,76 @@ public class VowpalWabbitLoadModelConnector
 
             try (BufferedWriter bw = new BufferedWriter(
                     new OutputStreamWriter(new FileOutputStream(tempFile), "utf-8"))) {
+                createInput(aJCas, isSequenceMod, bw);
+            }
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
 
-                InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
-                        false);
-                List<Instance> instances = extractor.getInstances(aJCas, true);
-
-                if (isSequenceMod) {
-                    Collections.sort(instances, new Comparator<Instance>()
-                    {
+        return tempFile;
+    }
 
-                        @Override
-                        public int compare(Instance o1, Instance o2)
-                        {
-                            return ((Integer) o1.getSequenceId()).compareTo(o2.getSequenceId());
-                        }
-                    });
-                }
+    /**
+     * Writes the instances of the CAS in the Vowpal Wabbit format.
+     * 
+     * @return the number of written examples
+     */
+    private int createInput(JCas aJCas, boolean isSequenceMod, Appendable out)
+        throws AnalysisEngineProcessException
+    {
+        try {
+            InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
+                    false);
+            List<Instance> instances = extractor.getInstances(aJCas, true);
 
-                int prevSeqId = -1;
-                for (Instance instance : instances) {
+            if (isSequenceMod) {
+                Collections.sort(instances, new Comparator<Instance>()
+                {
 
-                    if (instance.getSequenceId() != prevSeqId && prevSeqId != -1) {
-                        bw.write("\n");
+                    @Override
+                    public int compare(Instance o1, Instance o2)
+                    {
+                        return ((Integer) o1.getSequenceId()).compareTo(o2.getSequenceId());
                     }
+                });
+            }
 
-                    bw.write("|");
+            int prevSeqId = -1;
+            for (Instance instance : instances) {
 
-                    for (Feature f : instance.getFeatures()) {
-                        bw.write(" ");
-                        bw.write(f.getName() + ":" + mapStringValues(f.getType(), f.getValue().toString()));
-                    }
-                    bw.write("\n");
+                if (instance.getSequenceId() != prevSeqId && prevSeqId != -1) {
+                    out.append("\n");
+                }
+
+                out.append("|");
+
+                for (Feature f : instance.getFeatures()) {
+                    out.append(" ");
+                    out.append(f.getName() + ":" + mapStringValues(f.getType(), f.getValue().toString()));
                 }
+                out.append("\n");
             }
+            return instances.size();
         }
-        catch (Exception e) {
+        catch (IOException e) {
             throw new AnalysisEngineProcessException(e);
         }
+    }
 
-        return tempFile;
+    @Override
+    public void destroy()
+    {
+        try {
+            if (processesAcquired) {
+                VowpalWabbitPredictor.releasePersistentProcesses(model);
+                processesAcquired = false;
+            }
+        }
+        catch (Exception e) {
+            getLogger().warn("Could not terminate Vowpal Wabbit processes", e);
+        }
+        super.destroy();
     }
 
     private String mapStringValues(FeatureType featureType, String value)
@@ -18,13 +18,10 @@
 
 package org.dkpro.tc.ml.vowpalwabbit.writer;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,14 +35,15 @@ import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.io.DataWriter;
-
-import com.google.gson.Gson;
+import org.dkpro.tc.core.io.GenericFeatureStoreReader;
+import org.dkpro.tc.core.io.GenericFeatureStoreWriter;
 
 public class VowpalWabbitDataWriter implements DataWriter {
 	public static final String OUTCOME_MAPPING = "outcomeMapping.txt";
@@ -58,7 +56,7 @@ public class VowpalWabbitDataWriter implements DataWriter {
 	boolean applyWeigthing;
 	// protected int maxId = 1; //vowpalWabbit doesn't like zeros as labels
 	BufferedWriter bw = null;
-	Gson gson = new Gson();
+	GenericFeatureStoreWriter genericWriter = null;
 	File classifierFormatOutputFile;
 	Map<String, String> outcomeMap;
 	Map<String, String> stringToIntegerMap;
@@ -70,44 +68,35 @@ public class VowpalWabbitDataWriter implements DataWriter {
 	@Override
 	public void writeGenericFormat(List<Instance> instances) throws AnalysisEngineProcessException {
 		try {
-			initGeneric();
+			if (genericWriter == null) {
+				genericWriter = new GenericFeatureStoreWriter(
+						new File(outputDirectory, Constants.GENERIC_FEATURE_FILE));
+			}
 
 			// bulk-write - in sequence mode this keeps the instances together
 			// that
 			// belong to the same sequence!
-			Instance[] array = instances.toArray(new Instance[0]);
-			bw.write(gson.toJson(array) + "\n");
-
-			bw.close();
-			bw = null;
+			genericWriter.write(instances);
 		} catch (Exception e) {
+			IOUtils.closeQuietly(genericWriter);
+			genericWriter = null;
 			throw new AnalysisEngineProcessException(e);
 		}
 	}
 
-	private void initGeneric() throws IOException {
-		if (bw != null) {
-			return;
-		}
-		bw = new BufferedWriter(new OutputStreamWriter(
-				new FileOutputStream(new File(outputDirectory, Constants.GENERIC_FEATURE_FILE), true), "utf-8"));
-
-	}
-
 	@Override
 	public void transformFromGeneric() throws Exception {
-		BufferedReader reader = new BufferedReader(new InputStreamReader(
-				new FileInputStream(new File(outputDirectory, Constants.GENERIC_FEATURE_FILE)), "utf-8"));
-
-		String line = null;
-		while ((line = reader.readLine()) != null) {
-			Instance[] instance = gson.fromJson(line, Instance[].class);
-			List<Instance> ins = new ArrayList<>(Arrays.asList(instance));
-			writeClassifierFormat(ins);
+		IOUtils.closeQuietly(genericWriter);
+		genericWriter = null;
+
+		File genericFile = new File(outputDirectory, Constants.GENERIC_FEATURE_FILE);
+		try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(genericFile)) {
+			while (reader.hasNext()) {
+				writeClassifierFormat(reader.next());
+			}
 		}
 
-		reader.close();
-		FileUtils.deleteQuietly(new File(outputDirectory, Constants.GENERIC_FEATURE_FILE));
+		FileUtils.deleteQuietly(genericFile);
 	}
 
 	@Override
@@ -367,7 +356,8 @@ public class VowpalWabbitDataWriter implements DataWriter {
 
 	@Override
 	public void close() throws Exception {
-
+		IOUtils.closeQuietly(genericWriter);
+		genericWriter = null;
 	}
 
 }
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see http://www.gnu.org/licenses/.
+ */
+package org.dkpro.tc.ml.weka.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.ml.weka.util.AttributeStore;
+
+import weka.classifiers.Classifier;
+import weka.core.BatchPredictor;
+import weka.core.Instances;
+import weka.core.SparseInstance;
+import weka.core.Utils;
+
+/**
+ * Collects instances and classifies them together. Classifiers that implement a more efficient
+ * batch prediction ({@link BatchPredictor}) predict the whole batch in one call, all others are
+ * asked instance by instance. Instances can be collected from several documents before
+ * {@link #classify()} is called; the predictions are returned in the order in which the instances
+ * have been added.
+ *
+ * A batch classifier is not thread-safe.
+ */
+public class WekaBatchClassifier
+{
+    private final Classifier classifier;
+    private final Instances trainingData;
+    private final AttributeStore attributeStore;
+    private final List<String> classLabels;
+    private final boolean isRegression;
+
+    private Instances batch;
+
+    /**
+     * @param classifier
+     *            the trained classifier
+     * @param trainingData
+     *            the header of the training data
+     * @param attributeStore
+     *            the attribute layout of the training data, see
+     *            {@link _eka#createAttributeStore(Instances, List, boolean)}
+     * @param classLabels
+     *            the class labels in the order of the class attribute, ignored for regression
+     * @param isRegression
+     *            whether the classifier is a regression model
+     */
+    public WekaBatchClassifier(Classifier classifier, Instances trainingData,
+            AttributeStore attributeStore, List<String> classLabels, boolean isRegression)
+    {
+        this.classifier = classifier;
+        this.trainingData = trainingData;
+        this.attributeStore = attributeStore;
+        this.classLabels = classLabels;
+        this.isRegression = isRegression;
+        this.batch = new Instances(trainingData, 0);
+    }
+
+    /**
+     * Adds an instance to the current batch.
+     * 
+     * @param instance
+     *            the instance
+     */
+    public void add(Instance instance)
+    {
+        SparseInstance wekaInstance = _eka.toSparseInstance(attributeStore, instance);
+        wekaInstance.setDataset(trainingData);
+        batch.add(wekaInstance);
+    }
+
+    public void addAll(List<Instance> instances)
+    {
+        for (Instance instance : instances) {
+            add(instance);
+        }
+    }
+
+    /**
+     * @return the number of instances in the current batch
+     */
+    public int size()
+    {
+        return batch.size();
+    }
+
+    /**
+     * Classifies all instances of the current batch and starts a new batch.
+     * 
+     * @return the predicted label of each instance, or the predicted value for regression
+     * @throws Exception
+     *             if the classifier fails
+     */
+    public List<String> classify() throws Exception
+    {
+        Instances instances = batch;
+        batch = new Instances(trainingData, 0);
+
+        List<String> predictions = new ArrayList<>(instances.size());
+        if (instances.isEmpty()) {
+            return predictions;
+        }
+
+        if (isBatchPredictor()) {
+            double[][] distributions = ((BatchPredictor) classifier)
+                    .distributionsForInstances(instances);
+            for (int i = 0; i < instances.size(); i++) {
+                predictions.add(toPrediction(fromDistribution(distributions[i], i, instances)));
+            }
+        }
+        else {
+            for (int i = 0; i < instances.size(); i++) {
+                predictions.add(toPrediction(classifier.classifyInstance(instances.get(i))));
+            }
+        }
+        return predictions;
+    }
+
+    private boolean isBatchPredictor()
+    {
+        return classifier instanceof BatchPredictor
+                && ((BatchPredictor) classifier).implementsMoreEfficientBatchPrediction();
+    }
+
+    private double fromDistribution(double[] distribution, int i, Instances instances)
+        throws Exception
+    {
+        if (isRegression) {
+            return distribution[0];
+        }
+        if (Utils.sum(distribution) == 0) {
+            // no decision, let the classifier handle this case as for single instances
+            return classifier.classifyInstance(instances.get(i));
+        }
+        return Utils.maxIndex(distribution);
+    }
+
+    private String toPrediction(double value)
+    {
+        if (isRegression) {
+            return Double.toString(value);
+        }
+        return classLabels.get((int) value);
+    }
+}
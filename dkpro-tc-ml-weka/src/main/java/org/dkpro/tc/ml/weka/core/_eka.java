@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -209,6 +210,49 @@ public class _eka implements Constants
     public   weka.core.Instance tcInstanceToWekaInstance(Instance instance,
             Instances trainingData, List<String> allClasses, boolean isRegressionExperiment)
         throws Exception
+    {
+        AttributeStore attributeStore = createAttributeStore(trainingData, allClasses,
+                isRegressionExperiment);
+        return tcInstanceToWekaInstance(instance, trainingData, attributeStore);
+    }
+
+    /**
+     * Converts an instance with an attribute layout that has been created once for the training
+     * data, see {@link #createAttributeStore(Instances, List, boolean)}.
+     *
+     * @param instance
+     *            the instance to convert
+     * @param trainingData
+     *            the training data that becomes the data set of the converted instance
+     * @param attributeStore
+     *            the attribute layout of the training data
+     * @return the Weka instance
+     */
+    public weka.core.Instance tcInstanceToWekaInstance(Instance instance, Instances trainingData,
+            AttributeStore attributeStore)
+    {
+        SparseInstance sparseInstance = toSparseInstance(attributeStore, instance);
+        sparseInstance.setDataset(trainingData);
+        return sparseInstance;
+    }
+
+    /**
+     * Creates the attribute layout of the training data. The layout depends only on the model, it
+     * can thus be created once and be reused for all instances that are classified.
+     *
+     * @param trainingData
+     *            the training data
+     * @param allClasses
+     *            the class labels, ignored for regression
+     * @param isRegressionExperiment
+     *            whether the model is a regression model
+     * @return the attribute layout
+     * @throws Exception
+     *             if the training data contains duplicate attributes
+     */
+    public AttributeStore createAttributeStore(Instances trainingData, List<String> allClasses,
+            boolean isRegressionExperiment)
+        throws Exception
     {
         AttributeStore attributeStore = new AttributeStore();
 
@@ -222,11 +266,7 @@ public class _eka implements Constants
         Attribute outcomeAttribute = createOutcomeAttribute(allClasses, isRegressionExperiment);
         attributeStore.addAttribute(outcomeAttribute.name(), outcomeAttribute);
 
-        double[] featureValues = getFeatureValues(attributeStore, instance);
-
-        SparseInstance sparseInstance = new SparseInstance(1.0, featureValues);
-        sparseInstance.setDataset(trainingData);
-        return sparseInstance;
+        return attributeStore;
     }
 
     private   Attribute createOutcomeAttribute(List<String> outcomeValues, boolean isRegresion)
@@ -243,62 +283,87 @@ public class _eka implements Constants
         }
     }
     
-    private double[] getFeatureValues(AttributeStore attributeStore, Instance instance)
+    /**
+     * Creates a sparse instance that holds the non-zero values of the features which are known to
+     * the attribute store. Features the store does not know are ignored.
+     *
+     * @param attributeStore
+     *            the attribute layout
+     * @param instance
+     *            the instance to convert
+     * @return the sparse instance, without a data set
+     */
+    public static SparseInstance toSparseInstance(AttributeStore attributeStore,
+            Instance instance)
     {
-        double[] featureValues = new double[attributeStore.getAttributes().size()];
+        int[] indices = new int[instance.getFeatures().size()];
+        double[] values = new double[indices.length];
+        int n = 0;
 
         for (Feature feature : instance.getFeatures()) {
+            if (!attributeStore.containsAttributeName(feature.getName())) {
+                // ignore unseen attributes
+                continue;
+            }
+            int offset = attributeStore.getAttributeOffset(feature.getName());
+            double attributeValue = getAttributeValue(attributeStore.getAttributes().get(offset),
+                    feature);
+            if (attributeValue == 0) {
+                continue;
+            }
+
+            // insertion sort by offset, the offsets are mostly ascending already
+            int k = n - 1;
+            while (k >= 0 && indices[k] > offset) {
+                indices[k + 1] = indices[k];
+                values[k + 1] = values[k];
+                k--;
+            }
+            indices[k + 1] = offset;
+            values[k + 1] = attributeValue;
+            n++;
+        }
 
-            try {
-                Attribute attribute = attributeStore.getAttribute(feature.getName());
-                Object featureValue = feature.getValue();
+        return new SparseInstance(1.0, Arrays.copyOf(values, n), Arrays.copyOf(indices, n),
+                attributeStore.size());
+    }
 
-                double attributeValue;
-                if (featureValue instanceof Number) {
-                    // numeric attribute
-                    attributeValue = ((Number) feature.getValue()).doubleValue();
-                }
-                else if (featureValue instanceof Boolean) {
-                    // boolean attribute
-                    attributeValue = (Boolean) featureValue ? 1.0d : 0.0d;
-                }
-                else if (featureValue == null) {
-                    // null
-                    throw new IllegalArgumentException(
-                            "You have an instance which doesn't specify a value for the feature "
-                                    + feature.getName());
-                }
-                else {
-                    // nominal or string
-                    Object stringValue = feature.getValue();
-                    if (!attribute.isNominal() && !attribute.isString()) {
-                        throw new IllegalArgumentException(
-                                "Attribute neither nominal nor string: " + stringValue);
-                    }
+    private static double getAttributeValue(Attribute attribute, Feature feature)
+    {
+        Object featureValue = feature.getValue();
 
-                    int valIndex = attribute.indexOfValue(stringValue.toString());
-                    if (valIndex == -1) {
-                        if (attribute.isNominal()) {
-                            throw new IllegalArgumentException(
-                                    "Value not defined for given nominal attribute!");
-                        }
-                        else {
-                            attribute.addStringValue(stringValue.toString());
-                            valIndex = attribute.indexOfValue(stringValue.toString());
-                        }
-                    }
-                    attributeValue = valIndex;
-                }
-                int offset = attributeStore.getAttributeOffset(attribute.name());
+        if (featureValue instanceof Number) {
+            // numeric attribute
+            return ((Number) featureValue).doubleValue();
+        }
+        else if (featureValue instanceof Boolean) {
+            // boolean attribute
+            return (Boolean) featureValue ? 1.0d : 0.0d;
+        }
+        else if (featureValue == null) {
+            // null
+            throw new IllegalArgumentException(
+                    "You have an instance which doesn't specify a value for the feature "
+                            + feature.getName());
+        }
 
-                if (offset != -1) {
-                    featureValues[offset] = attributeValue;
-                }
+        // nominal or string
+        if (!attribute.isNominal() && !attribute.isString()) {
+            throw new IllegalArgumentException(
+                    "Attribute neither nominal nor string: " + featureValue);
+        }
+
+        int valIndex = attribute.indexOfValue(featureValue.toString());
+        if (valIndex == -1) {
+            if (attribute.isNominal()) {
+                throw new IllegalArgumentException(
+                        "Value not defined for given nominal attribute!");
             }
-            catch (NullPointerException e) {
-                // ignore unseen attributes
+            else {
+                attribute.addStringValue(featureValue.toString());
+                valIndex = attribute.indexOfValue(featureValue.toString());
             }
         }
-        return featureValues;
+        return valIndex;
     }
 }
@@ -41,7 +41,6 @@ import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
 import org.apache.uima.resource.ResourceInitializationException;
-import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
@@ -50,6 +49,7 @@ import org.dkpro.tc.core.ml.ModelSerialization_ImplBase;
 import org.dkpro.tc.core.ml.TcShallowLearningAdapter;
 import org.dkpro.tc.core.task.uima.InstanceExtractor;
 import org.dkpro.tc.ml.model.PreTrainedModelProviderAbstract;
+import org.dkpro.tc.ml.weka.core.WekaBatchClassifier;
 import org.dkpro.tc.ml.weka.core._eka;
 import org.dkpro.tc.ml.weka.util.AttributeStore;
 import org.dkpro.tc.ml.weka.writer.WekaDataWriter;
@@ -84,6 +84,10 @@ public class WekaLoadModelConnector
 
     private String bipartitionThreshold;
 
+    // the attribute layout of the training data, created once per model
+    private AttributeStore attributeStore;
+    private WekaBatchClassifier batchClassifier;
+
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
     {
@@ -100,6 +104,7 @@ public class WekaLoadModelConnector
             if (!learningMode.equals(Constants.LM_REGRESSION)) {
                 loadClassLabels();
             }
+            initAttributeStore();
 
             verifyTcVersion(tcModelLocation, getClass());
             writeFeatureMode(tcModelLocation, featureMode);
@@ -151,58 +156,58 @@ public class WekaLoadModelConnector
                 .read(new File(tcModelLocation, MODEL_CLASSIFIER).getAbsolutePath());
     }
 
+    private void initAttributeStore() throws Exception
+    {
+        if (learningMode.equals(Constants.LM_MULTI_LABEL)) {
+            attributeStore = createMekaAttributeStore(trainingData, classLabels);
+            trainingData.setClassIndex(classLabels.size());
+        }
+        else {
+            boolean isRegression = learningMode.equals(Constants.LM_REGRESSION);
+            attributeStore = new _eka().createAttributeStore(trainingData, classLabels,
+                    isRegression);
+            batchClassifier = new WekaBatchClassifier(cls, trainingData, attributeStore,
+                    classLabels, isRegression);
+        }
+    }
+
     @Override
     public void process(JCas jcas) throws AnalysisEngineProcessException
     {
 
-        Instance instance = null;
+        List<Instance> instances = null;
         try {
 
             InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
                     false);
-            List<Instance> instances = extractor.getInstances(jcas, useSparse);
-            instance = instances.get(0);
+            instances = extractor.getInstances(jcas, useSparse);
         }
         catch (Exception e1) {
             throw new AnalysisEngineProcessException(e1);
         }
 
         boolean isMultiLabel = learningMode.equals(Constants.LM_MULTI_LABEL);
-        boolean isRegression = learningMode.equals(Constants.LM_REGRESSION);
 
         if (!isMultiLabel) {
-            // single-label
-            weka.core.Instance wekaInstance = null;
+            // single-label, all instances of the CAS are classified in one batch
+            List<String> predictions = null;
             try {
-                wekaInstance = new _eka().tcInstanceToWekaInstance(instance, trainingData,
-                        classLabels, isRegression);
+                batchClassifier.addAll(instances);
+                predictions = batchClassifier.classify();
             }
             catch (Exception e) {
                 throw new AnalysisEngineProcessException(e);
             }
 
-            Object val = null;
-            try {
-                if (!isRegression) {
-                    val = classLabels.get((int) cls.classifyInstance(wekaInstance));
-                }
-                else {
-                    val = cls.classifyInstance(wekaInstance);
-                }
-            }
-            catch (Exception e) {
-                throw new AnalysisEngineProcessException(e);
-            }
-
-            TextClassificationOutcome outcome = getOutcome(jcas);
-            outcome.setOutcome(val.toString());
+            setOutcomes(jcas, predictions);
         }
         else {
+            Instance instance = instances.get(0);
+
             // multi-label
             weka.core.Instance mekaInstance = null;
             try {
-                mekaInstance = tcInstanceToMekaInstance(instance, trainingData,
-                        classLabels);
+                mekaInstance = tcInstanceToMekaInstance(instance);
             }
             catch (Exception e) {
                 throw new AnalysisEngineProcessException(e);
@@ -266,6 +271,20 @@ public class WekaLoadModelConnector
         }
     }
 
+    private void setOutcomes(JCas jcas, List<String> predictions)
+    {
+        List<TextClassificationOutcome> outcomes = new ArrayList<>(
+                JCasUtil.select(jcas, TextClassificationOutcome.class));
+        if (outcomes.size() != predictions.size()) {
+            throw new IllegalStateException("Expected [" + outcomes.size()
+                    + "] predictions but were [" + predictions.size() + "]");
+        }
+
+        for (int i = 0; i < outcomes.size(); i++) {
+            outcomes.get(i).setOutcome(predictions.get(i));
+        }
+    }
+
     private TextClassificationOutcome getOutcome(JCas jcas)
     {
         List<TextClassificationOutcome> outcomes = new ArrayList<>(
@@ -277,32 +296,32 @@ public class WekaLoadModelConnector
         return outcomes.get(0);
     }
     
-    private weka.core.Instance tcInstanceToMekaInstance(Instance instance,
-          Instances trainingData, List<String> allClassLabels)
-      throws Exception
-  {
-      AttributeStore attributeStore = new AttributeStore();
-      List<Attribute> outcomeAttributes = createOutcomeAttributes(allClassLabels);
-
-      // in Meka, class label attributes have to go on top
-      for (Attribute attribute : outcomeAttributes) {
-          attributeStore.addAttributeAtBegin(attribute.name(), attribute);
-      }
-
-      for (int i = outcomeAttributes.size(); i < trainingData.numAttributes(); i++) {
-          attributeStore.addAttribute(trainingData.attribute(i).name(),
-                  trainingData.attribute(i));
-      }
-
-      double[] featureValues = getFeatureValues(attributeStore, instance);
-
-      SparseInstance sparseInstance = new SparseInstance(1.0, featureValues);
-      trainingData.setClassIndex(outcomeAttributes.size());
-      sparseInstance.setDataset(trainingData);
-      return sparseInstance;
-  }
-    
-   
+    private weka.core.Instance tcInstanceToMekaInstance(Instance instance)
+    {
+        SparseInstance sparseInstance = _eka.toSparseInstance(attributeStore, instance);
+        sparseInstance.setDataset(trainingData);
+        return sparseInstance;
+    }
+
+    private AttributeStore createMekaAttributeStore(Instances trainingData,
+            List<String> allClassLabels)
+        throws Exception
+    {
+        AttributeStore attributeStore = new AttributeStore();
+        List<Attribute> outcomeAttributes = createOutcomeAttributes(allClassLabels);
+
+        // in Meka, class label attributes have to go on top
+        for (Attribute attribute : outcomeAttributes) {
+            attributeStore.addAttributeAtBegin(attribute.name(), attribute);
+        }
+
+        for (int i = outcomeAttributes.size(); i < trainingData.numAttributes(); i++) {
+            attributeStore.addAttribute(trainingData.attribute(i).name(),
+                    trainingData.attribute(i));
+        }
+        return attributeStore;
+    }
+
     private   List<Attribute> createOutcomeAttributes(List<String> outcomeValues)
     {
         // make the order of the attributes predictable
@@ -316,63 +335,4 @@ public class WekaLoadModelConnector
         }
         return atts;
     }
-
-    private  double[] getFeatureValues(AttributeStore attributeStore, Instance instance)
-    {
-        double[] featureValues = new double[attributeStore.getAttributes().size()];
-
-        for (Feature feature : instance.getFeatures()) {
-
-            try {
-                Attribute attribute = attributeStore.getAttribute(feature.getName());
-                Object featureValue = feature.getValue();
-
-                double attributeValue;
-                if (featureValue instanceof Number) {
-                    // numeric attribute
-                    attributeValue = ((Number) feature.getValue()).doubleValue();
-                }
-                else if (featureValue instanceof Boolean) {
-                    // boolean attribute
-                    attributeValue = (Boolean) featureValue ? 1.0d : 0.0d;
-                }
-                else if (featureValue == null) {
-                    // null
-                    throw new IllegalArgumentException(
-                            "You have an instance which doesn't specify a value for the feature "
-                                    + feature.getName());
-                }
-                else {
-                    // nominal or string
-                    Object stringValue = feature.getValue();
-                    if (!attribute.isNominal() && !attribute.isString()) {
-                        throw new IllegalArgumentException(
-                                "Attribute neither nominal nor string: " + stringValue);
-                    }
-
-                    int valIndex = attribute.indexOfValue(stringValue.toString());
-                    if (valIndex == -1) {
-                        if (attribute.isNominal()) {
-                            throw new IllegalArgumentException(
-                                    "Value not defined for given nominal attribute!");
-                        }
-                        else {
-                            attribute.addStringValue(stringValue.toString());
-                            valIndex = attribute.indexOfValue(stringValue.toString());
-                        }
-                    }
-                    attributeValue = valIndex;
-                }
-                int offset = attributeStore.getAttributeOffset(attribute.name());
-
-                if (offset != -1) {
-                    featureValues[offset] = attributeValue;
-                }
-            }
-            catch (NullPointerException e) {
-                // ignore unseen attributes
-            }
-        }
-        return featureValues;
-    }
 }
\ No newline at end of file
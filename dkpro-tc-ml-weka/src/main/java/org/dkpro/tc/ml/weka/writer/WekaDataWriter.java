@@ -18,20 +18,15 @@
  */
 package org.dkpro.tc.ml.weka.writer;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.Feature;
@@ -39,10 +34,10 @@ import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.io.DataWriter;
+import org.dkpro.tc.core.io.GenericFeatureStoreReader;
+import org.dkpro.tc.core.io.GenericFeatureStoreWriter;
 import org.dkpro.tc.ml.weka.util.AttributeStore;
 
-import com.google.gson.Gson;
-
 import weka.core.Attribute;
 import weka.core.DenseInstance;
 import weka.core.Instances;
@@ -58,8 +53,7 @@ public class WekaDataWriter
 {
     public static final String RELATION_NAME = "dkpro-tc-generated";
     
-    BufferedWriter bw = null;
-    Gson gson = new Gson();
+    GenericFeatureStoreWriter genericWriter = null;
     private boolean useSparse;
     private boolean applyWeighting;
     private File outputFolder;
@@ -122,41 +116,33 @@ public class WekaDataWriter
         throws AnalysisEngineProcessException
     {
         try {
-            initGeneric();
-
-            bw.write(gson.toJson(instances.toArray(new Instance[0])) + "\n");
-
-            bw.close();
-            bw = null;
+            if (genericWriter == null) {
+                genericWriter = new GenericFeatureStoreWriter(
+                        new File(outputFolder, GENERIC_FEATURE_FILE));
+            }
+            genericWriter.write(instances);
         }
         catch (Exception e) {
+            IOUtils.closeQuietly(genericWriter);
+            genericWriter = null;
             throw new AnalysisEngineProcessException(e);
         }
     }
 
-    private void initGeneric() throws IOException
-    {
-        if (bw != null) {
-            return;
-        }
-        bw = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(new File(outputFolder, GENERIC_FEATURE_FILE), true), "utf-8"));
-    }
-
     @Override
     public void transformFromGeneric() throws Exception
     {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(
-                new FileInputStream(new File(outputFolder, GENERIC_FEATURE_FILE)), "utf-8"));
+        IOUtils.closeQuietly(genericWriter);
+        genericWriter = null;
 
-        String line = null;
-        while ((line = reader.readLine()) != null) {
-            Instance[] restoredInstances = gson.fromJson(line, Instance[].class);
-            writeClassifierFormat(Arrays.asList(restoredInstances));
+        File genericFile = new File(outputFolder, GENERIC_FEATURE_FILE);
+        try (GenericFeatureStoreReader reader = new GenericFeatureStoreReader(genericFile)) {
+            while (reader.hasNext()) {
+                writeClassifierFormat(reader.next());
+            }
         }
 
-        reader.close();
-        FileUtils.deleteQuietly(new File(outputFolder, GENERIC_FEATURE_FILE));
+        FileUtils.deleteQuietly(genericFile);
     }
 
     private Attribute createOutcomeAttribute(List<String> outcomeValues, boolean isRegresion)
@@ -353,6 +339,8 @@ public class WekaDataWriter
     @Override
     public void close() throws Exception
     {
+        IOUtils.closeQuietly(genericWriter);
+        genericWriter = null;
         saver.writeIncremental(null);
     }
 
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see http://www.gnu.org/licenses/.
+ */
+package org.dkpro.tc.ml.weka.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.ml.weka.util.AttributeStore;
+import org.junit.Test;
+
+import weka.classifiers.Classifier;
+import weka.classifiers.functions.Logistic;
+import weka.classifiers.trees.J48;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+public class WekaBatchClassifierTest
+{
+    private static final List<String> LABELS = Arrays.asList("neg", "pos");
+
+    @Test
+    public void testBatchEqualsSingleClassification() throws Exception
+    {
+        // a batch must be classified exactly as its instances one by one
+        for (Classifier classifier : new Classifier[] { new J48(), new Logistic() }) {
+            Instances trainingData = createTrainingData();
+            classifier.buildClassifier(trainingData);
+
+            _eka eka = new _eka();
+            AttributeStore store = eka.createAttributeStore(trainingData, LABELS, false);
+            WekaBatchClassifier batchClassifier = new WekaBatchClassifier(classifier,
+                    trainingData, store, LABELS, false);
+
+            List<Instance> instances = new ArrayList<>();
+            for (double v : new double[] { 0.0, 1.0, 9.0, 10.0 }) {
+                instances.add(createInstance(v));
+            }
+
+            // instances of several documents can be collected before classifying
+            batchClassifier.addAll(instances.subList(0, 2));
+            batchClassifier.addAll(instances.subList(2, 4));
+            assertEquals(4, batchClassifier.size());
+
+            List<String> predictions = batchClassifier.classify();
+            assertEquals(0, batchClassifier.size());
+
+            List<String> expected = new ArrayList<>();
+            for (Instance i : instances) {
+                weka.core.Instance w = eka.tcInstanceToWekaInstance(i, trainingData, store);
+                expected.add(LABELS.get((int) classifier.classifyInstance(w)));
+            }
+            assertEquals(expected, predictions);
+            assertEquals(Arrays.asList("neg", "neg", "pos", "pos"), predictions);
+        }
+    }
+
+    @Test
+    public void testBatchPredictorClassifiesWholeBatch() throws Exception
+    {
+        Instances trainingData = createTrainingData();
+        CountingBatchLogistic classifier = new CountingBatchLogistic();
+        classifier.buildClassifier(trainingData);
+
+        _eka eka = new _eka();
+        AttributeStore store = eka.createAttributeStore(trainingData, LABELS, false);
+        WekaBatchClassifier batchClassifier = new WekaBatchClassifier(classifier, trainingData,
+                store, LABELS, false);
+
+        for (double v : new double[] { 0.0, 1.0, 9.0, 10.0 }) {
+            batchClassifier.addAll(Arrays.asList(createInstance(v)));
+        }
+        List<String> predictions = batchClassifier.classify();
+
+        // one call for the whole batch
+        assertEquals(1, classifier.batchCalls);
+        assertEquals(4, classifier.batchSize);
+        assertEquals(Arrays.asList("neg", "neg", "pos", "pos"), predictions);
+    }
+
+    /**
+     * Claims to predict batches more efficiently, so that {@link WekaBatchClassifier} passes the
+     * whole batch in one call.
+     */
+    static class CountingBatchLogistic
+        extends Logistic
+    {
+        private static final long serialVersionUID = 1L;
+
+        int batchCalls = 0;
+        int batchSize = 0;
+
+        @Override
+        public boolean implementsMoreEfficientBatchPrediction()
+        {
+            return true;
+        }
+
+        @Override
+        public double[][] distributionsForInstances(Instances batch) throws Exception
+        {
+            batchCalls++;
+            batchSize += batch.size();
+            return super.distributionsForInstances(batch);
+        }
+    }
+
+    private static Instance createInstance(double value)
+    {
+        List<Feature> features = new ArrayList<>();
+        features.add(new Feature("x", value, FeatureType.NUMERIC));
+        return new Instance(features, "neg");
+    }
+
+    private static Instances createTrainingData()
+    {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute(Constants.CLASS_ATTRIBUTE_NAME, LABELS));
+        Instances data = new Instances("train", attributes, 0);
+        data.setClassIndex(1);
+
+        double[][] rows = { { 0, 0 }, { 1, 0 }, { 2, 0 }, { 8, 1 }, { 9, 1 }, { 10, 1 } };
+        for (double[] row : rows) {
+            data.add(new DenseInstance(1.0, row));
+        }
+        return data;
+    }
+}
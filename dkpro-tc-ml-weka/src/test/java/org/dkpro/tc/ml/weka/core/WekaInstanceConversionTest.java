@@ -0,0 +1,74 @@
+/**
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see http://www.gnu.org/licenses/.
+ */
+package org.dkpro.tc.ml.weka.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.ml.weka.util.AttributeStore;
+import org.junit.Test;
+
+import weka.core.Attribute;
+import weka.core.Instances;
+
+public class WekaInstanceConversionTest
+{
+    @Test
+    public void testConversionWithPrecomputedLayout() throws Exception
+    {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("a"));
+        attributes.add(new Attribute("b"));
+        attributes.add(new Attribute("c", (List<String>) null));
+        attributes.add(new Attribute(Constants.CLASS_ATTRIBUTE_NAME, Arrays.asList("x", "y")));
+        Instances trainingData = new Instances("train", attributes, 0);
+        trainingData.setClassIndex(3);
+
+        _eka eka = new _eka();
+        AttributeStore store = eka.createAttributeStore(trainingData, Arrays.asList("x", "y"),
+                false);
+
+        List<Feature> features = new ArrayList<>();
+        features.add(new Feature("b", 2.5, FeatureType.NUMERIC));
+        features.add(new Feature("a", 0, FeatureType.NUMERIC));
+        features.add(new Feature("unknown", 5, FeatureType.NUMERIC));
+        features.add(new Feature("c", "second", FeatureType.STRING));
+        Instance instance = new Instance(features, "x");
+
+        // the string attribute learns its values on the fly, "first" gets index 0
+        trainingData.attribute("c").addStringValue("first");
+
+        weka.core.Instance wekaInstance = eka.tcInstanceToWekaInstance(instance, trainingData,
+                store);
+
+        // zero and unseen features are not stored
+        assertEquals(2, wekaInstance.numValues());
+        assertEquals(0.0, wekaInstance.value(0), 0.0);
+        assertEquals(2.5, wekaInstance.value(1), 0.0);
+        assertEquals(1.0, wekaInstance.value(2), 0.0);
+        assertEquals(4, wekaInstance.numAttributes());
+    }
+}
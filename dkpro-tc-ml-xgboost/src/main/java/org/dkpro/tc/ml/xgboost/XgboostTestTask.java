@@ -34,6 +34,7 @@ import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.storage.StorageService.AccessMode;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.io.libsvm.LibsvmDataFormatTestTask;
+import org.dkpro.tc.ml.xgboost.core.XgboostModel;
 import org.dkpro.tc.ml.xgboost.core.XgboostPredictor;
 import org.dkpro.tc.ml.xgboost.core.XgboostTrainer;
 
@@ -100,8 +101,9 @@ public class XgboostTestTask
     {
         File testFile = getTestFile(aContext);
         
+        // the model is evaluated in memory, see XgboostModel
         XgboostPredictor predictor = new XgboostPredictor();
-        List<String> prediction = predictor.predict(testFile, (File) model);
+        List<String> prediction = predictor.predict(testFile, XgboostModel.load((File) model));
         
         mergePredictionWithGold(aContext, prediction);
     }
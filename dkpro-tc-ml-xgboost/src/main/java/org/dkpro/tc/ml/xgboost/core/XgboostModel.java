@@ -0,0 +1,441 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.xgboost.core;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A model in the binary format written by the Xgboost executable, which is evaluated within the
+ * JVM instead of by the executable. The trees of the model are stored in flat arrays, i.e. all
+ * nodes of all trees are kept in a few primitive arrays. A model is immutable after loading and
+ * can be used by several threads at the same time.
+ *
+ * Supported are the boosters <i>gbtree</i>, <i>dart</i> and <i>gblinear</i> together with the
+ * regression, binary, multi-class, count and ranking objectives. The margins are accumulated in
+ * single precision as by the executable, and {@link XgboostPredictor} writes the predictions with
+ * the same {@code %g} format and the same number of lines.
+ */
+public final class XgboostModel
+{
+    private static final int LEAF = -1;
+
+    private final String objective;
+    private final float baseMargin;
+    private final int numGroups;
+
+    // all nodes of all trees
+    private final int[] leftChild;
+    private final int[] rightChild;
+    private final int[] splitFeature;
+    private final boolean[] defaultLeft;
+    private final float[] value;
+
+    // per tree
+    private final int[] treeRoot;
+    private final int[] treeGroup;
+    private final float[] treeWeight;
+
+    // gblinear, weights followed by the bias of each group
+    private final float[] linearWeights;
+    private final int numLinearFeatures;
+
+    private XgboostModel(String objective, float baseMargin, int numGroups, List<Tree> trees,
+            float[] weightDrop, float[] linearWeights, int numLinearFeatures)
+    {
+        this.objective = objective;
+        this.baseMargin = baseMargin;
+        this.numGroups = Math.max(1, numGroups);
+        this.linearWeights = linearWeights;
+        this.numLinearFeatures = numLinearFeatures;
+
+        int numNodes = 0;
+        for (Tree t : trees) {
+            numNodes += t.left.length;
+        }
+
+        leftChild = new int[numNodes];
+        rightChild = new int[numNodes];
+        splitFeature = new int[numNodes];
+        defaultLeft = new boolean[numNodes];
+        value = new float[numNodes];
+        treeRoot = new int[trees.size()];
+        treeGroup = new int[trees.size()];
+        treeWeight = new float[trees.size()];
+
+        int offset = 0;
+        for (int i = 0; i < trees.size(); i++) {
+            Tree t = trees.get(i);
+            treeRoot[i] = offset;
+            treeGroup[i] = t.group;
+            treeWeight[i] = weightDrop != null ? weightDrop[i] : 1.0f;
+            for (int n = 0; n < t.left.length; n++) {
+                boolean leaf = t.left[n] == -1;
+                leftChild[offset + n] = leaf ? LEAF : offset + t.left[n];
+                rightChild[offset + n] = leaf ? LEAF : offset + t.right[n];
+                splitFeature[offset + n] = leaf ? LEAF : (int) (t.splitIndex[n] & 0x7FFFFFFFL);
+                defaultLeft[offset + n] = (t.splitIndex[n] >>> 31) != 0;
+                value[offset + n] = t.value[n];
+            }
+            offset += t.left.length;
+        }
+    }
+
+    /**
+     * Loads a model that has been trained by {@link XgboostTrainer}.
+     * 
+     * @param model
+     *            the model file
+     * @return the model
+     * @throws IOException
+     *             if the file cannot be read or is not a supported model
+     */
+    public static XgboostModel load(File model) throws IOException
+    {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(model))) {
+            return load(is);
+        }
+        catch (EOFException e) {
+            throw new IOException("Model [" + model + "] is truncated", e);
+        }
+    }
+
+    static XgboostModel load(InputStream is) throws IOException
+    {
+        LittleEndianReader in = new LittleEndianReader(is);
+
+        byte[] header = in.bytes(4);
+        boolean binf = new String(header, StandardCharsets.ISO_8859_1).equals("binf");
+
+        // learner parameters: base_score, num_feature, num_class, contain_extra_attrs,
+        // contain_eval_metrics, reserved[29]
+        float baseScore = binf ? in.float32() : Float.intBitsToFloat(littleEndianInt(header));
+        in.int32();
+        int numClass = in.int32();
+        in.skip(4 + 4 + 29 * 4);
+
+        String objective = in.string();
+        String booster = in.string();
+
+        switch (booster) {
+        case "gbtree":
+        case "dart":
+            return loadTrees(in, objective, baseScore, booster.equals("dart"));
+        case "gblinear":
+            return loadLinear(in, objective, baseScore, numClass);
+        default:
+            throw new IOException("Booster [" + booster + "] is not supported");
+        }
+    }
+
+    private static XgboostModel loadTrees(LittleEndianReader in, String objective,
+            float baseScore, boolean dart)
+        throws IOException
+    {
+        // num_trees, num_roots, num_feature, pad_32bit, num_pbuffer_deprecated (64 bit),
+        // num_output_group, size_leaf_vector, reserved[32]
+        int numTrees = in.int32();
+        int numRoots = in.int32();
+        in.skip(4 + 4 + 8);
+        int numOutputGroups = in.int32();
+        in.skip(4 + 32 * 4);
+
+        if (numRoots > 1) {
+            throw new IOException("Models with [" + numRoots + "] roots are not supported");
+        }
+
+        List<Tree> trees = new ArrayList<>(numTrees);
+        for (int i = 0; i < numTrees; i++) {
+            trees.add(Tree.read(in));
+        }
+        for (int i = 0; i < numTrees; i++) {
+            trees.get(i).group = in.int32();
+        }
+
+        float[] weightDrop = null;
+        if (dart && numTrees > 0) {
+            weightDrop = in.floatVector();
+        }
+
+        return new XgboostModel(objective, baseScore, numOutputGroups, trees, weightDrop, null,
+                0);
+    }
+
+    private static XgboostModel loadLinear(LittleEndianReader in, String objective,
+            float baseScore, int numClass)
+        throws IOException
+    {
+        // num_feature, num_output_group, reserved[32]
+        int numFeature = in.int32();
+        int numOutputGroups = in.int32();
+        in.skip(32 * 4);
+        float[] weights = in.floatVector();
+
+        return new XgboostModel(objective, baseScore, numOutputGroups, new ArrayList<>(),
+                null, weights, numFeature);
+    }
+
+    /**
+     * @return the learning objective of the model, e.g. <i>multi:softmax</i>
+     */
+    public String getObjective()
+    {
+        return objective;
+    }
+
+    /**
+     * Computes the raw score of each output group, i.e. of each class for multi-class objectives.
+     * 
+     * @param featureIds
+     *            the ids of the features of an instance in ascending order; absent features are
+     *            treated as missing values
+     * @param featureValues
+     *            the corresponding values
+     * @return the margins
+     */
+    public double[] predictMargin(int[] featureIds, double[] featureValues)
+    {
+        // accumulated in single precision as done by Xgboost
+        float[] sums = new float[numGroups];
+        Arrays.fill(sums, baseMargin);
+
+        for (int t = 0; t < treeRoot.length; t++) {
+            int node = treeRoot[t];
+            while (leftChild[node] != LEAF) {
+                int idx = Arrays.binarySearch(featureIds, splitFeature[node]);
+                if (idx < 0 || Double.isNaN(featureValues[idx])) {
+                    node = defaultLeft[node] ? leftChild[node] : rightChild[node];
+                }
+                else {
+                    node = (float) featureValues[idx] < value[node] ? leftChild[node]
+                            : rightChild[node];
+                }
+            }
+            sums[treeGroup[t]] += treeWeight[t] * value[node];
+        }
+
+        if (linearWeights != null) {
+            for (int g = 0; g < numGroups; g++) {
+                sums[g] += linearWeights[numLinearFeatures * numGroups + g];
+            }
+            for (int i = 0; i < featureIds.length; i++) {
+                int fid = featureIds[i];
+                if (fid < 0 || fid >= numLinearFeatures || Double.isNaN(featureValues[i])) {
+                    continue;
+                }
+                for (int g = 0; g < numGroups; g++) {
+                    sums[g] += (float) featureValues[i] * linearWeights[fid * numGroups + g];
+                }
+            }
+        }
+
+        double[] margins = new double[numGroups];
+        for (int g = 0; g < numGroups; g++) {
+            margins[g] = sums[g];
+        }
+        return margins;
+    }
+
+    /**
+     * Predicts an instance. The values are transformed according to the objective of the model,
+     * e.g. into a probability for <i>binary:logistic</i> or the index of the best class for
+     * <i>multi:softmax</i>.
+     * 
+     * @param featureIds
+     *            the ids of the features of an instance in ascending order; absent features are
+     *            treated as missing values
+     * @param featureValues
+     *            the corresponding values
+     * @return the prediction, one value per class for <i>multi:softprob</i> and a single value
+     *         otherwise
+     */
+    public double[] predict(int[] featureIds, double[] featureValues)
+    {
+        double[] margins = predictMargin(featureIds, featureValues);
+
+        switch (objective) {
+        case "reg:logistic":
+        case "binary:logistic":
+            return new double[] { 1.0 / (1.0 + Math.exp(-margins[0])) };
+        case "binary:hinge":
+            return new double[] { margins[0] > 0 ? 1.0 : 0.0 };
+        case "count:poisson":
+        case "reg:gamma":
+        case "reg:tweedie":
+            return new double[] { Math.exp(margins[0]) };
+        case "multi:softmax":
+            return new double[] { argMax(margins) };
+        case "multi:softprob":
+            return softmax(margins);
+        default:
+            // reg:linear, binary:logitraw and the ranking objectives predict the margin
+            return new double[] { margins[0] };
+        }
+    }
+
+    private static int argMax(double[] values)
+    {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double[] softmax(double[] margins)
+    {
+        double max = margins[argMax(margins)];
+        double sum = 0;
+        double[] p = new double[margins.length];
+        for (int i = 0; i < margins.length; i++) {
+            p[i] = Math.exp(margins[i] - max);
+            sum += p[i];
+        }
+        for (int i = 0; i < p.length; i++) {
+            p[i] /= sum;
+        }
+        return p;
+    }
+
+    private static int littleEndianInt(byte[] b)
+    {
+        return (b[0] & 0xFF) | (b[1] & 0xFF) << 8 | (b[2] & 0xFF) << 16 | (b[3] & 0xFF) << 24;
+    }
+
+    private static class Tree
+    {
+        int[] left;
+        int[] right;
+        long[] splitIndex;
+        float[] value;
+        int group;
+
+        static Tree read(LittleEndianReader in) throws IOException
+        {
+            // num_roots, num_nodes, num_deleted, max_depth, num_feature, size_leaf_vector,
+            // reserved[31]
+            in.skip(4);
+            int numNodes = in.int32();
+            in.skip(4 + 4 + 4);
+            int sizeLeafVector = in.int32();
+            in.skip(31 * 4);
+
+            Tree t = new Tree();
+            t.left = new int[numNodes];
+            t.right = new int[numNodes];
+            t.splitIndex = new long[numNodes];
+            t.value = new float[numNodes];
+
+            // parent, left child, right child, split index (highest bit: default left),
+            // leaf value or split condition
+            for (int n = 0; n < numNodes; n++) {
+                in.int32();
+                t.left[n] = in.int32();
+                t.right[n] = in.int32();
+                t.splitIndex[n] = in.int32() & 0xFFFFFFFFL;
+                t.value[n] = in.float32();
+            }
+
+            // node statistics: loss change, sum of hessian, base weight, leaf child count
+            in.skip(numNodes * 16L);
+
+            if (sizeLeafVector != 0) {
+                in.floatVector();
+            }
+            return t;
+        }
+    }
+
+    private static class LittleEndianReader
+    {
+        private final DataInputStream in;
+
+        LittleEndianReader(InputStream is)
+        {
+            in = new DataInputStream(is);
+        }
+
+        byte[] bytes(int n) throws IOException
+        {
+            byte[] b = new byte[n];
+            in.readFully(b);
+            return b;
+        }
+
+        int int32() throws IOException
+        {
+            return Integer.reverseBytes(in.readInt());
+        }
+
+        long int64() throws IOException
+        {
+            return Long.reverseBytes(in.readLong());
+        }
+
+        float float32() throws IOException
+        {
+            return Float.intBitsToFloat(int32());
+        }
+
+        String string() throws IOException
+        {
+            return new String(bytes(length()), StandardCharsets.UTF_8);
+        }
+
+        float[] floatVector() throws IOException
+        {
+            float[] v = new float[length()];
+            for (int i = 0; i < v.length; i++) {
+                v[i] = float32();
+            }
+            return v;
+        }
+
+        private int length() throws IOException
+        {
+            long length = int64();
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid length [" + length + "] in model");
+            }
+            return (int) length;
+        }
+
+        void skip(long n) throws IOException
+        {
+            while (n > 0) {
+                long skipped = in.skip(n);
+                if (skipped <= 0) {
+                    in.readByte();
+                    skipped = 1;
+                }
+                n -= skipped;
+            }
+        }
+    }
+}
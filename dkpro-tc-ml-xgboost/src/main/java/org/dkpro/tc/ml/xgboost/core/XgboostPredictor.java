@@ -18,6 +18,10 @@
 package org.dkpro.tc.ml.xgboost.core;
 
 import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,17 +44,133 @@ public class XgboostPredictor extends Xgboost implements TcPredictor
         
         File config = buildTestConfigFile(data, model, tmpPredictionOut);
         
-        List<String> command = new ArrayList<>();
-        command.add(flipBackslash(getExecutable().getAbsolutePath()));
-        command.add(flipBackslash(config.getAbsolutePath()));
-        
-        runCommand(command);
-        
-        List<String> predictions = FileUtils.readLines(tmpPredictionOut, "utf-8");
-        
+        try {
+            List<String> command = new ArrayList<>();
+            command.add(flipBackslash(getExecutable().getAbsolutePath()));
+            command.add(flipBackslash(config.getAbsolutePath()));
+
+            runCommand(command);
+
+            List<String> predictions = FileUtils.readLines(tmpPredictionOut, "utf-8");
+
+            return predictions;
+        }
+        finally {
+            FileUtils.deleteQuietly(config);
+            FileUtils.deleteQuietly(tmpPredictionOut);
+        }
+    }
+
+    /**
+     * Predicts the instances of a file in libsvm format with a model that has been loaded into
+     * memory. The Xgboost executable is not used.
+     * 
+     * @param data
+     *            The feature file
+     * @param model
+     *            The model to be used
+     * @return The predictions in the format of the Xgboost executable
+     * @throws IOException
+     *             If the feature file cannot be read
+     */
+    public List<String> predict(File data, XgboostModel model) throws IOException
+    {
+        List<String> predictions = new ArrayList<>();
+        for (String line : FileUtils.readLines(data, "utf-8")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            // the first entry is the outcome
+            String[] entries = line.trim().split("\\s+");
+            int[] ids = new int[entries.length - 1];
+            double[] values = new double[ids.length];
+            for (int i = 1; i < entries.length; i++) {
+                int sep = entries[i].indexOf(':');
+                ids[i - 1] = Integer.parseInt(entries[i].substring(0, sep));
+                values[i - 1] = Double.parseDouble(entries[i].substring(sep + 1));
+            }
+            addPredictions(predictions, model.predict(ids, values));
+        }
+        return predictions;
+    }
+
+    /**
+     * Predicts instances that are held in memory. The Xgboost executable is not used.
+     * 
+     * @param featureIds
+     *            the feature ids of each instance in ascending order
+     * @param featureValues
+     *            the corresponding feature values
+     * @param model
+     *            the model
+     * @return The predictions in the format of the Xgboost executable
+     */
+    public List<String> predict(int[][] featureIds, double[][] featureValues, XgboostModel model)
+    {
+        List<String> predictions = new ArrayList<>(featureIds.length);
+        for (int i = 0; i < featureIds.length; i++) {
+            addPredictions(predictions, model.predict(featureIds[i], featureValues[i]));
+        }
         return predictions;
     }
 
+    private static void addPredictions(List<String> predictions, double[] values)
+    {
+        for (double v : values) {
+            predictions.add(formatPrediction((float) v));
+        }
+    }
+
+    /**
+     * Formats a prediction as the executable writes it, i.e. like the C format {@code %g}: six
+     * significant digits without trailing zeros, in scientific notation if the exponent is below -4
+     * or at least six. Class indices are thus written without fraction digits.
+     * 
+     * @param value
+     *            the prediction
+     * @return the formatted prediction
+     */
+    static String formatPrediction(float value)
+    {
+        if (Float.isNaN(value)) {
+            // glibc keeps the sign of NaN
+            return Float.floatToRawIntBits(value) < 0 ? "-nan" : "nan";
+        }
+        if (Float.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        if (value == 0) {
+            return 1 / value < 0 ? "-0" : "0";
+        }
+
+        // the exact value of the float, rounded as by printf
+        BigDecimal rounded = new BigDecimal(value)
+                .round(new MathContext(6, RoundingMode.HALF_EVEN));
+        int exponent = rounded.precision() - rounded.scale() - 1;
+        if (exponent >= -4 && exponent < 6) {
+            return stripTrailingZeros(rounded.toPlainString());
+        }
+
+        String mantissa = stripTrailingZeros(rounded.movePointLeft(exponent).toPlainString());
+        int abs = Math.abs(exponent);
+        return mantissa + (exponent < 0 ? "e-" : "e+") + (abs < 10 ? "0" : "") + abs;
+    }
+
+    private static String stripTrailingZeros(String number)
+    {
+        if (number.indexOf('.') < 0) {
+            return number;
+        }
+        int end = number.length();
+        while (number.charAt(end - 1) == '0') {
+            end--;
+        }
+        if (number.charAt(end - 1) == '.') {
+            end--;
+        }
+        return number.substring(0, end);
+    }
+
  
     public File buildTestConfigFile(File data, File model, File predictionOut) throws Exception
     {
@@ -61,7 +181,8 @@ public class XgboostPredictor extends Xgboost implements TcPredictor
         sb.append("model_in=\"" + flipBackslash(model.getAbsolutePath()) + "\"" + "\n");
         sb.append("name_pred=\"" + flipBackslash(predictionOut.getAbsolutePath()) + "\"" + "\n");
         
-        File config = new File(getExecutable().getParentFile(), "test.conf");
+        // a separate file per call, predictions might run concurrently
+        File config = FileUtil.createTempFile("xgboostTest", ".conf");
         config.deleteOnExit();
         FileUtils.writeStringToFile(config, sb.toString(), "utf-8");
         return config;
@@ -21,24 +21,51 @@ import java.io.File;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.uima.UimaContext;
 import org.apache.uima.pear.util.FileUtil;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.io.libsvm.serialization.LibsvmDataFormatLoadModelConnector;
+import org.dkpro.tc.ml.xgboost.core.XgboostModel;
 import org.dkpro.tc.ml.xgboost.core.XgboostPredictor;
 
 public class XgboostLoadModelConnector
     extends LibsvmDataFormatLoadModelConnector
 {
 
+    private XgboostModel model;
+
     @Override
-    protected File runPrediction(File testFile) throws Exception
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+
+        try {
+            model = XgboostModel.load(new File(tcModelLocation, Constants.MODEL_CLASSIFIER));
+        }
+        catch (Exception e) {
+            throw new ResourceInitializationException(e);
+        }
+    }
+
+    @Override
+    protected List<String> predict(List<Instance> instances) throws Exception
     {
+        int[][] featureIds = new int[instances.size()][];
+        double[][] featureValues = new double[instances.size()][];
+        toSparseArrays(instances, featureIds, featureValues);
 
-        File model = new File(tcModelLocation, Constants.MODEL_CLASSIFIER);
-        
+        XgboostPredictor predictor = new XgboostPredictor();
+        return predictor.predict(featureIds, featureValues, model);
+    }
+
+    @Override
+    protected File runPrediction(File testFile) throws Exception
+    {
         XgboostPredictor predictor = new XgboostPredictor();
         List<String> predict = predictor.predict(testFile, model);
-        
+
         File predictions = FileUtil.createTempFile("xgboostPrediction", ".txt");
         FileUtils.writeLines(predictions, "utf-8", predict);
 
@@ -46,4 +73,4 @@ public class XgboostLoadModelConnector
         return predictions;
     }
 
-}
\ No newline at end of file
+}
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.dkpro.tc.ml.xgboost.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -56,6 +57,30 @@ public class XgboostBackendTest
         predict();
     }
 
+    @Test
+    public void testInMemoryPredictionEqualsExecutable() throws Exception
+    {
+        train();
+
+        List<String> expected = new XgboostPredictor().predict(data, model);
+        List<String> actual = new XgboostPredictor().predict(data, XgboostModel.load(model));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testRegressionPredictionEqualsExecutable() throws Exception
+    {
+        // predictions with fraction digits have to be formatted as by the executable
+        train("objective=reg:linear");
+
+        List<String> expected = new XgboostPredictor().predict(data, model);
+        List<String> actual = new XgboostPredictor().predict(data, XgboostModel.load(model));
+
+        assertTrue(expected.stream().anyMatch(p -> p.contains(".")));
+        assertEquals(expected, actual);
+    }
+
     private void predict() throws Exception
     {
         TcPredictor predictor = new XgboostPredictor();
@@ -70,11 +95,15 @@ public class XgboostBackendTest
     }
 
     private void train() throws Exception
+    {
+        train("objective=multi:softmax", "num_class=32");
+    }
+
+    private void train(String... parameters) throws Exception
     {
         TcTrainer trainer = new XgboostTrainer();
         long sizeBefore = model.length();
-        trainer.train(data, model,
-                Arrays.asList(new String[] { "objective=multi:softmax", "num_class=32" }));
+        trainer.train(data, model, Arrays.asList(parameters));
         long sizeAfter = model.length();
 
         assertTrue(model != null && model.exists());
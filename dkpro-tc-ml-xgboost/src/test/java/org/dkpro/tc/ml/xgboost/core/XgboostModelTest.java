@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.xgboost.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class XgboostModelTest
+{
+    @Test
+    public void testBinaryLogistic() throws Exception
+    {
+        // one tree: f1 < 0.5 ? (f2 < 2 ? -1 : 2) : 0.5, missing f1 goes right, missing f2 left
+        ModelBuilder b = new ModelBuilder("binary:logistic", 0.0f, 2, 1);
+        b.tree(0, new int[][] { { 1, 2, 1, 0 }, { 3, 4, 2, 1 }, { -1, -1, -1, 0 },
+                { -1, -1, -1, 0 }, { -1, -1, -1, 0 } },
+                new float[] { 0.5f, 2.0f, 0.5f, -1.0f, 2.0f });
+        XgboostModel model = b.build();
+
+        assertMargin(model, -1.0, new int[] { 1, 2 }, new double[] { 0.1, 1.0 });
+        assertMargin(model, 2.0, new int[] { 1, 2 }, new double[] { 0.1, 5.0 });
+        assertMargin(model, 0.5, new int[] { 1, 2 }, new double[] { 0.7, 1.0 });
+        // missing values follow the default direction
+        assertMargin(model, 0.5, new int[] { 2 }, new double[] { 1.0 });
+        assertMargin(model, -1.0, new int[] { 1 }, new double[] { 0.1 });
+
+        assertEquals(1.0 / (1.0 + Math.exp(-2.0)),
+                model.predict(new int[] { 1, 2 }, new double[] { 0.1, 5.0 })[0], 0.000001);
+
+        XgboostPredictor predictor = new XgboostPredictor();
+        assertEquals("[0.268941, 0.880797, 0.622459]",
+                predictor.predict(new int[][] { { 1, 2 }, { 1, 2 }, { 1, 2 } },
+                        new double[][] { { 0.1, 1.0 }, { 0.1, 5.0 }, { 0.7, 1.0 } }, model)
+                        .toString());
+    }
+
+    @Test
+    public void testPredictionFormat()
+    {
+        // the executable writes predictions with %g
+        assertEquals("3", XgboostPredictor.formatPrediction(3.0f));
+        assertEquals("-0.5", XgboostPredictor.formatPrediction(-0.5f));
+        assertEquals("0.119203", XgboostPredictor.formatPrediction(0.11920292f));
+        assertEquals("123457", XgboostPredictor.formatPrediction(123456.7f));
+        assertEquals("0.0001", XgboostPredictor.formatPrediction(0.0001f));
+        assertEquals("1e-05", XgboostPredictor.formatPrediction(0.00001f));
+        assertEquals("1.234e-05", XgboostPredictor.formatPrediction(0.00001234f));
+        assertEquals("1e+06", XgboostPredictor.formatPrediction(1000000f));
+        assertEquals("-2.5e+10", XgboostPredictor.formatPrediction(-2.5e10f));
+        assertEquals("1.4013e-45", XgboostPredictor.formatPrediction(Float.MIN_VALUE));
+        assertEquals("0", XgboostPredictor.formatPrediction(0f));
+    }
+
+    @Test
+    public void testMultiSoftmax() throws Exception
+    {
+        ModelBuilder b = new ModelBuilder("multi:softmax", 0.5f, 3, 3);
+        // one stump per class, all split on feature 0
+        b.tree(0, stump(0), new float[] { 1.0f, 1.0f, -1.0f });
+        b.tree(1, stump(0), new float[] { 1.0f, -1.0f, 1.0f });
+        b.tree(2, stump(0), new float[] { 1.0f, -0.5f, 0.5f });
+        XgboostModel model = b.build();
+
+        assertEquals(0, model.predict(new int[] { 0 }, new double[] { 0.0 })[0], 0.0);
+        assertEquals(1, model.predict(new int[] { 0 }, new double[] { 3.0 })[0], 0.0);
+
+        XgboostPredictor predictor = new XgboostPredictor();
+        assertEquals("[0, 1]", predictor.predict(new int[][] { { 0 }, { 0 } },
+                new double[][] { { 0.0 }, { 3.0 } }, model).toString());
+    }
+
+    private static int[][] stump(int feature)
+    {
+        return new int[][] { { 1, 2, feature, 0 }, { -1, -1, -1, 0 }, { -1, -1, -1, 0 } };
+    }
+
+    private static void assertMargin(XgboostModel model, double expected, int[] ids,
+            double[] values)
+    {
+        assertEquals(expected, model.predictMargin(ids, values)[0], 0.000001);
+    }
+
+    /**
+     * Writes a gbtree model in the binary format of the Xgboost executable.
+     */
+    private static class ModelBuilder
+    {
+        private final ByteArrayOutputStream trees = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream treeInfo = new ByteArrayOutputStream();
+        private final String objective;
+        private final float baseScore;
+        private final int numFeature;
+        private final int numGroups;
+        private int numTrees;
+
+        ModelBuilder(String objective, float baseScore, int numFeature, int numGroups)
+        {
+            this.objective = objective;
+            this.baseScore = baseScore;
+            this.numFeature = numFeature;
+            this.numGroups = numGroups;
+        }
+
+        /**
+         * @param nodes
+         *            left child, right child, split feature and default left (0/1) of each node
+         * @param values
+         *            split condition or leaf value of each node
+         */
+        void tree(int group, int[][] nodes, float[] values) throws Exception
+        {
+            ByteBuffer bb = buffer(37 * 4 + nodes.length * (20 + 16));
+            bb.putInt(1).putInt(nodes.length).putInt(0).putInt(0).putInt(numFeature).putInt(0);
+            bb.position(37 * 4);
+            for (int i = 0; i < nodes.length; i++) {
+                int sindex = nodes[i][2] < 0 ? 0 : nodes[i][2] | (nodes[i][3] << 31);
+                bb.putInt(-1).putInt(nodes[i][0]).putInt(nodes[i][1]).putInt(sindex)
+                        .putFloat(values[i]);
+            }
+            trees.write(bb.array());
+            treeInfo.write(buffer(4).putInt(group).array());
+            numTrees++;
+        }
+
+        XgboostModel build() throws Exception
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ByteBuffer learner = buffer(34 * 4);
+            learner.putFloat(baseScore).putInt(numFeature).putInt(numGroups > 1 ? numGroups : 0);
+            out.write(learner.array());
+            writeString(out, objective);
+            writeString(out, "gbtree");
+
+            ByteBuffer gbtree = buffer(160);
+            gbtree.putInt(numTrees).putInt(1).putInt(numFeature).putInt(0).putLong(0)
+                    .putInt(numGroups).putInt(0);
+            out.write(gbtree.array());
+            out.write(trees.toByteArray());
+            out.write(treeInfo.toByteArray());
+
+            return XgboostModel.load(new ByteArrayInputStream(out.toByteArray()));
+        }
+
+        private static void writeString(ByteArrayOutputStream out, String s) throws Exception
+        {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.write(buffer(8).putLong(bytes.length).array());
+            out.write(bytes);
+        }
+
+        private static ByteBuffer buffer(int size)
+        {
+            return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
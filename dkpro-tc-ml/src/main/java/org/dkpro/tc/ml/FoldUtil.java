@@ -18,16 +18,19 @@
 package org.dkpro.tc.ml;
 
 import java.io.File;
-import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineDescription;
 import org.apache.uima.collection.CollectionReaderDescription;
 import org.apache.uima.fit.factory.AnalysisEngineFactory;
-import org.apache.uima.fit.factory.CollectionReaderFactory;
 import org.apache.uima.fit.pipeline.SimplePipeline;
-
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasWriter;
+import org.dkpro.tc.core.io.CasArchive;
+import org.dkpro.tc.core.io.CasArchiveWriter;
 
 public class FoldUtil
 {
@@ -57,10 +60,11 @@ public class FoldUtil
         File outputFolder = new File(inputFolder, "output");
         int splitNum = (int) Math.ceil(numFolds / (double) numAvailableJCas);
 
-        CollectionReaderDescription createReader = CollectionReaderFactory.createReaderDescription(
-                BinaryCasReader.class, BinaryCasReader.PARAM_SOURCE_LOCATION, inputFolder,
-                BinaryCasReader.PARAM_PATTERNS, "*.bin",
-                BinaryCasReader.PARAM_ADD_DOCUMENT_METADATA, false);
+        // archives are only appended to, a split from an earlier run must not be read or extended
+        FileUtils.deleteQuietly(outputFolder);
+
+        CollectionReaderDescription createReader = CasArchive
+                .createReaderDescription(new File(inputFolder));
 
         AnalysisEngineDescription multiplier = AnalysisEngineFactory.createEngineDescription(
                 FoldClassificationUnitCasMultiplier.class,
@@ -68,8 +72,8 @@ public class FoldUtil
                 FoldClassificationUnitCasMultiplier.PARAM_USE_SEQUENCES, isSequence);
 
         AnalysisEngineDescription xmiWriter = AnalysisEngineFactory.createEngineDescription(
-                BinaryCasWriter.class, BinaryCasWriter.PARAM_TARGET_LOCATION,
-                outputFolder.getAbsolutePath(), BinaryCasWriter.PARAM_FORMAT, "6+");
+                CasArchiveWriter.class, CasArchiveWriter.PARAM_TARGET_LOCATION,
+                outputFolder.getAbsolutePath());
 
         AnalysisEngineDescription both = AnalysisEngineFactory.createEngineDescription(multiplier,
                 xmiWriter);
@@ -95,18 +99,50 @@ public class FoldUtil
     private static void isNumberOfCasCreatedLargerEqualNumFolds(File outputFolder, int numFolds)
         throws Exception
     {
-        File[] listFiles = outputFolder.listFiles(new FilenameFilter()
-        {
-
-            @Override
-            public boolean accept(File dir, String name)
-            {
-                return name.endsWith(".bin");
-            }
-        });
-        if (listFiles != null && listFiles.length < numFolds) {
+        if (CasArchive.countEntries(outputFolder) < numFolds) {
             throw new IllegalStateException("Failed to create at least [" + numFolds + "] CAS");
         }
     }
 
+    /**
+     * Lists the CASes stored in a folder, i.e. the entries among which the folds are assigned.
+     * The entries are ordered by the names of their documents, which is the order of the binary CAS
+     * files the documents were stored in before. The folds thus do not depend on the order in which
+     * the documents were written to the archives.
+     * 
+     * @param folder
+     *            the folder with the CAS archives
+     * @return the entries
+     */
+    public static String[] listEntries(File folder)
+    {
+        try {
+            List<String> entries = CasArchive.listEntries(folder);
+            Map<String, String> names = CasArchive.getDocumentNames(entries);
+            entries.sort(Comparator.comparing(names::get));
+            return entries.toArray(new String[entries.size()]);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Maps the entries to the names of their documents, which are derived from the document URI
+     * or id as for binary CAS files. Fold comparators work on these names rather than on the
+     * entries, which only denote positions in an archive.
+     * 
+     * @param entries
+     *            the entries, as obtained from {@link #listEntries(File)}
+     * @return the document name of each entry
+     */
+    public static Map<String, String> getDocumentNames(String[] entries)
+    {
+        try {
+            return CasArchive.getDocumentNames(Arrays.asList(entries));
+        }
+        catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,493 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.base;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Keeps native classifier processes alive between predictions, so that the model is loaded only
+ * once instead of once per call. A pool manages the processes for one command line, i.e. for
+ * one model. A request is written to the standard input of an idle process, the response is
+ * read from its standard output line by line until the expected number of lines has been
+ * received.
+ *
+ * Before a process is used, it is checked whether it is still alive; a process that died or
+ * failed during a request is replaced by a new one and the request is repeated once. If a
+ * process does not answer within the response timeout, the request fails and the process is
+ * replaced. After {@link #MAX_CONSECUTIVE_TIMEOUTS} timeouts in a row, the tool obviously does
+ * not produce output before its input is closed. The pool is then marked as not usable and
+ * callers fall back to starting a new process per prediction. The default timeout of
+ * {@link #DEFAULT_RESPONSE_TIMEOUT_MILLIS} can be changed with the system property
+ * {@link #PROPERTY_RESPONSE_TIMEOUT_MILLIS} or per pool with
+ * {@link #setResponseTimeoutMillis(long)}.
+ *
+ * Components that use a pool register with {@link #acquire(List)} and unregister with
+ * {@link #release(List)}; the processes are terminated when the last user is gone.
+ */
+public class CoProcessPool
+    implements Closeable
+{
+    public static final long DEFAULT_RESPONSE_TIMEOUT_MILLIS = 10000;
+
+    public static final String PROPERTY_RESPONSE_TIMEOUT_MILLIS = "dkpro.tc.coprocess.timeout";
+
+    public static final int MAX_CONSECUTIVE_TIMEOUTS = 3;
+
+    private static final File STDBUF = new File("/usr/bin/stdbuf");
+
+    private static final Map<List<String>, CoProcessPool> pools = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread()
+        {
+            @Override
+            public void run()
+            {
+                for (CoProcessPool pool : pools.values()) {
+                    pool.close();
+                }
+            }
+        });
+    }
+
+    private final List<String> command;
+    private final int maxProcesses;
+    private final AtomicInteger consecutiveTimeouts = new AtomicInteger();
+    private volatile long responseTimeoutMillis;
+
+    // changed only in the compute functions of the pool map
+    private int users = 0;
+
+    // guards all following fields, signalled when a process becomes idle, a process slot is
+    // freed or the pool is closed
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<Worker> idle = new ArrayDeque<>();
+    private final List<Worker> workers = new ArrayList<>();
+    private int running = 0;
+    private boolean closed = false;
+
+    CoProcessPool(List<String> command, int maxProcesses, long responseTimeoutMillis)
+    {
+        this.command = new ArrayList<>(command);
+        this.maxProcesses = Math.max(1, maxProcesses);
+        this.responseTimeoutMillis = responseTimeoutMillis;
+    }
+
+    private static CoProcessPool create(List<String> command)
+    {
+        return new CoProcessPool(command, Runtime.getRuntime().availableProcessors(),
+                Long.getLong(PROPERTY_RESPONSE_TIMEOUT_MILLIS, DEFAULT_RESPONSE_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Returns the pool for the command, which is created on the first call. A pool starts at most
+     * as many processes as there are processors.
+     * 
+     * @param command
+     *            the command that starts the process, including the model
+     * @return the pool
+     */
+    public static CoProcessPool get(List<String> command)
+    {
+        return pools.computeIfAbsent(command, CoProcessPool::create);
+    }
+
+    /**
+     * Registers a user of the pool for the command. Each call has to be matched by a call of
+     * {@link #release(List)}.
+     * 
+     * @param command
+     *            the command that starts the process, including the model
+     * @return the pool
+     */
+    public static CoProcessPool acquire(List<String> command)
+    {
+        return pools.compute(command, (c, pool) -> {
+            CoProcessPool p = pool != null ? pool : create(c);
+            p.users++;
+            return p;
+        });
+    }
+
+    /**
+     * Unregisters a user of the pool for the command. The processes of the pool are terminated
+     * when no user is left.
+     * 
+     * @param command
+     *            the command that starts the process
+     */
+    public static void release(List<String> command)
+    {
+        pools.computeIfPresent(command, (c, pool) -> {
+            if (--pool.users > 0) {
+                return pool;
+            }
+            pool.close();
+            return null;
+        });
+    }
+
+    /**
+     * @param millis
+     *            the time to wait for the first or next line of a response
+     */
+    public void setResponseTimeoutMillis(long millis)
+    {
+        responseTimeoutMillis = millis;
+    }
+
+    /**
+     * @return false if the pool has been closed or the tool repeatedly did not answer requests
+     *         while its input is still open
+     */
+    public boolean isUsable()
+    {
+        lock.lock();
+        try {
+            return !closed && consecutiveTimeouts.get() < MAX_CONSECUTIVE_TIMEOUTS;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends a request to an idle process and waits for the response. If all processes are busy,
+     * the call waits until one of them is returned.
+     * 
+     * @param request
+     *            the data that is written to the standard input, must end with a line break
+     * @param responseLines
+     *            the number of lines the process writes for this request
+     * @return the response lines
+     * @throws IOException
+     *             if the request failed, also after restarting the process, or the pool has been
+     *             closed
+     */
+    public List<String> execute(String request, int responseLines) throws IOException
+    {
+        if (!isUsable()) {
+            throw new IOException("Process [" + command + "] does not answer requests");
+        }
+
+        Worker worker = borrow();
+        try {
+            return worker.execute(request, responseLines);
+        }
+        catch (ResponseTimeoutException e) {
+            // a tool that does not answer would only stall the retry as well
+            discard(worker);
+            worker = null;
+            throw e;
+        }
+        catch (IOException e) {
+            discard(worker);
+            worker = null;
+            if (!isUsable()) {
+                throw e;
+            }
+            LogFactory.getLog(getClass())
+                    .warn("Restarting process [" + command + "]: " + e.getMessage());
+        }
+        finally {
+            if (worker != null) {
+                giveBack(worker);
+            }
+        }
+
+        worker = borrow();
+        try {
+            List<String> response = worker.execute(request, responseLines);
+            giveBack(worker);
+            return response;
+        }
+        catch (IOException e) {
+            discard(worker);
+            throw e;
+        }
+    }
+
+    private Worker borrow() throws IOException
+    {
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IOException("Pool for process [" + command + "] has been closed");
+                }
+                Worker worker = idle.poll();
+                if (worker != null) {
+                    // health check, a process might have died while it was idle
+                    if (worker.isHealthy()) {
+                        return worker;
+                    }
+                    worker.destroy();
+                    workers.remove(worker);
+                    running--;
+                }
+                if (running < maxProcesses) {
+                    running++;
+                    break;
+                }
+                available.await();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        finally {
+            lock.unlock();
+        }
+
+        // the process is started outside of the lock, other callers do not have to wait for it
+        Worker worker;
+        try {
+            worker = new Worker(lineBuffered(command));
+        }
+        catch (IOException e) {
+            freeSlot();
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            if (closed) {
+                worker.destroy();
+                throw new IOException("Pool for process [" + command + "] has been closed");
+            }
+            workers.add(worker);
+            return worker;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void giveBack(Worker worker)
+    {
+        lock.lock();
+        try {
+            if (closed) {
+                worker.destroy();
+                return;
+            }
+            idle.add(worker);
+            available.signal();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(Worker worker)
+    {
+        worker.destroy();
+        lock.lock();
+        try {
+            // after closing, the slots are not counted anymore
+            if (!closed && workers.remove(worker)) {
+                running--;
+                available.signal();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void freeSlot()
+    {
+        lock.lock();
+        try {
+            running--;
+            available.signal();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of processes that are currently running
+     */
+    int getNumProcesses()
+    {
+        lock.lock();
+        try {
+            return workers.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Native tools usually buffer their output if it is not written to a terminal. If available,
+     * stdbuf switches them to line buffering.
+     */
+    private static List<String> lineBuffered(List<String> command)
+    {
+        if (!STDBUF.canExecute()) {
+            return command;
+        }
+        List<String> wrapped = new ArrayList<>();
+        wrapped.add(STDBUF.getAbsolutePath());
+        wrapped.add("-oL");
+        wrapped.addAll(command);
+        return wrapped;
+    }
+
+    /**
+     * Terminates all processes. Callers that wait for a process fail, as do further requests.
+     */
+    @Override
+    public void close()
+    {
+        lock.lock();
+        try {
+            closed = true;
+            for (Worker w : workers) {
+                w.destroy();
+            }
+            workers.clear();
+            idle.clear();
+            running = 0;
+            available.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private class Worker
+    {
+        // marks the end of the output, compared by identity
+        private final String endOfOutput = new String();
+
+        private final Process process;
+        private final BufferedWriter input;
+        private final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+
+        Worker(List<String> command) throws IOException
+        {
+            ProcessBuilder pb = new ProcessBuilder(command);
+            pb.redirectError(Redirect.INHERIT);
+            process = pb.start();
+            input = new BufferedWriter(
+                    new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+            // the output is read concurrently, otherwise writing a large request could block
+            // while the process waits for its output to be consumed
+            Thread reader = new Thread(this::readOutput, "co-process-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void readOutput()
+        {
+            try (BufferedReader r = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    output.add(line);
+                }
+            }
+            catch (IOException e) {
+                // the process has been terminated
+            }
+            output.add(endOfOutput);
+        }
+
+        boolean isHealthy()
+        {
+            // left-over output means that the last response was not consumed completely
+            return process.isAlive() && output.isEmpty();
+        }
+
+        List<String> execute(String request, int responseLines) throws IOException
+        {
+            input.write(request);
+            input.flush();
+
+            long timeout = responseTimeoutMillis;
+            List<String> response = new ArrayList<>(responseLines);
+            try {
+                while (response.size() < responseLines) {
+                    String line = output.poll(timeout, TimeUnit.MILLISECONDS);
+                    if (line == null) {
+                        consecutiveTimeouts.incrementAndGet();
+                        throw new ResponseTimeoutException("Process [" + command
+                                + "] did not answer within [" + timeout + "] ms");
+                    }
+                    if (line == endOfOutput) {
+                        throw new EOFException("Process [" + command + "] terminated");
+                    }
+                    response.add(line);
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            consecutiveTimeouts.set(0);
+            return response;
+        }
+
+        void destroy()
+        {
+            process.destroyForcibly();
+        }
+    }
+
+    private static class ResponseTimeoutException
+        extends IOException
+    {
+        private static final long serialVersionUID = 1L;
+
+        ResponseTimeoutException(String message)
+        {
+            super(message);
+        }
+    }
+}
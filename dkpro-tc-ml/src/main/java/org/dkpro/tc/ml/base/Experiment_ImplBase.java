@@ -32,8 +32,8 @@ import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.reporting.Report;
 import org.dkpro.lab.task.Dimension;
+import org.dkpro.lab.task.BatchTask;
 import org.dkpro.lab.task.ParameterSpace;
-import org.dkpro.lab.task.impl.DefaultBatchTask;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.ml.DiscriminableNameConverter;
 
@@ -42,7 +42,7 @@ import org.dkpro.tc.ml.DiscriminableNameConverter;
  * 
  */
 public abstract class Experiment_ImplBase
-    extends DefaultBatchTask
+    extends ReplicableBatchTask
 {
 
     protected String experimentName;
@@ -106,6 +106,37 @@ public abstract class Experiment_ImplBase
 
     protected abstract void init() throws IllegalStateException;
 
+    /**
+     * Experiments do not support replication by default; their configurations are executed one
+     * after another.
+     */
+    @Override
+    public BatchTask replicate() throws Exception
+    {
+        return null;
+    }
+
+    /**
+     * Copies the settings of this experiment to a newly created experiment and creates the
+     * subtasks of the copy.
+     * 
+     * @param replica
+     *            a new experiment of the same type, its type-specific settings have to be set
+     *            already
+     * @return the replica
+     */
+    protected <T extends Experiment_ImplBase> T initReplica(T replica)
+    {
+        replica.experimentName = experimentName;
+        replica.preprocessing = preprocessing;
+        replica.operativeViews = operativeViews;
+        replica.innerReports = innerReports;
+        replica.setType(getType());
+        replica.setExecutionPolicy(getExecutionPolicy());
+        replica.init();
+        return replica;
+    }
+
     public void setExperimentName(String experimentName)
     {
         boolean invalidCharsFound = experimentNameContainsInvalidCharacters(experimentName);
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.base;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.dkpro.lab.Lab;
+import org.dkpro.lab.engine.ExecutionException;
+import org.dkpro.lab.engine.LifeCycleException;
+import org.dkpro.lab.engine.TaskContext;
+import org.dkpro.lab.engine.TaskExecutionEngine;
+import org.dkpro.lab.engine.TaskExecutionService;
+import org.dkpro.lab.engine.impl.BatchTaskEngine;
+import org.dkpro.lab.engine.impl.DefaultTaskExecutionService;
+import org.dkpro.lab.task.BatchTask;
+import org.dkpro.lab.task.Dimension;
+import org.dkpro.lab.task.Task;
+import org.dkpro.lab.task.impl.DefaultBatchTask;
+
+/**
+ * Batch task engine that executes the configurations of a {@link ReplicableBatchTask}, e.g. the
+ * folds of a cross-validation or the configurations of an experiment's parameter space,
+ * concurrently. Each concurrently executed configuration runs on a replica of the batch task, so
+ * that the subtasks and their output folders are not shared with other configurations.
+ * 
+ * The first configuration of a batch task is always executed by the calling thread. Subtasks
+ * which do not depend on the varying parameters are thus executed once and are re-used by all
+ * other configurations, as in a sequential run. The reports of the batch task are executed after
+ * all configurations have completed.
+ * 
+ * The number of configurations executed at the same time is bounded for the whole JVM, nested
+ * batch tasks share this limit. A configuration which finds no free slot is executed by the
+ * calling thread.
+ */
+public class ParallelBatchTaskEngine
+    extends BatchTaskEngine
+{
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "tc-configuration");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static volatile Semaphore slots = new Semaphore(0);
+
+    private static int registrations = 0;
+    private static Class<? extends TaskExecutionEngine> previousEngine;
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final Deque<Future<Set<String>>> pending = new ArrayDeque<>();
+
+    private boolean executedFirst = false;
+
+    /**
+     * Runs the task with this engine registered for all batch tasks of the lab. The engine that
+     * was registered before is restored afterwards.
+     * 
+     * @param aTask
+     *            the task to run
+     * @param maxParallelConfigurations
+     *            the maximal number of configurations executed at the same time, including the
+     *            thread that started the experiment
+     * @throws Exception
+     *             if the task fails
+     */
+    public static void run(Task aTask, int maxParallelConfigurations) throws Exception
+    {
+        register(maxParallelConfigurations);
+        try {
+            Lab.getInstance().run(aTask);
+        }
+        finally {
+            unregister();
+        }
+    }
+
+    /**
+     * Registers this engine for all batch tasks run by the lab. Each call has to be matched by a
+     * call of {@link #unregister()}. Experiments that run at the same time share the engine and
+     * the limit of the first registration.
+     * 
+     * @param maxParallelConfigurations
+     *            the maximal number of configurations executed at the same time, including the
+     *            thread that started the experiment
+     */
+    public static synchronized void register(int maxParallelConfigurations)
+    {
+        if (maxParallelConfigurations < 1) {
+            throw new IllegalArgumentException(
+                    "The number of parallel configurations must be at least one but was ["
+                            + maxParallelConfigurations + "]");
+        }
+
+        if (registrations == 0) {
+            DefaultTaskExecutionService service = getExecutionService();
+            previousEngine = service.createEngine(new DefaultBatchTask()).getClass();
+            slots = new Semaphore(maxParallelConfigurations - 1);
+            service.registerEngine(BatchTask.class, ParallelBatchTaskEngine.class);
+        }
+        registrations++;
+    }
+
+    /**
+     * Restores the batch task engine that was registered before the first call of
+     * {@link #register(int)} once the last registration has been withdrawn.
+     */
+    public static synchronized void unregister()
+    {
+        if (registrations == 0) {
+            throw new IllegalStateException("The engine has not been registered");
+        }
+
+        registrations--;
+        if (registrations == 0) {
+            getExecutionService().registerEngine(BatchTask.class, previousEngine);
+            previousEngine = null;
+            slots = new Semaphore(0);
+        }
+    }
+
+    private static DefaultTaskExecutionService getExecutionService()
+    {
+        TaskExecutionService service = Lab.getInstance().getTaskExecutionService();
+        if (!(service instanceof DefaultTaskExecutionService)) {
+            throw new IllegalStateException("Cannot register engine with execution service of type ["
+                    + service.getClass().getName() + "]");
+        }
+        return (DefaultTaskExecutionService) service;
+    }
+
+    @Override
+    protected void executeConfiguration(BatchTask aConfiguration, TaskContext aContext,
+            Map<String, Object> aConfig, Set<String> aExecutedSubtasks)
+        throws ExecutionException, LifeCycleException
+    {
+        Semaphore available = slots;
+        BatchTask replica = executedFirst ? getReplica(aConfiguration, available) : null;
+        executedFirst = true;
+
+        if (replica == null) {
+            try {
+                super.executeConfiguration(aConfiguration, aContext, aConfig, aExecutedSubtasks);
+            }
+            catch (ExecutionException | LifeCycleException | RuntimeException e) {
+                cancelPending();
+                throw e;
+            }
+        }
+        else {
+            // the replica sees the subtasks executed so far, but none of the other replicas
+            Map<String, Object> config = new HashMap<>(aConfig);
+            Set<String> scope = new LinkedHashSet<>(aExecutedSubtasks);
+
+            pending.add(executor.submit(() -> {
+                try {
+                    super.executeConfiguration(replica, aContext, config, scope);
+                    return scope;
+                }
+                finally {
+                    available.release();
+                }
+            }));
+        }
+
+        // the reports of the batch task need the subtasks of all configurations
+        if (!hasMoreConfigurations(aConfiguration)) {
+            awaitPending(aExecutedSubtasks);
+        }
+    }
+
+    private BatchTask getReplica(BatchTask aConfiguration, Semaphore aSlots)
+    {
+        if (!(aConfiguration instanceof ReplicableBatchTask) || !aSlots.tryAcquire()) {
+            return null;
+        }
+
+        try {
+            BatchTask replica = ((ReplicableBatchTask) aConfiguration).replicate();
+            if (replica == null) {
+                aSlots.release();
+            }
+            return replica;
+        }
+        catch (Exception e) {
+            aSlots.release();
+            log.warn("Cannot replicate [" + aConfiguration.getType()
+                    + "], executing the configuration sequentially", e);
+            return null;
+        }
+    }
+
+    private static boolean hasMoreConfigurations(BatchTask aConfiguration)
+    {
+        for (Dimension<?> d : aConfiguration.getParameterSpace().getDimensions()) {
+            if (d.hasNext()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void awaitPending(Set<String> aExecutedSubtasks)
+        throws ExecutionException, LifeCycleException
+    {
+        try {
+            while (!pending.isEmpty()) {
+                aExecutedSubtasks.addAll(pending.peek().get());
+                pending.poll();
+            }
+        }
+        catch (java.util.concurrent.ExecutionException e) {
+            cancelPending();
+            Throwable cause = e.getCause();
+            if (cause instanceof ExecutionException) {
+                throw (ExecutionException) cause;
+            }
+            if (cause instanceof LifeCycleException) {
+                throw (LifeCycleException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ExecutionException(cause);
+        }
+        catch (InterruptedException e) {
+            cancelPending();
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        }
+    }
+
+    private void cancelPending()
+    {
+        for (Future<Set<String>> f : pending) {
+            f.cancel(true);
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.base;
+
+import org.dkpro.lab.task.BatchTask;
+import org.dkpro.lab.task.impl.DefaultBatchTask;
+
+/**
+ * A batch task whose configurations can be executed concurrently by the
+ * {@link ParallelBatchTaskEngine}. The lab configures the subtasks of a batch task for each
+ * configuration by setting their discriminators, hence two configurations cannot be executed at
+ * the same time on the same subtask objects. A replica provides its own, identically set up
+ * subtasks.
+ */
+public abstract class ReplicableBatchTask
+    extends DefaultBatchTask
+{
+    /**
+     * @return a copy of this batch task with its own subtasks or {@code null} if this task cannot
+     *         be copied, in which case its configurations are executed one after another
+     * @throws Exception
+     *             if the copy cannot be created
+     */
+    public abstract BatchTask replicate() throws Exception;
+}
@@ -19,31 +19,34 @@ package org.dkpro.tc.ml.experiment;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.reporting.Report;
 import org.dkpro.lab.reporting.ReportBase;
 import org.dkpro.lab.storage.StorageService.AccessMode;
 import org.dkpro.lab.task.Dimension;
 import org.dkpro.lab.task.Discriminator;
+import org.dkpro.lab.task.BatchTask;
 import org.dkpro.lab.task.ParameterSpace;
-import org.dkpro.lab.task.impl.DefaultBatchTask;
 import org.dkpro.lab.task.impl.FoldDimensionBundle;
 import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.TcFeatureSet;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.task.DKProTcShallowTestTask;
 import org.dkpro.tc.core.task.ExtractFeaturesTask;
+import org.dkpro.tc.core.task.FeatureStoreTask;
 import org.dkpro.tc.core.task.InitTask;
 import org.dkpro.tc.core.task.MetaInfoTask;
 import org.dkpro.tc.core.task.OutcomeCollectionTask;
 import org.dkpro.tc.core.task.TcTaskType;
 import org.dkpro.tc.ml.FoldUtil;
+import org.dkpro.tc.ml.base.ReplicableBatchTask;
 import org.dkpro.tc.ml.base.ShallowLearningExperiment_ImplBase;
 import org.dkpro.tc.ml.report.BasicResultReport;
 import org.dkpro.tc.ml.report.shallowlearning.InnerReport;
@@ -61,11 +64,14 @@ public class ExperimentCrossValidation
     protected int numFolds = 10;
 
     protected InitTask initTask;
+    protected FeatureStoreTask featureStoreTask;
+    protected boolean useFeatureStore = true;
     protected OutcomeCollectionTask collectionTask;
     protected MetaInfoTask metaTask;
     protected ExtractFeaturesTask extractFeaturesTrainTask;
     protected ExtractFeaturesTask extractFeaturesTestTask;
     protected TaskBase testTask;
+    protected ReplicableBatchTask crossValidationTask;
 
     public ExperimentCrossValidation()
     {/* needed for Groovy */
@@ -135,8 +141,20 @@ public class ExperimentCrossValidation
         initTask.setType(initTask.getType() + "-" + experimentName);
         initTask.setAttribute(TC_TASK_TYPE, TcTaskType.INIT_TRAIN.toString());
 
+        // extracting the features of all documents once, the folds take their instances from
+        // this store if no feature extractor depends on meta data of the fold
+        if (getParameterSpace() != null) {
+            useFeatureStore = hasStorableFeatureSet(getParameterSpace());
+        }
+        if (useFeatureStore) {
+            featureStoreTask = new FeatureStoreTask();
+            featureStoreTask.setType(featureStoreTask.getType() + "-" + experimentName);
+            featureStoreTask.addImport(initTask, InitTask.OUTPUT_KEY_TRAIN,
+                    FeatureStoreTask.INPUT_KEY);
+        }
+
         // inner batch task (carried out numFolds times)
-        DefaultBatchTask crossValidationTask = new DefaultBatchTask()
+        crossValidationTask = new ReplicableBatchTask()
         {
             @Discriminator(name = DIM_FEATURE_MODE)
             private String featureMode;
@@ -151,16 +169,8 @@ public class ExperimentCrossValidation
 
                 File xmiPathRoot = aContext.getFolder(InitTask.OUTPUT_KEY_TRAIN,
                         AccessMode.READONLY);
-                Collection<File> files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" },
-                        true);
-                String[] fileNames = new String[files.size()];
-                int i = 0;
-                for (File f : files) {
-                    // adding file paths, not names
-                    fileNames[i] = f.getAbsolutePath();
-                    i++;
-                }
-                Arrays.sort(fileNames);
+                // adding entry references (archive paths and positions), not names
+                String[] fileNames = FoldUtil.listEntries(xmiPathRoot);
                 if (numFolds == LEAVE_ONE_OUT) {
                     numFolds = fileNames.length;
                 }
@@ -170,14 +180,7 @@ public class ExperimentCrossValidation
                 if (!useCrossValidationManualFolds && fileNames.length < numFolds) {
                     xmiPathRoot = createRequestedNumberOfCas(xmiPathRoot, fileNames.length,
                             featureMode);
-                    files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" }, true);
-                    fileNames = new String[files.size()];
-                    i = 0;
-                    for (File f : files) {
-                        // adding file paths, not names
-                        fileNames[i] = f.getAbsolutePath();
-                        i++;
-                    }
+                    fileNames = FoldUtil.listEntries(xmiPathRoot);
                 }
                 // don't change any names!!
                 FoldDimensionBundle<String> foldDim = getFoldDim(fileNames);
@@ -187,6 +190,14 @@ public class ExperimentCrossValidation
                 setParameterSpace(pSpace);
             }
 
+            @Override
+            public BatchTask replicate() throws Exception
+            {
+                ExperimentCrossValidation replica = (ExperimentCrossValidation) ExperimentCrossValidation.this
+                        .replicate();
+                return replica != null ? replica.crossValidationTask : null;
+            }
+
             /**
              * creates required number of CAS
              * 
@@ -221,19 +232,7 @@ public class ExperimentCrossValidation
 
             private void verfiyThatNeededNumberOfCasWasCreated(File outputFolder)
             {
-                int numCas = 0;
-
-                File[] listFiles = outputFolder.listFiles();
-                if (listFiles == null) {
-                    throw new NullPointerException(
-                            "Retrieving files in folder led to a NullPointer");
-                }
-
-                for (File f : listFiles) {
-                    if (f.getName().contains(".bin")) {
-                        numCas++;
-                    }
-                }
+                int numCas = CasArchive.countEntries(outputFolder);
 
                 if (numCas < numFolds) {
                     throw new IllegalStateException(
@@ -266,6 +265,11 @@ public class ExperimentCrossValidation
                 ExtractFeaturesTask.INPUT_KEY);
         extractFeaturesTrainTask.addImport(collectionTask, OutcomeCollectionTask.OUTPUT_KEY,
                 ExtractFeaturesTask.COLLECTION_INPUT_KEY);
+        if (useFeatureStore) {
+            extractFeaturesTrainTask.addImport(featureStoreTask, FeatureStoreTask.OUTPUT_KEY,
+                    ExtractFeaturesTask.FEATURE_STORE_KEY);
+            extractFeaturesTrainTask.setUseFeatureStore(true);
+        }
         extractFeaturesTrainTask.setAttribute(TC_TASK_TYPE,
                 TcTaskType.FEATURE_EXTRACTION_TRAIN.toString());
 
@@ -280,6 +284,11 @@ public class ExperimentCrossValidation
                 ExtractFeaturesTask.INPUT_KEY);
         extractFeaturesTestTask.addImport(collectionTask, OutcomeCollectionTask.OUTPUT_KEY,
                 ExtractFeaturesTask.COLLECTION_INPUT_KEY);
+        if (useFeatureStore) {
+            extractFeaturesTestTask.addImport(featureStoreTask, FeatureStoreTask.OUTPUT_KEY,
+                    ExtractFeaturesTask.FEATURE_STORE_KEY);
+            extractFeaturesTestTask.setUseFeatureStore(true);
+        }
         extractFeaturesTestTask.setAttribute(TC_TASK_TYPE,
                 TcTaskType.FEATURE_EXTRACTION_TEST.toString());
 
@@ -308,6 +317,9 @@ public class ExperimentCrossValidation
         // ================== CONFIG OF THE INNER BATCH TASK =======================
 
         crossValidationTask.addImport(initTask, InitTask.OUTPUT_KEY_TRAIN);
+        if (useFeatureStore) {
+            crossValidationTask.addImport(featureStoreTask, FeatureStoreTask.OUTPUT_KEY);
+        }
         crossValidationTask.setType(crossValidationTask.getType() + "-" + experimentName);
         crossValidationTask.addTask(collectionTask);
         crossValidationTask.addTask(metaTask);
@@ -323,9 +335,69 @@ public class ExperimentCrossValidation
 
         // DKPro Lab issue 38: must be added as *first* task
         addTask(initTask);
+        if (useFeatureStore) {
+            addTask(featureStoreTask);
+        }
         addTask(crossValidationTask);
     }
 
+    @Override
+    public BatchTask replicate() throws Exception
+    {
+        if (getClass() != ExperimentCrossValidation.class) {
+            return null;
+        }
+
+        ExperimentCrossValidation replica = new ExperimentCrossValidation();
+        replica.numFolds = numFolds;
+        replica.comparator = comparator;
+        // the replica has no parameter space of its own
+        replica.useFeatureStore = useFeatureStore;
+        return initReplica(replica);
+    }
+
+    /**
+     * The feature store is only filled for feature sets without meta dependent feature
+     * extractors, see {@link FeatureStoreTask}. It is not added to the experiment if no feature set
+     * of the parameter space can be stored.
+     * 
+     * @param aParameterSpace
+     *            the parameter space of the experiment
+     * @return true if at least one feature set of the parameter space can be stored
+     */
+    private static boolean hasStorableFeatureSet(ParameterSpace aParameterSpace)
+    {
+        try {
+            for (Dimension<?> d : aParameterSpace.getDimensions()) {
+                try {
+                    d.rewind();
+                    while (d.hasNext()) {
+                        Object value = d.next();
+                        if (value instanceof Map) {
+                            // the feature set is part of a bundle
+                            value = ((Map<?, ?>) value).get(DIM_FEATURE_SET);
+                        }
+                        else if (!DIM_FEATURE_SET.equals(d.getName())) {
+                            break;
+                        }
+
+                        if (value instanceof TcFeatureSet
+                                && !MetaInfoTask.hasMetaDependentExtractor((TcFeatureSet) value)) {
+                            return true;
+                        }
+                    }
+                }
+                finally {
+                    d.rewind();
+                }
+            }
+        }
+        catch (ResourceInitializationException e) {
+            throw new IllegalStateException(e);
+        }
+        return false;
+    }
+
     /**
      * 
      * @param fileNames
@@ -335,8 +407,10 @@ public class ExperimentCrossValidation
     protected FoldDimensionBundle<String> getFoldDim(String[] fileNames)
     {
         if (comparator != null) {
+            // the comparator works on document names, the entries only denote positions
+            Map<String, String> names = FoldUtil.getDocumentNames(fileNames);
             return new FoldDimensionBundle<String>("files", Dimension.create("", fileNames),
-                    numFolds, comparator);
+                    numFolds, (a, b) -> comparator.compare(names.get(a), names.get(b)));
         }
         return new FoldDimensionBundle<String>("files", Dimension.create("", fileNames), numFolds);
     }
@@ -353,7 +427,9 @@ public class ExperimentCrossValidation
     }
 
     /**
-     * Sets a comparator
+     * Sets a comparator which determines the documents that must occur together in the same fold.
+     * It compares the paths the documents would have as binary CAS files, which are derived from
+     * the document URI relative to the base URI or from the document id.
      * 
      * @param aComparator
      *            the comparator
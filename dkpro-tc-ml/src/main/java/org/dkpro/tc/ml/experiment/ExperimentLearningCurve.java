@@ -19,23 +19,21 @@ package org.dkpro.tc.ml.experiment;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 
-import org.apache.commons.io.FileUtils;
 import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.reporting.Report;
 import org.dkpro.lab.reporting.ReportBase;
 import org.dkpro.lab.storage.StorageService.AccessMode;
 import org.dkpro.lab.task.Dimension;
+import org.dkpro.lab.task.BatchTask;
 import org.dkpro.lab.task.Discriminator;
 import org.dkpro.lab.task.ParameterSpace;
-import org.dkpro.lab.task.impl.DefaultBatchTask;
 import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.task.DKProTcShallowTestTask;
 import org.dkpro.tc.core.task.ExtractFeaturesTask;
 import org.dkpro.tc.core.task.InitTask;
@@ -43,6 +41,7 @@ import org.dkpro.tc.core.task.MetaInfoTask;
 import org.dkpro.tc.core.task.OutcomeCollectionTask;
 import org.dkpro.tc.core.task.TcTaskType;
 import org.dkpro.tc.ml.FoldUtil;
+import org.dkpro.tc.ml.base.ReplicableBatchTask;
 import org.dkpro.tc.ml.base.ShallowLearningExperiment_ImplBase;
 import org.dkpro.tc.ml.experiment.dim.LearningCurveDimBundleCrossValidation;
 import org.dkpro.tc.ml.report.BasicResultReport;
@@ -66,6 +65,7 @@ public class ExperimentLearningCurve extends ShallowLearningExperiment_ImplBase
 	protected ExtractFeaturesTask extractFeaturesTrainTask;
 	protected ExtractFeaturesTask extractFeaturesTestTask;
 	protected TaskBase testTask;
+	protected ReplicableBatchTask crossValidationTask;
 	private int aLimitPerStage;
 
 	public ExperimentLearningCurve() {/* needed for Groovy */
@@ -123,27 +123,26 @@ public class ExperimentLearningCurve extends ShallowLearningExperiment_ImplBase
 		initTask.setAttribute(TC_TASK_TYPE, TcTaskType.INIT_TRAIN.toString());
 
 		// inner batch task (carried out numFolds times)
-		DefaultBatchTask crossValidationTask = new DefaultBatchTask() {
+		crossValidationTask = new ReplicableBatchTask() {
 			@Discriminator(name = DIM_FEATURE_MODE)
 			private String featureMode;
 
 			@Discriminator(name = DIM_CROSS_VALIDATION_MANUAL_FOLDS)
 			private boolean useCrossValidationManualFolds;
 
+			@Override
+			public BatchTask replicate() throws Exception {
+				ExperimentLearningCurve replica = (ExperimentLearningCurve) ExperimentLearningCurve.this.replicate();
+				return replica != null ? replica.crossValidationTask : null;
+			}
+
 			@Override
 			public void initialize(TaskContext aContext) {
 				super.initialize(aContext);
 
 				File xmiPathRoot = aContext.getFolder(InitTask.OUTPUT_KEY_TRAIN, AccessMode.READONLY);
-				Collection<File> files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" }, true);
-				String[] fileNames = new String[files.size()];
-				int i = 0;
-				for (File f : files) {
-					// adding file paths, not names
-					fileNames[i] = f.getAbsolutePath();
-					i++;
-				}
-				Arrays.sort(fileNames);
+				// adding entry references (archive paths and positions), not names
+				String[] fileNames = FoldUtil.listEntries(xmiPathRoot);
 				if (aNumFolds == LEAVE_ONE_OUT) {
 					aNumFolds = fileNames.length;
 				}
@@ -153,14 +152,7 @@ public class ExperimentLearningCurve extends ShallowLearningExperiment_ImplBase
 				// off
 				if (!useCrossValidationManualFolds && fileNames.length < aNumFolds) {
 					xmiPathRoot = createRequestedNumberOfCas(xmiPathRoot, fileNames.length, featureMode);
-					files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" }, true);
-					fileNames = new String[files.size()];
-					i = 0;
-					for (File f : files) {
-						// adding file paths, not names
-						fileNames[i] = f.getAbsolutePath();
-						i++;
-					}
+					fileNames = FoldUtil.listEntries(xmiPathRoot);
 				}
 				// don't change any names!!
 				LearningCurveDimBundleCrossValidation foldDim = getFoldDim(fileNames);
@@ -197,18 +189,7 @@ public class ExperimentLearningCurve extends ShallowLearningExperiment_ImplBase
 			}
 
 			private void verfiyThatNeededNumberOfCasWasCreated(File outputFolder) {
-				int numCas = 0;
-
-				File[] listFiles = outputFolder.listFiles();
-				if (listFiles == null) {
-					throw new NullPointerException("Retrieving files in folder led to a NullPointer");
-				}
-
-				for (File f : listFiles) {
-					if (f.getName().contains(".bin")) {
-						numCas++;
-					}
-				}
+				int numCas = CasArchive.countEntries(outputFolder);
 
 				if (numCas < aNumFolds) {
 					throw new IllegalStateException(
@@ -302,6 +283,19 @@ public class ExperimentLearningCurve extends ShallowLearningExperiment_ImplBase
 		return new LearningCurveDimBundleCrossValidation("files", Dimension.create("", fileNames), aNumFolds, aLimitPerStage);
 	}
 
+	@Override
+	public BatchTask replicate() throws Exception {
+		if (getClass() != ExperimentLearningCurve.class) {
+			return null;
+		}
+
+		ExperimentLearningCurve replica = new ExperimentLearningCurve();
+		replica.aNumFolds = aNumFolds;
+		replica.aLimitPerStage = aLimitPerStage;
+		replica.comparator = comparator;
+		return initReplica(replica);
+	}
+
 	/**
 	 * sets the number of folds
 	 * 
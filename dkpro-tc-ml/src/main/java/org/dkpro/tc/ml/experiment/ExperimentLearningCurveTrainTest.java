@@ -19,22 +19,20 @@ package org.dkpro.tc.ml.experiment;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 
-import org.apache.commons.io.FileUtils;
 import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.reporting.Report;
 import org.dkpro.lab.reporting.ReportBase;
 import org.dkpro.lab.storage.StorageService.AccessMode;
 import org.dkpro.lab.task.Dimension;
+import org.dkpro.lab.task.BatchTask;
 import org.dkpro.lab.task.Discriminator;
 import org.dkpro.lab.task.ParameterSpace;
-import org.dkpro.lab.task.impl.DefaultBatchTask;
 import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.task.DKProTcShallowTestTask;
 import org.dkpro.tc.core.task.ExtractFeaturesTask;
 import org.dkpro.tc.core.task.InitTask;
@@ -42,6 +40,7 @@ import org.dkpro.tc.core.task.MetaInfoTask;
 import org.dkpro.tc.core.task.OutcomeCollectionTask;
 import org.dkpro.tc.core.task.TcTaskType;
 import org.dkpro.tc.ml.FoldUtil;
+import org.dkpro.tc.ml.base.ReplicableBatchTask;
 import org.dkpro.tc.ml.base.ShallowLearningExperiment_ImplBase;
 import org.dkpro.tc.ml.experiment.dim.LearningCurveDimBundleFixedTestSet;
 import org.dkpro.tc.ml.report.BasicResultReport;
@@ -63,6 +62,7 @@ public class ExperimentLearningCurveTrainTest extends ShallowLearningExperiment_
 	protected ExtractFeaturesTask featuresTrainTask;
 	protected ExtractFeaturesTask featuresTestTask;
 	protected TaskBase testTask;
+	protected ReplicableBatchTask crossValidationTask;
 	private int numFolds;
 	private int limitPerStage = -1;
 
@@ -133,35 +133,28 @@ public class ExperimentLearningCurveTrainTest extends ShallowLearningExperiment_
 		initTaskTrain.setAttribute(TC_TASK_TYPE, TcTaskType.INIT_TRAIN.toString());
 
 		// inner batch task (carried out numFolds times)
-		DefaultBatchTask crossValidationTask = new DefaultBatchTask() {
+		crossValidationTask = new ReplicableBatchTask() {
 			@Discriminator(name = DIM_FEATURE_MODE)
 			private String featureMode;
 
+			@Override
+			public BatchTask replicate() throws Exception {
+				ExperimentLearningCurveTrainTest replica = (ExperimentLearningCurveTrainTest) ExperimentLearningCurveTrainTest.this
+						.replicate();
+				return replica != null ? replica.crossValidationTask : null;
+			}
+
 			@Override
 			public void initialize(TaskContext aContext) {
 				super.initialize(aContext);
 
 				File xmiPathRoot = aContext.getFolder(InitTask.OUTPUT_KEY_TRAIN, AccessMode.READONLY);
-				Collection<File> files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" }, true);
-				String[] fileNames = new String[files.size()];
-				int i = 0;
-				for (File f : files) {
-					// adding file paths, not names
-					fileNames[i] = f.getAbsolutePath();
-					i++;
-				}
-				Arrays.sort(fileNames);
+				// adding entry references (archive paths and positions), not names
+				String[] fileNames = FoldUtil.listEntries(xmiPathRoot);
 
 				if (fileNames.length < numFolds) {
 					xmiPathRoot = createRequestedNumberOfCas(xmiPathRoot, fileNames.length, featureMode);
-					files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" }, true);
-					fileNames = new String[files.size()];
-					i = 0;
-					for (File f : files) {
-						// adding file paths, not names
-						fileNames[i] = f.getAbsolutePath();
-						i++;
-					}
+					fileNames = FoldUtil.listEntries(xmiPathRoot);
 				}
 				// don't change any names!!
 				LearningCurveDimBundleFixedTestSet foldDim = getFoldDim(fileNames);
@@ -208,18 +201,7 @@ public class ExperimentLearningCurveTrainTest extends ShallowLearningExperiment_
 			}
 
 			private void verfiyThatNeededNumberOfCasWasCreated(File outputFolder) {
-				int numCas = 0;
-
-				File[] listFiles = outputFolder.listFiles();
-				if (listFiles == null) {
-					throw new NullPointerException("Retrieving files in folder led to a NullPointer");
-				}
-
-				for (File f : listFiles) {
-					if (f.getName().contains(".bin")) {
-						numCas++;
-					}
-				}
+				int numCas = CasArchive.countEntries(outputFolder);
 
 				if (numCas < numFolds) {
 					throw new IllegalStateException(
@@ -309,4 +291,16 @@ public class ExperimentLearningCurveTrainTest extends ShallowLearningExperiment_
 		addTask(initTaskTest);
 		addTask(crossValidationTask);
 	}
+
+	@Override
+	public BatchTask replicate() throws Exception {
+		if (getClass() != ExperimentLearningCurveTrainTest.class) {
+			return null;
+		}
+
+		ExperimentLearningCurveTrainTest replica = new ExperimentLearningCurveTrainTest();
+		replica.numFolds = numFolds;
+		replica.limitPerStage = limitPerStage;
+		return initReplica(replica);
+	}
 }
@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.dkpro.lab.reporting.Report;
 import org.dkpro.lab.reporting.ReportBase;
+import org.dkpro.lab.task.BatchTask;
 import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.core.task.DKProTcShallowTestTask;
@@ -157,4 +158,13 @@ public class ExperimentTrainTest
         addTask(featuresTestTask);
         addTask(testTask);
     }
+
+    @Override
+    public BatchTask replicate() throws Exception
+    {
+        if (getClass() != ExperimentTrainTest.class) {
+            return null;
+        }
+        return initReplica(new ExperimentTrainTest());
+    }
 }
@@ -37,6 +37,7 @@ import org.dkpro.tc.api.features.TcFeature;
 import org.dkpro.tc.api.features.TcFeatureSet;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.ml.TcShallowLearningAdapter;
+import org.dkpro.tc.ml.base.ParallelBatchTaskEngine;
 import org.dkpro.tc.ml.base.ShallowLearningExperiment_ImplBase;
 import org.dkpro.tc.ml.builder.FeatureMode;
 import org.dkpro.tc.ml.builder.LearningMode;
@@ -72,6 +73,8 @@ public class ExperimentBuilder implements Constants {
 
 	int numFolds = -1;
 	double bipartitionThreshold = -1;
+	int featureExtractionThreads = -1;
+	int parallelConfigurations = -1;
 	File outputFolder;
 	private int learningCurveLimit = -1;
 
@@ -138,6 +141,10 @@ public class ExperimentBuilder implements Constants {
 			dimensions.add(getAsDimensionsBipartionThreshold());
 		}
 
+		if (this.featureExtractionThreads != -1) {
+			dimensions.add(getAsDimensionFeatureExtractionThreads());
+		}
+
 		parameterSpace = new ParameterSpace(dimensions.toArray(new Dimension<?>[0]));
 
 		return parameterSpace;
@@ -147,6 +154,10 @@ public class ExperimentBuilder implements Constants {
 		return Dimension.create(DIM_BIPARTITION_THRESHOLD, bipartitionThreshold);
 	}
 
+	protected Dimension<?> getAsDimensionFeatureExtractionThreads() {
+		return Dimension.create(DIM_FEATURE_EXTRACTION_THREADS, featureExtractionThreads);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected Dimension<?> getFeatureFilters() {
 		return Dimension.create(DIM_FEATURE_FILTERS, featureFilter);
@@ -650,6 +661,47 @@ public class ExperimentBuilder implements Constants {
 		return this;
 	}
 
+	/**
+	 * Sets the number of threads that are used for feature extraction. Several documents are
+	 * processed concurrently if more than one thread is used, which requires that all
+	 * configured feature extractors can be used concurrently. Defaults to one.
+	 * 
+	 * @param numThreads The number of threads
+	 * @return The builder object
+	 */
+	public ExperimentBuilder featureExtractionThreads(int numThreads) {
+		if (numThreads < 1) {
+			throw new IllegalArgumentException(
+					"The number of threads must be at least one but was [" + numThreads + "]");
+		}
+		this.featureExtractionThreads = numThreads;
+		return this;
+	}
+
+	/**
+	 * Sets the number of configurations that are executed at the same time, e.g.
+	 * the folds of a cross-validation or the configurations of the parameter
+	 * space. Each of these configurations uses its own copy of the experiment's
+	 * tasks, which requires that the machine learning backends can be used
+	 * concurrently. This limit is shared by all experiments that run in the same
+	 * JVM and is combined with the number of feature extraction threads of each
+	 * configuration. Defaults to one, i.e. configurations are executed one after
+	 * another.
+	 * 
+	 * @param maxConfigurations The maximal number of concurrently executed
+	 *                          configurations
+	 * @return The builder object
+	 */
+	public ExperimentBuilder parallelConfigurations(int maxConfigurations) {
+		if (maxConfigurations < 1) {
+			throw new IllegalArgumentException(
+					"The number of parallel configurations must be at least one but was ["
+							+ maxConfigurations + "]");
+		}
+		this.parallelConfigurations = maxConfigurations;
+		return this;
+	}
+
 	/**
 	 * Wires the provided parameter to an experiment. The experiment object can be
 	 * executed by calling:
@@ -716,7 +768,12 @@ public class ExperimentBuilder implements Constants {
 	 */
 	public void run() throws Exception {
 		ShallowLearningExperiment_ImplBase build = build();
-		Lab.getInstance().run(build);
+		if (parallelConfigurations > 0) {
+			ParallelBatchTaskEngine.run(build, parallelConfigurations);
+		}
+		else {
+			Lab.getInstance().run(build);
+		}
 	}
 
 	/**
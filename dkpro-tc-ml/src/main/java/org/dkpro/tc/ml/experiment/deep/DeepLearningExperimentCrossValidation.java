@@ -18,11 +18,9 @@
 package org.dkpro.tc.ml.experiment.deep;
 
 import java.io.File;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Comparator;
+import java.util.Map;
 
-import org.apache.commons.io.FileUtils;
 import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.reporting.Report;
 import org.dkpro.lab.storage.StorageService.AccessMode;
@@ -34,6 +32,7 @@ import org.dkpro.lab.task.impl.FoldDimensionBundle;
 import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.ml.TcDeepLearningAdapter;
 import org.dkpro.tc.core.task.InitTask;
 import org.dkpro.tc.core.task.TcTaskType;
@@ -165,16 +164,8 @@ public class DeepLearningExperimentCrossValidation
 
                 File xmiPathRoot = aContext.getFolder(InitTask.OUTPUT_KEY_TRAIN,
                         AccessMode.READONLY);
-                Collection<File> files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" },
-                        true);
-                String[] fileNames = new String[files.size()];
-                int i = 0;
-                for (File f : files) {
-                    // adding file paths, not names
-                    fileNames[i] = f.getAbsolutePath();
-                    i++;
-                }
-                Arrays.sort(fileNames);
+                // adding entry references (archive paths and positions), not names
+                String[] fileNames = FoldUtil.listEntries(xmiPathRoot);
                 if (numFolds == LEAVE_ONE_OUT) {
                     numFolds = fileNames.length;
                 }
@@ -184,14 +175,7 @@ public class DeepLearningExperimentCrossValidation
                 if (!useCrossValidationManualFolds && fileNames.length < numFolds) {
                     xmiPathRoot = createRequestedNumberOfCas(xmiPathRoot, fileNames.length,
                             featureMode);
-                    files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" }, true);
-                    fileNames = new String[files.size()];
-                    i = 0;
-                    for (File f : files) {
-                        // adding file paths, not names
-                        fileNames[i] = f.getAbsolutePath();
-                        i++;
-                    }
+                    fileNames = FoldUtil.listEntries(xmiPathRoot);
                 }
                 // don't change any names!!
                 FoldDimensionBundle<String> foldDim = getFoldDim(fileNames);
@@ -235,19 +219,7 @@ public class DeepLearningExperimentCrossValidation
 
             private void verfiyThatNeededNumberOfCasWasCreated(File outputFolder)
             {
-                int numCas = 0;
-
-                File[] listFiles = outputFolder.listFiles();
-                if (listFiles == null) {
-                    throw new NullPointerException(
-                            "Retrieving files in folder led to a NullPointer");
-                }
-
-                for (File f : listFiles) {
-                    if (f.getName().contains(".bin")) {
-                        numCas++;
-                    }
-                }
+                int numCas = CasArchive.countEntries(outputFolder);
 
                 if (numCas < numFolds) {
                     throw new IllegalStateException(
@@ -362,8 +334,10 @@ public class DeepLearningExperimentCrossValidation
     protected FoldDimensionBundle<String> getFoldDim(String[] fileNames)
     {
         if (comparator != null) {
+            // the comparator works on document names, the entries only denote positions
+            Map<String, String> names = FoldUtil.getDocumentNames(fileNames);
             return new FoldDimensionBundle<String>("files", Dimension.create("", fileNames),
-                    numFolds, comparator);
+                    numFolds, (a, b) -> comparator.compare(names.get(a), names.get(b)));
         }
         return new FoldDimensionBundle<String>("files", Dimension.create("", fileNames), numFolds);
     }
@@ -380,7 +354,9 @@ public class DeepLearningExperimentCrossValidation
     }
 
     /**
-     * Sets a comparator
+     * Sets a comparator which determines the documents that must occur together in the same fold.
+     * It compares the paths the documents would have as binary CAS files, which are derived from
+     * the document URI relative to the base URI or from the document id.
      * 
      * @param aComparator
      *            the comparator
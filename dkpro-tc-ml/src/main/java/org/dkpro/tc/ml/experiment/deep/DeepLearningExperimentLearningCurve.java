@@ -18,11 +18,8 @@
 package org.dkpro.tc.ml.experiment.deep;
 
 import java.io.File;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Comparator;
 
-import org.apache.commons.io.FileUtils;
 import org.dkpro.lab.engine.TaskContext;
 import org.dkpro.lab.reporting.Report;
 import org.dkpro.lab.storage.StorageService.AccessMode;
@@ -33,6 +30,7 @@ import org.dkpro.lab.task.impl.DefaultBatchTask;
 import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchive;
 import org.dkpro.tc.core.ml.TcDeepLearningAdapter;
 import org.dkpro.tc.core.task.InitTask;
 import org.dkpro.tc.core.task.TcTaskType;
@@ -155,16 +153,8 @@ public class DeepLearningExperimentLearningCurve
 
                 File xmiPathRoot = aContext.getFolder(InitTask.OUTPUT_KEY_TRAIN,
                         AccessMode.READONLY);
-                Collection<File> files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" },
-                        true);
-                String[] fileNames = new String[files.size()];
-                int i = 0;
-                for (File f : files) {
-                    // adding file paths, not names
-                    fileNames[i] = f.getAbsolutePath();
-                    i++;
-                }
-                Arrays.sort(fileNames);
+                // adding entry references (archive paths and positions), not names
+                String[] fileNames = FoldUtil.listEntries(xmiPathRoot);
                 if (numFolds == LEAVE_ONE_OUT) {
                     numFolds = fileNames.length;
                 }
@@ -174,14 +164,7 @@ public class DeepLearningExperimentLearningCurve
                 if (!useCrossValidationManualFolds && fileNames.length < numFolds) {
                     xmiPathRoot = createRequestedNumberOfCas(xmiPathRoot, fileNames.length,
                             featureMode);
-                    files = FileUtils.listFiles(xmiPathRoot, new String[] { "bin" }, true);
-                    fileNames = new String[files.size()];
-                    i = 0;
-                    for (File f : files) {
-                        // adding file paths, not names
-                        fileNames[i] = f.getAbsolutePath();
-                        i++;
-                    }
+                    fileNames = FoldUtil.listEntries(xmiPathRoot);
                 }
                 // don't change any names!!
                 LearningCurveDimBundleCrossValidation foldDim = getFoldDim(fileNames);
@@ -225,19 +208,7 @@ public class DeepLearningExperimentLearningCurve
 
             private void verfiyThatNeededNumberOfCasWasCreated(File outputFolder)
             {
-                int numCas = 0;
-
-                File[] listFiles = outputFolder.listFiles();
-                if (listFiles == null) {
-                    throw new NullPointerException(
-                            "Retrieving files in folder led to a NullPointer");
-                }
-
-                for (File f : listFiles) {
-                    if (f.getName().contains(".bin")) {
-                        numCas++;
-                    }
-                }
+                int numCas = CasArchive.countEntries(outputFolder);
 
                 if (numCas < numFolds) {
                     throw new IllegalStateException(
@@ -30,6 +30,7 @@ import org.dkpro.lab.storage.impl.PropertiesAdapter;
 import org.dkpro.lab.task.Task;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.util.ReportUtils;
+import org.dkpro.tc.ml.report.util.Id2OutcomeAccumulator;
 import org.dkpro.tc.ml.report.util.MetricComputationUtil;
 import org.dkpro.tc.ml.report.util.SortedKeyProperties;
 
@@ -56,30 +57,33 @@ public class BasicResultReport
         String learningMode = getDiscriminator(getContext().getStorageService(),
                 getContext().getId(), DIM_LEARNING_MODE);
 
+        // the predictions are read once, all measures are computed from the accumulated counts
+        File id2outcomeFile = getContext().getStorageService().locateKey(getContext().getId(),
+                ID_OUTCOME_KEY);
+        Id2OutcomeAccumulator results = new Id2OutcomeAccumulator(learningMode)
+                .add(id2outcomeFile);
+
         Properties pa = new SortedKeyProperties();
-        pa = addPredictedResults(pa, learningMode);
+        pa = addPredictedResults(pa, results);
         pa = addMajorityBaselineResults(pa, learningMode);
         pa = addRandomBaselineResult(pa, learningMode);
 
-        writeConfusionMatrixForSingleLabel(learningMode);
-        writeFScoreForSingleLabel(learningMode);
+        writeConfusionMatrixForSingleLabel(results, id2outcomeFile);
+        writeFScoreForSingleLabel(results);
 
         writeToDisk(pa);
     }
 
-    private void writeFScoreForSingleLabel(String learningMode) throws Exception
+    private void writeFScoreForSingleLabel(Id2OutcomeAccumulator results) throws Exception
     {
-        if (!learningMode.equals(LM_SINGLE_LABEL)) {
+        if (!results.getLearningMode().equals(LM_SINGLE_LABEL)) {
             return;
         }
 
         File fscoreFile = getContext().getStorageService().locateKey(getContext().getId(),
                 FILE_SCORE_PER_CATEGORY + ".tsv");
 
-        File id2o = getContext().getStorageService().locateKey(getContext().getId(),
-                ID_OUTCOME_KEY);
-
-        ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(id2o, learningMode);
+        ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(results);
         r.writeResults(fscoreFile);
     }
 
@@ -97,25 +101,22 @@ public class BasicResultReport
         }
     }
 
-    private void writeConfusionMatrixForSingleLabel(String learningMode) throws Exception
+    private void writeConfusionMatrixForSingleLabel(Id2OutcomeAccumulator results,
+            File id2outcomeFile)
+        throws Exception
     {
-        if (!learningMode.equals(LM_SINGLE_LABEL)) {
+        if (!results.getLearningMode().equals(LM_SINGLE_LABEL)) {
             return;
         }
-        File id2outcomeFile = getContext().getStorageService().locateKey(getContext().getId(),
-                ID_OUTCOME_KEY);
 
-        MetricComputationUtil.writeConfusionMatrix(id2outcomeFile,
+        MetricComputationUtil.writeConfusionMatrix(results,
                 new File(id2outcomeFile.getParentFile(), FILE_CONFUSION_MATRIX));
     }
 
-    private Properties addPredictedResults(Properties pa, String learningMode) throws Exception
+    private Properties addPredictedResults(Properties pa, Id2OutcomeAccumulator results)
+        throws Exception
     {
-        File id2outcomeFile = getContext().getStorageService().locateKey(getContext().getId(),
-                ID_OUTCOME_KEY);
-
-        Map<String, String> resultMap = MetricComputationUtil.getResults(id2outcomeFile,
-                learningMode);
+        Map<String, String> resultMap = MetricComputationUtil.getResults(results);
 
         
         for (Entry<String, String> e : resultMap.entrySet()) {
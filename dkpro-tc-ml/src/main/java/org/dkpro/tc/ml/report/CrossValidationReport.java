@@ -35,6 +35,7 @@ import org.dkpro.lab.task.Task;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.TcTaskTypeUtil;
 import org.dkpro.tc.core.util.ReportUtils;
+import org.dkpro.tc.ml.report.util.Id2OutcomeAccumulator;
 import org.dkpro.tc.ml.report.util.MetricComputationUtil;
 
 /**
@@ -112,8 +113,10 @@ public class CrossValidationReport
                 return;
             }
 
-            Map<String, String> results = MetricComputationUtil.getResults(combinedId2outcome,
-                    learningMode);
+            // read once, the confusion matrix and the scores per category use the same counts
+            Id2OutcomeAccumulator combined = new Id2OutcomeAccumulator(learningMode)
+                    .add(combinedId2outcome);
+            Map<String, String> results = MetricComputationUtil.getResults(combined);
             values.putAll(results);
 
             // add keys and values sorted by keys
@@ -136,14 +139,13 @@ public class CrossValidationReport
                 String matrixName = getMLSetup(id) + registerGetMapping(id) + "_"
                         + FILE_CONFUSION_MATRIX;
                 File confusionMatrix = getContext().getFile(matrixName, AccessMode.READWRITE);
-                MetricComputationUtil.writeConfusionMatrix(combinedId2outcome, confusionMatrix);
+                MetricComputationUtil.writeConfusionMatrix(combined, confusionMatrix);
 
                 String catScoreName = getMLSetup(id) + registerGetMapping(id) + "_"
                         + FILE_SCORE_PER_CATEGORY + FILE_ENDING;
                 File fscoreFile = getContext().getStorageService().locateKey(getContext().getId(),
                         catScoreName);
-                ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(combinedId2outcome,
-                        learningMode);
+                ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(combined);
                 r.writeResults(fscoreFile);
 
 				if (printResultsToSysout) {
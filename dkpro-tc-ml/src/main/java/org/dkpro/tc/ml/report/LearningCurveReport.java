@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.ToDoubleFunction;
 
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
@@ -45,7 +46,7 @@ import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.TcTaskTypeUtil;
 import org.dkpro.tc.core.util.ReportUtils;
-import org.dkpro.tc.ml.report.util.Tc2LtlabEvalConverter;
+import org.dkpro.tc.ml.report.util.Id2OutcomeAccumulator;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.NumberAxis;
@@ -55,15 +56,6 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.xy.DefaultXYDataset;
 
-import de.unidue.ltl.evaluation.core.EvaluationData;
-import de.unidue.ltl.evaluation.measures.Accuracy;
-import de.unidue.ltl.evaluation.measures.EvaluationMeasure;
-import de.unidue.ltl.evaluation.measures.categorial.Fscore;
-import de.unidue.ltl.evaluation.measures.categorial.Precision;
-import de.unidue.ltl.evaluation.measures.categorial.Recall;
-import de.unidue.ltl.evaluation.measures.correlation.PearsonCorrelation;
-import de.unidue.ltl.evaluation.measures.correlation.SpearmanCorrelation;
-
 /**
  * Collects the final evaluation results in a cross validation setting.
  * 
@@ -82,18 +74,17 @@ public class LearningCurveReport
         Set<String> idPool = getTaskIdsFromMetaData(getSubtasks());
         String learningMode = determineLearningMode(store, idPool);
 
-        Map<RunIdentifier, Map<Integer, List<File>>> dataMap = writeOverallResults(learningMode,
-                store, idPool);
+        Map<RunIdentifier, List<Id2OutcomeAccumulator>> stagesPerRun = writeOverallResults(
+                learningMode, store, idPool);
 
         if (isSingleLabelMode(learningMode)) {
-            writeCategoricalResults(learningMode, store, dataMap);
+            writeCategoricalResults(stagesPerRun);
         }
 
     }
 
-    @SuppressWarnings("rawtypes")
-    private Map<RunIdentifier, Map<Integer, List<File>>> writeOverallResults(String learningMode,
-            StorageService store, Set<String> idPool)
+    private Map<RunIdentifier, List<Id2OutcomeAccumulator>> writeOverallResults(
+            String learningMode, StorageService store, Set<String> idPool)
         throws Exception
     {
 
@@ -111,24 +102,27 @@ public class LearningCurveReport
             dataMap.putAll(run);
         }
 
+        // the id2outcome files of each stage are read once, all plots use the accumulated counts
+        Map<RunIdentifier, List<Id2OutcomeAccumulator>> stagesPerRun = new HashMap<>();
         if (learningMode.equals(LM_SINGLE_LABEL)) {
             for (Entry<RunIdentifier,Map<Integer, List<File>>> e : dataMap.entrySet()) {
-                List<Double> stageAveraged = averagePerStage(e.getValue(), Accuracy.class, true);
-                writePlot(e.getKey().md5, stageAveraged, maxNumberFolds,
-                        Accuracy.class.getSimpleName());
+                List<Id2OutcomeAccumulator> stages = accumulatePerStage(e.getValue(), learningMode);
+                stagesPerRun.put(e.getKey(), stages);
+                writePlot(e.getKey().md5, getPerStage(stages, Id2OutcomeAccumulator::getAccuracy),
+                        maxNumberFolds, "Accuracy");
             }
 
         }
         else if (learningMode.equals(LM_REGRESSION)) {
-            List<Class<? extends EvaluationMeasure>> regMetrics = new ArrayList<>();
-            regMetrics.add(PearsonCorrelation.class);
-            regMetrics.add(SpearmanCorrelation.class);
-            for (Class<? extends EvaluationMeasure> m : regMetrics) {
-
-                for (Entry<RunIdentifier,Map<Integer, List<File>>> e : dataMap.entrySet()) {
-                    List<Double> stageAveraged = averagePerStage(e.getValue(), m, false);
-                    writePlot(e.getKey().md5, stageAveraged, maxNumberFolds, m.getSimpleName());
-                }
+            for (Entry<RunIdentifier,Map<Integer, List<File>>> e : dataMap.entrySet()) {
+                List<Id2OutcomeAccumulator> stages = accumulatePerStage(e.getValue(), learningMode);
+                stagesPerRun.put(e.getKey(), stages);
+                writePlot(e.getKey().md5,
+                        getPerStage(stages, Id2OutcomeAccumulator::getPearsonCorrelation),
+                        maxNumberFolds, "PearsonCorrelation");
+                writePlot(e.getKey().md5,
+                        getPerStage(stages, Id2OutcomeAccumulator::getSpearmanCorrelation),
+                        maxNumberFolds, "SpearmanCorrelation");
             }
         }
 
@@ -140,37 +134,35 @@ public class LearningCurveReport
         FileUtils.writeStringToFile(getContext().getFile(MD5_MAPPING_FILE, AccessMode.READWRITE),
                 sb.toString(), "utf-8");
 
-        return dataMap;
+        return stagesPerRun;
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    private List<Double> averagePerStage(Map<Integer, List<File>> map,
-            Class<? extends EvaluationMeasure> class1, boolean isSingleLabel)
+    private List<Id2OutcomeAccumulator> accumulatePerStage(Map<Integer, List<File>> map,
+            String learningMode)
         throws Exception
     {
-        List<Double> stageAveraged = new ArrayList<>();
+        List<Id2OutcomeAccumulator> stages = new ArrayList<>();
 
         List<Integer> keys = new ArrayList<Integer>(map.keySet());
         Collections.sort(keys);
         for (Integer numFolds : keys) {
-            List<File> st = map.get(numFolds);
-            EvaluationData stageData = new EvaluationData<>();
-            for (File f : st) {
-            	EvaluationData run=null;
-            	if(isSingleLabel) {
-                run = Tc2LtlabEvalConverter
-                        .convertSingleLabelModeId2Outcome(f);
-            	}else {
-            		run = Tc2LtlabEvalConverter
-                            .convertRegressionModeId2Outcome(f);
-            	}
-                stageData.registerBulk(run);
+            Id2OutcomeAccumulator stage = new Id2OutcomeAccumulator(learningMode);
+            for (File f : map.get(numFolds)) {
+                stage.add(f);
             }
-            EvaluationMeasure measure = class1.getDeclaredConstructor(EvaluationData.class)
-                    .newInstance(stageData);
-            stageAveraged.add(measure.getResult());
+            stages.add(stage);
         }
-        return stageAveraged;
+        return stages;
+    }
+
+    private List<Double> getPerStage(List<Id2OutcomeAccumulator> stages,
+            ToDoubleFunction<Id2OutcomeAccumulator> measure)
+    {
+        List<Double> perStage = new ArrayList<>();
+        for (Id2OutcomeAccumulator stage : stages) {
+            perStage.add(measure.applyAsDouble(stage));
+        }
+        return perStage;
     }
 
     private Map<RunIdentifier, Map<Integer, List<File>>> collectRuns(StorageService store,
@@ -333,14 +325,14 @@ public class LearningCurveReport
         return learningMode.equals(Constants.LM_SINGLE_LABEL);
     }
 
-    private void writeCategoricalResults(String learningMode, StorageService store,
-            Map<RunIdentifier, Map<Integer, List<File>>> dataMap)
+    private void writeCategoricalResults(
+            Map<RunIdentifier, List<Id2OutcomeAccumulator>> stagesPerRun)
         throws Exception
     {
 
-        for (RunIdentifier configId : dataMap.keySet()) {
-            Map<Integer, List<File>> map = dataMap.get(configId);
-            List<List<CategoricalPerformance>> stageAvg = averagePerStageCategorical(map);
+        for (RunIdentifier configId : stagesPerRun.keySet()) {
+            List<List<CategoricalPerformance>> stageAvg = averagePerStageCategorical(
+                    stagesPerRun.get(configId));
             writeCategoricalPlots(configId.md5, stageAvg, maxNumberFolds);
         }
 
@@ -490,35 +482,16 @@ public class LearningCurveReport
     }
 
     private List<List<CategoricalPerformance>> averagePerStageCategorical(
-            Map<Integer, List<File>> map)
+            List<Id2OutcomeAccumulator> stages)
         throws Exception
     {
         List<List<CategoricalPerformance>> stageAveraged = new ArrayList<>();
 
-        List<Integer> keys = new ArrayList<Integer>(map.keySet());
-        Collections.sort(keys);
-        for (Integer numFolds : keys) {
-            List<File> st = map.get(numFolds);
-            EvaluationData<String> stageData = new EvaluationData<>();
-            for (File f : st) {
-                EvaluationData<String> run = Tc2LtlabEvalConverter
-                        .convertSingleLabelModeId2Outcome(f);
-                stageData.registerBulk(run);
-            }
-
-            Set<String> categories = new HashSet<>();
-            stageData.forEach(x -> {
-                categories.add(x.getGold());
-                categories.add(x.getPredicted());
-            });
-
-            Precision<String> precision = new Precision<>(stageData);
-            Recall<String> recall = new Recall<>(stageData);
-            Fscore<String> fscore = new Fscore<>(stageData);
+        for (Id2OutcomeAccumulator stage : stages) {
             List<CategoricalPerformance> cp = new ArrayList<>();
-            for (String c : categories) {
-                cp.add(new CategoricalPerformance(c, precision.getPrecisionForLabel(c),
-                        recall.getRecallForLabel(c), fscore.getScoreForLabel(c)));
+            for (String c : stage.getLabels()) {
+                cp.add(new CategoricalPerformance(c, stage.getPrecision(c), stage.getRecall(c),
+                        stage.getFscore(c)));
             }
 
             Collections.sort(cp, new Comparator<CategoricalPerformance>()
@@ -24,6 +24,7 @@ import java.util.Locale;
 
 import org.apache.commons.io.FileUtils;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.ml.report.util.Id2OutcomeAccumulator;
 import org.dkpro.tc.ml.report.util.MetricComputationUtil;
 
 public class ResultPerCategoryCalculator
@@ -31,6 +32,7 @@ public class ResultPerCategoryCalculator
 {
     private File id2o;
     private String learningMode;
+    private Id2OutcomeAccumulator results;
 
     public ResultPerCategoryCalculator(File id2o, String learningMode)
     {
@@ -42,11 +44,28 @@ public class ResultPerCategoryCalculator
         }
 
     }
+
+    /**
+     * @param results
+     *            single-label results that have already been read
+     */
+    public ResultPerCategoryCalculator(Id2OutcomeAccumulator results)
+    {
+        this.results = results;
+        this.learningMode = results.getLearningMode();
+
+        if (!this.learningMode.equals(LM_SINGLE_LABEL)) {
+            throw new IllegalArgumentException("Single label mode required");
+        }
+    }
     
     public String getResults() throws Exception
     {
+        if (results == null) {
+            results = new Id2OutcomeAccumulator(learningMode).add(id2o);
+        }
 
-        List<String[]> computeFScores = MetricComputationUtil.computePerCategoryResults(id2o, learningMode);
+        List<String[]> computeFScores = MetricComputationUtil.computePerCategoryResults(results);
         
         NumberFormat nf = NumberFormat.getInstance(Locale.getDefault());
 
@@ -18,6 +18,7 @@
 package org.dkpro.tc.ml.report;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -31,10 +32,14 @@ import org.dkpro.lab.storage.StorageService;
 import org.dkpro.lab.storage.StorageService.AccessMode;
 import org.dkpro.lab.storage.impl.PropertiesAdapter;
 import org.dkpro.lab.task.TaskContextMetadata;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.task.ExtractFeaturesTask;
+import org.dkpro.tc.core.task.FeatureStoreTask;
 import org.dkpro.tc.core.task.TcTaskTypeUtil;
 
 /**
- * Collects the final runtime results in a train/test setting.
+ * Collects the final runtime results in a train/test setting. The statistics of the feature
+ * extractors recorded by the feature extraction tasks are collected as well.
  */
 public class RuntimeReport
     extends TcAbstractReport
@@ -45,6 +50,11 @@ public class RuntimeReport
      */
     public static final String RUNTIME_KEY = "runtime.txt";
 
+    /**
+     * Name of the output file where the report stores the statistics of the feature extractors
+     */
+    public static final String FEATURE_EXTRACTOR_RUNTIME_KEY = "featureExtractorRuntime.txt";
+
     private Map<String, Long> timeMap = new HashMap<String, Long>();
 
     @Override
@@ -82,6 +92,35 @@ public class RuntimeReport
         String output = buildOutput(keyOrdered);
         File runtime = getContext().getFile(RUNTIME_KEY, AccessMode.READWRITE);
         FileUtils.writeStringToFile(runtime, output, "utf-8");
+
+        String extractors = buildFeatureExtractorOutput(keyOrdered);
+        if (!extractors.isEmpty()) {
+            File extractorRuntime = getContext().getFile(FEATURE_EXTRACTOR_RUNTIME_KEY,
+                    AccessMode.READWRITE);
+            FileUtils.writeStringToFile(extractorRuntime, extractors, "utf-8");
+        }
+    }
+
+    private String buildFeatureExtractorOutput(List<String> keyOrdered) throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+
+        StorageService store = getContext().getStorageService();
+        for (String id : keyOrdered) {
+            for (String folder : new String[] { ExtractFeaturesTask.OUTPUT_KEY,
+                    FeatureStoreTask.OUTPUT_KEY }) {
+                File statistics = store.locateKey(id,
+                        folder + "/" + Constants.FILENAME_FEATURE_EXTRACTOR_STATISTICS);
+                if (!statistics.exists()) {
+                    continue;
+                }
+                sb.append("# " + id + "\n");
+                sb.append(FileUtils.readFileToString(statistics, "utf-8"));
+                sb.append("\n");
+            }
+        }
+
+        return sb.toString();
     }
 
     private Set<String> readInnerTasksIfCrossValidation(Set<String> taskIds) throws Exception
@@ -37,6 +37,7 @@ import org.dkpro.lab.task.Task;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.TcTaskTypeUtil;
 import org.dkpro.tc.core.util.ReportUtils;
+import org.dkpro.tc.ml.report.util.Id2OutcomeAccumulator;
 import org.dkpro.tc.ml.report.util.MetricComputationUtil;
 
 /**
@@ -158,8 +159,8 @@ public class TrainTestReport extends TcAbstractReport implements Constants {
 				// The classification result is always there
 				File id2outcome = store.locateKey(sid, ID_OUTCOME_KEY);
 
-				List<String[]> computeFScores = MetricComputationUtil.computePerCategoryResults(id2outcome,
-						learningMode);
+				Id2OutcomeAccumulator results = new Id2OutcomeAccumulator(learningMode).add(id2outcome);
+				List<String[]> computeFScores = MetricComputationUtil.computePerCategoryResults(results);
 
 				for (String[] v : computeFScores) {
 
@@ -176,7 +177,7 @@ public class TrainTestReport extends TcAbstractReport implements Constants {
 				FileUtils.writeStringToFile(file, sb.toString(), "utf-8");
 				
 				file = getContext().getFile(getMLSetup(sid) + FILE_CONFUSION_MATRIX + "_" + registerGetMapping(sid)+ FILE_ENDING, AccessMode.READWRITE);
-				MetricComputationUtil.writeConfusionMatrix(id2outcome, file);
+				MetricComputationUtil.writeConfusionMatrix(results, file);
 			}
 		}
 
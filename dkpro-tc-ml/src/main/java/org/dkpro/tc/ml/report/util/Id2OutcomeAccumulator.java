@@ -0,0 +1,542 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.report.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.dkpro.tc.core.Constants;
+
+import de.unidue.ltl.evaluation.core.EvaluationData;
+import de.unidue.ltl.evaluation.measures.categorial.Fscore;
+import de.unidue.ltl.evaluation.measures.categorial.Precision;
+import de.unidue.ltl.evaluation.measures.categorial.Recall;
+import de.unidue.ltl.evaluation.measures.multilabel.MultilabelAccuracy;
+import de.unidue.ltl.evaluation.visualization.ConfusionMatrix;
+
+/**
+ * Computes the evaluation measures of one or more id2outcome files in a single pass. Each line is
+ * parsed once and only the statistics needed for the measures are kept: a confusion matrix for
+ * single-label results, the running moments of gold and predicted values for regression results,
+ * and the frequency of each distinct pair of gold and predicted label vectors for multi-label
+ * results. The Spearman correlation needs the ranks of all regression values and keeps them as
+ * primitive arrays.
+ *
+ * Adding several files (for instance, the folds of a cross-validation) yields the measures over
+ * their combined instances.
+ *
+ * The per-label scores, the macro F1 score, the confusion matrix and the multi-label accuracy are
+ * computed by the ltlab evaluation library, as the reports did before. Its evaluation data are
+ * rebuilt from the kept statistics when one of these measures is requested.
+ */
+public class Id2OutcomeAccumulator
+{
+    private static final int HEADER_LINES = 3;
+
+    private final String learningMode;
+
+    private long numInstances;
+
+    // single-label: confusion matrix, rows are gold labels, columns are predictions; the cells
+    // are also listed in the order of their first instance
+    private Map<String, Integer> labelIndex = new HashMap<>();
+    private List<String> labels = new ArrayList<>();
+    private long[][] confusion = new long[0][0];
+    private List<int[]> cells = new ArrayList<>();
+    private EvaluationData<String> singleLabelData;
+    private Precision<String> precision;
+    private Recall<String> recall;
+    private Fscore<String> fscore;
+
+    // regression: running moments and the values for the rank correlation
+    private double meanGold;
+    private double meanPrediction;
+    private double m2Gold;
+    private double m2Prediction;
+    private double coMoment;
+    private double sumSquaredError;
+    private double sumAbsoluteError;
+    private double[] golds = new double[1024];
+    private double[] predictions = new double[1024];
+
+    // multi-label: the distinct pairs of gold and predicted label vectors, in the order of their
+    // first instance
+    private long exactMatches;
+    private long labelMismatches;
+    private long labelDecisions;
+    private Map<Entry<List<Integer>, List<Integer>>, Long> labelVectors = new LinkedHashMap<>();
+
+    /**
+     * @param learningMode
+     *            the learning mode of the id2outcome files, one of {@link Constants#LM_SINGLE_LABEL},
+     *            {@link Constants#LM_REGRESSION} or {@link Constants#LM_MULTI_LABEL}
+     */
+    public Id2OutcomeAccumulator(String learningMode)
+    {
+        if (learningMode == null) {
+            throw new IllegalArgumentException("The learning mode is null");
+        }
+        if (!learningMode.equals(Constants.LM_SINGLE_LABEL)
+                && !learningMode.equals(Constants.LM_REGRESSION)
+                && !learningMode.equals(Constants.LM_MULTI_LABEL)) {
+            throw new IllegalArgumentException("Unknown learning mode [" + learningMode + "]");
+        }
+        this.learningMode = learningMode;
+    }
+
+    /**
+     * Reads the instances of an id2outcome file.
+     *
+     * @param id2outcome
+     *            the id2outcome file
+     * @return this accumulator
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public Id2OutcomeAccumulator add(File id2outcome) throws IOException
+    {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(id2outcome), "utf-8"))) {
+
+            String[] header = new String[HEADER_LINES];
+            for (int i = 0; i < HEADER_LINES; i++) {
+                header[i] = reader.readLine();
+                if (header[i] == null) {
+                    throw new IllegalStateException("The provided file ["
+                            + id2outcome.getAbsolutePath()
+                            + "] appears empty, three lines of header are expected and found in total ["
+                            + i + "] in file");
+                }
+            }
+
+            if (learningMode.equals(Constants.LM_REGRESSION)) {
+                // the third line is usually the time stamp, which is skipped as comment
+                addRegression(header[2]);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    addRegression(line);
+                }
+                return this;
+            }
+
+            Map<String, String> id2label = buildMappingFromHeader(header[1]);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                int lastIdx = line.lastIndexOf("=");
+                if (lastIdx < 0) {
+                    throw new IllegalArgumentException(
+                            "Index became negative when looking for an occurence of [=] in the string: ["
+                                    + line + "]");
+                }
+                String[] values = line.substring(lastIdx + 1).split(";");
+
+                if (learningMode.equals(Constants.LM_SINGLE_LABEL)) {
+                    addSingleLabel(id2label.get(values[1]), id2label.get(values[0]));
+                }
+                else {
+                    addMultiLabel(values[0].split(","), values[1].split(","),
+                            Double.parseDouble(values[2]));
+                }
+            }
+        }
+        return this;
+    }
+
+    private void addSingleLabel(String gold, String prediction)
+    {
+        // the indices are resolved first, a new label may replace the matrix
+        int g = index(gold);
+        int p = index(prediction);
+        if (confusion[g][p]++ == 0) {
+            cells.add(new int[] { g, p });
+        }
+        numInstances++;
+        singleLabelData = null;
+    }
+
+    private int index(String label)
+    {
+        Integer idx = labelIndex.get(label);
+        if (idx != null) {
+            return idx;
+        }
+
+        idx = labels.size();
+        labelIndex.put(label, idx);
+        labels.add(label);
+
+        if (idx == confusion.length) {
+            long[][] grown = new long[Math.max(4, idx * 2)][];
+            for (int i = 0; i < grown.length; i++) {
+                grown[i] = i < confusion.length ? Arrays.copyOf(confusion[i], grown.length)
+                        : new long[grown.length];
+            }
+            confusion = grown;
+        }
+        return idx;
+    }
+
+    private void addRegression(String line)
+    {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return;
+        }
+
+        String[] values = line.split("=")[1].split(";");
+        double prediction = Double.parseDouble(values[0]);
+        double gold = Double.parseDouble(values[1]);
+
+        if (numInstances == golds.length) {
+            golds = Arrays.copyOf(golds, golds.length * 2);
+            predictions = Arrays.copyOf(predictions, predictions.length * 2);
+        }
+        golds[(int) numInstances] = gold;
+        predictions[(int) numInstances] = prediction;
+        numInstances++;
+
+        // Welford's update of means and (co-)moments
+        double deltaGold = gold - meanGold;
+        meanGold += deltaGold / numInstances;
+        double deltaPrediction = prediction - meanPrediction;
+        meanPrediction += deltaPrediction / numInstances;
+        m2Gold += deltaGold * (gold - meanGold);
+        m2Prediction += deltaPrediction * (prediction - meanPrediction);
+        coMoment += deltaGold * (prediction - meanPrediction);
+
+        double error = prediction - gold;
+        sumSquaredError += error * error;
+        sumAbsoluteError += Math.abs(error);
+    }
+
+    private void addMultiLabel(String[] prediction, String[] gold, double threshold)
+    {
+        boolean exact = true;
+        List<Integer> goldVector = new ArrayList<>(gold.length);
+        List<Integer> predictionVector = new ArrayList<>(gold.length);
+        for (int i = 0; i < gold.length; i++) {
+            boolean p = Double.parseDouble(prediction[i]) >= threshold;
+            boolean g = Double.parseDouble(gold[i]) >= threshold;
+            if (p != g) {
+                exact = false;
+                labelMismatches++;
+            }
+            goldVector.add(g ? 1 : 0);
+            predictionVector.add(p ? 1 : 0);
+        }
+
+        labelDecisions += gold.length;
+        if (exact) {
+            exactMatches++;
+        }
+        labelVectors.merge(new SimpleEntry<>(goldVector, predictionVector), 1L, Long::sum);
+        numInstances++;
+    }
+
+    private static Map<String, String> buildMappingFromHeader(String header) throws IOException
+    {
+        Map<String, String> map = new HashMap<>();
+        for (String entry : header.replaceAll("#labels", "").trim().split(" ")) {
+            int indexOf = entry.indexOf("=");
+            if (indexOf < 0) {
+                throw new IllegalArgumentException(
+                        "Index became negative when looking for an occurence of [=] in the string: ["
+                                + entry + "]");
+            }
+            map.put(entry.substring(0, indexOf).trim(),
+                    URLDecoder.decode(entry.substring(indexOf + 1).trim(), "utf-8"));
+        }
+        return map;
+    }
+
+    public String getLearningMode()
+    {
+        return learningMode;
+    }
+
+    public long getNumberOfInstances()
+    {
+        return numInstances;
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // single-label
+    // ---------------------------------------------------------------------------------------
+
+    /**
+     * @return all labels which occur as gold label or as prediction, in alphabetical order
+     */
+    public List<String> getLabels()
+    {
+        List<String> sorted = new ArrayList<>(labels);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * @return the labels which occur as gold label, in alphabetical order
+     */
+    public List<String> getGoldLabels()
+    {
+        List<String> gold = new ArrayList<>();
+        for (String l : getLabels()) {
+            if (getGoldCount(l) > 0) {
+                gold.add(l);
+            }
+        }
+        return gold;
+    }
+
+    /**
+     * @param gold
+     *            the gold label
+     * @param prediction
+     *            the predicted label
+     * @return how often the gold label was assigned the predicted label
+     */
+    public long getCount(String gold, String prediction)
+    {
+        Integer g = labelIndex.get(gold);
+        Integer p = labelIndex.get(prediction);
+        return g == null || p == null ? 0 : confusion[g][p];
+    }
+
+    public long getGoldCount(String label)
+    {
+        Integer idx = labelIndex.get(label);
+        if (idx == null) {
+            return 0;
+        }
+        long sum = 0;
+        for (int p = 0; p < labels.size(); p++) {
+            sum += confusion[idx][p];
+        }
+        return sum;
+    }
+
+    public long getPredictedCount(String label)
+    {
+        Integer idx = labelIndex.get(label);
+        if (idx == null) {
+            return 0;
+        }
+        long sum = 0;
+        for (int g = 0; g < labels.size(); g++) {
+            sum += confusion[g][idx];
+        }
+        return sum;
+    }
+
+    private long getCorrect()
+    {
+        long correct = 0;
+        for (int i = 0; i < labels.size(); i++) {
+            correct += confusion[i][i];
+        }
+        return correct;
+    }
+
+    public double getAccuracy()
+    {
+        return getCorrect() / (double) numInstances;
+    }
+
+    public double getPrecision(String label)
+    {
+        getSingleLabelData();
+        return precision.getPrecisionForLabel(label);
+    }
+
+    public double getRecall(String label)
+    {
+        getSingleLabelData();
+        return recall.getRecallForLabel(label);
+    }
+
+    public double getFscore(String label)
+    {
+        getSingleLabelData();
+        return fscore.getScoreForLabel(label);
+    }
+
+    /**
+     * @return the F1 score over the decisions for all labels, which equals the accuracy as every
+     *         instance has exactly one gold label and one prediction
+     */
+    public double getMicroFscore()
+    {
+        return getAccuracy();
+    }
+
+    public double getMacroFscore()
+    {
+        getSingleLabelData();
+        return fscore.getMacroFscore();
+    }
+
+    /**
+     * @return the confusion matrix as text
+     * @throws Exception
+     *             if the matrix cannot be created
+     */
+    public String getConfusionMatrix() throws Exception
+    {
+        return new ConfusionMatrix<>(getSingleLabelData()).toText();
+    }
+
+    /**
+     * Registers the instances of each cell of the confusion matrix in the order of the first
+     * instance of the cell. The labels thus first occur in the same order as in the id2outcome
+     * files.
+     */
+    private EvaluationData<String> getSingleLabelData()
+    {
+        if (singleLabelData == null) {
+            EvaluationData<String> data = new EvaluationData<>();
+            int id = 0;
+            for (int[] cell : cells) {
+                String gold = labels.get(cell[0]);
+                String prediction = labels.get(cell[1]);
+                for (long i = 0; i < confusion[cell[0]][cell[1]]; i++) {
+                    data.register(gold, prediction, String.valueOf(id++));
+                }
+            }
+            singleLabelData = data;
+            precision = new Precision<>(data);
+            recall = new Recall<>(data);
+            fscore = new Fscore<>(data);
+        }
+        return singleLabelData;
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // regression
+    // ---------------------------------------------------------------------------------------
+
+    public double getPearsonCorrelation()
+    {
+        return coMoment / Math.sqrt(m2Gold * m2Prediction);
+    }
+
+    /**
+     * @return the Pearson correlation of the ranks of gold and predicted values, tied values are
+     *         assigned their average rank
+     */
+    public double getSpearmanCorrelation()
+    {
+        int n = (int) numInstances;
+        double[] goldRanks = ranks(golds, n);
+        double[] predictionRanks = ranks(predictions, n);
+
+        double meanRank = (n + 1) / 2.0;
+        double co = 0.0;
+        double varGold = 0.0;
+        double varPrediction = 0.0;
+        for (int i = 0; i < n; i++) {
+            double dg = goldRanks[i] - meanRank;
+            double dp = predictionRanks[i] - meanRank;
+            co += dg * dp;
+            varGold += dg * dg;
+            varPrediction += dp * dp;
+        }
+        return co / Math.sqrt(varGold * varPrediction);
+    }
+
+    private static double[] ranks(double[] values, int n)
+    {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        double[] ranks = new double[n];
+        int i = 0;
+        while (i < n) {
+            int j = i;
+            while (j + 1 < n && values[order[j + 1]] == values[order[i]]) {
+                j++;
+            }
+            // positions i..j hold the same value, ranks are 1-based
+            double rank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                ranks[order[k]] = rank;
+            }
+            i = j + 1;
+        }
+        return ranks;
+    }
+
+    public double getMeanSquaredError()
+    {
+        return sumSquaredError / numInstances;
+    }
+
+    public double getMeanAbsoluteError()
+    {
+        return sumAbsoluteError / numInstances;
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // multi-label
+    // ---------------------------------------------------------------------------------------
+
+    /**
+     * @return the fraction of instances whose predicted label set equals the gold label set
+     */
+    public double getExactMatchRatio()
+    {
+        return exactMatches / (double) numInstances;
+    }
+
+    /**
+     * @return the fraction of wrong label decisions over all instances and labels
+     */
+    public double getHammingLoss()
+    {
+        return labelMismatches / (double) labelDecisions;
+    }
+
+    public double getMultilabelAccuracy()
+    {
+        EvaluationData<Integer> data = new EvaluationData<>();
+        int id = 0;
+        for (Entry<Entry<List<Integer>, List<Integer>>, Long> e : labelVectors.entrySet()) {
+            for (long i = 0; i < e.getValue(); i++) {
+                data.registerMultiLabel(e.getKey().getKey(), e.getKey().getValue(),
+                        String.valueOf(id++));
+            }
+        }
+        return new MultilabelAccuracy(data).getResult();
+    }
+}
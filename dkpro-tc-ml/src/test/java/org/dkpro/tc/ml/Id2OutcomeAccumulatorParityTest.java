@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.ml.report.util.Id2OutcomeAccumulator;
+import org.dkpro.tc.ml.report.util.Tc2LtlabEvalConverter;
+import org.junit.Test;
+
+import de.unidue.ltl.evaluation.core.EvaluationData;
+import de.unidue.ltl.evaluation.measures.Accuracy;
+import de.unidue.ltl.evaluation.measures.categorial.Fscore;
+import de.unidue.ltl.evaluation.measures.categorial.Precision;
+import de.unidue.ltl.evaluation.measures.categorial.Recall;
+import de.unidue.ltl.evaluation.measures.correlation.PearsonCorrelation;
+import de.unidue.ltl.evaluation.measures.correlation.SpearmanCorrelation;
+import de.unidue.ltl.evaluation.measures.multilabel.ExactMatchRatio;
+import de.unidue.ltl.evaluation.measures.multilabel.HammingLoss;
+import de.unidue.ltl.evaluation.measures.multilabel.MultilabelAccuracy;
+import de.unidue.ltl.evaluation.measures.regression.MeanAbsoluteError;
+import de.unidue.ltl.evaluation.measures.regression.MeanSquaredError;
+import de.unidue.ltl.evaluation.visualization.ConfusionMatrix;
+
+/**
+ * Compares the measures of {@link Id2OutcomeAccumulator} with the ones the reports used to compute
+ * with the ltlab evaluation library from the id2outcome files.
+ */
+public class Id2OutcomeAccumulatorParityTest
+{
+    private static final String FOLDER = "src/test/resources/id2outcome/convert/";
+
+    private static final double DELTA = 0.000001;
+
+    @Test
+    public void singleLabel() throws Exception
+    {
+        File file = new File(FOLDER + "singleLabelID2outcome.txt");
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_SINGLE_LABEL)
+                .add(file);
+
+        assertSingleLabelParity(acc, file);
+    }
+
+    @Test
+    public void singleLabelWithUnpredictedLabels() throws Exception
+    {
+        // one label is never predicted, another one never occurs as gold label
+        File file = new File(FOLDER + "singleLabelUnpredictedID2outcome.txt");
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_SINGLE_LABEL)
+                .add(file);
+
+        assertEquals(0, acc.getPredictedCount("rec.autos"));
+        assertEquals(0, acc.getGoldCount("sci.space"));
+        assertSingleLabelParity(acc, file);
+    }
+
+    @Test
+    public void sequence() throws Exception
+    {
+        File file = new File(FOLDER + "sequenceSingleLabelId2outcome.txt");
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_SINGLE_LABEL)
+                .add(file);
+
+        assertSingleLabelParity(acc, file);
+    }
+
+    @Test
+    public void regression() throws Exception
+    {
+        File file = new File(FOLDER + "regressionID2outcome.txt");
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_REGRESSION).add(file);
+
+        EvaluationData<Double> data = Tc2LtlabEvalConverter.convertRegressionModeId2Outcome(file);
+
+        assertEquals(new PearsonCorrelation(data).getResult(), acc.getPearsonCorrelation(),
+                DELTA);
+        assertEquals(new SpearmanCorrelation(data).getResult(), acc.getSpearmanCorrelation(),
+                DELTA);
+        assertEquals(new MeanSquaredError(data).getResult(), acc.getMeanSquaredError(), DELTA);
+        assertEquals(new MeanAbsoluteError(data).getResult(), acc.getMeanAbsoluteError(), DELTA);
+    }
+
+    @Test
+    public void multiLabel() throws Exception
+    {
+        assertMultiLabelParity(new File(FOLDER + "multiLabelId2outcome.txt"));
+    }
+
+    @Test
+    public void multiLabelWithEmptyLabelSets() throws Exception
+    {
+        // instances without gold labels, with and without predicted labels
+        assertMultiLabelParity(new File(FOLDER + "multiLabelEmptyId2outcome.txt"));
+    }
+
+    private static void assertMultiLabelParity(File file) throws Exception
+    {
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_MULTI_LABEL).add(file);
+
+        EvaluationData<String> data = Tc2LtlabEvalConverter.convertMultiLabelModeId2Outcome(file);
+        EvaluationData<Integer> dataInt = Tc2LtlabEvalConverter
+                .convertMultiLabelModeId2OutcomeUseInteger(file);
+
+        assertEquals(new ExactMatchRatio<>(data).getResult(), acc.getExactMatchRatio(), DELTA);
+        assertEquals(new HammingLoss(dataInt).getResult(), acc.getHammingLoss(), DELTA);
+        assertEquals(new MultilabelAccuracy(dataInt).getResult(), acc.getMultilabelAccuracy(),
+                DELTA);
+    }
+
+    private static void assertSingleLabelParity(Id2OutcomeAccumulator acc, File file)
+        throws Exception
+    {
+        EvaluationData<String> data = Tc2LtlabEvalConverter.convertSingleLabelModeId2Outcome(file);
+
+        assertEquals(new Accuracy<>(data).getResult(), acc.getAccuracy(), DELTA);
+
+        Fscore<String> fscore = new Fscore<>(data);
+        assertEquals(fscore.getMicroFscore(), acc.getMicroFscore(), DELTA);
+        assertEquals(fscore.getMacroFscore(), acc.getMacroFscore(), DELTA);
+
+        Precision<String> precision = new Precision<>(data);
+        Recall<String> recall = new Recall<>(data);
+        for (String l : acc.getLabels()) {
+            assertEquals(l, precision.getPrecisionForLabel(l), acc.getPrecision(l), DELTA);
+            assertEquals(l, recall.getRecallForLabel(l), acc.getRecall(l), DELTA);
+            assertEquals(l, fscore.getScoreForLabel(l), acc.getFscore(l), DELTA);
+        }
+
+        assertEquals(new ConfusionMatrix<>(data).toText(), acc.getConfusionMatrix());
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.ml.report.util.Id2OutcomeAccumulator;
+import org.junit.Test;
+
+public class Id2OutcomeAccumulatorTest
+{
+    private static final String FOLDER = "src/test/resources/id2outcome/convert/";
+
+    @Test
+    public void testSingleLabel() throws Exception
+    {
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_SINGLE_LABEL)
+                .add(new File(FOLDER + "singleLabelID2outcome.txt"));
+
+        assertEquals(8, acc.getNumberOfInstances());
+        assertEquals(0.5, acc.getAccuracy(), 0.0001);
+        assertEquals(0.5, acc.getMicroFscore(), 0.0001);
+
+        assertEquals(3, acc.getCount("alt.atheism", "comp.graphics"));
+        assertEquals(0.5, acc.getPrecision("alt.atheism"), 0.0001);
+        assertEquals(0.25, acc.getRecall("alt.atheism"), 0.0001);
+        assertEquals(0.75, acc.getRecall("comp.graphics"), 0.0001);
+        assertEquals((1 / 3.0 + 0.6) / 2, acc.getMacroFscore(), 0.0001);
+    }
+
+    @Test
+    public void testCombinedFiles() throws Exception
+    {
+        File file = new File(FOLDER + "singleLabelID2outcome.txt");
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_SINGLE_LABEL)
+                .add(file).add(file);
+
+        assertEquals(16, acc.getNumberOfInstances());
+        assertEquals(6, acc.getCount("alt.atheism", "comp.graphics"));
+        assertEquals(0.5, acc.getAccuracy(), 0.0001);
+    }
+
+    @Test
+    public void testSequence() throws Exception
+    {
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_SINGLE_LABEL)
+                .add(new File(FOLDER + "sequenceSingleLabelId2outcome.txt"));
+
+        assertEquals(29, acc.getNumberOfInstances());
+    }
+
+    @Test
+    public void testRegression() throws Exception
+    {
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_REGRESSION)
+                .add(new File(FOLDER + "regressionID2outcome.txt"));
+
+        assertEquals(50, acc.getNumberOfInstances());
+        assertEquals(0.5593, acc.getMeanSquaredError(), 0.001);
+        assertEquals(0.5490, acc.getMeanAbsoluteError(), 0.001);
+        assertEquals(0.922, acc.getPearsonCorrelation(), 0.001);
+        assertEquals(0.874, acc.getSpearmanCorrelation(), 0.001);
+    }
+
+    @Test
+    public void testMultiLabel() throws Exception
+    {
+        Id2OutcomeAccumulator acc = new Id2OutcomeAccumulator(Constants.LM_MULTI_LABEL)
+                .add(new File(FOLDER + "multiLabelId2outcome.txt"));
+
+        assertEquals(3, acc.getNumberOfInstances());
+        assertEquals(0.0, acc.getExactMatchRatio(), 0.0001);
+        assertEquals(0.2, acc.getHammingLoss(), 0.0001);
+        assertEquals(0.611, acc.getMultilabelAccuracy(), 0.001);
+    }
+}
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -37,12 +38,12 @@ import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.type.JCasId;
 import org.dkpro.tc.api.type.TextClassificationSequence;
 import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.core.io.CasArchive;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
-import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
 import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasWriter;
 
 /**
@@ -67,7 +68,7 @@ public class TestFoldUtil
         File output = FoldUtil.createMinimalSplit(tmpFoldSeq.getRoot().getAbsolutePath(), 1, 1,
                 true);
 
-        List<File> writtenBins = getWrittenBins(output);
+        List<String> writtenBins = getWrittenEntries(output);
 
         List<List<Integer>> numTcusCas = countNumberOfTextClassificationSequencesAndUnitsPerCas(
                 writtenBins);
@@ -79,13 +80,13 @@ public class TestFoldUtil
     }
 
     private List<List<Integer>> countNumberOfTextClassificationSequencesAndUnitsPerCas(
-            List<File> writtenBins)
+            List<String> writtenBins)
         throws Exception
     {
         List<List<Integer>> arrayList = new ArrayList<>();
         List<Integer> units = new ArrayList<>();
         List<Integer> seq = new ArrayList<>();
-        for (File f : writtenBins) {
+        for (String f : writtenBins) {
             JCas jcas = JCasFactory.createJCas();
             CollectionReader createReader = createReader(jcas, f);
             createReader.getNext(jcas.getCas());
@@ -108,7 +109,7 @@ public class TestFoldUtil
         File output = FoldUtil.createMinimalSplit(tmpFoldSeq.getRoot().getAbsolutePath(), 10, 1,
                 true);
 
-        List<File> writtenBins = getWrittenBins(output);
+        List<String> writtenBins = getWrittenEntries(output);
 
         List<List<Integer>> numTcusCas = countNumberOfTextClassificationSequencesAndUnitsPerCas(
                 writtenBins);
@@ -158,7 +159,7 @@ public class TestFoldUtil
         File output = FoldUtil.createMinimalSplit(tmpFoldNoSeq.getRoot().getAbsolutePath(), 1, 1,
                 false);
 
-        List<File> writtenBins = getWrittenBins(output);
+        List<String> writtenBins = getWrittenEntries(output);
 
         List<Integer> numTcusCas = countNumberOfTextClassificationUnitsPerCas(writtenBins);
 
@@ -172,7 +173,7 @@ public class TestFoldUtil
         File output = FoldUtil.createMinimalSplit(tmpFoldNoSeq.getRoot().getAbsolutePath(), 13, 1,
                 false);
 
-        List<File> writtenBins = getWrittenBins(output);
+        List<String> writtenBins = getWrittenEntries(output);
 
         List<Integer> numTcusCas = countNumberOfTextClassificationUnitsPerCas(writtenBins);
 
@@ -192,11 +193,11 @@ public class TestFoldUtil
         assertEquals(new Integer(1), numTcusCas.get(12));
     }
 
-    private List<Integer> countNumberOfTextClassificationUnitsPerCas(List<File> writtenBins)
+    private List<Integer> countNumberOfTextClassificationUnitsPerCas(List<String> writtenBins)
         throws Exception
     {
         List<Integer> arrayList = new ArrayList<Integer>();
-        for (File f : writtenBins) {
+        for (String f : writtenBins) {
             JCas jcas = JCasFactory.createJCas();
             CollectionReader createReader = createReader(jcas, f);
             createReader.getNext(jcas.getCas());
@@ -208,21 +209,16 @@ public class TestFoldUtil
         return arrayList;
     }
 
-    private CollectionReader createReader(JCas jcas, File f) throws ResourceInitializationException
+    private CollectionReader createReader(JCas jcas, String entry)
+        throws ResourceInitializationException
     {
-        return CollectionReaderFactory.createReader(BinaryCasReader.class,
-                BinaryCasReader.PARAM_SOURCE_LOCATION, f);
+        return CollectionReaderFactory
+                .createReader(CasArchive.createReaderDescription(Arrays.asList(entry)));
     }
 
-    private List<File> getWrittenBins(File output)
+    private List<String> getWrittenEntries(File output) throws IOException
     {
-        List<File> bins = new ArrayList<File>();
-        for (File f : output.listFiles()) {
-            if (f.getName().endsWith(".bin")) {
-                bins.add(f);
-            }
-        }
-        return bins;
+        return CasArchive.listEntries(output);
     }
 
     @Before
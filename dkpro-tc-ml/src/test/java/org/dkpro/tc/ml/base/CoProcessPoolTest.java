@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Uses cat as co-process, which answers each line of a request with the same line.
+ */
+public class CoProcessPoolTest
+{
+    private static final List<String> CAT = Arrays.asList("cat");
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup()
+    {
+        Assume.assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown()
+    {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentRequests() throws Exception
+    {
+        try (CoProcessPool pool = new CoProcessPool(CAT, 2, 5000)) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        String line = thread + "-" + i;
+                        assertEquals(Arrays.asList(line, line),
+                                pool.execute(line + "\n" + line + "\n", 2));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : results) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+
+            assertTrue(pool.getNumProcesses() <= 2);
+            assertTrue(pool.isUsable());
+        }
+    }
+
+    @Test
+    public void discardWakesWaitingCaller() throws Exception
+    {
+        try (CoProcessPool pool = new CoProcessPool(CAT, 1, 500)) {
+            // cat answers only one of the two expected lines, the request times out
+            Future<List<String>> timedOut = executor.submit(() -> pool.execute("a\n", 2));
+            Thread.sleep(100);
+
+            // waits for the only process, which is discarded after the timeout
+            Future<List<String>> waiting = executor.submit(() -> pool.execute("b\n", 1));
+
+            assertIOException(timedOut);
+            assertEquals(Arrays.asList("b"), waiting.get(10, TimeUnit.SECONDS));
+            assertEquals(1, pool.getNumProcesses());
+            assertTrue(pool.isUsable());
+        }
+    }
+
+    @Test
+    public void closeFailsWaitingCallers() throws Exception
+    {
+        CoProcessPool pool = new CoProcessPool(CAT, 1, 60000);
+        Future<List<String>> busy = executor.submit(() -> pool.execute("a\n", 2));
+        Thread.sleep(100);
+        Future<List<String>> waiting = executor.submit(() -> pool.execute("b\n", 1));
+        Thread.sleep(100);
+
+        pool.close();
+
+        assertIOException(busy);
+        assertIOException(waiting);
+        assertFalse(pool.isUsable());
+        assertEquals(0, pool.getNumProcesses());
+        try {
+            pool.execute("c\n", 1);
+            fail("Closed pool accepted a request");
+        }
+        catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void repeatedTimeoutsDisablePool() throws Exception
+    {
+        try (CoProcessPool pool = new CoProcessPool(CAT, 1, 50)) {
+            for (int i = 1; i < CoProcessPool.MAX_CONSECUTIVE_TIMEOUTS; i++) {
+                assertTimeout(pool);
+            }
+            // an answered request resets the count
+            assertEquals(Arrays.asList("a"), pool.execute("a\n", 1));
+
+            for (int i = 1; i < CoProcessPool.MAX_CONSECUTIVE_TIMEOUTS; i++) {
+                assertTimeout(pool);
+                assertTrue(pool.isUsable());
+            }
+            assertTimeout(pool);
+            assertFalse(pool.isUsable());
+        }
+    }
+
+    @Test
+    public void lastReleaseClosesPool() throws Exception
+    {
+        List<String> command = Arrays.asList("cat", "-");
+        CoProcessPool pool = CoProcessPool.acquire(command);
+        assertSame(pool, CoProcessPool.acquire(command));
+        assertEquals(Arrays.asList("a"), pool.execute("a\n", 1));
+
+        CoProcessPool.release(command);
+        assertTrue(pool.isUsable());
+        assertSame(pool, CoProcessPool.get(command));
+        assertEquals(Arrays.asList("b"), pool.execute("b\n", 1));
+
+        CoProcessPool.release(command);
+        assertFalse(pool.isUsable());
+        assertEquals(0, pool.getNumProcesses());
+
+        CoProcessPool next = CoProcessPool.get(command);
+        assertNotSame(pool, next);
+        next.close();
+    }
+
+    private static void assertTimeout(CoProcessPool pool)
+    {
+        try {
+            pool.execute("x\n", 2);
+            fail("Request did not time out");
+        }
+        catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static void assertIOException(Future<?> future) throws Exception
+    {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Request did not fail");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.dkpro.lab.Lab;
+import org.dkpro.lab.engine.TaskContext;
+import org.dkpro.lab.task.BatchTask;
+import org.dkpro.lab.task.Dimension;
+import org.dkpro.lab.task.Discriminator;
+import org.dkpro.lab.task.ParameterSpace;
+import org.dkpro.lab.task.impl.DefaultBatchTask;
+import org.dkpro.lab.task.impl.ExecutableTaskBase;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelBatchTaskEngineTest
+{
+    private static final Set<Integer> VALUES = new HashSet<>(Arrays.asList(1, 2, 3, 4));
+
+    @BeforeClass
+    public static void setupHome()
+    {
+        System.setProperty("DKPRO_HOME",
+                new File("target/ParallelBatchTaskEngineTest").getAbsolutePath());
+    }
+
+    @Test
+    public void concurrentExperimentsRestoreEngine() throws Exception
+    {
+        Class<?> before = getBatchEngine();
+        assertNotEquals(ParallelBatchTaskEngine.class, before);
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Set<Class<?>> engines = ConcurrentHashMap.newKeySet();
+        Set<Integer> first = ConcurrentHashMap.newKeySet();
+        Set<Integer> second = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = executor.submit(() -> {
+                ParallelBatchTaskEngine.run(new ValueBatch("first", first, threads, engines), 2);
+                return null;
+            });
+            Future<?> b = executor.submit(() -> {
+                ParallelBatchTaskEngine.run(new ValueBatch("second", second, threads, engines),
+                        2);
+                return null;
+            });
+            a.get(60, TimeUnit.SECONDS);
+            b.get(60, TimeUnit.SECONDS);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        // every configuration has been executed once
+        assertEquals(VALUES, first);
+        assertEquals(VALUES, second);
+
+        // the slot is taken by at least one replica
+        assertTrue(threads.stream().anyMatch(t -> t.startsWith("tc-configuration")));
+
+        // while running, the engine is registered, afterwards the previous one is back
+        assertEquals(new HashSet<>(Arrays.asList(ParallelBatchTaskEngine.class)), engines);
+        assertEquals(before, getBatchEngine());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unregisterRequiresRegistration()
+    {
+        ParallelBatchTaskEngine.unregister();
+    }
+
+    private static Class<?> getBatchEngine()
+    {
+        return Lab.getInstance().getTaskExecutionService().createEngine(new DefaultBatchTask())
+                .getClass();
+    }
+
+    static class ValueBatch
+        extends ReplicableBatchTask
+    {
+        private final String name;
+        private final Set<Integer> values;
+        private final Set<String> threads;
+        private final Set<Class<?>> engines;
+
+        ValueBatch(String name, Set<Integer> values, Set<String> threads, Set<Class<?>> engines)
+        {
+            this.name = name;
+            this.values = values;
+            this.threads = threads;
+            this.engines = engines;
+
+            setType("ValueBatch-" + name);
+            setParameterSpace(new ParameterSpace(Dimension.create("value", 1, 2, 3, 4)));
+            addTask(new ValueTask(name, this));
+        }
+
+        @Override
+        public BatchTask replicate() throws Exception
+        {
+            return new ValueBatch(name, values, threads, engines);
+        }
+    }
+
+    static class ValueTask
+        extends ExecutableTaskBase
+    {
+        @Discriminator(name = "value")
+        private Integer value;
+
+        private final ValueBatch batch;
+
+        ValueTask(String name, ValueBatch batch)
+        {
+            this.batch = batch;
+            setType("ValueTask-" + name);
+        }
+
+        @Override
+        public void execute(TaskContext aContext) throws Exception
+        {
+            batch.threads.add(Thread.currentThread().getName());
+            batch.engines.add(getBatchEngine());
+            assertTrue("Configuration executed twice", batch.values.add(value));
+
+            // keeps the slot busy so that configurations overlap
+            Thread.sleep(200);
+        }
+    }
+}
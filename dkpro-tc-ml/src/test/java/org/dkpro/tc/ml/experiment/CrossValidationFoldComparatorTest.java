@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.experiment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.lab.task.impl.FoldDimensionBundle;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasArchiveWriter;
+import org.dkpro.tc.ml.FoldUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+
+public class CrossValidationFoldComparatorTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Documents with the same prefix before the dash must occur in the same fold.
+     */
+    private static final Comparator<String> BY_GROUP = (a, b) -> group(a).compareTo(group(b));
+
+    @Test
+    public void comparatorGroupsDocumentsByName() throws Exception
+    {
+        File target = folder.newFolder();
+        // the groups are spread over several archives and are not consecutive
+        write(target, "a-1", "b-1", "c-1", "a-2", "b-2", "c-2", "a-3");
+
+        String[] entries = FoldUtil.listEntries(target);
+        Map<String, String> names = FoldUtil.getDocumentNames(entries);
+
+        ExperimentCrossValidation experiment = new ExperimentCrossValidation("comparator", 3,
+                BY_GROUP);
+        FoldDimensionBundle<String> folds = experiment.getFoldDim(entries);
+        folds.rewind();
+
+        Set<String> validated = new HashSet<>();
+        int numFolds = 0;
+        while (folds.hasNext()) {
+            Map<String, Object> fold = folds.next();
+            numFolds++;
+
+            Set<String> validationGroups = groups(fold.get(Constants.DIM_FILES_VALIDATION), names);
+            Set<String> trainingGroups = groups(fold.get(Constants.DIM_FILES_TRAINING), names);
+
+            // a group is never split between training and validation data
+            assertEquals(1, validationGroups.size());
+            for (String g : validationGroups) {
+                assertFalse(trainingGroups.contains(g));
+            }
+            validated.addAll(validationGroups);
+        }
+
+        assertEquals(3, numFolds);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), validated);
+    }
+
+    @Test
+    public void entriesAreOrderedByDocumentName() throws Exception
+    {
+        File target = folder.newFolder();
+        write(target, "c-1", "a-2", "b-1", "a-1", "c-2");
+
+        String[] entries = FoldUtil.listEntries(target);
+        Map<String, String> names = FoldUtil.getDocumentNames(entries);
+
+        List<String> order = new ArrayList<>();
+        for (String entry : entries) {
+            order.add(new File(names.get(entry)).getName());
+        }
+        assertEquals(Arrays.asList("a-1.bin", "a-2.bin", "b-1.bin", "c-1.bin", "c-2.bin"), order);
+    }
+
+    private static Set<String> groups(Object entries, Map<String, String> names)
+    {
+        Set<String> groups = new HashSet<>();
+        for (Object entry : (Collection<?>) entries) {
+            groups.add(group(names.get(entry)));
+        }
+        return groups;
+    }
+
+    private static String group(String name)
+    {
+        return new File(name).getName().split("-")[0];
+    }
+
+    private static void write(File target, String... documentIds) throws Exception
+    {
+        AnalysisEngine writer = AnalysisEngineFactory.createEngine(CasArchiveWriter.class,
+                CasArchiveWriter.PARAM_TARGET_LOCATION, target,
+                CasArchiveWriter.PARAM_CASES_PER_ARCHIVE, 3);
+
+        for (String id : documentIds) {
+            JCas jcas = JCasFactory.createJCas();
+            jcas.setDocumentText(id);
+            DocumentMetaData.create(jcas).setDocumentId(id);
+            writer.process(jcas);
+        }
+        writer.collectionProcessComplete();
+        writer.destroy();
+    }
+}
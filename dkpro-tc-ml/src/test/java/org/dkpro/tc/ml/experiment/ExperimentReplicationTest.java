@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright 2018
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.experiment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import org.dkpro.lab.task.impl.DefaultBatchTask;
+import org.junit.Test;
+
+public class ExperimentReplicationTest
+{
+    @Test
+    public void crossValidationReplicaHasOwnTasks() throws Exception
+    {
+        ExperimentCrossValidation experiment = new ExperimentCrossValidation("replication", 3);
+        experiment.init();
+
+        ExperimentCrossValidation replica = (ExperimentCrossValidation) experiment.replicate();
+
+        assertEquals(3, replica.numFolds);
+        assertNotSame(experiment.metaTask, replica.metaTask);
+        assertEquals(experiment.metaTask.getType(), replica.metaTask.getType());
+        assertEquals(experiment.extractFeaturesTrainTask.getType(),
+                replica.extractFeaturesTrainTask.getType());
+
+        DefaultBatchTask folds = (DefaultBatchTask) experiment.crossValidationTask.replicate();
+        assertNotSame(experiment.crossValidationTask, folds);
+        assertEquals(experiment.crossValidationTask.getTasks().size(), folds.getTasks().size());
+    }
+
+    @Test
+    public void trainTestReplicaHasOwnTasks() throws Exception
+    {
+        ExperimentTrainTest experiment = new ExperimentTrainTest("replication");
+        experiment.init();
+
+        ExperimentTrainTest replica = (ExperimentTrainTest) experiment.replicate();
+
+        assertNotSame(experiment.featuresTrainTask, replica.featuresTrainTask);
+        assertEquals(experiment.featuresTrainTask.getType(), replica.featuresTrainTask.getType());
+        assertEquals(experiment.getTasks().size(), replica.getTasks().size());
+    }
+
+    @Test
+    public void subclassesAreNotReplicated() throws Exception
+    {
+        ExperimentCrossValidation experiment = new ExperimentCrossValidation("replication", 3)
+        {
+        };
+        experiment.init();
+
+        assertNull(experiment.replicate());
+        assertNull(experiment.crossValidationTask.replicate());
+    }
+}
@@ -107,6 +107,17 @@ public class ExperimentBuilderTest
         assertEquals(23, builder.numFolds);
     }
     
+    @Test
+    public void parallelConfigurations() {
+        builder.parallelConfigurations(4);
+        assertEquals(4, builder.parallelConfigurations);
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void parallelConfigurationsInvalid() {
+        builder.parallelConfigurations(0);
+    }
+    
     @Test
     public void tcFeatureSet() {
         